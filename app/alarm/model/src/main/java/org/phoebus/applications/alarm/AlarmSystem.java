@@ -112,6 +112,9 @@ public class AlarmSystem extends AlarmSystemConstants
     /** Connection validation period in seconds */
     @Preference public static long connection_check_secs;
 
+    /** Period in milliseconds for propagating severity changes up the alarm tree */
+    @Preference public static int severity_propagation_ms;
+
     /** Disable notify feature */
     @Preference public static boolean disable_notify_visible;
 
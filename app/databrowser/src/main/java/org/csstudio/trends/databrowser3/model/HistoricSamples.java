@@ -12,6 +12,7 @@ import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.atomic.AtomicInteger;
 
+import org.csstudio.javafx.rtplot.data.PlotDataItem;
 import org.csstudio.javafx.rtplot.data.TimeDataSearch;
 import org.epics.vtype.VType;
 
@@ -54,6 +55,9 @@ public class HistoricSamples extends PlotSamples
     /** "All" historic samples */
     private PlotSample samples[] = new PlotSample[0];
 
+    /** Min/max/average pyramid over all historic samples */
+    final private SamplePyramid pyramid = new SamplePyramid();
+
     /** If set, samples beyond this time are hidden from access */
     private Optional<Instant> border_time = Optional.empty();
 
@@ -148,16 +152,44 @@ public class HistoricSamples extends PlotSamples
         final PlotSample merged[] = PlotSampleMerger.merge(samples, new_samples);
         if (merged == samples)
             return;
+        // Pyramid remains valid for the unchanged samples at the start
+        int unchanged = 0;
+        final int common = Math.min(samples.length, merged.length);
+        while (unchanged < common  &&  merged[unchanged] == samples[unchanged])
+            ++unchanged;
         samples = merged;
+        pyramid.truncate(unchanged, i -> samples[(int) i]);
+        for (int i=unchanged; i<samples.length; ++i)
+            pyramid.add(samples[i]);
         have_new_samples.set(true);
         computeVisibleSize();
     }
 
+    /** Get reduced samples from the pyramid
+     *  @param start Index of first sample
+     *  @param end Index after last sample, at most the visible size
+     *  @param level Pyramid level
+     *  @param result List to which bins or samples are added
+     */
+    void collect(final int start, final int end, final int level, final List<PlotDataItem<Instant>> result)
+    {
+        pyramid.collect(start, end, level, i -> samples[(int) i], result);
+    }
+
+    /** Re-compute the pyramid, for example because the waveform index changed */
+    void rebuildPyramid()
+    {
+        pyramid.clear(0);
+        for (PlotSample sample : samples)
+            pyramid.add(sample);
+    }
+
     /** Delete all samples */
     public void clear()
     {
         visible_size = 0;
         samples = new PlotSample[0];
+        pyramid.clear(0);
         border_time = Optional.empty();
     }
 }
@@ -7,14 +7,33 @@
  ******************************************************************************/
 package org.csstudio.trends.databrowser3.model;
 
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.concurrent.atomic.AtomicInteger;
 
+import org.csstudio.javafx.rtplot.data.PlotDataItem;
 import org.csstudio.trends.databrowser3.preferences.Preferences;
-import org.phoebus.framework.util.RingBuffer;
+import org.epics.vtype.Alarm;
+import org.epics.vtype.AlarmSeverity;
+import org.epics.vtype.Display;
+import org.epics.vtype.Time;
+import org.epics.vtype.VNumber;
+import org.epics.vtype.VType;
 
 /** Ring buffer for 'live' samples.
  *  <p>
  *  New samples are always added to the end of a ring buffer.
+ *  <p>
+ *  Scalar numeric samples are stored in columns of primitive arrays
+ *  for time stamp and value, plus an index into a table of
+ *  source, data type, alarm and display info that is shared by many samples.
+ *  {@link PlotSample}s for those are only created when accessed.
+ *  Other samples (arrays, strings, statistics, ...) are kept as they are.
  *
  *  @author Kay Kasemir
  *  @author Takashi Nakamoto changed LiveSamples to handle waveform index.
@@ -23,8 +42,74 @@ public class LiveSamples extends PlotSamples
 {
     // No locking in here, all access is via PVSamples
 
-    private RingBuffer<PlotSample> samples =
-        new RingBuffer<PlotSample>(Preferences.live_buffer_size);
+    /** Number types that can be stored as a double without loss */
+    private static final Set<Class<?>> COLUMN_TYPES = Set.of(Double.class, Float.class, Long.class,
+                                                             Integer.class, Short.class, Byte.class);
+
+    /** Info shared by many samples */
+    private static class Meta
+    {
+        final String source;
+        final Class<?> type;
+        final Alarm alarm;
+        final Display display;
+
+        Meta(final String source, final Class<?> type, final Alarm alarm, final Display display)
+        {
+            this.source = source;
+            this.type = type;
+            this.alarm = alarm;
+            this.display = display;
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return Objects.hash(source, type, alarm, display);
+        }
+
+        @Override
+        public boolean equals(final Object obj)
+        {
+            if (! (obj instanceof Meta))
+                return false;
+            final Meta other = (Meta) obj;
+            return source.equals(other.source)  &&
+                   type == other.type  &&
+                   alarm.equals(other.alarm)  &&
+                   Objects.equals(display, other.display);
+        }
+    }
+
+    /** Table of shared info */
+    private final List<Meta> metas = new ArrayList<>();
+
+    /** Index of each entry in the table of shared info */
+    private final Map<Meta, Short> meta_index = new HashMap<>();
+
+    //  Circular buffer, same as RingBuffer:
+    //  Indices of valid entries:
+    //  [start], [start+1], ..., [start+size-1]
+    //  with wrap-around at [capacity-1].
+    private int start = 0, size = 0, capacity;
+
+    /** Time stamp of each sample */
+    private long[] seconds;
+    private int[] nanos;
+
+    /** Value of columnar samples */
+    private double[] values;
+
+    /** Index into table of shared info, -1 for samples in <code>objects</code> */
+    private short[] meta;
+
+    /** Samples that are not stored in columns. Allocated when first needed. */
+    private PlotSample[] objects = null;
+
+    /** Min/max/average pyramid over the samples in the ring buffer.
+     *  Its index of the next sample keeps counting as the ring buffer rolls around.
+     */
+    final private SamplePyramid pyramid = new SamplePyramid();
 
     /** Waveform index */
     final private AtomicInteger waveform_index;
@@ -32,12 +117,24 @@ public class LiveSamples extends PlotSamples
     LiveSamples(final AtomicInteger waveform_index)
     {
         this.waveform_index = waveform_index;
+        allocate(Preferences.live_buffer_size);
+    }
+
+    /** @param new_capacity Capacity of new, empty columns */
+    private void allocate(final int new_capacity)
+    {
+        capacity = new_capacity;
+        seconds = new long[capacity];
+        nanos = new int[capacity];
+        values = new double[capacity];
+        meta = new short[capacity];
+        objects = null;
     }
 
     /** @return Maximum number of samples in ring buffer */
     public int getCapacity()
     {
-        return samples.getCapacity();
+        return capacity;
     }
 
     /** Set new capacity.
@@ -50,33 +147,212 @@ public class LiveSamples extends PlotSamples
     {
         if (new_capacity < 10)
             new_capacity = 10;
-        samples.setCapacity(new_capacity);
+        try
+        {
+            final long[] old_seconds = seconds;
+            final int[] old_nanos = nanos;
+            final double[] old_values = values;
+            final short[] old_meta = meta;
+            final PlotSample[] old_objects = objects;
+            final int old_start = start, old_capacity = capacity;
+
+            // Copy newest samples over
+            final int copy_size = Math.min(size, new_capacity);
+            allocate(new_capacity);
+            if (old_objects != null)
+                objects = new PlotSample[new_capacity];
+            for (int i=0; i<copy_size; ++i)
+            {
+                final int r = (old_start + size - copy_size + i) % old_capacity;
+                seconds[i] = old_seconds[r];
+                nanos[i] = old_nanos[r];
+                values[i] = old_values[r];
+                meta[i] = old_meta[r];
+                if (objects != null)
+                    objects[i] = old_objects[r];
+            }
+            start = 0;
+            size = copy_size;
+        }
+        catch (OutOfMemoryError err)
+        {
+            throw new Exception("Out of memory: " + err.getMessage()); //$NON-NLS-1$
+        }
+        pyramid.drop(getFirstIndex());
+    }
+
+    /** @return Pyramid index of the oldest sample in the ring buffer */
+    private long getFirstIndex()
+    {
+        return pyramid.getEnd() - size;
+    }
+
+    /** @param sample Sample
+     *  @return Index into table of shared info, -1 if sample cannot be stored in columns
+     */
+    private short getMeta(final PlotSample sample)
+    {
+        final VType value = sample.getVType();
+        if (! (value instanceof VNumber)  ||  sample.isVirtual())
+            return -1;
+        final VNumber number = (VNumber) value;
+        final Number num = number.getValue();
+        if (! COLUMN_TYPES.contains(num.getClass()))
+            return -1;
+        if (num instanceof Long  &&  (long) num.doubleValue() != num.longValue())
+            return -1;
+        // Time must be re-created as is, info must be the default
+        final Time time = number.getTime();
+        if (! time.isValid()  ||  time.getUserTag() != null  ||
+            ! sample.getInfo().equals(PlotSample.decodeAlarm(value)))
+            return -1;
+
+        final Meta info = new Meta(sample.getSource(), num.getClass(), number.getAlarm(), number.getDisplay());
+        final Short index = meta_index.get(info);
+        if (index != null)
+            return index;
+        if (metas.size() >= Short.MAX_VALUE)
+            return -1;
+        final short added = (short) metas.size();
+        metas.add(info);
+        meta_index.put(info, added);
+        return added;
     }
 
     /** @param sample Sample to add to ring buffer */
     void add(final PlotSample sample)
     {
         sample.setWaveformIndex(waveform_index);
-        samples.add(sample);
+
+        // Obtain index of next element
+        if (size >= capacity)
+        {
+            ++start; // Overwrite oldest element
+            if (start >= capacity)
+                start = 0;
+        }
+        else
+            ++size; // Add to end of buffer
+        final int r = (start + size - 1) % capacity;
+
+        final Instant time = sample.getPosition();
+        seconds[r] = time.getEpochSecond();
+        nanos[r] = time.getNano();
+        meta[r] = getMeta(sample);
+        if (meta[r] < 0)
+        {
+            if (objects == null)
+                objects = new PlotSample[capacity];
+            objects[r] = sample;
+        }
+        else
+        {
+            values[r] = ((VNumber) sample.getVType()).getValue().doubleValue();
+            if (objects != null)
+                objects[r] = null;
+        }
+
+        pyramid.add(sample);
+        pyramid.drop(getFirstIndex());
         have_new_samples.set(true);
     }
 
     @Override
     public int size()
     {
-        return samples.size();
+        return size;
+    }
+
+    /** @param i Sample index 0 .. size()-1
+     *  @return Index into columns
+     */
+    private int getColumnIndex(final int i)
+    {
+        if (i < 0  ||  i >= size)
+            throw new ArrayIndexOutOfBoundsException(i);
+        return (start + i) % capacity;
+    }
+
+    /** @param type Number type
+     *  @param value Value
+     *  @return Number of that type
+     */
+    private static Number toNumber(final Class<?> type, final double value)
+    {
+        if (type == Double.class)
+            return value;
+        if (type == Float.class)
+            return (float) value;
+        if (type == Long.class)
+            return (long) value;
+        if (type == Integer.class)
+            return (int) value;
+        if (type == Short.class)
+            return (short) value;
+        return (byte) value;
     }
 
     @Override
     public PlotSample get(final int i)
     {
-        return samples.get(i);
+        final int r = getColumnIndex(i);
+        if (meta[r] < 0)
+            return objects[r];
+        final Meta info = metas.get(meta[r]);
+        final VNumber value = VNumber.of(toNumber(info.type, values[r]), info.alarm,
+                                         Time.of(Instant.ofEpochSecond(seconds[r], nanos[r])),
+                                         info.display);
+        return new PlotSample(waveform_index, info.source, value);
+    }
+
+    /** @param i Sample index 0 .. size()-1
+     *  @return Time stamp of sample, without creating the sample
+     */
+    Instant getPosition(final int i)
+    {
+        final int r = getColumnIndex(i);
+        return Instant.ofEpochSecond(seconds[r], nanos[r]);
+    }
+
+    /** @param i Sample index 0 .. size()-1
+     *  @return Alarm severity of sample, without creating the sample
+     */
+    AlarmSeverity getSeverity(final int i)
+    {
+        final int r = getColumnIndex(i);
+        if (meta[r] < 0)
+            return org.phoebus.core.vtypes.VTypeHelper.getSeverity(objects[r].getVType());
+        return metas.get(meta[r]).alarm.getSeverity();
+    }
+
+    /** Get reduced samples from the pyramid
+     *  @param from Index of first sample
+     *  @param to Index after last sample
+     *  @param level Pyramid level
+     *  @param result List to which bins or samples are added
+     */
+    void collect(final int from, final int to, final int level, final List<PlotDataItem<Instant>> result)
+    {
+        final long first = getFirstIndex();
+        pyramid.collect(first + from, first + to, level, i -> get((int) (i - first)), result);
+    }
+
+    /** Re-compute the pyramid, for example because the waveform index changed */
+    void rebuildPyramid()
+    {
+        pyramid.clear(getFirstIndex());
+        for (int i=0; i<size; ++i)
+            pyramid.add(get(i));
     }
 
     /** Delete all samples */
     public void clear()
     {
-        samples.clear();
+        start = size = 0;
+        objects = null;
+        metas.clear();
+        meta_index.clear();
+        pyramid.clear(pyramid.getEnd());
         have_new_samples.set(true);
     }
 }
@@ -10,6 +10,7 @@ package org.csstudio.trends.databrowser3.model;
 import static org.csstudio.trends.databrowser3.Activator.logger;
 
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.TimeUnit;
@@ -17,6 +18,10 @@ import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.logging.Level;
 
+import org.csstudio.javafx.rtplot.data.ArrayPlotDataProvider;
+import org.csstudio.javafx.rtplot.data.PlotDataItem;
+import org.csstudio.javafx.rtplot.data.PlotDataProvider;
+import org.csstudio.javafx.rtplot.data.TimeDataSearch;
 import org.csstudio.trends.databrowser3.Messages;
 import org.epics.vtype.AlarmSeverity;
 import org.epics.vtype.Time;
@@ -35,6 +40,9 @@ import org.phoebus.util.time.TimeRelativeInterval;
  *  extended to 'now' assuming no new data means
  *  that the last value is still valid.
  *
+ *  Both sections maintain a min/max/average {@link SamplePyramid}
+ *  from which the plot can fetch reduced data when zoomed out.
+ *
  *  @author Kay Kasemir
  *  @author Takashi Nakamoto changed PVSamples to handle waveform index.
  */
@@ -90,8 +98,7 @@ public class PVSamples extends PlotSamples
         final int raw = getRawSize();
         if (raw <= 0)
             return raw;
-        final PlotSample last = get(raw-1);
-        if (org.phoebus.core.vtypes.VTypeHelper.getSeverity(last.getVType()) == AlarmSeverity.UNDEFINED)
+        if (getRawSeverity(raw-1) == AlarmSeverity.UNDEFINED)
             return raw;
         // Last sample is valid, so it should still apply 'now'
         return raw+1;
@@ -140,6 +147,50 @@ public class PVSamples extends PlotSamples
         return live.get(index - num_old);
     }
 
+    /** Get min/max/average bins from the historic and live sample pyramids
+     *  when the visible range contains many more samples than points
+     *  {@inheritDoc}
+     */
+    @Override
+    public PlotDataProvider<Instant> getReducedData(final Instant start, final Instant end, final int points)
+    {
+        final int raw_count = getRawSize();
+        final int count = size();
+        // Determine first and last sample to draw, then go one sample further on each end
+        final TimeDataSearch search = new TimeDataSearch();
+        int first = search.findSampleLessOrEqual(this, start);
+        first = first < 0 ? 0 : Math.max(0, first-1);
+        int last = search.findSampleGreaterOrEqual(this, end);
+        last = last < 0 ? count : Math.min(last+1, count);
+
+        final int level = SamplePyramid.getLevel(Math.min(last, raw_count) - first, points);
+        if (level < 0)
+            return null;
+
+        final List<PlotDataItem<Instant>> result = new ArrayList<>();
+        final int num_old = history.size();
+        if (first < num_old)
+            history.collect(first, Math.min(last, num_old), level, result);
+        if (last > num_old)
+            live.collect(Math.max(first, num_old) - num_old, Math.min(last, raw_count) - num_old, level, result);
+        // Continuation to 'now'
+        for (int i=raw_count; i<last; ++i)
+            result.add(get(i));
+        return new ArrayPlotDataProvider<>(result);
+    }
+
+    /** Get severity of 'raw' sample without creating a live sample
+     *  @param index 0... getRawSize()-1
+     *  @return Alarm severity of sample
+     */
+    private AlarmSeverity getRawSeverity(final int index)
+    {
+        final int num_old = history.size();
+        if (index < num_old)
+            return org.phoebus.core.vtypes.VTypeHelper.getSeverity(history.get(index).getVType());
+        return live.getSeverity(index - num_old);
+    }
+
     /** Test if samples changed since the last time
      *  <code>testAndClearNewSamplesFlag</code> was called.
      *  @return <code>true</code> if there were new samples
@@ -215,7 +266,7 @@ public class PVSamples extends PlotSamples
             // History ends before the start of 'live' samples.
             // Adding a live sample might have moved the ring buffer,
             // so need to update whenever live data is extended.
-            history.setBorderTime(Optional.of(live.get(0).getPosition()));
+            history.setBorderTime(Optional.of(live.getPosition(0)));
         }
         finally
         {
@@ -224,6 +275,22 @@ public class PVSamples extends PlotSamples
         samplesAddedSinceLastRefresh++;
     }
 
+    /** Update min/max/average pyramids after the waveform index changed */
+    void waveformIndexChanged()
+    {
+        if (! lockForWriting())
+            return;
+        try
+        {
+            history.rebuildPyramid();
+            live.rebuildPyramid();
+        }
+        finally
+        {
+            unlockForWriting();
+        }
+    }
+
     /** Delete all samples */
     public void clear()
     {
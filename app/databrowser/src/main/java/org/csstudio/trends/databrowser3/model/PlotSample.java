@@ -80,7 +80,10 @@ public class PlotSample implements PlotDataItem<Instant>
             this.info = info;
     }
 
-    private static String decodeAlarm(VType value)
+    /** @param value Value
+     *  @return Default info text for the alarm of the value
+     */
+    static String decodeAlarm(VType value)
     {
         final Alarm alarm = Alarm.alarmOf(value);
         if (alarm != null)
@@ -0,0 +1,336 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Phoebus contributors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ ******************************************************************************/
+package org.csstudio.trends.databrowser3.model;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.LongFunction;
+
+import org.csstudio.javafx.rtplot.data.PlotDataItem;
+import org.epics.vtype.Alarm;
+import org.epics.vtype.Display;
+import org.epics.vtype.Time;
+import org.epics.vtype.VStatistics;
+
+/** Multi-resolution min/max/average 'pyramid' over samples
+ *
+ *  <p>Level L holds bins of 2^L consecutive samples,
+ *  starting with level {@link #MIN_LEVEL}.
+ *  Each bin of a level is computed from two bins of the level below
+ *  once both are complete, so adding a sample costs O(1) on average.
+ *
+ *  <p>Bins only report a standard deviation when all their samples
+ *  are statistics that have one, for example optimized archive data.
+ *  Bins of raw samples have no standard deviation,
+ *  so the plot doesn't show one that the data never had.
+ *
+ *  <p>Samples are addressed by a <code>long</code> index that keeps
+ *  growing as samples are added, even when the oldest samples are dropped
+ *  from a ring buffer.
+ *
+ *  <p>Requests for a range of samples are served from complete bins
+ *  that lie within that range, using lower levels or raw samples
+ *  at the start and end of the range.
+ *
+ *  <p>Not thread-safe, all access is via {@link PVSamples}.
+ *
+ *  @author agent
+ */
+class SamplePyramid
+{
+    /** Lowest level, i.e. bins of 16 samples */
+    static final int MIN_LEVEL = 4;
+
+    /** Bins of one level */
+    private static class Level
+    {
+        /** Index of the bin in the first array element */
+        long first = 0;
+
+        /** Number of bins in arrays. Last bin may be incomplete. */
+        int size = 0;
+
+        /** Statistics of valid values in each bin */
+        double[] min = new double[16], max = new double[16], sum = new double[16], sum2 = new double[16];
+        int[] count = new int[16];
+
+        /** Sum of the variance of valid values that are statistics, and their number */
+        double[] var = new double[16];
+        int[] stats = new int[16];
+
+        /** @param bin Bin
+         *  @return Array index of bin, -1 if the bin doesn't exist
+         */
+        int find(final long bin)
+        {
+            if (bin < first  ||  bin >= first + size)
+                return -1;
+            return (int) (bin - first);
+        }
+
+        /** @param bin Bin to create if it doesn't exist, must be first+size or below
+         *  @return Array index of bin, -1 if the bin has been dropped
+         */
+        int get(final long bin)
+        {
+            if (bin < first)
+                return -1;
+            final int index = (int) (bin - first);
+            if (index < size)
+                return index;
+            if (size >= count.length)
+            {
+                final int capacity = 2 * count.length;
+                min = Arrays.copyOf(min, capacity);
+                max = Arrays.copyOf(max, capacity);
+                sum = Arrays.copyOf(sum, capacity);
+                sum2 = Arrays.copyOf(sum2, capacity);
+                count = Arrays.copyOf(count, capacity);
+                var = Arrays.copyOf(var, capacity);
+                stats = Arrays.copyOf(stats, capacity);
+            }
+            min[size] = Double.POSITIVE_INFINITY;
+            max[size] = Double.NEGATIVE_INFINITY;
+            sum[size] = sum2[size] = var[size] = 0.0;
+            count[size] = stats[size] = 0;
+            return size++;
+        }
+
+        /** @param bin First bin to remove */
+        void truncate(final long bin)
+        {
+            if (bin < first)
+            {
+                first = bin;
+                size = 0;
+            }
+            else
+                size = (int) Math.min(size, bin - first);
+        }
+
+        /** @param bin Bins before this one are no longer needed */
+        void drop(final long bin)
+        {
+            final long obsolete = Math.min(bin - first, size);
+            if (obsolete < 64  ||  obsolete < size / 2)
+                return;
+            final int n = (int) obsolete;
+            size -= n;
+            System.arraycopy(min, n, min, 0, size);
+            System.arraycopy(max, n, max, 0, size);
+            System.arraycopy(sum, n, sum, 0, size);
+            System.arraycopy(sum2, n, sum2, 0, size);
+            System.arraycopy(count, n, count, 0, size);
+            System.arraycopy(var, n, var, 0, size);
+            System.arraycopy(stats, n, stats, 0, size);
+            first += n;
+        }
+    }
+
+    /** Levels MIN_LEVEL, MIN_LEVEL+1, ... */
+    private final List<Level> levels = new ArrayList<>();
+
+    /** Index of the next sample to add */
+    private long end = 0;
+
+    /** @param count Number of samples to show
+     *  @param points Desired number of points
+     *  @return Level with about 2 bins per point, or -1 if samples should be used as is
+     */
+    static int getLevel(final long count, final int points)
+    {
+        if (points <= 0)
+            return -1;
+        final long per_point = count / (2L * points);
+        if (per_point <= 0)
+            return -1;
+        final int level = 63 - Long.numberOfLeadingZeros(per_point);
+        return level >= MIN_LEVEL ? level : -1;
+    }
+
+    /** @return Index of the next sample to add */
+    long getEnd()
+    {
+        return end;
+    }
+
+    /** @param level Level
+     *  @return Bins of that level, created if necessary
+     */
+    private Level getBins(final int level)
+    {
+        while (levels.size() <= level - MIN_LEVEL)
+        {
+            final Level bins = new Level();
+            // Bins of new level start at the first bin of the level below
+            if (! levels.isEmpty())
+                bins.first = levels.get(levels.size()-1).first >> 1;
+            levels.add(bins);
+        }
+        return levels.get(level - MIN_LEVEL);
+    }
+
+    /** Remove all samples
+     *  @param start Index of the next sample to add
+     */
+    void clear(final long start)
+    {
+        levels.clear();
+        end = start;
+        getBins(MIN_LEVEL).first = start >> MIN_LEVEL;
+    }
+
+    /** @param sample Sample to add */
+    void add(final PlotSample sample)
+    {
+        final long index = end++;
+        final Level bins = getBins(MIN_LEVEL);
+        final int i = bins.get(index >> MIN_LEVEL);
+        if (i < 0)
+            return;
+        final double value = sample.getValue();
+        if (! Double.isNaN(value))
+        {
+            final double min = sample.getMin(), max = sample.getMax();
+            bins.min[i] = Math.min(bins.min[i], Double.isNaN(min) ? value : min);
+            bins.max[i] = Math.max(bins.max[i], Double.isNaN(max) ? value : max);
+            bins.sum[i] += value;
+            bins.sum2[i] += value * value;
+            ++bins.count[i];
+            final double dev = sample.getStdDev();
+            if (! Double.isNaN(dev))
+            {
+                bins.var[i] += dev * dev;
+                ++bins.stats[i];
+            }
+        }
+        if (((index + 1) & ((1L << MIN_LEVEL) - 1)) == 0)
+            complete(MIN_LEVEL, index >> MIN_LEVEL);
+    }
+
+    /** Add a complete bin to its parent
+     *  @param level Level of the complete bin
+     *  @param bin Index of the complete bin
+     */
+    private void complete(final int level, final long bin)
+    {
+        final Level bins = getBins(level);
+        final Level parent = getBins(level + 1);
+        final int i = bins.get(bin), p = parent.get(bin >> 1);
+        if (i < 0  ||  p < 0)
+            return;
+        parent.min[p] = Math.min(parent.min[p], bins.min[i]);
+        parent.max[p] = Math.max(parent.max[p], bins.max[i]);
+        parent.sum[p] += bins.sum[i];
+        parent.sum2[p] += bins.sum2[i];
+        parent.count[p] += bins.count[i];
+        parent.var[p] += bins.var[i];
+        parent.stats[p] += bins.stats[i];
+        if ((bin & 1) == 1)
+            complete(level + 1, bin >> 1);
+    }
+
+    /** Remove samples at and beyond an index
+     *  @param size Index of first sample to remove
+     *  @param samples Access to samples before that index
+     */
+    void truncate(final long size, final LongFunction<PlotSample> samples)
+    {
+        if (size >= end)
+            return;
+        for (int level = MIN_LEVEL;  level < MIN_LEVEL + levels.size();  ++level)
+            getBins(level).truncate(size >> level);
+        // Parent of complete bin now needs to be re-created
+        for (int level = MIN_LEVEL;  level < MIN_LEVEL + levels.size() - 1;  ++level)
+        {
+            final long bin = size >> level;
+            if ((bin & 1) == 1)
+            {
+                final Level bins = getBins(level), parent = getBins(level + 1);
+                final int i = bins.get(bin - 1), p = parent.get(bin >> 1);
+                if (i < 0  ||  p < 0)
+                    continue;
+                parent.min[p] = bins.min[i];
+                parent.max[p] = bins.max[i];
+                parent.sum[p] = bins.sum[i];
+                parent.sum2[p] = bins.sum2[i];
+                parent.count[p] = bins.count[i];
+                parent.var[p] = bins.var[i];
+                parent.stats[p] = bins.stats[i];
+            }
+        }
+        // Add samples of incomplete lowest-level bin
+        final long start = (size >> MIN_LEVEL) << MIN_LEVEL;
+        end = start;
+        for (long index = start;  index < size;  ++index)
+            add(samples.apply(index));
+    }
+
+    /** @param start Samples before this index are no longer needed */
+    void drop(final long start)
+    {
+        for (int level = MIN_LEVEL;  level < MIN_LEVEL + levels.size();  ++level)
+            getBins(level).drop(start >> level);
+    }
+
+    /** Get reduced samples
+     *  @param start Index of first sample
+     *  @param stop Index after last sample, at most the end of added samples
+     *  @param level Highest level to use
+     *  @param samples Access to samples
+     *  @param result List to which bins or samples are added
+     */
+    void collect(final long start, final long stop, final int level,
+                 final LongFunction<PlotSample> samples, final List<PlotDataItem<Instant>> result)
+    {
+        long index = start;
+        while (index < stop)
+        {
+            // Largest aligned bin that starts at index and fits the range
+            int l = Math.min(level, MIN_LEVEL + levels.size() - 1);
+            while (l >= MIN_LEVEL  &&
+                   ((index & ((1L << l) - 1)) != 0  ||  index + (1L << l) > stop))
+                --l;
+            final int i = l < MIN_LEVEL ? -1 : getBins(l).find(index >> l);
+            if (i < 0)
+            {
+                result.add(samples.apply(index));
+                ++index;
+            }
+            else
+            {
+                result.add(createSample(getBins(l), i, samples.apply(index)));
+                index += 1L << l;
+            }
+        }
+    }
+
+    /** @param bins Bins
+     *  @param i Array index of bin
+     *  @param first First sample in bin
+     *  @return Sample with statistics of bin
+     */
+    private static PlotSample createSample(final Level bins, final int i, final PlotSample first)
+    {
+        final int count = bins.count[i];
+        // Keep gap for bins without any valid value
+        if (count <= 0)
+            return first;
+        final double average = bins.sum[i] / count;
+        // Raw samples have no standard deviation.
+        // For statistics, combine their variance with the variance of their averages.
+        final double stddev = bins.stats[i] < count
+                            ? Double.NaN
+                            : Math.sqrt(bins.var[i] / count + Math.max(0.0, bins.sum2[i] / count - average*average));
+        return new PlotSample(first.getSource(),
+                              VStatistics.of(average, stddev, bins.min[i], bins.max[i], count,
+                                             Alarm.none(), Time.of(first.getPosition()), Display.none()));
+    }
+}
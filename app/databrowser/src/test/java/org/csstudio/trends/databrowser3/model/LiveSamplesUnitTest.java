@@ -0,0 +1,97 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Phoebus contributors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ ******************************************************************************/
+package org.csstudio.trends.databrowser3.model;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.epics.vtype.Alarm;
+import org.epics.vtype.AlarmSeverity;
+import org.epics.vtype.Display;
+import org.epics.vtype.Time;
+import org.epics.vtype.VInt;
+import org.epics.vtype.VNumber;
+import org.junit.jupiter.api.Test;
+
+/** JUnit test of the columnar {@link LiveSamples}
+ *  @author agent
+ */
+@SuppressWarnings("nls")
+public class LiveSamplesUnitTest
+{
+    /** @return Mix of columnar and other samples */
+    private static List<PlotSample> createSamples(final int count)
+    {
+        final List<PlotSample> samples = new ArrayList<>();
+        for (int i=0; i<count; ++i)
+        {
+            final Time time = Time.of(Instant.ofEpochSecond(1000 + i, i));
+            if (i % 10 == 9)
+                samples.add(new PlotSample("Test", TestHelper.makeWaveform(i, new double[] { i, 2*i })));
+            else if (i % 10 == 8)
+                samples.add(new PlotSample("Test", "Disconnected"));
+            else if (i % 2 == 0)
+                samples.add(new PlotSample("Test", VNumber.of(i * 0.5, i % 4 == 0 ? Alarm.none() : Alarm.high(), time, Display.none())));
+            else
+                samples.add(new PlotSample("Other", VInt.of(i, Alarm.none(), time, Display.none())));
+        }
+        return samples;
+    }
+
+    private static void checkSample(final PlotSample actual, final PlotSample expected)
+    {
+        if (expected.getVType() instanceof VNumber)
+        {
+            assertThat(actual.getVType(), equalTo(expected.getVType()));
+            assertThat(actual.getSource(), equalTo(expected.getSource()));
+            assertThat(actual.getInfo(), equalTo(expected.getInfo()));
+        }
+        else
+            assertThat(actual, sameInstance(expected));
+    }
+
+    @Test
+    public void testColumns() throws Exception
+    {
+        final LiveSamples live = new LiveSamples(new AtomicInteger(0));
+        live.setCapacity(100);
+        final List<PlotSample> samples = createSamples(250);
+        for (PlotSample sample : samples)
+            live.add(sample);
+
+        // Ring buffer holds the last 100 samples
+        assertThat(live.size(), equalTo(100));
+        for (int i=0; i<100; ++i)
+        {
+            final PlotSample expected = samples.get(150 + i);
+            checkSample(live.get(i), expected);
+            assertThat(live.getPosition(i), equalTo(expected.getPosition()));
+            assertThat(live.getSeverity(i), equalTo(org.phoebus.core.vtypes.VTypeHelper.getSeverity(expected.getVType())));
+        }
+        assertThat(live.getSeverity(98), equalTo(AlarmSeverity.UNDEFINED));
+        assertThat(live.getSeverity(0), equalTo(AlarmSeverity.MINOR));
+        assertThat(live.getSeverity(1), equalTo(AlarmSeverity.NONE));
+
+        // Shrink, keeping the newest samples
+        live.setCapacity(30);
+        assertThat(live.size(), equalTo(30));
+        for (int i=0; i<30; ++i)
+            checkSample(live.get(i), samples.get(220 + i));
+
+        live.clear();
+        assertThat(live.size(), equalTo(0));
+        live.add(samples.get(0));
+        checkSample(live.get(0), samples.get(0));
+    }
+}
@@ -0,0 +1,197 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Phoebus contributors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ ******************************************************************************/
+package org.csstudio.trends.databrowser3.model;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.number.IsCloseTo.closeTo;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.csstudio.javafx.rtplot.data.PlotDataItem;
+import org.csstudio.javafx.rtplot.data.PlotDataProvider;
+import org.epics.vtype.Alarm;
+import org.epics.vtype.Display;
+import org.epics.vtype.Time;
+import org.epics.vtype.VStatistics;
+import org.junit.jupiter.api.Test;
+
+/** JUnit test of the {@link SamplePyramid}
+ *  @author agent
+ */
+@SuppressWarnings("nls")
+public class SamplePyramidUnitTest
+{
+    /** @return Samples with random values, time stamp = index in seconds, some NaN */
+    private static List<PlotSample> createSamples(final int count, final long seed)
+    {
+        final Random random = new Random(seed);
+        final List<PlotSample> samples = new ArrayList<>();
+        for (int i=0; i<count; ++i)
+            samples.add(new PlotSample(i, i % 101 == 0 ? Double.NaN : random.nextGaussian()));
+        return samples;
+    }
+
+    /** Check that raw sample has the expected time and value */
+    private static void checkSample(final PlotDataItem<Instant> item, final PlotDataItem<Instant> expected)
+    {
+        assertThat(item.getPosition(), equalTo(expected.getPosition()));
+        assertThat(item.getValue(), equalTo(expected.getValue()));
+    }
+
+    /** Check that each bin has the statistics of the samples it covers */
+    private static void checkBins(final List<PlotSample> samples, final List<PlotDataItem<Instant>> result)
+    {
+        for (int r=0; r<result.size(); ++r)
+        {
+            final int start = (int) result.get(r).getPosition().getEpochSecond();
+            final int end = r < result.size()-1
+                          ? (int) result.get(r+1).getPosition().getEpochSecond()
+                          : samples.size();
+            final PlotSample item = (PlotSample) result.get(r);
+            if (item.getVType() instanceof VStatistics)
+            {
+                double min = Double.POSITIVE_INFINITY, max = Double.NEGATIVE_INFINITY, sum = 0;
+                int count = 0;
+                for (int i=start; i<end; ++i)
+                {
+                    final double value = samples.get(i).getValue();
+                    if (Double.isNaN(value))
+                        continue;
+                    min = Math.min(min, value);
+                    max = Math.max(max, value);
+                    sum += value;
+                    ++count;
+                }
+                assertThat(item.getMin(), equalTo(min));
+                assertThat(item.getMax(), equalTo(max));
+                assertThat(item.getValue(), closeTo(sum / count, 1e-9));
+                // Raw samples have no standard deviation
+                assertThat(Double.isNaN(item.getStdDev()), equalTo(true));
+            }
+            else
+            {   // Raw sample
+                assertThat(end, equalTo(start + 1));
+                checkSample(item, samples.get(start));
+            }
+        }
+    }
+
+    @Test
+    public void testBins()
+    {
+        final List<PlotSample> samples = createSamples(1000, 42);
+        final SamplePyramid pyramid = new SamplePyramid();
+        for (PlotSample sample : samples)
+            pyramid.add(sample);
+
+        assertThat(SamplePyramid.getLevel(10, 100), equalTo(-1));
+        assertThat(SamplePyramid.getLevel(1000, 10), equalTo(5));
+
+        final List<PlotDataItem<Instant>> result = new ArrayList<>();
+        pyramid.collect(3, 997, 5, i -> samples.get((int) i), result);
+        // Bins of 32 samples, plus smaller bins and raw samples at start and end
+        System.out.println("Reduced 994 samples to " + result.size());
+        assertThat(result.size() < 60, equalTo(true));
+        checkSample(result.get(0), samples.get(3));
+        checkBins(samples.subList(0, 997), result);
+    }
+
+    @Test
+    public void testStdDev()
+    {
+        // Statistics with the same average and standard deviation
+        final List<PlotSample> samples = new ArrayList<>();
+        for (int i=0; i<100; ++i)
+            samples.add(new PlotSample("Test", VStatistics.of(5.0, 1.0, 3.0, 7.0, 10, Alarm.none(),
+                                                                 Time.of(Instant.ofEpochSecond(i)), Display.none())));
+        final SamplePyramid pyramid = new SamplePyramid();
+        for (PlotSample sample : samples)
+            pyramid.add(sample);
+
+        final List<PlotDataItem<Instant>> result = new ArrayList<>();
+        pyramid.collect(0, 96, 5, i -> samples.get((int) i), result);
+        assertThat(result.size(), equalTo(3));
+        for (PlotDataItem<Instant> item : result)
+        {
+            assertThat(item.getValue(), closeTo(5.0, 1e-9));
+            assertThat(item.getStdDev(), closeTo(1.0, 1e-9));
+        }
+
+        // Bin that mixes statistics and raw samples has no standard deviation
+        pyramid.truncate(80, i -> samples.get((int) i));
+        for (int i=80; i<96; ++i)
+            pyramid.add(new PlotSample(i, 5.0));
+        result.clear();
+        pyramid.collect(64, 96, 5, i -> samples.get((int) i), result);
+        assertThat(result.size(), equalTo(1));
+        assertThat(Double.isNaN(result.get(0).getStdDev()), equalTo(true));
+    }
+
+    @Test
+    public void testTruncate()
+    {
+        // Pyramid for samples, then replace all samples after 555
+        final List<PlotSample> samples = createSamples(1000, 42);
+        final SamplePyramid pyramid = new SamplePyramid();
+        for (PlotSample sample : samples)
+            pyramid.add(sample);
+        final List<PlotSample> merged = new ArrayList<>(samples.subList(0, 555));
+        for (PlotSample sample : createSamples(2000, 43).subList(555, 2000))
+            merged.add(sample);
+        pyramid.truncate(555, i -> merged.get((int) i));
+        for (int i=555; i<merged.size(); ++i)
+            pyramid.add(merged.get(i));
+        assertThat(pyramid.getEnd(), equalTo(2000L));
+
+        final List<PlotDataItem<Instant>> result = new ArrayList<>();
+        pyramid.collect(0, merged.size(), 6, i -> merged.get((int) i), result);
+        checkBins(merged, result);
+    }
+
+    @Test
+    public void testLiveSamples()
+    {
+        final PVSamples samples = new PVSamples(new AtomicInteger(0));
+        final List<PlotSample> live = createSamples(100000, 42);
+        for (PlotSample sample : live)
+            samples.addLiveSample(sample);
+
+        samples.getLock().lock();
+        try
+        {
+            final int count = samples.size();
+            final PlotDataProvider<Instant> reduced = samples.getReducedData(samples.get(0).getPosition(),
+                                                                              samples.get(count-1).getPosition(),
+                                                                              100);
+            assertThat(reduced, notNullValue());
+            System.out.println("Reduced " + count + " samples to " + reduced.size());
+            assertThat(reduced.size() < 500, equalTo(true));
+
+            // Bins cover the samples that remain in the ring buffer
+            final List<PlotSample> buffer = live.subList(live.size() - samples.getLiveCapacity(), live.size());
+            final List<PlotDataItem<Instant>> items = new ArrayList<>();
+            for (int i=0; i<reduced.size()-1; ++i)
+                items.add(reduced.get(i));
+            checkSample(items.get(0), buffer.get(0));
+            final int offset = (int) buffer.get(0).getPosition().getEpochSecond();
+            final List<PlotSample> padded = new ArrayList<>(live.subList(0, offset));
+            padded.addAll(buffer);
+            checkBins(padded, items);
+        }
+        finally
+        {
+            samples.getLock().unlock();
+        }
+    }
+}
@@ -8,6 +8,7 @@
 package org.csstudio.javafx.rtplot;
 
 import java.awt.Color;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.logging.Logger;
@@ -30,6 +31,9 @@ public class Activator
     @Preference(name="shady_future") private static int[] rgba;
     public static final Color shady_future;
 
+    /** Memory in MB that each plot may use to cache the image of each trace */
+    @Preference public static int trace_layer_memory;
+
     /** Thread pool for scrolling, throttling updates
      * 
      *  <p>One per CPU core allows that many plots to run updateImageBuffer in parallel.
@@ -37,6 +41,15 @@ public class Activator
     public static final ScheduledExecutorService thread_pool
         =  Executors.newScheduledThreadPool(Runtime.getRuntime().availableProcessors(), new NamedThreadFactory("RTPlot"));
 
+    /** Thread pool for rendering parts of a plot in parallel,
+     *  i.e. the trace layers of a plot or row stripes of an image
+     *
+     *  <p>Separate from the thread_pool because updateImageBuffer,
+     *  running on the thread_pool, waits for the parts.
+     */
+    public static final ExecutorService render_pool
+        =  Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors(), new NamedThreadFactory("RTPlotRender"));
+
     static
     {
     	AnnotatedPreferences.initialize(Activator.class, "/rt_plot_preferences.properties");
@@ -0,0 +1,94 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Phoebus contributors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ ******************************************************************************/
+package org.csstudio.javafx.rtplot;
+
+/** Paint duration metrics of a plot
+ *
+ *  <p>Updated by the plot each time it re-creates its image.
+ *  Layers are the images of individual traces,
+ *  which are only rendered when the trace or its axes changed,
+ *  otherwise re-used from the previous update.
+ *
+ *  @author agent
+ */
+@SuppressWarnings("nls")
+public class PaintMetrics
+{
+    private long updates = 0;
+    private double last_ms = 0.0, average_ms = 0.0, max_ms = 0.0;
+    private long rendered_layers = 0, cached_layers = 0;
+
+    /** @param nanos Duration of an image update in nanoseconds */
+    public synchronized void addUpdate(final long nanos)
+    {
+        last_ms = nanos / 1e6;
+        // Exponential moving average, starting with first value
+        average_ms = updates == 0 ? last_ms : (average_ms * 9.0 + last_ms) / 10.0;
+        max_ms = Math.max(max_ms, last_ms);
+        ++updates;
+    }
+
+    /** @param rendered Number of layers rendered in an image update
+     *  @param cached Number of layers re-used from the previous update
+     */
+    public synchronized void addLayers(final int rendered, final int cached)
+    {
+        rendered_layers += rendered;
+        cached_layers += cached;
+    }
+
+    /** @return Number of image updates */
+    public synchronized long getUpdateCount()
+    {
+        return updates;
+    }
+
+    /** @return Duration of the last image update in milliseconds */
+    public synchronized double getLastMillis()
+    {
+        return last_ms;
+    }
+
+    /** @return Moving average of the image update duration in milliseconds */
+    public synchronized double getAverageMillis()
+    {
+        return average_ms;
+    }
+
+    /** @return Longest image update duration in milliseconds */
+    public synchronized double getMaxMillis()
+    {
+        return max_ms;
+    }
+
+    /** @return Total number of rendered layers */
+    public synchronized long getRenderedLayers()
+    {
+        return rendered_layers;
+    }
+
+    /** @return Total number of layers re-used from a previous update */
+    public synchronized long getCachedLayers()
+    {
+        return cached_layers;
+    }
+
+    /** Reset all metrics */
+    public synchronized void reset()
+    {
+        updates = rendered_layers = cached_layers = 0;
+        last_ms = average_ms = max_ms = 0.0;
+    }
+
+    @Override
+    public synchronized String toString()
+    {
+        return String.format("%d updates, last %.1f ms, average %.1f ms, max %.1f ms, %d layers rendered, %d cached",
+                             updates, last_ms, average_ms, max_ms, rendered_layers, cached_layers);
+    }
+}
@@ -549,6 +549,20 @@ public class  RTPlot<XTYPE extends Comparable<XTYPE>> extends BorderPane
         plot.requestUpdate();
     }
 
+    /** Request redraw of the plot because the data of one trace changed
+     *  @param trace {@link Trace} with new data
+     */
+    public void requestUpdate(final Trace<XTYPE> trace)
+    {
+        plot.requestUpdate(trace);
+    }
+
+    /** @return Duration of plot updates */
+    public PaintMetrics getPaintMetrics()
+    {
+        return plot.getPaintMetrics();
+    }
+
     /** @param trace Trace to which an annotation should be added
      *  @param text Text for the annotation
      */
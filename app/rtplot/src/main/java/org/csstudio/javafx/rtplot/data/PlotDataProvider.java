@@ -58,6 +58,26 @@ public interface PlotDataProvider<XTYPE extends Comparable<XTYPE>>
      */
     public PlotDataItem<XTYPE> get(int index);
 
+    /** Get samples at reduced resolution
+     *  <p>
+     *  A data provider that maintains for example a min/max/average
+     *  representation of its samples at several resolutions
+     *  may return such samples for the visible range,
+     *  which the plot then draws instead of the complete sequence.
+     *  Only used for trace types that show the min/max range,
+     *  since a single line of averages would hide spikes.
+     *  Caller must hold the lock.
+     *
+     *  @param start Start of the visible range
+     *  @param end End of the visible range
+     *  @param points Desired number of points, typically the plot width in pixels
+     *  @return Samples for the visible range, or <code>null</code> to use all samples
+     */
+    public default PlotDataProvider<XTYPE> getReducedData(final XTYPE start, final XTYPE end, final int points)
+    {
+        return null;
+    }
+
     //    public String toString()
     //    {
     //        // Derived class should include InstrumentedReadWriteLock#toString()
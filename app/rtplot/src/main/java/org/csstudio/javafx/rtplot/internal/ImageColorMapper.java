@@ -0,0 +1,380 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Phoebus contributors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ ******************************************************************************/
+package org.csstudio.javafx.rtplot.internal;
+
+import static org.csstudio.javafx.rtplot.Activator.logger;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.logging.Level;
+
+import org.csstudio.javafx.rtplot.ColorMappingFunction;
+import org.csstudio.javafx.rtplot.internal.util.Log10;
+import org.epics.util.array.ArrayByte;
+import org.epics.util.array.ArrayDouble;
+import org.epics.util.array.ArrayFloat;
+import org.epics.util.array.ArrayInteger;
+import org.epics.util.array.ArrayShort;
+import org.epics.util.array.ArrayUByte;
+import org.epics.util.array.ArrayUInteger;
+import org.epics.util.array.ArrayUShort;
+import org.epics.util.array.ListNumber;
+
+/** Map image data to ARGB pixels via a lookup table
+ *
+ *  <p>Calling the {@link ColorMappingFunction} for each pixel is expensive.
+ *  Instead, the colors are computed once for a lookup table (LUT),
+ *  which is re-used while the value range and color mapping remain the same.
+ *
+ *  <p>For (unsigned) byte and short data, the LUT has one entry for
+ *  each possible value, so the result is the same as calling the
+ *  color mapping for each pixel.
+ *  Other data is scaled into a LUT of {@link #LUT_SIZE} entries.
+ *
+ *  <p>Data is read via the concrete array types, respectively copied
+ *  in chunks into primitive arrays, to avoid the iterator and
+ *  per-element conversions of a generic {@link ListNumber}.
+ *  Large images are processed in row stripes in parallel.
+ *
+ *  <p>Not thread-safe, to be called by one thread at a time.
+ *
+ *  @author agent
+ */
+@SuppressWarnings("nls")
+public class ImageColorMapper
+{
+    /** Number of LUT entries for data types other than (unsigned) byte and short */
+    public static final int LUT_SIZE = 4096;
+
+    /** Minimum number of pixels per stripe that's handled in parallel */
+    private static final int MIN_STRIPE_PIXELS = 256 * 256;
+
+    /** Number of pixels that are read and scaled at once */
+    private static final int CHUNK = 4096;
+
+    /** How values are looked up in the LUT */
+    private enum Lookup
+    {
+        /** Signed byte, value + 128 */
+        BYTE(256, -128),
+        /** Unsigned byte, value */
+        UBYTE(256, 0),
+        /** Signed short, value + 32768 */
+        SHORT(65536, -32768),
+        /** Unsigned short, value */
+        USHORT(65536, 0),
+        /** Any other type, scaled into LUT */
+        SCALED(LUT_SIZE, 0);
+
+        final int size, offset;
+
+        Lookup(final int size, final int offset)
+        {
+            this.size = size;
+            this.offset = offset;
+        }
+    }
+
+    private final ExecutorService pool;
+
+    private final int threads;
+
+    // Configuration of the current LUT
+    private Lookup lookup = null;
+    private ColorMappingFunction lut_mapping = null;
+    private double lut_min = Double.NaN, lut_max = Double.NaN;
+    private boolean lut_log = false;
+    private int[] lut = null;
+
+    /** Color for NaN */
+    private int nan_rgb;
+
+    /** @param pool Thread pool for processing stripes, <code>null</code> to use only the calling thread
+     *  @param threads Number of stripes to process in parallel
+     */
+    public ImageColorMapper(final ExecutorService pool, final int threads)
+    {
+        this.pool = pool;
+        this.threads = pool == null ? 1 : Math.max(1, threads);
+    }
+
+    /** @param numbers Data
+     *  @param unsigned Treat signed integer data as unsigned?
+     *  @return How to look up values of that data
+     */
+    private static Lookup getLookup(final ListNumber numbers, final boolean unsigned)
+    {
+        if (numbers instanceof ArrayByte)
+            return unsigned ? Lookup.UBYTE : Lookup.BYTE;
+        if (numbers instanceof ArrayUByte)
+            return Lookup.UBYTE;
+        if (numbers instanceof ArrayShort)
+            return unsigned ? Lookup.USHORT : Lookup.SHORT;
+        if (numbers instanceof ArrayUShort)
+            return Lookup.USHORT;
+        if (unsigned  &&  ! (numbers instanceof ArrayInteger  ||  numbers instanceof ArrayUInteger))
+            logger.log(Level.WARNING, "Cannot handle unsigned data of type " + numbers.getClass().getName());
+        return Lookup.SCALED;
+    }
+
+    /** @param value Value, already log10 for logarithmic scale
+     *  @param min Start of value range
+     *  @param span Size of value range
+     *  @param color_mapping Color mapping
+     *  @return Color for value
+     */
+    private static int getRGB(final double value, final double min, final double span,
+                              final ColorMappingFunction color_mapping)
+    {
+        double scaled = (value - min) / span;
+        if (scaled < 0.0)
+            scaled = 0;
+        else if (scaled > 1.0)
+            scaled = 1.0;
+        return color_mapping.getRGB(scaled);
+    }
+
+    /** Update LUT if configuration changed
+     *  @param new_lookup How values will be looked up
+     *  @param min Start of value range
+     *  @param max End of value range
+     *  @param log Logarithmic color scale?
+     *  @param color_mapping Color mapping
+     */
+    private void updateLUT(final Lookup new_lookup, final double min, final double max, final boolean log,
+                           final ColorMappingFunction color_mapping)
+    {
+        if (lut != null  &&  lookup == new_lookup  &&  lut_mapping == color_mapping  &&
+            lut_min == min  &&  lut_max == max  &&  lut_log == log)
+            return;
+
+        final double lmin = log ? Log10.log10(min) : min;
+        final double span = (log ? Log10.log10(max) : max) - lmin;
+        if (lut == null  ||  lut.length != new_lookup.size)
+            lut = new int[new_lookup.size];
+        if (new_lookup == Lookup.SCALED)
+        {   // Entries for 0.0 .. 1.0 of the value range
+            for (int i=0; i<lut.length; ++i)
+                lut[i] = color_mapping.getRGB(i / (double) (lut.length - 1));
+        }
+        else
+        {   // Entry for each possible value
+            for (int i=0; i<lut.length; ++i)
+            {
+                final double value = i + new_lookup.offset;
+                lut[i] = getRGB(log ? Log10.log10(value) : value, lmin, span, color_mapping);
+            }
+        }
+        nan_rgb = color_mapping.getRGB(Double.NaN);
+
+        lookup = new_lookup;
+        lut_mapping = color_mapping;
+        lut_min = min;
+        lut_max = max;
+        lut_log = log;
+    }
+
+    /** Map image data to pixels
+     *
+     *  @param numbers Image data, at least width * height elements
+     *  @param unsigned Treat signed integer data as unsigned?
+     *  @param width Image width
+     *  @param height Image height
+     *  @param min Start of value range
+     *  @param max End of value range, must be larger than <code>min</code>
+     *  @param log Logarithmic color scale?
+     *  @param color_mapping Color mapping
+     *  @param pixels Pixels of image, for example from the {@link java.awt.image.DataBufferInt} of the image
+     *  @throws Exception on error
+     */
+    public void map(final ListNumber numbers, final boolean unsigned, final int width, final int height,
+                    final double min, final double max, final boolean log,
+                    final ColorMappingFunction color_mapping, final int[] pixels) throws Exception
+    {
+        updateLUT(getLookup(numbers, unsigned), min, max, log, color_mapping);
+
+        final int count = width * height;
+        final int stripes = Math.max(1, Math.min(threads, count / MIN_STRIPE_PIXELS));
+        if (stripes <= 1)
+        {
+            mapPixels(numbers, unsigned, 0, count, pixels);
+            return;
+        }
+
+        final int rows = (height + stripes - 1) / stripes;
+        final List<Future<?>> results = new ArrayList<>(stripes);
+        for (int row = rows;  row < height;  row += rows)
+        {
+            final int start = row * width;
+            final int end = Math.min(row + rows, height) * width;
+            results.add(pool.submit(() -> mapPixels(numbers, unsigned, start, end, pixels)));
+        }
+        // Handle first stripe in calling thread
+        mapPixels(numbers, unsigned, 0, rows * width, pixels);
+        try
+        {
+            for (Future<?> result : results)
+                result.get();
+        }
+        catch (ExecutionException ex)
+        {
+            if (ex.getCause() instanceof Exception)
+                throw (Exception) ex.getCause();
+            throw ex;
+        }
+    }
+
+    /** @param numbers Image data
+     *  @param unsigned Treat signed integer data as unsigned?
+     *  @param start Index of first pixel to map
+     *  @param end Index after last pixel to map
+     *  @param pixels Pixels of image
+     */
+    private void mapPixels(final ListNumber numbers, final boolean unsigned,
+                           final int start, final int end, final int[] pixels)
+    {
+        final int[] lut = this.lut;
+        switch (lookup)
+        {
+        case BYTE:
+        {
+            final ArrayByte data = (ArrayByte) numbers;
+            for (int i=start; i<end; ++i)
+                pixels[i] = lut[data.getByte(i) + 128];
+            break;
+        }
+        case UBYTE:
+            if (numbers instanceof ArrayByte)
+            {
+                final ArrayByte data = (ArrayByte) numbers;
+                for (int i=start; i<end; ++i)
+                    pixels[i] = lut[data.getByte(i) & 0xFF];
+            }
+            else
+            {
+                final ArrayUByte data = (ArrayUByte) numbers;
+                for (int i=start; i<end; ++i)
+                    pixels[i] = lut[data.getByte(i) & 0xFF];
+            }
+            break;
+        case SHORT:
+        {
+            final ArrayShort data = (ArrayShort) numbers;
+            for (int i=start; i<end; ++i)
+                pixels[i] = lut[data.getShort(i) + 32768];
+            break;
+        }
+        case USHORT:
+            if (numbers instanceof ArrayShort)
+            {
+                final ArrayShort data = (ArrayShort) numbers;
+                for (int i=start; i<end; ++i)
+                    pixels[i] = lut[data.getShort(i) & 0xFFFF];
+            }
+            else
+            {
+                final ArrayUShort data = (ArrayUShort) numbers;
+                for (int i=start; i<end; ++i)
+                    pixels[i] = lut[data.getShort(i) & 0xFFFF];
+            }
+            break;
+        default:
+            mapScaled(numbers, unsigned, start, end, pixels);
+        }
+    }
+
+    /** Map pixels via LUT for the value range
+     *
+     *  <p>Values are copied into a chunk of primitive values,
+     *  which is then scaled and looked up in a tight loop.
+     *
+     *  @param numbers Image data
+     *  @param unsigned Treat signed integer data as unsigned?
+     *  @param start Index of first pixel to map
+     *  @param end Index after last pixel to map
+     *  @param pixels Pixels of image
+     */
+    private void mapScaled(final ListNumber numbers, final boolean unsigned,
+                           final int start, final int end, final int[] pixels)
+    {
+        final int[] lut = this.lut;
+        final int last = lut.length - 1;
+        final double lmin = lut_log ? Log10.log10(lut_min) : lut_min;
+        final double factor = last / ((lut_log ? Log10.log10(lut_max) : lut_max) - lmin);
+        final double[] values = new double[CHUNK];
+        final Object buffer = createChunkBuffer(numbers);
+        for (int i=start; i<end; i+=CHUNK)
+        {
+            final int n = Math.min(CHUNK, end - i);
+            readChunk(numbers, unsigned, i, n, buffer, values);
+            if (lut_log)
+                for (int j=0; j<n; ++j)
+                    values[j] = Log10.log10(values[j]);
+            for (int j=0; j<n; ++j)
+            {
+                final double scaled = (values[j] - lmin) * factor;
+                if (scaled >= last)
+                    pixels[i+j] = lut[last];
+                else if (scaled > 0.0)
+                    pixels[i+j] = lut[(int) (scaled + 0.5)];
+                else if (scaled <= 0.0)
+                    pixels[i+j] = lut[0];
+                else
+                    pixels[i+j] = nan_rgb;
+            }
+        }
+    }
+
+    /** @param numbers Image data
+     *  @return Array for reading a chunk of that data, <code>null</code> if read as double
+     */
+    private static Object createChunkBuffer(final ListNumber numbers)
+    {
+        if (numbers instanceof ArrayFloat)
+            return new float[CHUNK];
+        if (numbers instanceof ArrayInteger  ||  numbers instanceof ArrayUInteger)
+            return new int[CHUNK];
+        return null;
+    }
+
+    /** @param numbers Image data
+     *  @param unsigned Treat signed integer data as unsigned?
+     *  @param start Index of first element to read
+     *  @param n Number of elements to read
+     *  @param buffer Array from <code>createChunkBuffer</code>
+     *  @param values Values that have been read
+     */
+    private static void readChunk(final ListNumber numbers, final boolean unsigned, final int start, final int n,
+                                  final Object buffer, final double[] values)
+    {
+        if (buffer instanceof float[])
+        {
+            final float[] data = numbers.subList(start, start + n).toArray((float[]) buffer);
+            for (int j=0; j<n; ++j)
+                values[j] = data[j];
+        }
+        else if (buffer instanceof int[])
+        {
+            final int[] data = numbers.subList(start, start + n).toArray((int[]) buffer);
+            if (unsigned  ||  numbers instanceof ArrayUInteger)
+                for (int j=0; j<n; ++j)
+                    values[j] = Integer.toUnsignedLong(data[j]);
+            else
+                for (int j=0; j<n; ++j)
+                    values[j] = data[j];
+        }
+        else if (numbers instanceof ArrayDouble)
+            numbers.subList(start, start + n).toArray(values);
+        else
+            for (int j=0; j<n; ++j)
+                values[j] = numbers.getDouble(start + j);
+    }
+}
@@ -20,10 +20,10 @@ import java.util.Objects;
 import java.util.Optional;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.function.IntToDoubleFunction;
-import java.util.function.ToDoubleFunction;
 import java.util.function.ToIntFunction;
 import java.util.logging.Level;
 
+import org.csstudio.javafx.rtplot.Activator;
 import org.csstudio.javafx.rtplot.Axis;
 import org.csstudio.javafx.rtplot.AxisRange;
 import org.csstudio.javafx.rtplot.ColorMappingFunction;
@@ -35,7 +35,6 @@ import org.csstudio.javafx.rtplot.data.ValueRange;
 import org.csstudio.javafx.rtplot.internal.undo.ChangeImageZoom;
 import org.csstudio.javafx.rtplot.internal.util.GraphicsUtils;
 import org.csstudio.javafx.rtplot.internal.util.LinearScreenTransform;
-import org.csstudio.javafx.rtplot.internal.util.Log10;
 import org.epics.util.array.ArrayByte;
 import org.epics.util.array.ArrayUByte;
 import org.epics.util.array.ArrayInteger;
@@ -441,22 +440,6 @@ public class ImagePlot extends PlotCanvasBase
         x_axis.setBounds(image_area.x, image_area.height, image_area.width, x_axis_height);
     }
 
-    // Functionals for reading the next Number as an unsigned value
-    private static double getUnsignedByte(final IteratorNumber iter)
-    {
-        return Byte.toUnsignedInt(iter.nextByte());
-    }
-
-    private static double getUnsignedShort(final IteratorNumber iter)
-    {
-        return Short.toUnsignedInt(iter.nextShort());
-    }
-
-    private static double getUnsignedInt(final IteratorNumber iter)
-    {
-        return Integer.toUnsignedLong(iter.nextInt());
-    }
-
     // Functionals for RGB
     private static int getUByteForRGB(final IteratorNumber iter)
     {
@@ -527,7 +510,6 @@ public class ImagePlot extends PlotCanvasBase
         final VImageType type = this.vimage_type;
         final ColorMappingFunction color_mapping = this.color_mapping;
 
-        ToDoubleFunction<IteratorNumber> next_sample_func = IteratorNumber::nextDouble;
         boolean isRGB = type == VImageType.TYPE_RGB1 || type == VImageType.TYPE_RGB2 || type == VImageType.TYPE_RGB3;
         @SuppressWarnings("unchecked")
         final ToIntFunction<IteratorNumber> next_rgb [] = new ToIntFunction [3];
@@ -583,20 +565,6 @@ public class ImagePlot extends PlotCanvasBase
                     }
                 }
             }
-            else //is not RGB
-            {
-                if (unsigned)
-                {
-                    if (numbers instanceof ArrayShort)
-                        next_sample_func = ImagePlot::getUnsignedShort;
-                    else if (numbers instanceof ArrayByte)
-                        next_sample_func = ImagePlot::getUnsignedByte;
-                    else if (numbers instanceof ArrayInteger)
-                        next_sample_func = ImagePlot::getUnsignedInt;
-                    else
-                        logger.log(Level.WARNING, "Cannot handle unsigned data of type " + numbers.getClass().getName());
-                }
-            }
         }
 
         // Transform from full axis range into data range,
@@ -694,7 +662,7 @@ public class ImagePlot extends PlotCanvasBase
             // Paint the image
             gc.setClip(image_area.x, image_area.y, image_area.width, image_area.height);
             final Object image_or_error =  !isRGB ?
-                    drawData(data_width, data_height, numbers, next_sample_func, min_value, max_value, color_mapping) :
+                    drawData(data_width, data_height, numbers, unsigned, min_value, max_value, color_mapping) :
                     drawDataRGB(data_width, data_height, numbers, next_rgb, type);
             if (image_or_error instanceof BufferedImage)
             {
@@ -867,17 +835,20 @@ public class ImagePlot extends PlotCanvasBase
     /** Buffers used for the data (to be merged/scaled into the complete image) */
     private final DoubleBuffer data_buffers = new DoubleBuffer();
 
+    /** Maps values of mono images to colors */
+    private final ImageColorMapper color_mapper = new ImageColorMapper(Activator.render_pool, Runtime.getRuntime().availableProcessors());
+
     /** @param data_width
      *  @param data_height
      *  @param numbers
-     *  @param next_sample_func
+     *  @param unsigned
      *  @param min
      *  @param max
      *  @param color_mapping
      *  @return {@link BufferedImage}, sized to match data or String with error message
      */
     private Object drawData(final int data_width, final int data_height, final ListNumber numbers,
-                                   final ToDoubleFunction<IteratorNumber> next_sample_func,
+                                   final boolean unsigned,
                                    double min, double max, final ColorMappingFunction color_mapping)
     {
         // final long start = System.nanoTime();
@@ -909,42 +880,20 @@ public class ImagePlot extends PlotCanvasBase
         // Creating a byte[] with one byte per pixel and ColorModel based on color map is fastest,
         // but only 8 bits per pixel instead of 8 bits each for R, G and B isn't enough resolution.
         // Rounding of values into 8 bits creates artifacts.
+        // Colors are looked up in a table that's computed for the current value range
+        // and color mapping, instead of calling the color mapping for each pixel.
         final int[] data = ((DataBufferInt) image.getRaster().getDataBuffer()).getData();
-        final IteratorNumber iter = numbers.iterator();
-        int idx = 0;
-
-        if (colorbar_axis.isLogarithmic())
+        try
         {
-            final double lmin = Log10.log10(min),
-                         lmax = Log10.log10(max),
-                         span = lmax - lmin;
-            for (int y=0; y<data_height; ++y)
-                for (int x=0; x<data_width; ++x)
-                {
-                    final double sample = Log10.log10(next_sample_func.applyAsDouble(iter));
-                    double scaled = (sample - lmin) / span;
-                    if (scaled < 0.0)
-                        scaled = 0;
-                    else if (scaled > 1.0)
-                        scaled = 1.0;
-                    data[idx++] = color_mapping.getRGB(scaled);
-                }
+            color_mapper.map(numbers, unsigned, data_width, data_height, min, max,
+                             colorbar_axis.isLogarithmic(), color_mapping, data);
         }
-        else
+        catch (Exception ex)
         {
-            final double span = max - min;
-            for (int y=0; y<data_height; ++y)
-                for (int x=0; x<data_width; ++x)
-                {
-                    final double sample = next_sample_func.applyAsDouble(iter);
-                    double scaled = (sample - min) / span;
-                    if (scaled < 0.0)
-                        scaled = 0;
-                    else if (scaled > 1.0)
-                        scaled = 1.0;
-                    data[idx++] = color_mapping.getRGB(scaled);
-                }
+            logger.log(Level.WARNING, "Cannot draw image", ex);
+            return "Cannot draw image: " + ex.getMessage();
         }
+
         // final long nano = System.nanoTime() - start;
         // avg_nano = (avg_nano*3 + nano)/4;
         // if (++runs > 100)
@@ -20,13 +20,23 @@ import java.awt.Stroke;
 import java.awt.image.BufferedImage;
 import java.time.Duration;
 import java.time.Instant;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Objects;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
 import java.util.logging.Level;
 
 import org.csstudio.javafx.rtplot.Activator;
@@ -98,7 +108,12 @@ public class Plot<XTYPE extends Comparable<XTYPE>> extends PlotCanvasBase
     final private AxisPart<XTYPE> x_axis;
     final private List<YAxisImpl<XTYPE>> y_axes = new CopyOnWriteArrayList<>();
     final private PlotPart plot_area;
+    /** Paints traces that don't have a layer, only accessed by update thread */
     final private TracePainter<XTYPE> trace_painter = new TracePainter<>();
+    /** Layer for visible traces within the memory budget, accessed by update thread except for <code>requestUpdate(trace)</code> */
+    final private Map<Trace<XTYPE>, TraceLayer<XTYPE>> layers = new ConcurrentHashMap<>();
+    /** Images of released layers, only accessed by update thread */
+    final private Deque<BufferedImage> spare_layers = new ArrayDeque<>();
     final private List<AnnotationImpl<XTYPE>> annotations = new CopyOnWriteArrayList<>();
     final private LegendPart<XTYPE> legend;
 
@@ -354,6 +369,21 @@ public class Plot<XTYPE extends Comparable<XTYPE>> extends PlotCanvasBase
         requestUpdate();
     }
 
+    /** Request update of plot because the data of one trace changed
+     *
+     *  <p>Other traces are drawn as before
+     *  unless their axes changed.
+     *
+     *  @param trace {@link Trace} with new data
+     */
+    public void requestUpdate(final Trace<XTYPE> trace)
+    {
+        final TraceLayer<XTYPE> layer = layers.get(trace);
+        if (layer != null)
+            layer.invalidate();
+        requestRepaint();
+    }
+
     /** Add plot marker
      *  @param color
      *  @param interactive
@@ -367,7 +397,7 @@ public class Plot<XTYPE extends Comparable<XTYPE>> extends PlotCanvasBase
             public void setPosition(XTYPE position)
             {
                 super.setPosition(position);
-                requestUpdate();
+                requestRepaint();
             }
         };
         plot_markers.add(marker);
@@ -386,7 +416,7 @@ public class Plot<XTYPE extends Comparable<XTYPE>> extends PlotCanvasBase
     public void removeMarker(final int index)
     {
         plot_markers.remove(index);
-        requestUpdate();
+        requestRepaint();
     }
 
     /** Select plot marker at mouse position?
@@ -418,7 +448,7 @@ public class Plot<XTYPE extends Comparable<XTYPE>> extends PlotCanvasBase
         if (plot_marker != null)
         {
             plot_marker = null;
-            requestUpdate();
+            requestRepaint();
         }
     }
 
@@ -446,7 +476,7 @@ public class Plot<XTYPE extends Comparable<XTYPE>> extends PlotCanvasBase
                                                       annotation.getTrace(), annotation.getPosition(),
                                                       annotation.getValue(), annotation.getOffset(),
                                                       annotation.getText()));
-        requestUpdate();
+        requestRepaint();
         fireAnnotationsChanged();
     }
 
@@ -466,7 +496,7 @@ public class Plot<XTYPE extends Comparable<XTYPE>> extends PlotCanvasBase
     {
         annotation.setLocation(position, value, info);
         annotation.setOffset(offset);
-        requestUpdate();
+        requestRepaint();
         fireAnnotationsChanged();
     }
 
@@ -482,7 +512,7 @@ public class Plot<XTYPE extends Comparable<XTYPE>> extends PlotCanvasBase
         if (index < 0)
             throw new IllegalArgumentException("Unknown annotation " + annotation);
         annotations.get(index).setText(text);
-        requestUpdate();
+        requestRepaint();
         fireAnnotationsChanged();
     }
 
@@ -490,7 +520,7 @@ public class Plot<XTYPE extends Comparable<XTYPE>> extends PlotCanvasBase
     public void removeAnnotation(final Annotation<XTYPE> annotation)
     {
         annotations.remove(annotation);
-        requestUpdate();
+        requestRepaint();
         fireAnnotationsChanged();
     }
 
@@ -507,7 +537,7 @@ public class Plot<XTYPE extends Comparable<XTYPE>> extends PlotCanvasBase
                     mouse_annotation_start_position = annotation.getPosition();
                     mouse_annotation_start_value = annotation.getValue();
                     mouse_annotation = annotation;
-                    requestUpdate();
+                    requestRepaint();
                     return true;
                 }
         return false;
@@ -526,7 +556,7 @@ public class Plot<XTYPE extends Comparable<XTYPE>> extends PlotCanvasBase
                     anno.getOffset()));
             anno.deselect();
             mouse_annotation = null;
-            requestUpdate();
+            requestRepaint();
         }
     }
 
@@ -604,6 +634,9 @@ public class Plot<XTYPE extends Comparable<XTYPE>> extends PlotCanvasBase
         plot_area.setBounds(total_left_axes_width-1, title_height, plot_width+1, y_axis_height);
     }
 
+    /** Maximum number of images kept from released layers */
+    private static final int MAX_SPARE_LAYERS = 4;
+
     /** Buffers used to create the next image buffer */
     private final DoubleBuffer buffers = new DoubleBuffer();
 
@@ -683,9 +716,7 @@ public class Plot<XTYPE extends Comparable<XTYPE>> extends PlotCanvasBase
 
         plot_area.paint(gc);
 
-        for (YAxisImpl<XTYPE> y_axis : y_axes)
-            for (Trace<XTYPE> trace : y_axis.getTraces())
-                trace_painter.paint(gc, plot_area.getBounds(), opacity, x_transform, y_axis, trace);
+        paintTraces(gc, plot_bounds, x_transform);
 
         drawPlotMarkers(gc);
         gc.setClip(null);
@@ -710,6 +741,124 @@ public class Plot<XTYPE extends Comparable<XTYPE>> extends PlotCanvasBase
         return image;
     }
 
+    /** Paint traces
+     *
+     *  <p>Each trace is rendered into a layer,
+     *  which is re-used until the data of the trace,
+     *  its configuration or its axes change.
+     *  Layers that need to be rendered are handled in parallel.
+     *
+     *  <p>Layers and spare images are limited to the
+     *  <code>trace_layer_memory</code> preference.
+     *  Traces beyond that are painted directly on each update.
+     *
+     *  @param gc Graphics context
+     *  @param bounds Plot area
+     *  @param x_transform Coordinate transform used by the x axis
+     */
+    private void paintTraces(final Graphics2D gc, final Rectangle bounds, final ScreenTransform<XTYPE> x_transform)
+    {
+        if (bounds.width <= 0  ||  bounds.height <= 0)
+            return;
+
+        if (need_data_update.getAndSet(false))
+            for (TraceLayer<XTYPE> layer : layers.values())
+                layer.invalidate();
+
+        // Number of layers that fit the memory budget
+        final long layer_bytes = 4L * bounds.width * bounds.height;
+        final long max_layers = Activator.trace_layer_memory * 1024L * 1024L / layer_bytes;
+
+        final List<TraceLayer<XTYPE>> visible = new ArrayList<>();
+        final List<YAxisImpl<XTYPE>> visible_axes = new ArrayList<>();
+        // Draw layer or paint trace without layer, in order of traces
+        final List<Consumer<Graphics2D>> painters = new ArrayList<>();
+        for (YAxisImpl<XTYPE> y_axis : y_axes)
+            for (Trace<XTYPE> trace : y_axis.getTraces())
+            {
+                if (! trace.isVisible())
+                    continue;
+                if (visible.size() >= max_layers)
+                {
+                    painters.add(g -> trace_painter.paint(g, bounds, opacity, x_transform, y_axis, trace));
+                    continue;
+                }
+                final TraceLayer<XTYPE> layer = layers.computeIfAbsent(trace, TraceLayer::new);
+                visible.add(layer);
+                visible_axes.add(y_axis);
+                painters.add(g -> layer.draw(g, bounds));
+            }
+
+        // Release layers of removed or hidden traces and those beyond the memory budget
+        // before allocating images for new layers
+        final Iterator<TraceLayer<XTYPE>> iter = layers.values().iterator();
+        while (iter.hasNext())
+        {
+            final TraceLayer<XTYPE> layer = iter.next();
+            if (! visible.contains(layer))
+            {
+                layer.release(spare_layers);
+                iter.remove();
+            }
+        }
+
+        final List<Callable<Object>> renderers = new ArrayList<>();
+        for (int i=0; i<visible.size(); ++i)
+        {
+            final TraceLayer<XTYPE> layer = visible.get(i);
+            final YAxisImpl<XTYPE> y_axis = visible_axes.get(i);
+            final List<Object> key = TraceLayer.createKey(layer.getTrace(), bounds, opacity, x_axis, y_axis);
+            if (layer.needsUpdate(key))
+            {
+                layer.allocate(bounds, spare_layers);
+                renderers.add(Executors.callable(() -> layer.render(key, bounds, opacity, x_transform, y_axis)));
+            }
+        }
+
+        // Keep a few spare images that fit the plot and the memory budget
+        spare_layers.removeIf(img -> img.getWidth() != bounds.width  ||  img.getHeight() != bounds.height);
+        while (spare_layers.size() > Math.min(MAX_SPARE_LAYERS, max_layers - visible.size()))
+            spare_layers.removeLast();
+
+        if (renderers.size() == 1)
+        {   // No need to involve other threads
+            try
+            {
+                renderers.get(0).call();
+            }
+            catch (Exception ex)
+            {
+                logger.log(Level.WARNING, "Cannot paint trace", ex);
+            }
+        }
+        else if (renderers.size() > 1)
+        {
+            try
+            {
+                for (Future<Object> result : Activator.render_pool.invokeAll(renderers))
+                {
+                    try
+                    {
+                        result.get();
+                    }
+                    catch (ExecutionException ex)
+                    {
+                        logger.log(Level.WARNING, "Cannot paint trace", ex.getCause());
+                    }
+                }
+            }
+            catch (InterruptedException ex)
+            {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+        metrics.addLayers(renderers.size(), visible.size() - renderers.size());
+
+        for (Consumer<Graphics2D> painter : painters)
+            painter.accept(gc);
+    }
+
     /** Draw the {@link PlotMarker}s
      *  @param gc Graphics context
      */
@@ -982,7 +1131,7 @@ public class Plot<XTYPE extends Comparable<XTYPE>> extends PlotCanvasBase
         if (plot_marker != null)
         {
             plot_marker.setPosition(x_axis.getValue((int) current.getX()));
-            requestUpdate();
+            requestRepaint();
             firePlotMarkersChanged(plot_markers.indexOf(plot_marker));
         }
         else if (anno != null  &&  start != null)
@@ -992,14 +1141,14 @@ public class Plot<XTYPE extends Comparable<XTYPE>> extends PlotCanvasBase
                 anno.setOffset(
                         new Point2D((int)(mouse_annotation_start_offset.getX() + current.getX() - start.getX()),
                                     (int)(mouse_annotation_start_offset.getY() + current.getY() - start.getY())));
-                requestUpdate();
+                requestRepaint();
                 fireAnnotationsChanged();
             }
             else
             {
                 if (anno.setPosition(x_axis.getValue((int)current.getX())))
                 {
-                    requestUpdate();
+                    requestRepaint();
                     fireAnnotationsChanged();
                 }
             }
@@ -1346,6 +1495,7 @@ public class Plot<XTYPE extends Comparable<XTYPE>> extends PlotCanvasBase
         // Release memory ASAP
         traces.clear();
         y_axes.clear();
+        layers.clear();
         annotations.clear();
         listeners.clear();
         plot_markers.clear();
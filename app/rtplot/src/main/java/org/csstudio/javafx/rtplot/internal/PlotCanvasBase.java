@@ -20,6 +20,7 @@ import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.csstudio.javafx.rtplot.Activator;
+import org.csstudio.javafx.rtplot.PaintMetrics;
 import org.phoebus.ui.javafx.BufferUtil;
 import org.phoebus.ui.javafx.DoubleBuffer;
 import org.phoebus.ui.javafx.UpdateThrottle;
@@ -92,6 +93,14 @@ abstract class PlotCanvasBase extends ImageView
     /** Does plot image to be re-created? */
     protected final AtomicBoolean need_update = new AtomicBoolean(true);
 
+    /** Might the data shown in the plot have changed since the last update?
+     *  Cleared by the plot when it uses the latest data.
+     */
+    protected final AtomicBoolean need_data_update = new AtomicBoolean(true);
+
+    /** Duration of image updates */
+    protected final PaintMetrics metrics = new PaintMetrics();
+
     /** Throttle updates, enforcing a 'dormant' period */
     private final UpdateThrottle update_throttle;
 
@@ -114,8 +123,9 @@ abstract class PlotCanvasBase extends ImageView
         @Override
         public void refreshPlotPart(final PlotPart plotPart)
         {
+            // Plot parts don't hold data, no need to re-read it
             if (! in_update)
-                requestUpdate();
+                requestRepaint();
         }
     };
 
@@ -170,7 +180,7 @@ abstract class PlotCanvasBase extends ImageView
                     last_counter = update_counter;
                     next_rate_update = now + 1000;
                 }
-                final String text = String.format("%d (%.1f Hz)", update_counter, update_rate);
+                final String text = String.format("%d (%.1f Hz, %.1f ms)", update_counter, update_rate, metrics.getLastMillis());
                 gc.setPaint(Color.WHITE);
                 gc.drawString(text, 1, height-2);
                 gc.setPaint(Color.BLACK);
@@ -204,7 +214,9 @@ abstract class PlotCanvasBase extends ImageView
             if (need_update.getAndSet(false))
             {
                 in_update = true;
+                final long start = System.nanoTime();
                 final BufferedImage latest = updateImageBuffer();
+                metrics.addUpdate(System.nanoTime() - start);
                 in_update = false;
                 if (latest == null)
                     // Update failed, request another
@@ -241,6 +253,12 @@ abstract class PlotCanvasBase extends ImageView
         return undo;
     }
 
+    /** @return Duration of image updates */
+    public PaintMetrics getPaintMetrics()
+    {
+        return metrics;
+    }
+
     /** Update the dormant time between updates
      *  @param dormant_time How long throttle remains dormant after a trigger
      *  @param unit Units for the dormant period
@@ -260,6 +278,17 @@ abstract class PlotCanvasBase extends ImageView
 
     /** Request a complete update of plot image */
     final public void requestUpdate()
+    {
+        need_data_update.set(true);
+        need_update.set(true);
+        update_throttle.trigger();
+    }
+
+    /** Request update of plot image for changes that don't involve the data,
+     *  for example axis ranges, annotations or markers.
+     *  Plot may re-use what it has drawn for unchanged traces.
+     */
+    final void requestRepaint()
     {
         need_update.set(true);
         update_throttle.trigger();
@@ -0,0 +1,373 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Phoebus contributors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ ******************************************************************************/
+package org.csstudio.javafx.rtplot.internal;
+
+import java.awt.Rectangle;
+import java.util.Arrays;
+import java.util.concurrent.locks.Lock;
+
+import org.csstudio.javafx.rtplot.data.PlotDataItem;
+import org.csstudio.javafx.rtplot.data.PlotDataProvider;
+import org.csstudio.javafx.rtplot.data.PlotDataSearch;
+import org.csstudio.javafx.rtplot.internal.util.ScreenTransform;
+
+/** Screen-resolution decimation of the samples of a trace
+ *
+ *  <p>For data that is ordered along the X axis,
+ *  samples are grouped by the pixel column where they will be drawn.
+ *  For each column, only the first and last sample
+ *  and the samples with the lowest and highest value, min, max and std. deviation range
+ *  are kept.
+ *  Lines and areas drawn from the decimated samples look the same as those
+ *  drawn from all samples, but the number of samples to draw depends
+ *  on the width of the plot, not the number of samples.
+ *
+ *  <p>A change in the 'signature' of samples,
+ *  for example from a valid value to <code>NaN</code>, always starts a new group
+ *  to preserve gaps in lines and areas.
+ *
+ *  <p>The decimated samples are cached.
+ *  When samples are appended or the plot scrolls without changing the scale
+ *  of the X axis, only the new samples are decimated.
+ *
+ *  @param <XTYPE> Data type of horizontal {@link org.csstudio.javafx.rtplot.Axis}
+ *  @author agent
+ */
+class TraceDecimation<XTYPE extends Comparable<XTYPE>>
+{
+    /** Only decimate when there are at least this many samples per pixel column */
+    static final int MIN_SAMPLES_PER_PIXEL = 4;
+
+    /** Change of X axis scale in pixels across the plot that invalidates the decimation */
+    private static final double SCALE_TOLERANCE = 1e-3;
+
+    /** Quantities for which lowest and highest sample are kept:
+     *  Value, min, max, value - std.dev, value + std.dev
+     */
+    private static final int QUANTITIES = 5;
+
+    /** Sample at an index, used to detect changes to the data */
+    private static class Reference<XTYPE extends Comparable<XTYPE>>
+    {
+        final int index;
+        final XTYPE position;
+        final double value;
+
+        Reference(final PlotDataProvider<XTYPE> data, final int index)
+        {
+            final PlotDataItem<XTYPE> item = data.get(index);
+            this.index = index;
+            position = item.getPosition();
+            value = item.getValue();
+        }
+
+        boolean matches(final PlotDataProvider<XTYPE> data)
+        {
+            if (index >= data.size())
+                return false;
+            final PlotDataItem<XTYPE> item = data.get(index);
+            return item.getPosition().compareTo(position) == 0  &&
+                   Double.compare(item.getValue(), value) == 0;
+        }
+    }
+
+    /** Decimated samples of the data */
+    private static class DecimatedData<XTYPE extends Comparable<XTYPE>> implements PlotDataProvider<XTYPE>
+    {
+        private final PlotDataProvider<XTYPE> data;
+        private final int[] indices;
+
+        DecimatedData(final PlotDataProvider<XTYPE> data, final int[] indices)
+        {
+            this.data = data;
+            this.indices = indices;
+        }
+
+        @Override
+        public Lock getLock()
+        {
+            return data.getLock();
+        }
+
+        @Override
+        public int size()
+        {
+            return indices.length;
+        }
+
+        @Override
+        public PlotDataItem<XTYPE> get(final int index)
+        {
+            return data.get(indices[index]);
+        }
+    }
+
+    private final PlotDataSearch<XTYPE> search = new PlotDataSearch<>();
+
+    /** Positions used to detect a change in the scale of the X axis */
+    private XTYPE scale_start = null, scale_end;
+
+    /** Screen distance between scale_start and scale_end */
+    private double scale_distance;
+
+    /** Number of samples checked for order */
+    private int checked = 0;
+
+    /** Are the checked samples ordered? */
+    private boolean ordered;
+
+    /** First and last checked sample */
+    private Reference<XTYPE> first_checked, last_checked;
+
+    /** Raw samples raw_start .. raw_end-1 have been decimated */
+    private int raw_start, raw_end;
+
+    /** First decimated sample */
+    private Reference<XTYPE> first_decimated;
+
+    /** Indices of decimated samples, excluding the current run */
+    private int[] indices = new int[1024];
+    private int count = 0;
+
+    /** Current run of samples with same column and signature.
+     *  May still grow when samples are appended.
+     */
+    private long run_column;
+    private int run_signature, run_first = -1, run_last;
+    private final double[] run_low = new double[QUANTITIES], run_high = new double[QUANTITIES];
+    private final int[] run_low_index = new int[QUANTITIES], run_high_index = new int[QUANTITIES];
+
+    /** Get decimated samples for the visible range of the plot
+     *
+     *  @param data Data, must already be locked
+     *  @param x_transform Coordinate transform used by the x axis
+     *  @param bounds Plot area bounds
+     *  @return Decimated samples or <code>null</code> if the data should be drawn as is
+     */
+    PlotDataProvider<XTYPE> decimate(final PlotDataProvider<XTYPE> data,
+                                     final ScreenTransform<XTYPE> x_transform,
+                                     final Rectangle bounds)
+    {
+        final int N = data.size();
+        if (bounds.width <= 0  ||  N < MIN_SAMPLES_PER_PIXEL * bounds.width)
+            return null;
+
+        if (scale_start == null  ||
+            Math.abs(x_transform.transform(scale_end) - x_transform.transform(scale_start) - scale_distance) > SCALE_TOLERANCE  ||
+            ! isUnchanged(data))
+            reset(x_transform, bounds);
+
+        // Check order of new samples
+        if (checked < N)
+        {
+            if (checked == 0)
+                first_checked = new Reference<>(data, 0);
+            for (int i=Math.max(1, checked); ordered && i<N; ++i)
+                if (data.get(i-1).getPosition().compareTo(data.get(i).getPosition()) > 0)
+                    ordered = false;
+            checked = N;
+            last_checked = new Reference<>(data, N-1);
+        }
+        if (! ordered)
+            return null;
+
+        // Determine first and last sample to draw, then go one sample further on each end
+        int start = search.findSampleLessOrEqual(data, x_transform.inverse(bounds.x));
+        start = start < 0 ? 0 : Math.max(0, start-1);
+        int end = search.findSampleGreaterOrEqual(data, x_transform.inverse(bounds.getMaxX()));
+        end = end < 0 ? N : Math.min(end+1, N);
+        if (end - start < MIN_SAMPLES_PER_PIXEL * bounds.width)
+            return null;
+
+        // Decimated samples must be contiguous with the visible range
+        if (start < raw_start  ||  start > raw_end)
+            clear(data, start);
+
+        // Add new samples, using columns relative to the start of the scale
+        final double origin = x_transform.transform(scale_start);
+        for (int i=raw_end; i<end; ++i)
+            add(i, data.get(i), x_transform.transform(data.get(i).getPosition()) - origin);
+        raw_end = Math.max(raw_end, end);
+
+        trim(data, start);
+
+        // Decimated samples in visible range, including current run
+        final int from = findIndex(start), to = findIndex(end);
+        final int[] run = new int[2 + 2*QUANTITIES];
+        final int run_count = getRunIndices(run);
+        final int[] visible = new int[to - from + run_count];
+        System.arraycopy(indices, from, visible, 0, to - from);
+        int size = to - from;
+        for (int i=0; i<run_count; ++i)
+            if (run[i] >= start  &&  run[i] < end)
+                visible[size++] = run[i];
+        return new DecimatedData<>(data, size < visible.length ? Arrays.copyOf(visible, size) : visible);
+    }
+
+    /** @param data Data
+     *  @return <code>true</code> if data appears unchanged except for appended samples
+     */
+    private boolean isUnchanged(final PlotDataProvider<XTYPE> data)
+    {
+        if (checked <= 0)
+            return data.size() > 0;
+        return data.size() >= checked  &&
+               first_checked.matches(data)  &&
+               last_checked.matches(data)  &&
+               (first_decimated == null  ||  first_decimated.matches(data));
+    }
+
+    /** Start over for new scale or changed data */
+    private void reset(final ScreenTransform<XTYPE> x_transform, final Rectangle bounds)
+    {
+        scale_start = x_transform.inverse(bounds.x);
+        scale_end = x_transform.inverse(bounds.getMaxX());
+        scale_distance = x_transform.transform(scale_end) - x_transform.transform(scale_start);
+        checked = 0;
+        ordered = true;
+        first_checked = last_checked = null;
+        first_decimated = null;
+        raw_start = raw_end = 0;
+        count = 0;
+        run_first = -1;
+    }
+
+    /** Clear decimated samples
+     *  @param data Data
+     *  @param start Index of next raw sample to decimate
+     */
+    private void clear(final PlotDataProvider<XTYPE> data, final int start)
+    {
+        raw_start = raw_end = start;
+        first_decimated = new Reference<>(data, start);
+        count = 0;
+        run_first = -1;
+    }
+
+    /** Drop decimated samples before the visible range once they use up more than half the buffer
+     *  @param data Data
+     *  @param start Index of first visible raw sample
+     */
+    private void trim(final PlotDataProvider<XTYPE> data, final int start)
+    {
+        final int obsolete = findIndex(start);
+        if (obsolete < 1024  ||  obsolete < count / 2)
+            return;
+        count -= obsolete;
+        System.arraycopy(indices, obsolete, indices, 0, count);
+        raw_start = count > 0 ? indices[0] : (run_first >= 0 ? run_first : raw_end);
+        first_decimated = raw_start < raw_end ? new Reference<>(data, raw_start) : null;
+    }
+
+    /** @param raw_index Index of raw sample
+     *  @return Index of first decimated sample at or after that raw sample
+     */
+    private int findIndex(final int raw_index)
+    {
+        int low = 0, high = count;
+        while (low < high)
+        {
+            final int mid = (low + high) >>> 1;
+            if (indices[mid] < raw_index)
+                low = mid + 1;
+            else
+                high = mid;
+        }
+        return low;
+    }
+
+    /** Add sample
+     *  @param index Index of raw sample
+     *  @param item Raw sample
+     *  @param x Screen position relative to start of scale
+     */
+    private void add(final int index, final PlotDataItem<XTYPE> item, final double x)
+    {
+        final long column = (long) Math.floor(x);
+        final double value = item.getValue();
+        final double min = item.getMin();
+        final double max = item.getMax();
+        final double dev = item.getStdDev();
+        final int signature = (Double.isNaN(value) ? 1 : 0) |
+                              (Double.isNaN(min)   ? 2 : 0) |
+                              (Double.isNaN(max)   ? 4 : 0) |
+                              (dev > 0             ? 8 : 0);
+        if (run_first < 0  ||  column != run_column  ||  signature != run_signature)
+        {
+            commitRun();
+            run_column = column;
+            run_signature = signature;
+            run_first = index;
+            Arrays.fill(run_low, Double.POSITIVE_INFINITY);
+            Arrays.fill(run_high, Double.NEGATIVE_INFINITY);
+            Arrays.fill(run_low_index, -1);
+            Arrays.fill(run_high_index, -1);
+        }
+        run_last = index;
+        update(0, value, index);
+        update(1, min, index);
+        update(2, max, index);
+        update(3, value - dev, index);
+        update(4, value + dev, index);
+    }
+
+    /** @param quantity Quantity to update in current run
+     *  @param value Value of that quantity, may be NaN
+     *  @param index Index of raw sample
+     */
+    private void update(final int quantity, final double value, final int index)
+    {
+        if (value < run_low[quantity])
+        {
+            run_low[quantity] = value;
+            run_low_index[quantity] = index;
+        }
+        if (value > run_high[quantity])
+        {
+            run_high[quantity] = value;
+            run_high_index[quantity] = index;
+        }
+    }
+
+    /** @param run Array for indices of raw samples to keep from current run
+     *  @return Number of indices, sorted and without duplicates
+     */
+    private int getRunIndices(final int[] run)
+    {
+        if (run_first < 0)
+            return 0;
+        int n = 0;
+        run[n++] = run_first;
+        run[n++] = run_last;
+        for (int q=0; q<QUANTITIES; ++q)
+        {
+            if (run_low_index[q] >= 0)
+                run[n++] = run_low_index[q];
+            if (run_high_index[q] >= 0)
+                run[n++] = run_high_index[q];
+        }
+        Arrays.sort(run, 0, n);
+        int unique = 1;
+        for (int i=1; i<n; ++i)
+            if (run[i] != run[unique-1])
+                run[unique++] = run[i];
+        return unique;
+    }
+
+    /** Add indices of current run to decimated samples */
+    private void commitRun()
+    {
+        final int[] run = new int[2 + 2*QUANTITIES];
+        final int n = getRunIndices(run);
+        if (count + n > indices.length)
+            indices = Arrays.copyOf(indices, Math.max(2*indices.length, count + n));
+        System.arraycopy(run, 0, indices, count, n);
+        count += n;
+        run_first = -1;
+    }
+}
@@ -0,0 +1,180 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Phoebus contributors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ ******************************************************************************/
+package org.csstudio.javafx.rtplot.internal;
+
+import java.awt.AlphaComposite;
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.csstudio.javafx.rtplot.Trace;
+import org.csstudio.javafx.rtplot.internal.util.ScreenTransform;
+
+/** Image of one trace, re-used while the trace and its axes remain unchanged
+ *
+ *  <p>The layer covers the plot area.
+ *  It is transparent except for the trace,
+ *  so layers of all traces can be drawn onto the plot.
+ *
+ *  <p>Each layer has its own {@link TracePainter},
+ *  so layers can be rendered in parallel.
+ *
+ *  @param <XTYPE> Data type of horizontal {@link org.csstudio.javafx.rtplot.Axis}
+ *  @author agent
+ */
+class TraceLayer<XTYPE extends Comparable<XTYPE>>
+{
+    private final Trace<XTYPE> trace;
+
+    private final TracePainter<XTYPE> painter = new TracePainter<>();
+
+    /** Need to render because trace data changed? */
+    private final AtomicBoolean dirty = new AtomicBoolean(true);
+
+    /** Everything other than the data that affects the image of the trace */
+    private volatile List<Object> key = null;
+
+    private BufferedImage image = null;
+
+    /** @param trace Trace to render */
+    TraceLayer(final Trace<XTYPE> trace)
+    {
+        this.trace = trace;
+    }
+
+    /** @return Trace that's rendered */
+    Trace<XTYPE> getTrace()
+    {
+        return trace;
+    }
+
+    /** Mark layer as outdated because trace data changed */
+    void invalidate()
+    {
+        dirty.set(true);
+    }
+
+    /** @param trace Trace
+     *  @param bounds Plot area
+     *  @param opacity Opacity (0 .. 100 %) of 'area'
+     *  @param x_axis X axis
+     *  @param y_axis Y axis of the trace
+     *  @return Key that describes the configuration of trace and axes
+     */
+    static <XTYPE extends Comparable<XTYPE>> List<Object> createKey(final Trace<XTYPE> trace,
+            final Rectangle bounds, final int opacity,
+            final AxisPart<XTYPE> x_axis, final YAxisImpl<XTYPE> y_axis)
+    {
+        final boolean x_log = x_axis instanceof NumericAxis  &&  ((NumericAxis) x_axis).isLogarithmic();
+        return Arrays.asList(new Rectangle(bounds), opacity,
+                             x_axis.getValueRange(), x_log,
+                             y_axis, y_axis.getValueRange(), y_axis.isLogarithmic(),
+                             trace.getData(), trace.getColor(), trace.getType(), trace.getWidth(),
+                             trace.getLineStyle(), trace.getPointType(), trace.getPointSize());
+    }
+
+    /** @param new_key Current configuration of trace and axes
+     *  @return <code>true</code> if the layer needs to be rendered
+     */
+    boolean needsUpdate(final List<Object> new_key)
+    {
+        return dirty.get()  ||  image == null  ||  ! Objects.equals(key, new_key);
+    }
+
+    /** Prepare image for rendering
+     *
+     *  <p>Keeps the current image if it has the correct size,
+     *  otherwise takes one from the spare images or allocates a new one.
+     *
+     *  @param bounds Plot area
+     *  @param spare Spare images, to which an image of the wrong size is added
+     */
+    void allocate(final Rectangle bounds, final Deque<BufferedImage> spare)
+    {
+        if (image != null  &&  image.getWidth() == bounds.width  &&  image.getHeight() == bounds.height)
+            return;
+        release(spare);
+        image = spare.stream()
+                     .filter(img -> img.getWidth() == bounds.width  &&  img.getHeight() == bounds.height)
+                     .findFirst()
+                     .orElse(null);
+        if (image == null)
+            image = new BufferedImage(bounds.width, bounds.height, BufferedImage.TYPE_INT_ARGB);
+        else
+            spare.remove(image);
+    }
+
+    /** @param spare Spare images to which the image of this layer is added */
+    void release(final Deque<BufferedImage> spare)
+    {
+        if (image != null)
+            spare.push(image);
+        image = null;
+        key = null;
+    }
+
+    /** Render the trace
+     *
+     *  <p>Must be called after <code>allocate</code>
+     *
+     *  @param new_key Configuration of trace and axes, see <code>createKey</code>
+     *  @param bounds Plot area
+     *  @param opacity Opacity (0 .. 100 %) of 'area'
+     *  @param x_transform Coordinate transform used by the x axis
+     *  @param y_axis Y axis of the trace
+     */
+    void render(final List<Object> new_key, final Rectangle bounds, final int opacity,
+                final ScreenTransform<XTYPE> x_transform, final YAxisImpl<XTYPE> y_axis)
+    {
+        // Clear dirty flag before reading the data,
+        // so an invalidation while rendering triggers another update
+        dirty.set(false);
+        final Graphics2D gc = image.createGraphics();
+        boolean painted = false;
+        try
+        {
+            gc.setComposite(AlphaComposite.Clear);
+            gc.fillRect(0, 0, bounds.width, bounds.height);
+            gc.setComposite(AlphaComposite.SrcOver);
+
+            // Same settings as the plot image
+            gc.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+            gc.setRenderingHint(RenderingHints.KEY_ALPHA_INTERPOLATION, RenderingHints.VALUE_ALPHA_INTERPOLATION_QUALITY);
+            gc.setRenderingHint(RenderingHints.KEY_COLOR_RENDERING, RenderingHints.VALUE_COLOR_RENDER_QUALITY);
+            gc.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+
+            // Trace painter uses plot coordinates
+            gc.translate(-bounds.x, -bounds.y);
+            gc.setClip(bounds.x, bounds.y, bounds.width, bounds.height);
+            painted = painter.paint(gc, bounds, opacity, x_transform, y_axis, trace);
+        }
+        finally
+        {
+            gc.dispose();
+            // Try again on next update
+            if (! painted)
+                dirty.set(true);
+        }
+        key = new_key;
+    }
+
+    /** @param gc GC of plot onto which the layer is drawn
+     *  @param bounds Plot area
+     */
+    void draw(final Graphics2D gc, final Rectangle bounds)
+    {
+        if (image != null)
+            gc.drawImage(image, bounds.x, bounds.y, null);
+    }
+}
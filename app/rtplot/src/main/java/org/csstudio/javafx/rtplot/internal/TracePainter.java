@@ -14,6 +14,8 @@ import java.awt.Color;
 import java.awt.Graphics2D;
 import java.awt.Rectangle;
 import java.awt.Stroke;
+import java.util.Map;
+import java.util.WeakHashMap;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import java.util.logging.Level;
@@ -57,6 +59,9 @@ public class TracePainter<XTYPE extends Comparable<XTYPE>>
     final private static int OUTSIDE = 1000;
     private int x_min, x_max, y_min, y_max;
 
+    /** Decimation of each trace's samples to the pixel columns of the plot */
+    private final Map<Trace<XTYPE>, TraceDecimation<XTYPE>> decimations = new WeakHashMap<>();
+
     final private int clipX(final double x)
     {
         if (x < x_min)
@@ -80,19 +85,20 @@ public class TracePainter<XTYPE extends Comparable<XTYPE>>
      *  @param opacity Opacity (0 .. 100 %) of 'area'
      *  @param x_transform Coordinate transform used by the x axis
      *  @param trace Trace, has reference to its value axis
+     *  @return <code>false</code> if trace data could not be accessed
      */
-    final public void paint(final Graphics2D gc, final Rectangle bounds, final int opacity,
+    final public boolean paint(final Graphics2D gc, final Rectangle bounds, final int opacity,
             final ScreenTransform<XTYPE> x_transform, final YAxisImpl<XTYPE> y_axis,
             final Trace<XTYPE> trace)
     {
         if (! trace.isVisible())
-            return;
+            return true;
 
         final TraceType type = trace.getType();
         final PointType point_type = trace.getPointType();
         logger.log(Level.FINE, () -> "Painting trace type " + type.toString() + ", points " + point_type.toString());
         if (type == TraceType.NONE  &&  point_type == PointType.NONE)
-            return;
+            return true;
 
         x_min = bounds.x - OUTSIDE;
         x_max = bounds.x + bounds.width + OUTSIDE;
@@ -122,14 +128,14 @@ public class TracePainter<XTYPE extends Comparable<XTYPE>>
         catch (Exception ex)
         {
             logger.log(Level.WARNING, "Skip painting " + trace + ", cannot lock " + data, ex);
-            return;
+            return false;
         }
         try
         {
             int start = 0;
             int end = data.size();
             if (end <= 0)
-                return;
+                return true;
 
             switch (type)
             {
@@ -164,43 +170,72 @@ public class TracePainter<XTYPE extends Comparable<XTYPE>>
                 break;
             }
 
+            // Lines and areas of ordered data only need the samples
+            // that define their outline in each pixel column.
+            // Types that draw the min/max envelope may use reduced data from the data provider,
+            // which for example represents many samples by their average, min and max.
+            // A single line needs the actual samples to show spikes.
+            PlotDataProvider<XTYPE> lines = data;
+            int lines_start = start, lines_end = end;
+            if (type != TraceType.NONE  &&  type != TraceType.LINES_ERROR_BARS  &&
+                type != TraceType.ERROR_BARS  &&  type != TraceType.BARS)
+            {
+                PlotDataProvider<XTYPE> decimated = null;
+                if (type == TraceType.AREA  ||  type == TraceType.AREA_DIRECT  ||
+                    type == TraceType.LINES  ||  type == TraceType.LINES_DIRECT)
+                    decimated = data.getReducedData(x_transform.inverse(bounds.x),
+                                                    x_transform.inverse(bounds.getMaxX()),
+                                                    bounds.width);
+                if (decimated == null)
+                    decimated = getDecimation(trace).decimate(data, x_transform, bounds);
+                if (decimated != null)
+                {
+                    if (logger.isLoggable(Level.FINE))
+                        logger.log(Level.FINE,
+                                   "Reduced drawing from samples 0.." + data.size() + " to " + decimated.size());
+                    lines = decimated;
+                    lines_start = 0;
+                    lines_end = decimated.size();
+                }
+            }
+
             switch (type)
             {
             case NONE:
                 break;
             case AREA:
                 gc.setPaint(tpcolor);
-                drawMinMaxArea(gc, x_transform, y_axis, data, start, end);
+                drawMinMaxArea(gc, x_transform, y_axis, lines, lines_start, lines_end);
                 gc.setPaint(color);
-                drawStdDevLines(gc, x_transform, y_axis, data, start, end, trace.getWidth());
-                drawValueStaircase(gc, x_transform, y_axis, data, start, end, trace.getWidth(), trace.getLineStyle());
+                drawStdDevLines(gc, x_transform, y_axis, lines, lines_start, lines_end, trace.getWidth());
+                drawValueStaircase(gc, x_transform, y_axis, lines, lines_start, lines_end, trace.getWidth(), trace.getLineStyle());
                 break;
             case AREA_DIRECT:
                 gc.setPaint(tpcolor);
-                drawMinMaxArea(gc, x_transform, y_axis, data, start, end);
+                drawMinMaxArea(gc, x_transform, y_axis, lines, lines_start, lines_end);
                 gc.setPaint(color);
-                drawStdDevLines(gc, x_transform, y_axis, data, start, end, trace.getWidth());
-                drawValueLines(gc, x_transform, y_axis, data, trace.getWidth(), trace.getLineStyle());
+                drawStdDevLines(gc, x_transform, y_axis, lines, lines_start, lines_end, trace.getWidth());
+                drawValueLines(gc, x_transform, y_axis, lines, trace.getWidth(), trace.getLineStyle());
                 break;
             case LINES:
-                drawMinMaxLines(gc, x_transform, y_axis, data, trace.getWidth());
+                drawMinMaxLines(gc, x_transform, y_axis, lines, trace.getWidth());
                 gc.setPaint(tpcolor);
-                drawStdDevLines(gc, x_transform, y_axis, data, start, end, trace.getWidth());
+                drawStdDevLines(gc, x_transform, y_axis, lines, lines_start, lines_end, trace.getWidth());
                 gc.setPaint(color);
-                drawValueStaircase(gc, x_transform, y_axis, data, start, end, trace.getWidth(), trace.getLineStyle());
+                drawValueStaircase(gc, x_transform, y_axis, lines, lines_start, lines_end, trace.getWidth(), trace.getLineStyle());
                 break;
             case LINES_DIRECT:
-                drawMinMaxLines(gc, x_transform, y_axis, data, trace.getWidth());
+                drawMinMaxLines(gc, x_transform, y_axis, lines, trace.getWidth());
                 gc.setPaint(tpcolor);
-                drawStdDevLines(gc, x_transform, y_axis, data, start, end, trace.getWidth());
+                drawStdDevLines(gc, x_transform, y_axis, lines, lines_start, lines_end, trace.getWidth());
                 gc.setPaint(color);
-                drawValueLines(gc, x_transform, y_axis, data, trace.getWidth(), trace.getLineStyle());
+                drawValueLines(gc, x_transform, y_axis, lines, trace.getWidth(), trace.getLineStyle());
                 break;
             case SINGLE_LINE:
-                drawValueStaircase(gc, x_transform, y_axis, data, start, end, trace.getWidth(), trace.getLineStyle());
+                drawValueStaircase(gc, x_transform, y_axis, lines, lines_start, lines_end, trace.getWidth(), trace.getLineStyle());
                 break;
             case SINGLE_LINE_DIRECT:
-                drawValueLines(gc, x_transform, y_axis, data, trace.getWidth(), trace.getLineStyle());
+                drawValueLines(gc, x_transform, y_axis, lines, trace.getWidth(), trace.getLineStyle());
                 break;
             case LINES_ERROR_BARS:
                 drawErrorBars(gc, x_transform, y_axis, data, trace.getPointSize());
@@ -222,7 +257,7 @@ public class TracePainter<XTYPE extends Comparable<XTYPE>>
                     drawHistogram(gc, x_transform, y_axis, data);
                 break;
             default:
-                drawValueStaircase(gc, x_transform, y_axis, data, start, end, trace.getWidth(), trace.getLineStyle());
+                drawValueStaircase(gc, x_transform, y_axis, lines, lines_start, lines_end, trace.getWidth(), trace.getLineStyle());
             }
 
             if (point_type != PointType.NONE)
@@ -235,6 +270,18 @@ public class TracePainter<XTYPE extends Comparable<XTYPE>>
         gc.setStroke(old_width);
         gc.setBackground(old_bg);
         gc.setColor(old_color);
+        return true;
+    }
+
+    /** @param trace Trace
+     *  @return Decimation for the trace
+     */
+    private TraceDecimation<XTYPE> getDecimation(final Trace<XTYPE> trace)
+    {
+        synchronized (decimations)
+        {
+            return decimations.computeIfAbsent(trace, t -> new TraceDecimation<>());
+        }
     }
 
     // Basic dash patterns
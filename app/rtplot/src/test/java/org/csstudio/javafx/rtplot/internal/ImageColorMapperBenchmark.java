@@ -0,0 +1,175 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Phoebus contributors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.csstudio.javafx.rtplot.internal;
+
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.csstudio.javafx.rtplot.ColorMappingFunction;
+import org.epics.util.array.ArrayByte;
+import org.epics.util.array.ArrayDouble;
+import org.epics.util.array.ArrayFloat;
+import org.epics.util.array.ArrayInteger;
+import org.epics.util.array.ArrayShort;
+import org.epics.util.array.ArrayUShort;
+import org.epics.util.array.IteratorNumber;
+import org.epics.util.array.ListNumber;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/** Benchmark of the {@link ImageColorMapper} for a 2k x 2k image
+ *
+ *  <p>Compares calling the color mapping for each pixel,
+ *  as previously done by the {@link ImagePlot},
+ *  with the lookup table on one thread and in parallel.
+ *
+ *  <p>Not a unit test, run via its <code>main</code>
+ *  after <code>mvn test-compile</code>.
+ *
+ *  @author agent
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@SuppressWarnings("nls")
+public class ImageColorMapperBenchmark
+{
+    private static final int WIDTH = 2048, HEIGHT = 2048;
+
+    @Param({ "byte", "short", "ushort", "int", "float", "double" })
+    public String type;
+
+    private final int threads = Runtime.getRuntime().availableProcessors();
+    private ExecutorService pool;
+    private ListNumber numbers;
+    private double min, max;
+    private final int[] pixels = new int[WIDTH * HEIGHT];
+    private ImageColorMapper single, parallel;
+
+    @Setup
+    public void setup()
+    {
+        final Random random = new Random(42);
+        final int count = WIDTH * HEIGHT;
+        switch (type)
+        {
+        case "byte":
+        {
+            final byte[] data = new byte[count];
+            random.nextBytes(data);
+            numbers = ArrayByte.of(data);
+            min = -128;
+            max = 127;
+            break;
+        }
+        case "short":
+        case "ushort":
+        {
+            final short[] data = new short[count];
+            for (int i=0; i<count; ++i)
+                data[i] = (short) random.nextInt();
+            numbers = type.equals("short") ? ArrayShort.of(data) : ArrayUShort.of(data);
+            min = type.equals("short") ? -32768 : 0;
+            max = type.equals("short") ? 32767 : 65535;
+            break;
+        }
+        case "int":
+        {
+            final int[] data = new int[count];
+            for (int i=0; i<count; ++i)
+                data[i] = random.nextInt(1000000);
+            numbers = ArrayInteger.of(data);
+            min = 0;
+            max = 1000000;
+            break;
+        }
+        case "float":
+        {
+            final float[] data = new float[count];
+            for (int i=0; i<count; ++i)
+                data[i] = (float) random.nextGaussian();
+            numbers = ArrayFloat.of(data);
+            min = -3;
+            max = 3;
+            break;
+        }
+        default:
+        {
+            final double[] data = new double[count];
+            for (int i=0; i<count; ++i)
+                data[i] = random.nextGaussian();
+            numbers = ArrayDouble.of(data);
+            min = -3;
+            max = 3;
+        }
+        }
+        pool = Executors.newFixedThreadPool(threads);
+        single = new ImageColorMapper(null, 1);
+        parallel = new ImageColorMapper(pool, threads);
+    }
+
+    @TearDown
+    public void shutdown()
+    {
+        pool.shutdown();
+    }
+
+    /** Call color mapping for each pixel, reading data via iterator */
+    @Benchmark
+    public int[] eachPixel()
+    {
+        final IteratorNumber iter = numbers.iterator();
+        final double span = max - min;
+        for (int i=0; i<pixels.length; ++i)
+        {
+            double scaled = (iter.nextDouble() - min) / span;
+            if (scaled < 0.0)
+                scaled = 0;
+            else if (scaled > 1.0)
+                scaled = 1.0;
+            pixels[i] = ColorMappingFunction.GRAYSCALE.getRGB(scaled);
+        }
+        return pixels;
+    }
+
+    @Benchmark
+    public int[] lookupTable() throws Exception
+    {
+        single.map(numbers, false, WIDTH, HEIGHT, min, max, false, ColorMappingFunction.GRAYSCALE, pixels);
+        return pixels;
+    }
+
+    @Benchmark
+    public int[] lookupTableParallel() throws Exception
+    {
+        parallel.map(numbers, false, WIDTH, HEIGHT, min, max, false, ColorMappingFunction.GRAYSCALE, pixels);
+        return pixels;
+    }
+
+    public static void main(final String[] args) throws Exception
+    {
+        new Runner(new OptionsBuilder().include(ImageColorMapperBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,158 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Phoebus contributors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ ******************************************************************************/
+package org.csstudio.javafx.rtplot.internal;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.csstudio.javafx.rtplot.ColorMappingFunction;
+import org.csstudio.javafx.rtplot.internal.util.Log10;
+import org.epics.util.array.ArrayByte;
+import org.epics.util.array.ArrayDouble;
+import org.epics.util.array.ArrayFloat;
+import org.epics.util.array.ArrayInteger;
+import org.epics.util.array.ArrayShort;
+import org.epics.util.array.ArrayUByte;
+import org.epics.util.array.ArrayUShort;
+import org.epics.util.array.ListNumber;
+import org.junit.jupiter.api.Test;
+
+/** JUnit test of the {@link ImageColorMapper}
+ *  @author agent
+ */
+public class ImageColorMapperTest
+{
+    private static final int WIDTH = 64, HEIGHT = 32, COUNT = WIDTH * HEIGHT;
+
+    /** Mapping with more than 8 bit resolution */
+    private static final ColorMappingFunction DETAILED = value -> 0xFF000000 | (int) (value * 0xFFFFFF);
+
+    /** @return Colors computed for each pixel */
+    private static int[] mapEachPixel(final ListNumber numbers, final boolean unsigned,
+                                      final double min, final double max, final boolean log,
+                                      final ColorMappingFunction color_mapping)
+    {
+        final double lmin = log ? Log10.log10(min) : min;
+        final double span = (log ? Log10.log10(max) : max) - lmin;
+        final int[] pixels = new int[COUNT];
+        for (int i=0; i<COUNT; ++i)
+        {
+            double value = numbers.getDouble(i);
+            if (unsigned  &&  numbers instanceof ArrayByte)
+                value = Byte.toUnsignedInt(numbers.getByte(i));
+            else if (unsigned  &&  numbers instanceof ArrayShort)
+                value = Short.toUnsignedInt(numbers.getShort(i));
+            else if (unsigned  &&  numbers instanceof ArrayInteger)
+                value = Integer.toUnsignedLong(numbers.getInt(i));
+            double scaled = ((log ? Log10.log10(value) : value) - lmin) / span;
+            if (scaled < 0.0)
+                scaled = 0;
+            else if (scaled > 1.0)
+                scaled = 1.0;
+            pixels[i] = color_mapping.getRGB(scaled);
+        }
+        return pixels;
+    }
+
+    /** @return Colors from {@link ImageColorMapper} */
+    private static int[] map(final ImageColorMapper mapper, final ListNumber numbers, final boolean unsigned,
+                             final double min, final double max, final boolean log,
+                             final ColorMappingFunction color_mapping) throws Exception
+    {
+        final int[] pixels = new int[COUNT];
+        mapper.map(numbers, unsigned, WIDTH, HEIGHT, min, max, log, color_mapping, pixels);
+        return pixels;
+    }
+
+    private static void checkExact(final ListNumber numbers, final boolean unsigned,
+                                   final double min, final double max, final boolean log) throws Exception
+    {
+        final ImageColorMapper mapper = new ImageColorMapper(null, 1);
+        assertThat(map(mapper, numbers, unsigned, min, max, log, DETAILED),
+                   equalTo(mapEachPixel(numbers, unsigned, min, max, log, DETAILED)));
+    }
+
+    @Test
+    public void testExactTypes() throws Exception
+    {
+        final Random random = new Random(42);
+        final byte[] bytes = new byte[COUNT];
+        random.nextBytes(bytes);
+        final short[] shorts = new short[COUNT];
+        for (int i=0; i<COUNT; ++i)
+            shorts[i] = (short) random.nextInt();
+
+        // (Unsigned) byte and short data has a LUT entry for each value
+        checkExact(ArrayByte.of(bytes), false, -100, 100, false);
+        checkExact(ArrayByte.of(bytes), true, 10, 200, false);
+        checkExact(ArrayUByte.of(bytes), false, 0, 255, false);
+        checkExact(ArrayShort.of(shorts), false, -30000, 20000, false);
+        checkExact(ArrayShort.of(shorts), true, 0, 65535, false);
+        checkExact(ArrayUShort.of(shorts), false, 1000, 50000, false);
+        checkExact(ArrayUShort.of(shorts), false, 1, 65535, true);
+    }
+
+    @Test
+    public void testScaledTypes() throws Exception
+    {
+        final Random random = new Random(42);
+        final float[] floats = new float[COUNT];
+        final double[] doubles = new double[COUNT];
+        final int[] ints = new int[COUNT];
+        for (int i=0; i<COUNT; ++i)
+        {
+            doubles[i] = random.nextGaussian();
+            floats[i] = (float) doubles[i];
+            ints[i] = random.nextInt();
+        }
+        floats[7] = Float.NaN;
+
+        // Other data is scaled into the LUT, differing by at most one gray level
+        final ImageColorMapper mapper = new ImageColorMapper(null, 1);
+        final ListNumber[] data = { ArrayFloat.of(floats), ArrayDouble.of(doubles), ArrayInteger.of(ints) };
+        for (ListNumber numbers : data)
+        {
+            final boolean unsigned = numbers instanceof ArrayInteger;
+            final double min = unsigned ? 0 : -2, max = unsigned ? 4e9 : 2;
+            final int[] expected = mapEachPixel(numbers, unsigned, min, max, false, ColorMappingFunction.GRAYSCALE);
+            final int[] pixels = map(mapper, numbers, unsigned, min, max, false, ColorMappingFunction.GRAYSCALE);
+            for (int i=0; i<COUNT; ++i)
+                assertThat(Math.abs((pixels[i] & 0xFF) - (expected[i] & 0xFF)) <= 1, equalTo(true));
+        }
+    }
+
+    @Test
+    public void testParallel() throws Exception
+    {
+        final int width = 1000, height = 999;
+        final Random random = new Random(42);
+        final double[] doubles = new double[width * height];
+        for (int i=0; i<doubles.length; ++i)
+            doubles[i] = random.nextDouble();
+        final ListNumber numbers = ArrayDouble.of(doubles);
+
+        final int[] expected = new int[doubles.length];
+        new ImageColorMapper(null, 1).map(numbers, false, width, height, 0, 1, false, DETAILED, expected);
+
+        final ExecutorService pool = Executors.newFixedThreadPool(4);
+        try
+        {
+            final int[] pixels = new int[doubles.length];
+            new ImageColorMapper(pool, 4).map(numbers, false, width, height, 0, 1, false, DETAILED, pixels);
+            assertThat(pixels, equalTo(expected));
+        }
+        finally
+        {
+            pool.shutdown();
+        }
+    }
+}
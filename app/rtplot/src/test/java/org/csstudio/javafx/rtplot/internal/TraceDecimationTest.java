@@ -0,0 +1,137 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Phoebus contributors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ ******************************************************************************/
+package org.csstudio.javafx.rtplot.internal;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.awt.Rectangle;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.csstudio.javafx.rtplot.data.ArrayPlotDataProvider;
+import org.csstudio.javafx.rtplot.data.PlotDataItem;
+import org.csstudio.javafx.rtplot.data.PlotDataProvider;
+import org.csstudio.javafx.rtplot.data.SimpleDataItem;
+import org.csstudio.javafx.rtplot.internal.util.LinearScreenTransform;
+import org.junit.jupiter.api.Test;
+
+/** JUnit test of the {@link TraceDecimation}
+ *  @author agent
+ */
+@SuppressWarnings("nls")
+public class TraceDecimationTest
+{
+    private static final int SAMPLES = 100000, WIDTH = 500;
+
+    private final Rectangle bounds = new Rectangle(0, 0, WIDTH, 300);
+    private final LinearScreenTransform x_transform = new LinearScreenTransform();
+
+    public TraceDecimationTest()
+    {
+        x_transform.config(0.0, (double) SAMPLES, 0, WIDTH);
+    }
+
+    /** @return Random samples, a few of them NaN */
+    private static List<PlotDataItem<Double>> createSamples()
+    {
+        final Random random = new Random(42);
+        final List<PlotDataItem<Double>> samples = new ArrayList<>();
+        for (int i=0; i<SAMPLES; ++i)
+            samples.add(new SimpleDataItem<>((double) i, i % 997 == 0 ? Double.NaN : random.nextGaussian()));
+        return samples;
+    }
+
+    /** @return Items of provider */
+    private static List<PlotDataItem<Double>> getItems(final PlotDataProvider<Double> data)
+    {
+        final List<PlotDataItem<Double>> items = new ArrayList<>();
+        for (int i=0; i<data.size(); ++i)
+            items.add(data.get(i));
+        return items;
+    }
+
+    /** @return Min, max and NaN count for each pixel column */
+    private Map<Integer, double[]> getColumns(final List<PlotDataItem<Double>> items)
+    {
+        final Map<Integer, double[]> columns = new HashMap<>();
+        for (PlotDataItem<Double> item : items)
+        {
+            final int x = (int) Math.floor(x_transform.transform(item.getPosition()));
+            final double[] column = columns.computeIfAbsent(x, c -> new double[] { Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY, 0 });
+            if (Double.isNaN(item.getValue()))
+                column[2] = 1;
+            else
+            {
+                column[0] = Math.min(column[0], item.getValue());
+                column[1] = Math.max(column[1], item.getValue());
+            }
+        }
+        return columns;
+    }
+
+    @Test
+    public void testExtrema() throws Exception
+    {
+        final List<PlotDataItem<Double>> samples = createSamples();
+        final PlotDataProvider<Double> decimated = new TraceDecimation<Double>().decimate(new ArrayPlotDataProvider<>(samples), x_transform, bounds);
+        assertThat(decimated, notNullValue());
+        System.out.println("Decimated " + SAMPLES + " samples into " + decimated.size());
+        assertThat(decimated.size() <= WIDTH * 2 * (2 + 2*5), equalTo(true));
+
+        // Same min, max and gaps in each column
+        final List<PlotDataItem<Double>> items = getItems(decimated);
+        final Map<Integer, double[]> expected = getColumns(samples), actual = getColumns(items);
+        assertThat(actual.keySet(), equalTo(expected.keySet()));
+        for (Integer x : expected.keySet())
+            assertThat(actual.get(x), equalTo(expected.get(x)));
+
+        // First and last sample are kept, order is preserved
+        assertThat(items.get(0), equalTo(samples.get(0)));
+        assertThat(items.get(items.size()-1), equalTo(samples.get(SAMPLES-1)));
+        for (int i=1; i<items.size(); ++i)
+            assertThat(items.get(i-1).getPosition() < items.get(i).getPosition(), equalTo(true));
+    }
+
+    @Test
+    public void testAppend() throws Exception
+    {
+        final List<PlotDataItem<Double>> samples = createSamples();
+        final ArrayPlotDataProvider<Double> data = new ArrayPlotDataProvider<>();
+        for (int i=0; i<SAMPLES/2; ++i)
+            data.add(samples.get(i));
+
+        final TraceDecimation<Double> decimation = new TraceDecimation<>();
+        assertThat(decimation.decimate(data, x_transform, bounds), notNullValue());
+        for (int i=SAMPLES/2; i<SAMPLES; ++i)
+            data.add(samples.get(i));
+        final List<PlotDataItem<Double>> appended = getItems(decimation.decimate(data, x_transform, bounds));
+
+        // Same result as decimating all samples at once
+        final List<PlotDataItem<Double>> all = getItems(new TraceDecimation<Double>().decimate(data, x_transform, bounds));
+        assertThat(appended, equalTo(all));
+    }
+
+    @Test
+    public void testRawData() throws Exception
+    {
+        // Few samples are drawn as is
+        final List<PlotDataItem<Double>> samples = createSamples().subList(0, WIDTH);
+        assertThat(new TraceDecimation<Double>().decimate(new ArrayPlotDataProvider<>(samples), x_transform, bounds), nullValue());
+
+        // Data that is not ordered along the X axis is drawn as is
+        final List<PlotDataItem<Double>> unordered = createSamples();
+        unordered.set(SAMPLES/2, new SimpleDataItem<>(0.0, 1.0));
+        assertThat(new TraceDecimation<Double>().decimate(new ArrayPlotDataProvider<>(unordered), x_transform, bounds), nullValue());
+    }
+}
@@ -0,0 +1,130 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Phoebus contributors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ ******************************************************************************/
+package org.csstudio.javafx.rtplot.internal;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+
+import org.csstudio.javafx.rtplot.LineStyle;
+import org.csstudio.javafx.rtplot.PointType;
+import org.csstudio.javafx.rtplot.TraceType;
+import org.csstudio.javafx.rtplot.data.ArrayPlotDataProvider;
+import org.csstudio.javafx.rtplot.data.SimpleDataItem;
+import org.junit.jupiter.api.Test;
+
+import javafx.scene.paint.Color;
+
+/** JUnit test of the {@link TraceLayer}
+ *  @author agent
+ */
+@SuppressWarnings("nls")
+public class TraceLayerTest
+{
+    private final PlotPartListener listener = new PlotPartListener()
+    {
+        @Override
+        public void layoutPlotPart(final PlotPart plotPart)
+        {
+        }
+
+        @Override
+        public void refreshPlotPart(final PlotPart plotPart)
+        {
+        }
+    };
+
+    private final Rectangle bounds = new Rectangle(20, 0, 280, 200);
+    private final HorizontalNumericAxis x_axis = new HorizontalNumericAxis("X", listener);
+    private final YAxisImpl<Double> y_axis = new YAxisImpl<>("Y", listener);
+    private final ArrayPlotDataProvider<Double> data = new ArrayPlotDataProvider<>();
+    private final TraceImpl<Double> trace = new TraceImpl<>("Trace", "", data, Color.BLUE,
+                                                            TraceType.SINGLE_LINE_DIRECT, 2, LineStyle.SOLID,
+                                                            PointType.NONE, 0, 0);
+
+    public TraceLayerTest() throws Exception
+    {
+        x_axis.setBounds(bounds.x, bounds.y + bounds.height, bounds.width, 20);
+        y_axis.setBounds(0, bounds.y, bounds.x, bounds.height);
+        for (int i=0; i<=10; ++i)
+            data.add(new SimpleDataItem<>((double) i, 5.0));
+    }
+
+    /** @return Number of non-transparent pixels */
+    private static int countPixels(final BufferedImage image)
+    {
+        int count = 0;
+        for (int y=0; y<image.getHeight(); ++y)
+            for (int x=0; x<image.getWidth(); ++x)
+                if ((image.getRGB(x, y) >>> 24) != 0)
+                    ++count;
+        return count;
+    }
+
+    @Test
+    public void testLayer() throws Exception
+    {
+        final TraceLayer<Double> layer = new TraceLayer<>(trace);
+        final Deque<BufferedImage> spare = new ArrayDeque<>();
+        final List<Object> key = TraceLayer.createKey(trace, bounds, 20, x_axis, y_axis);
+        assertThat(layer.needsUpdate(key), equalTo(true));
+
+        layer.allocate(bounds, spare);
+        layer.render(key, bounds, 20, x_axis.getScreenTransform(), y_axis);
+        assertThat(layer.needsUpdate(TraceLayer.createKey(trace, bounds, 20, x_axis, y_axis)), equalTo(false));
+
+        // Layer shows the trace as a horizontal line
+        final BufferedImage image = new BufferedImage(bounds.x + bounds.width, bounds.y + bounds.height, BufferedImage.TYPE_INT_ARGB);
+        layer.draw(image.createGraphics(), bounds);
+        final int pixels = countPixels(image);
+        System.out.println("Trace layer has " + pixels + " pixels");
+        assertThat(pixels > bounds.width  &&  pixels < 5 * bounds.width, equalTo(true));
+
+        // New data, different axis range or trace configuration require update
+        layer.invalidate();
+        assertThat(layer.needsUpdate(key), equalTo(true));
+        layer.render(key, bounds, 20, x_axis.getScreenTransform(), y_axis);
+        assertThat(layer.needsUpdate(key), equalTo(false));
+
+        y_axis.setValueRange(0.0, 20.0);
+        assertThat(layer.needsUpdate(TraceLayer.createKey(trace, bounds, 20, x_axis, y_axis)), equalTo(true));
+        y_axis.setValueRange(0.0, 10.0);
+        assertThat(layer.needsUpdate(TraceLayer.createKey(trace, bounds, 20, x_axis, y_axis)), equalTo(false));
+
+        trace.setColor(Color.RED);
+        assertThat(layer.needsUpdate(TraceLayer.createKey(trace, bounds, 20, x_axis, y_axis)), equalTo(true));
+    }
+
+    @Test
+    public void testRecycling() throws Exception
+    {
+        final Deque<BufferedImage> spare = new ArrayDeque<>();
+        final TraceLayer<Double> layer = new TraceLayer<>(trace);
+        layer.allocate(bounds, spare);
+        layer.release(spare);
+        assertThat(spare.size(), equalTo(1));
+        final BufferedImage image = spare.peek();
+
+        // Another layer of same size re-uses the image
+        final TraceLayer<Double> other = new TraceLayer<>(trace);
+        other.allocate(bounds, spare);
+        assertThat(spare.size(), equalTo(0));
+        other.release(spare);
+        assertThat(spare.peek(), sameInstance(image));
+
+        // Image of wrong size is not used
+        other.allocate(new Rectangle(0, 0, 100, 100), spare);
+        assertThat(spare.size(), equalTo(1));
+    }
+}
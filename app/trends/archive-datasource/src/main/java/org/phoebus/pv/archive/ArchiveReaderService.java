@@ -1,6 +1,9 @@
 package org.phoebus.pv.archive;
 
+import org.phoebus.archive.reader.ArchiveCache;
 import org.phoebus.archive.reader.ArchiveReader;
+import org.phoebus.archive.reader.ArchiveReaders;
+import org.phoebus.archive.reader.CachingArchiveReader;
 import org.phoebus.archive.reader.appliance.ApplianceArchiveReader;
 
 public class ArchiveReaderService {
@@ -23,7 +26,12 @@ public class ArchiveReaderService {
 
     private ArchiveReader createReader(final String url) {
         final ApplianceArchiveReader reader = new ApplianceArchiveReader(url, false, true);
-        return reader;
+        // Share cached samples with data browser
+        final ArchiveCache cache = ArchiveReaders.getCache();
+        if (cache == null) {
+            return reader;
+        }
+        return new CachingArchiveReader(url, reader, cache);
     }
 
     public ArchiveReader getReader() {
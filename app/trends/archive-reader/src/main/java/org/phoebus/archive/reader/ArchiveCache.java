@@ -0,0 +1,533 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Phoebus contributors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ ******************************************************************************/
+package org.phoebus.archive.reader;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.epics.util.array.ListInteger;
+import org.epics.vtype.Array;
+import org.epics.vtype.Time;
+import org.epics.vtype.VString;
+import org.epics.vtype.VType;
+
+/** Cache for raw samples fetched from archives
+ *
+ *  <p>For each channel, the cache holds segments of time
+ *  for which all raw samples have been fetched.
+ *  Just like a fetch from the archive, a segment usually includes the last sample
+ *  at or before its start time.
+ *  Overlapping or adjacent segments are merged.
+ *
+ *  <p>A request for samples only fetches the gaps between the
+ *  cached segments from the archive.
+ *  Samples are streamed to the caller while they are fetched.
+ *  A gap is added to the cache once it has been read completely,
+ *  unless its samples exceed the size limit, in which case they
+ *  are dropped while streaming continues.
+ *  When the estimated memory used by all samples exceeds the size limit,
+ *  the least recently used channels are removed.
+ *
+ *  @author agent
+ */
+@SuppressWarnings("nls")
+public class ArchiveCache
+{
+    /** Fetches raw samples from the archive */
+    @FunctionalInterface
+    public static interface Fetcher
+    {
+        /** @param start Start time
+         *  @param end End time
+         *  @return Raw samples, sorted by time
+         *  @throws Exception on error
+         */
+        public ValueIterator fetch(Instant start, Instant end) throws Exception;
+
+        /** @return <code>true</code> if fetched samples are complete, <code>false</code> if fetching was cancelled */
+        public default boolean isComplete()
+        {
+            return true;
+        }
+    }
+
+    /** Samples for a range of time */
+    private static class Segment
+    {
+        final Instant start, end;
+        /** Samples, sorted by time */
+        final List<VType> samples;
+        final long bytes;
+
+        Segment(final Instant start, final Instant end, final List<VType> samples)
+        {
+            this.start = start;
+            this.end = end;
+            this.samples = samples;
+            long size = 0;
+            for (VType sample : samples)
+                size += estimateSize(sample);
+            this.bytes = size;
+        }
+
+        /** @param time Time
+         *  @return Index of last sample at or before time, -1 if there is none
+         */
+        int findSample(final Instant time)
+        {
+            int low = 0, high = samples.size() - 1;
+            while (low <= high)
+            {
+                final int mid = (low + high) >>> 1;
+                if (getTime(samples.get(mid)).isAfter(time))
+                    high = mid - 1;
+                else
+                    low = mid + 1;
+            }
+            return high;
+        }
+    }
+
+    /** Part of a request: Slice of cached samples or gap to fetch */
+    private static class Part
+    {
+        final Instant start, end;
+        /** Cached samples, <code>null</code> for gap */
+        final List<VType> samples;
+
+        Part(final Instant start, final Instant end, final List<VType> samples)
+        {
+            this.start = start;
+            this.end = end;
+            this.samples = samples;
+        }
+    }
+
+    /** Iterator over the parts of a request
+     *
+     *  <p>Streams cached samples and fetched gaps,
+     *  skipping samples that are not newer than the previous sample.
+     *  Samples of a gap are collected and added to the cache
+     *  once the gap has been read, unless they exceed the size limit.
+     */
+    private class PartIterator implements ValueIterator
+    {
+        private final String key;
+        private final Iterator<Part> parts;
+        private final Fetcher fetcher;
+        /** Samples of current part */
+        private Iterator<VType> samples = null;
+        /** Gap that is being fetched, or <code>null</code> */
+        private Part gap = null;
+        /** Samples of gap for the cache, or <code>null</code> when exceeding size limit */
+        private List<VType> gap_samples = null;
+        private long gap_bytes = 0;
+        private Instant last = null;
+        private VType next = null;
+
+        PartIterator(final String key, final List<Part> parts, final Fetcher fetcher) throws Exception
+        {
+            this.key = key;
+            this.parts = parts.iterator();
+            this.fetcher = fetcher;
+            // Start first part, so errors in initial fetch are reported right away
+            if (this.parts.hasNext())
+                start(this.parts.next());
+        }
+
+        private void start(final Part part) throws Exception
+        {
+            if (part.samples != null)
+                samples = part.samples.iterator();
+            else
+            {
+                samples = fetcher.fetch(part.start, part.end);
+                gap = part;
+                gap_samples = new ArrayList<>();
+                gap_bytes = 0;
+            }
+        }
+
+        /** End current part, adding gap to cache when complete */
+        private void finish() throws IOException
+        {
+            if (gap == null)
+                return;
+            ((ValueIterator) samples).close();
+            pending_bytes.addAndGet(-gap_bytes);
+            if (gap_samples != null  &&  fetcher.isComplete())
+            {
+                final Segment segment = new Segment(gap.start, gap.end, gap_samples);
+                fetched_bytes.addAndGet(segment.bytes);
+                synchronized (ArchiveCache.this)
+                {
+                    insert(channels.computeIfAbsent(key, k -> new Channel()), segment);
+                    evict();
+                }
+            }
+            gap = null;
+            gap_samples = null;
+            gap_bytes = 0;
+        }
+
+        @Override
+        public boolean hasNext()
+        {
+            try
+            {
+                while (next == null)
+                {
+                    if (samples == null)
+                        return false;
+                    if (samples.hasNext())
+                    {
+                        final VType sample = samples.next();
+                        if (gap_samples != null)
+                        {
+                            final long size = estimateSize(sample);
+                            gap_bytes += size;
+                            pending_bytes.addAndGet(size);
+                            if (gap_bytes > max_bytes)
+                            {   // Too large to cache, keep streaming
+                                pending_bytes.addAndGet(-gap_bytes);
+                                gap_samples = null;
+                                gap_bytes = 0;
+                            }
+                            else
+                                gap_samples.add(sample);
+                        }
+                        final Instant time = getTime(sample);
+                        if (last == null  ||  time.isAfter(last))
+                        {
+                            last = time;
+                            next = sample;
+                        }
+                    }
+                    else
+                    {
+                        finish();
+                        if (parts.hasNext())
+                            start(parts.next());
+                        else
+                            samples = null;
+                    }
+                }
+                return true;
+            }
+            catch (Exception ex)
+            {
+                throw new IllegalStateException(ex);
+            }
+        }
+
+        @Override
+        public VType next()
+        {
+            if (! hasNext())
+                throw new NoSuchElementException();
+            final VType result = next;
+            next = null;
+            return result;
+        }
+
+        @Override
+        public void close() throws IOException
+        {
+            if (gap != null)
+            {   // Incomplete gap is not cached
+                gap_samples = null;
+                finish();
+            }
+            samples = null;
+        }
+    }
+
+    /** Segments of a channel, sorted by time, not overlapping or adjacent */
+    private static class Channel
+    {
+        final List<Segment> segments = new ArrayList<>();
+        long bytes = 0;
+    }
+
+    private final long max_bytes;
+
+    /** Channels by URL and name, in order of access */
+    private final Map<String, Channel> channels = new LinkedHashMap<>(16, 0.75f, true);
+
+    /** Estimated size of all cached samples */
+    private long bytes = 0;
+
+    private final AtomicLong hits = new AtomicLong(), misses = new AtomicLong(), fetched_bytes = new AtomicLong();
+
+    /** Estimated size of samples collected for gaps that are being fetched */
+    private final AtomicLong pending_bytes = new AtomicLong();
+
+    /** @param max_bytes Maximum size of cached samples in bytes */
+    public ArchiveCache(final long max_bytes)
+    {
+        this.max_bytes = max_bytes;
+    }
+
+    /** @param sample Sample
+     *  @return Time stamp of sample
+     */
+    private static Instant getTime(final VType sample)
+    {
+        final Time time = Time.timeOf(sample);
+        return time == null ? Instant.MIN : time.getTimestamp();
+    }
+
+    /** @param sample Sample
+     *  @return Estimated size of sample in bytes
+     */
+    static long estimateSize(final VType sample)
+    {
+        // Value, alarm, time and instant objects
+        long size = 120;
+        if (sample instanceof Array)
+        {
+            final ListInteger sizes = ((Array) sample).getSizes();
+            if (sizes.size() > 0)
+                size += 8L * sizes.getInt(0);
+        }
+        else if (sample instanceof VString)
+            size += 40 + 2L * ((VString) sample).getValue().length();
+        return size;
+    }
+
+    /** Get samples, fetching what is not already cached
+     *
+     *  <p>The returned iterator must be closed.
+     *
+     *  @param key Key for URL and channel name
+     *  @param start Start time
+     *  @param end End time
+     *  @param fetcher Fetches samples for gaps in the cache
+     *  @return Samples for the time range, last sample at or before start followed by samples up to end
+     *  @throws Exception on error
+     */
+    public ValueIterator getSamples(final String key, final Instant start, final Instant end, final Fetcher fetcher) throws Exception
+    {
+        final List<Part> parts;
+        synchronized (this)
+        {
+            parts = findParts(channels.get(key), start, end);
+        }
+        boolean cached = true;
+        for (Part part : parts)
+            if (part.samples == null)
+                cached = false;
+        if (cached)
+            hits.incrementAndGet();
+        else
+            misses.incrementAndGet();
+        return new PartIterator(key, parts, fetcher);
+    }
+
+    /** Get samples that are already cached
+     *
+     *  @param key Key for URL and channel name
+     *  @param start Start time
+     *  @param end End time
+     *  @return Samples for the time range or <code>null</code> if not fully cached
+     */
+    public List<VType> getCachedSamples(final String key, final Instant start, final Instant end)
+    {
+        final List<VType> result;
+        synchronized (this)
+        {
+            final Channel channel = channels.get(key);
+            result = channel == null ? null : extract(channel, start, end);
+        }
+        if (result == null)
+            misses.incrementAndGet();
+        else
+            hits.incrementAndGet();
+        return result;
+    }
+
+    /** @param channel Channel, may be <code>null</code>
+     *  @param start Start time
+     *  @param end End time
+     *  @return Slices of cached samples and gaps that are not cached, in time order
+     */
+    private List<Part> findParts(final Channel channel, final Instant start, final Instant end)
+    {
+        final List<Part> parts = new ArrayList<>();
+        Instant pos = start;
+        if (channel != null)
+            for (Segment segment : channel.segments)
+            {
+                if (segment.end.isBefore(pos))
+                    continue;
+                if (segment.start.isAfter(end))
+                    break;
+                if (segment.start.isAfter(pos))
+                {
+                    parts.add(new Part(pos, segment.start, null));
+                    pos = segment.start;
+                }
+                // Segment samples are not modified, merging creates a new list,
+                // so the slice can be read without holding the lock
+                final int first = Math.max(0, segment.findSample(pos));
+                final int last = segment.findSample(end);
+                parts.add(new Part(pos, segment.end, segment.samples.subList(first, Math.max(first, last + 1))));
+                pos = segment.end;
+                if (! pos.isBefore(end))
+                    return parts;
+            }
+        parts.add(new Part(pos, end, null));
+        return parts;
+    }
+
+    /** Add segment, merging it with overlapping or adjacent segments
+     *  @param channel Channel
+     *  @param segment Segment to add
+     */
+    private void insert(final Channel channel, Segment segment)
+    {
+        final Iterator<Segment> iter = channel.segments.iterator();
+        int index = 0;
+        while (iter.hasNext())
+        {
+            final Segment other = iter.next();
+            if (other.end.isBefore(segment.start))
+            {
+                ++index;
+                continue;
+            }
+            if (other.start.isAfter(segment.end))
+                break;
+            iter.remove();
+            channel.bytes -= other.bytes;
+            bytes -= other.bytes;
+            segment = new Segment(segment.start.isBefore(other.start) ? segment.start : other.start,
+                                  segment.end.isAfter(other.end) ? segment.end : other.end,
+                                  merge(other.samples, segment.samples));
+        }
+        channel.segments.add(index, segment);
+        channel.bytes += segment.bytes;
+        bytes += segment.bytes;
+    }
+
+    /** @param a Samples sorted by time
+     *  @param b Samples sorted by time
+     *  @return Merged samples, using only one sample for each time stamp
+     */
+    private static List<VType> merge(final List<VType> a, final List<VType> b)
+    {
+        final List<VType> result = new ArrayList<>(a.size() + b.size());
+        int i = 0, j = 0;
+        while (i < a.size()  &&  j < b.size())
+        {
+            final int cmp = getTime(a.get(i)).compareTo(getTime(b.get(j)));
+            if (cmp < 0)
+                result.add(a.get(i++));
+            else if (cmp > 0)
+                result.add(b.get(j++));
+            else
+            {
+                result.add(a.get(i++));
+                ++j;
+            }
+        }
+        result.addAll(a.subList(i, a.size()));
+        result.addAll(b.subList(j, b.size()));
+        return result;
+    }
+
+    /** @param channel Channel
+     *  @param start Start time
+     *  @param end End time
+     *  @return Copy of samples for the time range or <code>null</code> if not fully cached
+     */
+    private static List<VType> extract(final Channel channel, final Instant start, final Instant end)
+    {
+        for (Segment segment : channel.segments)
+        {
+            if (segment.start.isAfter(start))
+                break;
+            if (segment.end.isBefore(end))
+                continue;
+            // Include last sample at or before start, then all samples up to end
+            final int first = Math.max(0, segment.findSample(start));
+            final int last = segment.findSample(end);
+            return new ArrayList<>(segment.samples.subList(first, Math.max(first, last + 1)));
+        }
+        return null;
+    }
+
+    /** Remove least recently used channels until within size limit */
+    private void evict()
+    {
+        final Iterator<Channel> iter = channels.values().iterator();
+        while (bytes > max_bytes  &&  iter.hasNext())
+        {
+            final Channel channel = iter.next();
+            bytes -= channel.bytes;
+            iter.remove();
+        }
+    }
+
+    /** Remove all cached samples */
+    public synchronized void clear()
+    {
+        channels.clear();
+        bytes = 0;
+    }
+
+    /** @return Number of requests that were fully served from the cache */
+    public long getHits()
+    {
+        return hits.get();
+    }
+
+    /** @return Number of requests that needed to fetch data from the archive */
+    public long getMisses()
+    {
+        return misses.get();
+    }
+
+    /** @return Estimated size of cached samples in bytes */
+    public synchronized long getSize()
+    {
+        return bytes;
+    }
+
+    /** @return Maximum size of cached samples in bytes */
+    public long getMaxSize()
+    {
+        return max_bytes;
+    }
+
+    /** @return Estimated size of samples collected for gaps that are being fetched */
+    public long getPendingSize()
+    {
+        return pending_bytes.get();
+    }
+
+    /** @return Estimated size of all samples that were fetched from the archive into the cache */
+    public long getFetchedBytes()
+    {
+        return fetched_bytes.get();
+    }
+
+    @Override
+    public String toString()
+    {
+        return "ArchiveCache: " + getSize() + " of " + max_bytes + " bytes, " +
+               getHits() + " hits, " + getMisses() + " misses, " + getFetchedBytes() + " bytes fetched, " + getPendingSize() + " bytes pending";
+    }
+}
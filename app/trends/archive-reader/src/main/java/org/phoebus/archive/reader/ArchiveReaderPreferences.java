@@ -0,0 +1,26 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Phoebus contributors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ ******************************************************************************/
+package org.phoebus.archive.reader;
+
+import org.phoebus.framework.preferences.AnnotatedPreferences;
+import org.phoebus.framework.preferences.Preference;
+
+/** Settings for all archive readers
+ *  @author agent
+ */
+@SuppressWarnings("nls")
+public class ArchiveReaderPreferences
+{
+    @Preference static int cache_size_mb;
+    @Preference static int cache_holdoff_secs;
+
+    static
+    {
+        AnnotatedPreferences.initialize(ArchiveReaderPreferences.class, "/archive_reader_preferences.properties");
+    }
+}
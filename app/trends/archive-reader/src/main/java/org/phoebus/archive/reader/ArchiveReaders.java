@@ -26,6 +26,11 @@ public class ArchiveReaders
 
     private static final List<ArchiveReaderFactory> factories = new ArrayList<>();
 
+    /** Cache shared by all readers, <code>null</code> when disabled */
+    private static final ArchiveCache cache = ArchiveReaderPreferences.cache_size_mb > 0
+                                            ? new ArchiveCache(ArchiveReaderPreferences.cache_size_mb * 1024L * 1024L)
+                                            : null;
+
     static
     {
         for (ArchiveReaderFactory factory : ServiceLoader.load(ArchiveReaderFactory.class))
@@ -39,15 +44,26 @@ public class ArchiveReaders
     {
     }
 
+    /** @return Cache for raw samples shared by all readers, <code>null</code> when disabled */
+    public static ArchiveCache getCache()
+    {
+        return cache;
+    }
+
     /** @param url Data source URL
-     *  @return {@link ArchiveReader}c
+     *  @return {@link ArchiveReader}, using the shared cache if enabled
      *  @throws Exception on error
      */
     public static ArchiveReader createReader(final String url) throws Exception
     {
         for (ArchiveReaderFactory factory : factories)
             if (url.startsWith(factory.getPrefix()))
-                return factory.createReader(url);
+            {
+                final ArchiveReader reader = factory.createReader(url);
+                if (cache == null)
+                    return reader;
+                return new CachingArchiveReader(url, reader, cache);
+            }
         throw new Exception("No archive reader for '" + url + "'");
     }
 }
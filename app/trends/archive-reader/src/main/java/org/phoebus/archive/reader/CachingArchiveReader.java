@@ -0,0 +1,234 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Phoebus contributors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ ******************************************************************************/
+package org.phoebus.archive.reader;
+
+import static org.phoebus.archive.reader.ArchiveReaders.logger;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.logging.Level;
+
+import org.epics.vtype.Time;
+import org.epics.vtype.VType;
+
+/** {@link ArchiveReader} that caches raw samples
+ *
+ *  <p>Raw samples are kept in an {@link ArchiveCache}
+ *  that can be shared by several readers for the same URL,
+ *  so only time ranges that are not already cached are fetched from the wrapped reader.
+ *  Fetched samples are streamed, the cache only keeps them
+ *  when they fit within its size limit.
+ *  Samples newer than the 'holdoff' are always fetched from the wrapped reader.
+ *
+ *  <p>Optimized requests are served from cached raw samples
+ *  when the complete time range has been cached,
+ *  otherwise they are passed to the wrapped reader.
+ *
+ *  @author agent
+ */
+@SuppressWarnings("nls")
+public class CachingArchiveReader implements ArchiveReader
+{
+    /** Iterator over list of samples */
+    private static class ListValueIterator implements ValueIterator
+    {
+        private final List<VType> samples;
+        private int index = 0;
+
+        ListValueIterator(final List<VType> samples)
+        {
+            this.samples = samples;
+        }
+
+        @Override
+        public boolean hasNext()
+        {
+            return index < samples.size();
+        }
+
+        @Override
+        public VType next()
+        {
+            return samples.get(index++);
+        }
+    }
+
+    /** Iterator over cached samples, followed by recent samples from the wrapped reader */
+    private class RecentValueIterator implements ValueIterator
+    {
+        private final ValueIterator cached;
+        private final String name;
+        private final Instant start, end;
+        private ValueIterator recent = null;
+        private Instant last = Instant.MIN;
+        private VType next = null;
+
+        RecentValueIterator(final ValueIterator cached, final String name, final Instant start, final Instant end)
+        {
+            this.cached = cached;
+            this.name = name;
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        public boolean hasNext()
+        {
+            if (next != null)
+                return true;
+            if (recent == null)
+            {
+                if (cached.hasNext())
+                {
+                    next = cached.next();
+                    last = Time.timeOf(next).getTimestamp();
+                    return true;
+                }
+                try
+                {
+                    recent = reader.getRawValues(name, start, end);
+                }
+                catch (Exception ex)
+                {
+                    throw new IllegalStateException(ex);
+                }
+            }
+            // Skip the sample at or before the end of cached samples
+            while (recent.hasNext())
+            {
+                final VType sample = recent.next();
+                if (Time.timeOf(sample).getTimestamp().isAfter(last))
+                {
+                    next = sample;
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public VType next()
+        {
+            if (! hasNext())
+                throw new NoSuchElementException();
+            final VType result = next;
+            next = null;
+            return result;
+        }
+
+        @Override
+        public void close() throws IOException
+        {
+            cached.close();
+            if (recent != null)
+                recent.close();
+        }
+    }
+
+    private final String url;
+    private final ArchiveReader reader;
+    private final ArchiveCache cache;
+    private volatile boolean cancelled = false;
+
+    /** @param url URL of the wrapped reader, used to identify its samples in the cache
+     *  @param reader Reader to wrap
+     *  @param cache Cache
+     */
+    public CachingArchiveReader(final String url, final ArchiveReader reader, final ArchiveCache cache)
+    {
+        this.url = url;
+        this.reader = reader;
+        this.cache = cache;
+    }
+
+    /** @return Wrapped reader */
+    public ArchiveReader getReader()
+    {
+        return reader;
+    }
+
+    @Override
+    public String getDescription()
+    {
+        return reader.getDescription();
+    }
+
+    @Override
+    public Collection<String> getNamesByPattern(final String glob_pattern) throws Exception
+    {
+        return reader.getNamesByPattern(glob_pattern);
+    }
+
+    /** @param name Channel name
+     *  @return Key for samples of channel in cache
+     */
+    private String getKey(final String name)
+    {
+        return url + "\n" + name;
+    }
+
+    @Override
+    public ValueIterator getRawValues(final String name, final Instant start, final Instant end) throws UnknownChannelException, Exception
+    {
+        cancelled = false;
+        final Instant holdoff = Instant.now().minusSeconds(ArchiveReaderPreferences.cache_holdoff_secs);
+        if (start.isAfter(holdoff))
+            return reader.getRawValues(name, start, end);
+
+        final Instant cache_end = end.isAfter(holdoff) ? holdoff : end;
+        final ValueIterator samples = cache.getSamples(getKey(name), start, cache_end, new ArchiveCache.Fetcher()
+        {
+            @Override
+            public ValueIterator fetch(final Instant start, final Instant end) throws Exception
+            {
+                return reader.getRawValues(name, start, end);
+            }
+
+            @Override
+            public boolean isComplete()
+            {
+                // Samples are incomplete, must not be cached
+                return ! cancelled;
+            }
+        });
+        logger.log(Level.FINE, () -> cache.toString());
+        if (cache_end.isBefore(end))
+            return new RecentValueIterator(samples, name, cache_end, end);
+        return samples;
+    }
+
+    @Override
+    public ValueIterator getOptimizedValues(final String name, final Instant start, final Instant end, final int count) throws UnknownChannelException, Exception
+    {
+        cancelled = false;
+        final List<VType> samples = cache.getCachedSamples(getKey(name), start, end);
+        if (samples == null)
+            return reader.getOptimizedValues(name, start, end, count);
+        if (samples.size() <= count)
+            return new ListValueIterator(samples);
+        return new AveragedValueIterator(new ListValueIterator(samples),
+                                         Duration.between(start, end).getSeconds() / (double) count);
+    }
+
+    @Override
+    public void cancel()
+    {
+        cancelled = true;
+        reader.cancel();
+    }
+
+    @Override
+    public void close()
+    {
+        reader.close();
+    }
+}
@@ -2,17 +2,27 @@ package org.phoebus.archive.reader.appliance;
 
 import java.io.BufferedReader;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.net.HttpURLConnection;
+import java.net.URI;
 import java.net.URL;
 import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
 import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.WeakHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import org.epics.archiverappliance.retrieval.client.DataRetrieval;
 import org.epics.archiverappliance.retrieval.client.EpicsMessage;
@@ -21,6 +31,7 @@ import org.epics.archiverappliance.retrieval.client.RawDataRetrieval;
 import org.phoebus.archive.reader.ArchiveReader;
 import org.phoebus.archive.reader.UnknownChannelException;
 import org.phoebus.archive.reader.ValueIterator;
+import org.phoebus.framework.jobs.NamedThreadFactory;
 import org.phoebus.ui.text.RegExHelper;
 import org.phoebus.util.time.TimestampHelper;
 
@@ -31,6 +42,10 @@ import org.phoebus.util.time.TimestampHelper;
  */
 public class ApplianceArchiveReader implements ArchiveReader, IteratorListener {
 
+    /** Time format used in data retrieval requests */
+    private static final DateTimeFormatter ISO_FORMAT =
+            DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss.SSS'Z'").withZone(ZoneOffset.UTC);
+
     private final String httpURL;
     private final String pbrawURL;
     private final boolean useStatistics;
@@ -39,6 +54,12 @@ public class ApplianceArchiveReader implements ArchiveReader, IteratorListener {
     private Map<ApplianceValueIterator, ApplianceArchiveReader> iterators = Collections.synchronizedMap(
                new WeakHashMap<ApplianceValueIterator, ApplianceArchiveReader>());
 
+    /** Threads for HTTP client and stream decoding, created when needed */
+    private ExecutorService streamPool = null;
+
+    /** HTTP/2 client for data retrieval, created when needed */
+    private HttpClient httpClient = null;
+
     /**
      * Constructor that sets appliance archiver reader url.
      *
@@ -109,7 +130,7 @@ public class ApplianceArchiveReader implements ArchiveReader, IteratorListener {
             throws UnknownChannelException, Exception {
         try {
             name = stripSchema(name);
-            ApplianceRawValueIterator it = new ApplianceRawValueIterator(this, name, start, end, this);
+            ApplianceValueIterator it = createRawValueIterator(name, start, end);
             iterators.put(it,this);
             return it;
         } catch (ArchiverApplianceException ex) {
@@ -125,7 +146,11 @@ public class ApplianceArchiveReader implements ArchiveReader, IteratorListener {
         if (useNewOptimizedOperator) {
             //try to fetch the data using the new optimized operator
             try {
-                it = new ApplianceOptimizedValueIterator(this, name, start, end, count, useStatistics, this);
+                if (AppliancePreferences.useStreamingDecoder) {
+                    it = new ApplianceStreamValueIterator(this, name, start, end, count, useStatistics, this);
+                } else {
+                    it = new ApplianceOptimizedValueIterator(this, name, start, end, count, useStatistics, this);
+                }
             } catch (ArchiverApplianceInvalidTypeException e) {
                 //binning not supported
                 binningSupported = false;
@@ -139,7 +164,7 @@ public class ApplianceArchiveReader implements ArchiveReader, IteratorListener {
             try {
                 int points = getNumberOfPoints(name, start, end);
                 if (points <= count) {
-                    it = new ApplianceRawValueIterator(this, name, start, end, this);
+                    it = createRawValueIterator(name, start, end);
                 } else {
                     //only fetch if binning is "still" supported
                     if (binningSupported) {
@@ -163,7 +188,7 @@ public class ApplianceArchiveReader implements ArchiveReader, IteratorListener {
             } catch (ArchiverApplianceException e) {
                 //fallback for older archiver appliance, which didn't have the nth operator
                 try {
-                    it = new ApplianceRawValueIterator(this, name, start, end, this);
+                    it = createRawValueIterator(name, start, end);
                 } catch (ArchiverApplianceException exc) {
                     throw new UnknownChannelException(name);
                 }
@@ -184,6 +209,91 @@ public class ApplianceArchiveReader implements ArchiveReader, IteratorListener {
     @Override
     public void close() {
         cancel();
+        synchronized (this) {
+            if (streamPool != null) {
+                streamPool.shutdown();
+                streamPool = null;
+            }
+            httpClient = null;
+        }
+    }
+
+    /**
+     * Creates iterator for raw data, using the streaming decoder if enabled.
+     *
+     * @param name name of the PV
+     * @param start start of the time period
+     * @param end end of the time period
+     * @return the iterator
+     * @throws IOException if there was an error during the data fetch process
+     * @throws ArchiverApplianceException if the data cannot be loaded
+     */
+    private ApplianceValueIterator createRawValueIterator(String name, Instant start, Instant end)
+            throws ArchiverApplianceException, IOException {
+        if (AppliancePreferences.useStreamingDecoder) {
+            return new ApplianceStreamValueIterator(this, name, start, end, this);
+        }
+        return new ApplianceRawValueIterator(this, name, start, end, this);
+    }
+
+    /**
+     * @return thread pool for the HTTP client and stream decoding
+     */
+    synchronized ExecutorService getStreamPool() {
+        if (streamPool == null) {
+            // Each stream is decoded by its own thread until the iterator is closed,
+            // so pool is not limited to avoid one iterator blocking another
+            streamPool = Executors.newCachedThreadPool(new NamedThreadFactory("ApplianceArchiveReader"));
+        }
+        return streamPool;
+    }
+
+    /**
+     * @return HTTP client that multiplexes requests over HTTP/2 if the server supports it
+     */
+    private synchronized HttpClient getHttpClient() {
+        if (httpClient == null) {
+            httpClient = HttpClient.newBuilder()
+                                   .version(HttpClient.Version.HTTP_2)
+                                   .followRedirects(HttpClient.Redirect.NORMAL)
+                                   .executor(getStreamPool())
+                                   .build();
+        }
+        return httpClient;
+    }
+
+    /**
+     * Opens the PB/HTTP data stream for a PV.
+     *
+     * @param pvName name of the PV as used in the request made to the server, may include a post processor
+     * @param start the start of the time window of the data
+     * @param end the end of the time window of the data
+     * @return stream of PB/HTTP data
+     * @throws ArchiverApplianceException if the data for the pv could not be loaded
+     */
+    InputStream openStream(String pvName, Instant start, Instant end) throws ArchiverApplianceException {
+        String dataRetrievalURL = getDataRetrievalURL();
+        String request = new StringBuilder(dataRetrievalURL)
+                .append(dataRetrievalURL.contains("?") ? '&' : '?')
+                .append("pv=").append(URLEncoder.encode(pvName, StandardCharsets.UTF_8))
+                .append("&from=").append(URLEncoder.encode(ISO_FORMAT.format(start), StandardCharsets.UTF_8))
+                .append("&to=").append(URLEncoder.encode(ISO_FORMAT.format(end), StandardCharsets.UTF_8))
+                .append("&fetchLatestMetadata=true")
+                .toString();
+        try {
+            HttpResponse<InputStream> response = getHttpClient().send(HttpRequest.newBuilder(URI.create(request)).GET().build(),
+                                                                      HttpResponse.BodyHandlers.ofInputStream());
+            if (response.statusCode() == HttpURLConnection.HTTP_OK) {
+                return response.body();
+            }
+            response.body().close();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ArchiverApplianceException("Interrupted while fetching data.", e);
+        } catch (IOException | IllegalArgumentException e) {
+            throw new ArchiverApplianceException("Could not fetch data.", e);
+        }
+        throw new ArchiverApplianceException("Could not fetch data.");
     }
 
     /**
@@ -0,0 +1,489 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Phoebus contributors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ ******************************************************************************/
+package org.phoebus.archive.reader.appliance;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Decoder for the PB/HTTP stream of the archiver appliance.
+ *
+ * <p>The stream consists of chunks. Each chunk starts with a <code>PayloadInfo</code> line,
+ * followed by one line per <code>EPICSEvent</code> sample, and is terminated by an empty line.
+ * Within a line, newline and escape characters are escaped.
+ *
+ * <p>Samples are parsed from the protocol buffer wire format straight into the primitive
+ * arrays of a {@link SampleBlock}, without creating a message object per sample.
+ * Input, line and sample buffers are re-used.
+ *
+ * @author agent
+ */
+@SuppressWarnings("nls")
+class ApplianceStreamDecoder {
+    /** Payload types as defined in EPICSEvent.proto */
+    static final int SCALAR_STRING = 0,
+                     SCALAR_SHORT = 1,
+                     SCALAR_FLOAT = 2,
+                     SCALAR_ENUM = 3,
+                     SCALAR_BYTE = 4,
+                     SCALAR_INT = 5,
+                     SCALAR_DOUBLE = 6,
+                     WAVEFORM_STRING = 7,
+                     WAVEFORM_SHORT = 8,
+                     WAVEFORM_FLOAT = 9,
+                     WAVEFORM_ENUM = 10,
+                     WAVEFORM_BYTE = 11,
+                     WAVEFORM_INT = 12,
+                     WAVEFORM_DOUBLE = 13;
+
+    /** Protocol buffer wire types */
+    private static final int VARINT = 0, FIXED64 = 1, LENGTH_DELIMITED = 2, FIXED32 = 5;
+
+    /** Escape characters of the PB/HTTP stream */
+    private static final byte ESCAPE = 0x1B, NEWLINE = 0x0A, CARRIAGE_RETURN = 0x0D;
+
+    /** Information from the <code>PayloadInfo</code> at the start of a chunk */
+    static class Header {
+        int type = -1;
+        String pvname = "";
+        int year;
+        int element_count;
+        /** Start of the year in epoch seconds */
+        long year_start;
+        /** Header fields like EGU, PREC, ENUM_0, .. */
+        Map<String, String> headers = Collections.emptyMap();
+    }
+
+    /** Block of samples, all from the same chunk */
+    static class SampleBlock {
+        Header header;
+        int size;
+        long[] seconds;
+        int[] nanos;
+        int[] severities;
+        int[] stati;
+        /** Value of scalar numeric samples */
+        double[] numbers;
+        /** Value of scalar string samples, allocated when needed */
+        String[] texts;
+        /** Array samples: Index of first element and number of elements */
+        int[] starts, counts;
+        /** Elements of all array samples */
+        double[] elements = new double[16];
+        int element_count;
+
+        /** @param capacity Initial number of samples */
+        SampleBlock(final int capacity) {
+            seconds = new long[capacity];
+            nanos = new int[capacity];
+            severities = new int[capacity];
+            stati = new int[capacity];
+            numbers = new double[capacity];
+            starts = new int[capacity];
+            counts = new int[capacity];
+        }
+
+        /** Remove all samples */
+        void clear() {
+            header = null;
+            size = 0;
+            element_count = 0;
+            if (texts != null) {
+                Arrays.fill(texts, null);
+            }
+        }
+
+        /** @return Index for another sample */
+        int add() {
+            if (size >= seconds.length) {
+                final int length = seconds.length * 2;
+                seconds = Arrays.copyOf(seconds, length);
+                nanos = Arrays.copyOf(nanos, length);
+                severities = Arrays.copyOf(severities, length);
+                stati = Arrays.copyOf(stati, length);
+                numbers = Arrays.copyOf(numbers, length);
+                starts = Arrays.copyOf(starts, length);
+                counts = Arrays.copyOf(counts, length);
+                if (texts != null) {
+                    texts = Arrays.copyOf(texts, length);
+                }
+            }
+            final int i = size++;
+            seconds[i] = header.year_start;
+            nanos[i] = 0;
+            severities[i] = 0;
+            stati[i] = 0;
+            numbers[i] = 0.0;
+            starts[i] = element_count;
+            counts[i] = 0;
+            return i;
+        }
+
+        void setText(final int i, final String text) {
+            if (texts == null) {
+                texts = new String[seconds.length];
+            }
+            texts[i] = text;
+        }
+
+        void addElement(final int i, final double element) {
+            if (element_count >= elements.length) {
+                elements = Arrays.copyOf(elements, elements.length * 2);
+            }
+            elements[element_count++] = element;
+            ++counts[i];
+        }
+    }
+
+    private final InputStream in;
+
+    /** Buffered input */
+    private final byte[] input = new byte[64 * 1024];
+    private int input_pos = 0, input_limit = 0;
+
+    /** Un-escaped line */
+    private byte[] line = new byte[1024];
+
+    /** Parser position and end of data within <code>line</code> */
+    private int pos, limit;
+
+    /** Header of current chunk, <code>null</code> when next line should be a header */
+    private Header header = null;
+
+    /** @param in PB/HTTP stream */
+    ApplianceStreamDecoder(final InputStream in) {
+        this.in = in;
+    }
+
+    /**
+     * Read samples into block.
+     *
+     * <p>All samples in the block share the same header.
+     * The block may thus have fewer than the requested number of samples
+     * when the stream reaches the next chunk.
+     *
+     * @param block Block to clear and then fill with samples
+     * @param max Maximum number of samples to read
+     * @return <code>true</code> if samples were read, <code>false</code> at end of stream
+     * @throws IOException on error
+     */
+    boolean read(final SampleBlock block, final int max) throws IOException {
+        block.clear();
+        block.header = header;
+        while (block.size < max) {
+            final int length = readLine();
+            if (length < 0) {
+                return block.size > 0;
+            }
+            if (length == 0) {
+                // End of chunk. Next line is header
+                header = null;
+                if (block.size > 0) {
+                    return true;
+                }
+            } else if (header == null) {
+                header = decodeHeader(length);
+                block.header = header;
+            } else {
+                decodeSample(length, block);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Read next line from stream, un-escaping it into <code>line</code>
+     *
+     * @return Length of the line, -1 at end of stream
+     * @throws IOException on error
+     */
+    private int readLine() throws IOException {
+        int length = 0;
+        boolean escaped = false;
+        while (true) {
+            if (input_pos >= input_limit) {
+                input_limit = in.read(input);
+                input_pos = 0;
+                if (input_limit <= 0) {
+                    input_limit = 0;
+                    return length > 0 ? length : -1;
+                }
+            }
+            byte b = input[input_pos++];
+            if (escaped) {
+                escaped = false;
+                if (b == 1) {
+                    b = ESCAPE;
+                } else if (b == 2) {
+                    b = NEWLINE;
+                } else if (b == 3) {
+                    b = CARRIAGE_RETURN;
+                } else {
+                    throw new IOException("Invalid escape sequence 0x1B 0x" + Integer.toHexString(b & 0xFF));
+                }
+            } else if (b == ESCAPE) {
+                escaped = true;
+                continue;
+            } else if (b == NEWLINE) {
+                return length;
+            }
+            if (length >= line.length) {
+                line = Arrays.copyOf(line, line.length * 2);
+            }
+            line[length++] = b;
+        }
+    }
+
+    /**
+     * @param length Length of <code>PayloadInfo</code> in <code>line</code>
+     * @return {@link Header}
+     * @throws IOException on error
+     */
+    private Header decodeHeader(final int length) throws IOException {
+        final Header result = new Header();
+        final Map<String, String> headers = new LinkedHashMap<>();
+        pos = 0;
+        limit = length;
+        while (pos < length) {
+            final int tag = (int) readVarint();
+            switch (tag >>> 3) {
+            case 1:
+                result.type = (int) readVarint();
+                break;
+            case 2:
+                result.pvname = readString();
+                break;
+            case 3:
+                result.year = (int) readVarint();
+                break;
+            case 4:
+                result.element_count = (int) readVarint();
+                break;
+            case 15:
+                // FieldValue { name = 1; val = 2; }
+                final int end = readLength();
+                String name = null, value = null;
+                while (pos < end) {
+                    final int field_tag = (int) readVarint();
+                    if (field_tag >>> 3 == 1) {
+                        name = readString();
+                    } else if (field_tag >>> 3 == 2) {
+                        value = readString();
+                    } else {
+                        skip(field_tag & 7);
+                    }
+                }
+                if (name != null  &&  value != null) {
+                    headers.putIfAbsent(name, value);
+                }
+                break;
+            default:
+                skip(tag & 7);
+            }
+        }
+        result.year_start = LocalDate.of(result.year, 1, 1).atStartOfDay(ZoneOffset.UTC).toEpochSecond();
+        result.headers = headers;
+        return result;
+    }
+
+    /**
+     * @param length Length of <code>EPICSEvent</code> in <code>line</code>
+     * @param block Block to which the sample is added
+     * @throws IOException on error
+     */
+    private void decodeSample(final int length, final SampleBlock block) throws IOException {
+        final int i = block.add();
+        pos = 0;
+        limit = length;
+        while (pos < length) {
+            final int tag = (int) readVarint();
+            switch (tag >>> 3) {
+            case 1: // secondsintoyear
+                block.seconds[i] = header.year_start + (readVarint() & 0xFFFFFFFFL);
+                break;
+            case 2: // nano
+                block.nanos[i] = (int) readVarint();
+                break;
+            case 3: // val
+                decodeValue(tag & 7, block, i);
+                break;
+            case 4: // severity
+                block.severities[i] = (int) readVarint();
+                break;
+            case 5: // status
+                block.stati[i] = (int) readVarint();
+                break;
+            default: // repeatcount, fieldvalues, ...
+                skip(tag & 7);
+            }
+        }
+    }
+
+    /**
+     * Decode 'val' of a sample.
+     *
+     * <p>Array values are usually 'packed', but also handles
+     * one field per element.
+     *
+     * @param wire Wire type
+     * @param block Block
+     * @param i Index of sample in block
+     * @throws IOException on error
+     */
+    private void decodeValue(final int wire, final SampleBlock block, final int i) throws IOException {
+        final int type = header.type;
+        switch (type) {
+        case SCALAR_STRING:
+            block.setText(i, readString());
+            return;
+        case SCALAR_BYTE: {
+            final int end = readLength();
+            block.numbers[i] = end > pos ? line[pos] : 0;
+            pos = end;
+            return;
+        }
+        case SCALAR_SHORT:
+        case SCALAR_FLOAT:
+        case SCALAR_ENUM:
+        case SCALAR_INT:
+        case SCALAR_DOUBLE:
+            block.numbers[i] = readNumber(type, wire);
+            return;
+        case WAVEFORM_BYTE: {
+            final int end = readLength();
+            while (pos < end) {
+                block.addElement(i, line[pos++]);
+            }
+            return;
+        }
+        case WAVEFORM_SHORT:
+        case WAVEFORM_FLOAT:
+        case WAVEFORM_ENUM:
+        case WAVEFORM_INT:
+        case WAVEFORM_DOUBLE:
+            if (wire == LENGTH_DELIMITED) {
+                final int element_wire = (type == WAVEFORM_DOUBLE) ? FIXED64
+                                       : (type == WAVEFORM_FLOAT || type == WAVEFORM_INT) ? FIXED32
+                                       : VARINT;
+                final int end = readLength();
+                while (pos < end) {
+                    block.addElement(i, readNumber(type, element_wire));
+                }
+            } else {
+                block.addElement(i, readNumber(type, wire));
+            }
+            return;
+        default:
+            // Unsupported type, handled by caller when samples are returned
+            skip(wire);
+        }
+    }
+
+    /**
+     * @param type Payload type
+     * @param wire Wire type
+     * @return Number (sint32, float, sfixed32 or double)
+     * @throws IOException on error
+     */
+    private double readNumber(final int type, final int wire) throws IOException {
+        switch (wire) {
+        case VARINT: {
+            // sint32, zig-zag encoded
+            final int value = (int) readVarint();
+            return (value >>> 1) ^ -(value & 1);
+        }
+        case FIXED32: {
+            final int bits = readFixed32();
+            if (type == SCALAR_FLOAT  ||  type == WAVEFORM_FLOAT) {
+                return Float.intBitsToFloat(bits);
+            }
+            return bits;
+        }
+        case FIXED64:
+            return Double.longBitsToDouble(readFixed64());
+        default:
+            throw new IOException("Unexpected wire type " + wire + " for payload type " + type);
+        }
+    }
+
+    private long readVarint() throws IOException {
+        long result = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            if (pos >= limit) {
+                throw new IOException("Truncated varint");
+            }
+            final byte b = line[pos++];
+            result |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return result;
+            }
+        }
+        throw new IOException("Malformed varint");
+    }
+
+    private int readFixed32() throws IOException {
+        if (pos + 4 > limit) {
+            throw new IOException("Truncated fixed32");
+        }
+        final int result = (line[pos] & 0xFF)
+                        | (line[pos+1] & 0xFF) << 8
+                        | (line[pos+2] & 0xFF) << 16
+                        | (line[pos+3] & 0xFF) << 24;
+        pos += 4;
+        return result;
+    }
+
+    private long readFixed64() throws IOException {
+        final long low = readFixed32() & 0xFFFFFFFFL;
+        final long high = readFixed32() & 0xFFFFFFFFL;
+        return low | high << 32;
+    }
+
+    /** @return End position of length-delimited field that starts at current position */
+    private int readLength() throws IOException {
+        final int length = (int) readVarint();
+        if (length < 0  ||  pos + length > limit) {
+            throw new IOException("Invalid length " + length);
+        }
+        return pos + length;
+    }
+
+    private String readString() throws IOException {
+        final int end = readLength();
+        final String result = new String(line, pos, end - pos, StandardCharsets.UTF_8);
+        pos = end;
+        return result;
+    }
+
+    /** @param wire Wire type of field to skip */
+    private void skip(final int wire) throws IOException {
+        switch (wire) {
+        case VARINT:
+            readVarint();
+            break;
+        case FIXED64:
+            pos += 8;
+            break;
+        case LENGTH_DELIMITED:
+            pos = readLength();
+            break;
+        case FIXED32:
+            pos += 4;
+            break;
+        default:
+            throw new IOException("Unsupported wire type " + wire);
+        }
+    }
+}
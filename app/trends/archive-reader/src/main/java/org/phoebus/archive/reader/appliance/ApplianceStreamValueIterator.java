@@ -0,0 +1,330 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Phoebus contributors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ ******************************************************************************/
+package org.phoebus.archive.reader.appliance;
+
+import static org.phoebus.archive.reader.ArchiveReaders.logger;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Future;
+import java.util.logging.Level;
+
+import org.epics.util.array.ArrayByte;
+import org.epics.util.array.ArrayDouble;
+import org.epics.util.array.ArrayInteger;
+import org.epics.vtype.Alarm;
+import org.epics.vtype.AlarmStatus;
+import org.epics.vtype.Display;
+import org.epics.vtype.Time;
+import org.epics.vtype.VByteArray;
+import org.epics.vtype.VDoubleArray;
+import org.epics.vtype.VEnum;
+import org.epics.vtype.VIntArray;
+import org.epics.vtype.VNumber;
+import org.epics.vtype.VStatistics;
+import org.epics.vtype.VString;
+import org.epics.vtype.VType;
+import org.phoebus.archive.reader.appliance.ApplianceStreamDecoder.Header;
+import org.phoebus.archive.reader.appliance.ApplianceStreamDecoder.SampleBlock;
+import org.phoebus.pv.TimeHelper;
+
+import edu.stanford.slac.archiverappliance.PB.EPICSEvent.PayloadType;
+
+/**
+ * <code>ApplianceStreamValueIterator</code> reads raw or optimized data with the {@link ApplianceStreamDecoder}.
+ *
+ * <p>The PB/HTTP stream is fetched via the HTTP/2 client of the {@link ApplianceArchiveReader},
+ * so requests for several PVs share a connection and are fetched in parallel.
+ * A thread of the reader decodes the stream into a few re-used {@link SampleBlock}s,
+ * ahead of the samples that are returned by this iterator.
+ * Samples are only turned into {@link VType}s as they are returned.
+ *
+ * @author agent
+ */
+@SuppressWarnings("nls")
+public class ApplianceStreamValueIterator extends ApplianceValueIterator {
+    /** Number of samples per block */
+    private static final int BLOCK_SIZE = 4096;
+
+    /** Number of blocks that are decoded ahead */
+    private static final int BLOCKS = 4;
+
+    /** Marker for the end of the stream */
+    private static final SampleBlock END = new SampleBlock(1);
+
+    /** Number of requested points for optimized data, 0 for raw data */
+    private final int requestedPoints;
+    private final boolean useStatistics;
+
+    /** Blocks that are available for decoding */
+    private final BlockingQueue<SampleBlock> free = new ArrayBlockingQueue<>(BLOCKS);
+
+    /** Decoded blocks, followed by <code>END</code> */
+    private final BlockingQueue<SampleBlock> decoded = new ArrayBlockingQueue<>(BLOCKS + 2);
+
+    private volatile InputStream stream;
+    private volatile Future<?> decoding;
+    private volatile Exception error;
+
+    /** Block from which samples are returned, <code>END</code> when done */
+    private SampleBlock block = null;
+
+    /** Index of next sample in <code>block</code> */
+    private int index = 0;
+
+    /**
+     * Constructor for the raw value iterator.
+     *
+     * @param reader instance of appliance archive reader
+     * @param name name of the PV
+     * @param start start of the time period
+     * @param end end of the time period
+     * @param listener the listener which is notified when the iterator is closed
+     *
+     * @throws IOException if there was an error during the data fetch process
+     * @throws ArchiverApplianceException if the data cannot be loaded with this algorithm
+     */
+    public ApplianceStreamValueIterator(ApplianceArchiveReader reader, String name, Instant start, Instant end,
+            IteratorListener listener) throws ArchiverApplianceException, IOException {
+        this(reader, name, start, end, 0, false, listener);
+    }
+
+    /**
+     * Constructor for the iterator that uses the optimized post processor.
+     *
+     * @param reader instance of appliance archive reader
+     * @param name name of the PV
+     * @param start start of the time period
+     * @param end end of the time period
+     * @param points the number of requested points, 0 for raw data
+     * @param useStatistics true if the returned data should include statistics or false if only mean value should be
+     *            present
+     * @param listener the listener that is notified when the iterator is closed
+     *
+     * @throws IOException if there was an error during the data fetch process
+     * @throws ArchiverApplianceInvalidTypeException if the type of data cannot be returned in optimized format
+     * @throws ArchiverApplianceException if the data cannot be loaded with this algorithm
+     */
+    public ApplianceStreamValueIterator(ApplianceArchiveReader reader, String name, Instant start, Instant end,
+            int points, boolean useStatistics, IteratorListener listener) throws ArchiverApplianceException,
+            IOException {
+        super(reader, name, start, end, listener);
+        this.requestedPoints = points;
+        this.useStatistics = useStatistics;
+        if (points > 0) {
+            this.display = determineDisplay(end);
+        }
+        for (int i = 0; i < BLOCKS; ++i) {
+            free.add(new SampleBlock(BLOCK_SIZE));
+        }
+        fetchData();
+    }
+
+    /**
+     * Determine display values and check if the data type supports optimized data.
+     *
+     * @param time time of the raw sample used to determine the display
+     * @return the display
+     * @throws IOException if there was an error reading data
+     * @throws ArchiverApplianceException if the data cannot be loaded with the optimized method
+     */
+    private Display determineDisplay(Instant time) throws ArchiverApplianceException, IOException {
+        try (InputStream in = reader.openStream(name, time, time)) {
+            final SampleBlock sample = new SampleBlock(1);
+            if (new ApplianceStreamDecoder(in).read(sample, 1)) {
+                final int type = sample.header.type;
+                if (type != ApplianceStreamDecoder.SCALAR_BYTE && type != ApplianceStreamDecoder.SCALAR_DOUBLE
+                        && type != ApplianceStreamDecoder.SCALAR_FLOAT && type != ApplianceStreamDecoder.SCALAR_INT
+                        && type != ApplianceStreamDecoder.SCALAR_SHORT) {
+                    throw new ArchiverApplianceInvalidTypeException("Cannot use optimized data on type "
+                            + PayloadType.forNumber(type), name, PayloadType.forNumber(type));
+                }
+                return getDisplay(sample.header.headers);
+            }
+        }
+        return Display.none();
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see org.phoebus.archive.reader.appliance.ApplianceValueIterator#fetchDataInternal(java.lang.String)
+     */
+    @Override
+    protected void fetchDataInternal(String pvName) throws ArchiverApplianceException {
+        if (requestedPoints > 0) {
+            pvName = new StringBuilder().append(ApplianceArchiveReaderConstants.OP_OPTIMIZED)
+                    .append(requestedPoints).append('(').append(pvName).append(')').toString();
+        }
+        stream = reader.openStream(pvName, start, end);
+        decoding = reader.getStreamPool().submit(this::decode);
+    }
+
+    /** Decode the stream into blocks, runs on thread of the reader */
+    private void decode() {
+        final ApplianceStreamDecoder decoder = new ApplianceStreamDecoder(stream);
+        try {
+            while (true) {
+                final SampleBlock block = free.take();
+                if (!decoder.read(block, BLOCK_SIZE)) {
+                    break;
+                }
+                decoded.put(block);
+            }
+        } catch (InterruptedException e) {
+            // Closed
+        } catch (Exception e) {
+            error = e;
+        } finally {
+            decoded.offer(END);
+        }
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see org.phoebus.archive.reader.ValueIterator#hasNext()
+     */
+    @Override
+    public synchronized boolean hasNext() {
+        if (closed) {
+            return false;
+        }
+        while (block == null || index >= block.size) {
+            if (block == END) {
+                return false;
+            }
+            if (block != null) {
+                free.offer(block);
+            }
+            try {
+                block = decoded.take();
+            } catch (InterruptedException e) {
+                return false;
+            }
+            index = 0;
+            if (block == END && error != null && !closed) {
+                logger.log(Level.WARNING, "Error reading data for " + name, error);
+            }
+        }
+        return true;
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see org.phoebus.archive.reader.ValueIterator#next()
+     */
+    @Override
+    public synchronized VType next() {
+        if (!hasNext()) {
+            return null;
+        }
+        return extractData(block, index++);
+    }
+
+    /**
+     * Creates the VType for a sample.
+     *
+     * @param block block of samples
+     * @param i index of the sample in the block
+     * @return the appropriate VType data object
+     */
+    private VType extractData(SampleBlock block, int i) {
+        final Header header = block.header;
+        final Alarm alarm = Alarm.of(getSeverity(block.severities[i]), AlarmStatus.CLIENT, getStatus(block.stati[i]));
+        final Time time = TimeHelper.fromInstant(Instant.ofEpochSecond(block.seconds[i], block.nanos[i]));
+        final int start = block.starts[i];
+        final int count = block.counts[i];
+
+        switch (header.type) {
+        case ApplianceStreamDecoder.SCALAR_DOUBLE:
+            if (display == null) display = getDisplay(header.headers);
+            return VNumber.of(block.numbers[i], alarm, time, display);
+        case ApplianceStreamDecoder.SCALAR_FLOAT:
+            if (display == null) display = getDisplay(header.headers);
+            return VNumber.of((float) block.numbers[i], alarm, time, display);
+        case ApplianceStreamDecoder.SCALAR_INT:
+            if (display == null) display = getDisplay(header.headers);
+            return VNumber.of((int) block.numbers[i], alarm, time, display);
+        case ApplianceStreamDecoder.SCALAR_SHORT:
+            if (display == null) display = getDisplay(header.headers);
+            return VNumber.of((short) block.numbers[i], alarm, time, display);
+        case ApplianceStreamDecoder.SCALAR_BYTE:
+            if (display == null) display = getDisplay(header.headers);
+            return VNumber.of((byte) block.numbers[i], alarm, time, display);
+        case ApplianceStreamDecoder.SCALAR_ENUM:
+            if (enumDisplay == null) enumDisplay = getEnumDisplay(header.headers);
+            return VEnum.of((int) block.numbers[i], enumDisplay, alarm, time);
+        case ApplianceStreamDecoder.SCALAR_STRING:
+            final String text = block.texts == null ? null : block.texts[i];
+            return VString.of(text == null ? "" : text, alarm, time);
+        case ApplianceStreamDecoder.WAVEFORM_DOUBLE:
+            if (requestedPoints > 0) {
+                // Optimized data: mean, std, min, max, count
+                if (useStatistics && count >= 5) {
+                    return VStatistics.of(block.elements[start],
+                                          block.elements[start+1],
+                                          block.elements[start+2],
+                                          block.elements[start+3],
+                                          (int) block.elements[start+4],
+                                          alarm, time, display);
+                }
+                return VNumber.of(count > 0 ? block.elements[start] : Double.NaN, alarm, time, display);
+            }
+            // Fall through to raw waveform
+        case ApplianceStreamDecoder.WAVEFORM_FLOAT:
+            if (display == null) display = getDisplay(header.headers);
+            return VDoubleArray.of(ArrayDouble.of(Arrays.copyOfRange(block.elements, start, start + count)),
+                                   alarm, time, display);
+        case ApplianceStreamDecoder.WAVEFORM_INT:
+        case ApplianceStreamDecoder.WAVEFORM_SHORT:
+            if (display == null) display = getDisplay(header.headers);
+            final int[] ints = new int[count];
+            for (int e = 0; e < count; ++e) {
+                ints[e] = (int) block.elements[start + e];
+            }
+            return VIntArray.of(ArrayInteger.of(ints), alarm, time, display);
+        case ApplianceStreamDecoder.WAVEFORM_BYTE:
+            if (display == null) display = getDisplay(header.headers);
+            final byte[] bytes = new byte[count];
+            for (int e = 0; e < count; ++e) {
+                bytes[e] = (byte) block.elements[start + e];
+            }
+            return VByteArray.of(ArrayByte.of(bytes), alarm, time, display);
+        default:
+            throw new UnsupportedOperationException("PV type " + PayloadType.forNumber(header.type) + " is not supported.");
+        }
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see org.phoebus.archive.reader.appliance.ApplianceValueIterator#close()
+     */
+    @Override
+    public void close() {
+        // Stop decoding, and unblock a reader that waits for data
+        if (decoding != null) {
+            decoding.cancel(true);
+        }
+        decoded.offer(END);
+        try {
+            if (stream != null) {
+                stream.close();
+            }
+        } catch (IOException e) {
+            // Ignore, closing anyway
+        }
+        super.close();
+    }
+}
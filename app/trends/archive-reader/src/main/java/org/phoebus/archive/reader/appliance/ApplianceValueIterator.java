@@ -274,13 +274,16 @@ public abstract class ApplianceValueIterator implements ValueIterator {
      * @return the display
      */
     protected Display getDisplay(PayloadInfo info) {
-        Map<String, String> headers = new HashMap<>();
-        for (FieldValue fieldValue : info.getHeadersList()) {
-            if (!headers.containsKey(fieldValue.getName())) {
-                headers.put(fieldValue.getName(), fieldValue.getVal());
-            }
-        }
+        return getDisplay(getHeaders(info));
+    }
 
+    /**
+     * Extract the display properties (min, max, alarm limits) from the given headers.
+     *
+     * @param headers the header fields by name
+     * @return the display
+     */
+    protected Display getDisplay(Map<String, String> headers) {
         String lopr = headers.get(ApplianceArchiveReaderConstants.LOPR);
         String low = headers.get(ApplianceArchiveReaderConstants.LOW);
         String lolo = headers.get(ApplianceArchiveReaderConstants.LOLO);
@@ -311,24 +314,50 @@ public abstract class ApplianceValueIterator implements ValueIterator {
      * @return the EnumDisplay containing the labels
      */
     protected EnumDisplay getEnumDisplay(PayloadInfo info) {
-        List<FieldValue> labelsTemp = new ArrayList<>();
+        return getEnumDisplay(getHeaders(info));
+    }
+
+    /**
+     * Extract the labels from the given headers when processing Enum Values.
+     *
+     * @param headers the header fields by name
+     * @return the EnumDisplay containing the labels
+     */
+    protected EnumDisplay getEnumDisplay(Map<String, String> headers) {
+        List<String> names = new ArrayList<>();
         List<String> labels = new ArrayList<>();
 
-        for (FieldValue fv : info.getHeadersList()) {
-            if (fv.getName().startsWith("ENUM_")) {
-                labelsTemp.add(fv);
+        for (String name : headers.keySet()) {
+            if (name.startsWith("ENUM_")) {
+                names.add(name);
             }
         }
             // Sort by index in FieldValue Name because headers not sorted
-        labelsTemp.sort(Comparator.comparingInt(fv -> Integer.parseInt(fv.getName().substring(5))));
+        names.sort(Comparator.comparingInt(name -> Integer.parseInt(name.substring(5))));
 
-        for (FieldValue fv : labelsTemp) {
-            labels.add(fv.getVal());
+        for (String name : names) {
+            labels.add(headers.get(name));
         }
 
         return EnumDisplay.of(labels);
     }
 
+    /**
+     * Collect the header fields of the given payloadinfo. For duplicate fields, the first value is used.
+     *
+     * @param info the payload info
+     * @return header fields by name
+     */
+    private static Map<String, String> getHeaders(PayloadInfo info) {
+        Map<String, String> headers = new HashMap<>();
+        for (FieldValue fieldValue : info.getHeadersList()) {
+            if (!headers.containsKey(fieldValue.getName())) {
+                headers.put(fieldValue.getName(), fieldValue.getVal());
+            }
+        }
+        return headers;
+    }
+
     /**
      * Determines alarm severity from the given numerical representation.
      *
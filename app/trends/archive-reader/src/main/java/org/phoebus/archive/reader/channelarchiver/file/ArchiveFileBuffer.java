@@ -10,25 +10,52 @@ package org.phoebus.archive.reader.channelarchiver.file;
 import java.io.File;
 import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
 import java.nio.channels.FileChannel;
 import java.nio.file.StandardOpenOption;
 import java.time.Instant;
 
 /** Implements ByteBuffer-like relative get methods for getting binary data
  *  from a file. Created for use with ArchiveFileReader and associated classes.
+ *
+ *  <p>With an {@link ArchiveFileCache}, files are memory-mapped
+ *  and the buffer reads from its own view of the mapped file.
+ *  Otherwise, or for files that are too large to map,
+ *  the file is read in sections into a heap buffer.
+ *
  *  @author Amanda Carpenter
  */
 @SuppressWarnings("nls")
 public class ArchiveFileBuffer implements AutoCloseable
 {
-    // XXX: what size? Bigger means less fetching, but too big means memory runs out;
-    private final ByteBuffer buffer = ByteBuffer.allocate(65536);
+    /** Size of heap buffer.
+     *  Index nodes and data headers are small, samples are read sequentially,
+     *  so larger sizes mostly read data that is never used.
+     */
+    private static final int BUFFER_SIZE = 65536;
+
+    /** Cache for mapped files, or <code>null</code> */
+    private final ArchiveFileCache cache;
+
+    /** Heap buffer for a section of the file, or view of complete mapped file */
+    private ByteBuffer buffer = null;
+
+    /** Is <code>buffer</code> a view of the mapped file? */
+    private boolean mapped = false;
+
     private FileChannel fileChannel;
     private File file = null;
 
     /** Constructor */
     public ArchiveFileBuffer()
     {
+        this((ArchiveFileCache) null);
+    }
+
+    /** @param cache Cache for mapped files, or <code>null</code> to read without mapping */
+    ArchiveFileBuffer(final ArchiveFileCache cache)
+    {
+        this.cache = cache;
     }
 
     /** @param file File to read
@@ -36,9 +63,25 @@ public class ArchiveFileBuffer implements AutoCloseable
      */
     public ArchiveFileBuffer(final File file) throws IOException
     {
+        this(file, null);
+    }
+
+    /** @param file File to read
+     *  @param cache Cache for mapped files, or <code>null</code> to read without mapping
+     *  @throws IOException on error
+     */
+    ArchiveFileBuffer(final File file, final ArchiveFileCache cache) throws IOException
+    {
+        this(cache);
         setFile(file);
     }
 
+    /** @return Cache for mapped files, or <code>null</code> */
+    ArchiveFileCache getCache()
+    {
+        return cache;
+    }
+
     /** Set file
      *  @param file File to read
      *  @throws IOException on error
@@ -49,9 +92,21 @@ public class ArchiveFileBuffer implements AutoCloseable
         {
             this.file = file;
             close();
-            fileChannel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+            final MappedByteBuffer map = cache == null ? null : cache.map(file);
+            mapped = map != null;
+            if (mapped)
+                buffer = map.duplicate();
+            else
+            {
+                if (buffer == null  ||  buffer.capacity() != BUFFER_SIZE)
+                    buffer = ByteBuffer.allocate(BUFFER_SIZE);
+                fileChannel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+            }
         }
-        buffer.position(0).limit(0);
+        if (mapped)
+            buffer.position(0);
+        else
+            buffer.position(0).limit(0);
     }
 
     /** @return File */
@@ -65,7 +120,7 @@ public class ArchiveFileBuffer implements AutoCloseable
      */
     public void prepareGet(int numBytes) throws IOException
     {
-        if (buffer.remaining() < numBytes)
+        if (! mapped  &&  buffer.remaining() < numBytes)
         {
             buffer.compact();
             fileChannel.read(buffer);
@@ -124,7 +179,7 @@ public class ArchiveFileBuffer implements AutoCloseable
      */
     public byte get() throws IOException
     {
-        if (!buffer.hasRemaining())
+        if (! mapped  &&  !buffer.hasRemaining())
         {
             buffer.clear();
             buffer.limit(fileChannel.read(buffer));
@@ -149,6 +204,11 @@ public class ArchiveFileBuffer implements AutoCloseable
      */
     public void skip(int numBytes) throws IOException
     {
+        if (mapped)
+        {
+            buffer.position(buffer.position() + numBytes);
+            return;
+        }
         int numAlready = buffer.remaining();
         while (numBytes > numAlready)
         {
@@ -166,6 +226,12 @@ public class ArchiveFileBuffer implements AutoCloseable
      */
     public void offset(long offset) throws IOException
     {
+        if (mapped)
+        {
+            if (offset >= 0  &&  offset <= buffer.limit())
+                buffer.position((int) offset);
+            return;
+        }
          if (offset < 0 || offset > fileChannel.size())
         {
             //throw new RuntimeException("Offset is invalid.") ?
@@ -202,6 +268,8 @@ public class ArchiveFileBuffer implements AutoCloseable
      */
     long offset() throws IOException
     {
+        if (mapped)
+            return buffer.position();
         return fileChannel.position() - buffer.limit() + buffer.position();
     }
 
@@ -214,6 +282,11 @@ public class ArchiveFileBuffer implements AutoCloseable
     @Override
     public void close() throws IOException
     {
+        if (mapped)
+        {   // Release view, file remains mapped in cache
+            buffer = null;
+            mapped = false;
+        }
         if (fileChannel != null)
         {
             fileChannel.close();
@@ -0,0 +1,185 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Phoebus contributors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ ******************************************************************************/
+package org.phoebus.archive.reader.channelarchiver.file;
+
+import static org.phoebus.archive.reader.ArchiveReaders.logger;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.logging.Level;
+
+/** Memory-mapped files and decoded file content, shared by all requests to one archive
+ *
+ *  <p>Files are mapped once, and each {@link ArchiveFileBuffer}
+ *  then reads from its own view of the mapped file,
+ *  so concurrent requests neither re-open files nor need to synchronize.
+ *  Files that are too large to be mapped as a whole are read
+ *  via plain file access.
+ *
+ *  <p>R-tree nodes of the index and CtrlInfo from data files
+ *  are kept in bounded least-recently-used caches.
+ *
+ *  @author agent
+ */
+@SuppressWarnings("nls")
+class ArchiveFileCache
+{
+    /** Least-recently-used map */
+    private static class LRU<K, V> extends LinkedHashMap<K, V>
+    {
+        private static final long serialVersionUID = 1L;
+        private final int capacity;
+
+        LRU(final int capacity)
+        {
+            super(16, 0.75f, true);
+            this.capacity = capacity;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(final Map.Entry<K, V> eldest)
+        {
+            return size() > capacity;
+        }
+    }
+
+    /** Location of CtrlInfo */
+    private static class Location
+    {
+        final File file;
+        final long offset;
+
+        Location(final File file, final long offset)
+        {
+            this.file = file;
+            this.offset = offset;
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return Objects.hash(file, offset);
+        }
+
+        @Override
+        public boolean equals(final Object obj)
+        {
+            if (! (obj instanceof Location))
+                return false;
+            final Location other = (Location) obj;
+            return offset == other.offset  &&  file.equals(other.file);
+        }
+    }
+
+    /** Mapped files, <code>null</code> for files that cannot be mapped */
+    private final Map<File, MappedByteBuffer> files;
+
+    /** R-tree nodes by offset in index file */
+    private final Map<Long, RTreeNode> nodes;
+
+    /** CtrlInfo by data file and offset */
+    private final Map<Location, CtrlInfoReader> infos;
+
+    /** @param max_files Maximum number of mapped files
+     *  @param max_entries Maximum number of cached R-tree nodes and CtrlInfo entries
+     */
+    ArchiveFileCache(final int max_files, final int max_entries)
+    {
+        files = new LRU<>(max_files);
+        nodes = new LRU<>(max_entries);
+        infos = new LRU<>(max_entries);
+    }
+
+    /** @param file File to map
+     *  @return Mapped file, <code>null</code> when file is too large to be mapped
+     *  @throws IOException on error
+     */
+    synchronized MappedByteBuffer map(final File file) throws IOException
+    {
+        if (files.containsKey(file))
+            return files.get(file);
+        MappedByteBuffer mapped = null;
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ))
+        {
+            if (channel.size() <= Integer.MAX_VALUE)
+                mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            else
+                logger.log(Level.FINE, () -> "Cannot map " + file + ", " + file.length() + " bytes");
+        }
+        // File remains mapped after channel is closed,
+        // and is un-mapped when the buffer is garbage collected
+        files.put(file, mapped);
+        return mapped;
+    }
+
+    /** @param buffer Buffer for index file
+     *  @param offset Offset of node
+     *  @param M Number of records per node
+     *  @return {@link RTreeNode}
+     *  @throws Exception on error
+     */
+    RTreeNode getNode(final ArchiveFileBuffer buffer, final long offset, final int M) throws Exception
+    {
+        synchronized (nodes)
+        {
+            final RTreeNode node = nodes.get(offset);
+            if (node != null)
+                return node;
+        }
+        // Read outside of lock. Concurrent readers might both read the same node.
+        final RTreeNode node = new RTreeNode(buffer, offset, M);
+        synchronized (nodes)
+        {
+            nodes.put(offset, node);
+        }
+        return node;
+    }
+
+    /** @param buffer Buffer for data file
+     *  @param offset Offset of CtrlInfo
+     *  @return {@link CtrlInfoReader} that has already read the CtrlInfo
+     *  @throws IOException on error
+     */
+    CtrlInfoReader getCtrlInfo(final ArchiveFileBuffer buffer, final long offset) throws IOException
+    {
+        final Location location = new Location(buffer.getFile(), offset);
+        synchronized (infos)
+        {
+            final CtrlInfoReader info = infos.get(location);
+            if (info != null)
+                return info;
+        }
+        final CtrlInfoReader info = new CtrlInfoReader(buffer.getFile(), offset);
+        info.read(buffer);
+        synchronized (infos)
+        {
+            infos.put(location, info);
+        }
+        return info;
+    }
+
+    /** Release all cached content */
+    synchronized void clear()
+    {
+        files.clear();
+        synchronized (nodes)
+        {
+            nodes.clear();
+        }
+        synchronized (infos)
+        {
+            infos.clear();
+        }
+    }
+}
@@ -25,12 +25,20 @@ import org.phoebus.archive.reader.channelarchiver.file.RTreeNode.RTreeNodeWithIn
 /** Helper class for reading ChannelArchiver index files
  *
  *  (both master index files and sub-archive index files).
+ *
+ *  <p>Without an {@link ArchiveFileCache}, requests are serialized
+ *  because they share one file buffer.
+ *  With a cache, each request reads from its own view of the mapped
+ *  index file, and R-tree nodes are cached across requests.
+ *
  *  @author Amanda Carpenter
  */
 @SuppressWarnings("nls")
 public class ArchiveFileIndexReader implements AutoCloseable
 {
     private final ArchiveFileBuffer buffer;
+    private final File indexFile;
+    private final ArchiveFileCache cache;
     private final File indexParent;
     private final HashMap<String, TreeAnchor> anchors;
 
@@ -61,7 +69,18 @@ public class ArchiveFileIndexReader implements AutoCloseable
      */
     public ArchiveFileIndexReader(final File indexFile) throws IOException
     {
-        buffer = new ArchiveFileBuffer(indexFile);
+        this(indexFile, null);
+    }
+
+    /** @param indexFile Index file to read
+     *  @param cache Cache for mapped files and R-tree nodes, or <code>null</code>
+     *  @throws IOException on error
+     */
+    ArchiveFileIndexReader(final File indexFile, final ArchiveFileCache cache) throws IOException
+    {
+        this.indexFile = indexFile;
+        this.cache = cache;
+        buffer = new ArchiveFileBuffer(indexFile, cache);
         indexParent = indexFile.getParentFile();
         anchors = getAnchors();
         logger.fine(() -> "Opened " + indexFile + ", " + anchors.size() + " channels");
@@ -135,7 +154,21 @@ public class ArchiveFileIndexReader implements AutoCloseable
         if (anchor == null)
             throw new UnknownChannelException(channelName);
 
-        final RTreeNodeWithIndex node_and_index = searchRTreeNodes(anchor.root, anchor.numRecords, startTime);
+        if (cache == null)
+            synchronized (buffer)
+            {
+                return getEntries(buffer, anchor, startTime, endTime);
+            }
+        try (ArchiveFileBuffer view = new ArchiveFileBuffer(indexFile, cache))
+        {
+            return getEntries(view, anchor, startTime, endTime);
+        }
+    }
+
+    private List<DataFileEntry> getEntries(final ArchiveFileBuffer buffer, final TreeAnchor anchor,
+                                           final Instant startTime, final Instant endTime) throws Exception
+    {
+        final RTreeNodeWithIndex node_and_index = searchRTreeNodes(buffer, anchor.root, anchor.numRecords, startTime);
         if (node_and_index == null)
             return Collections.emptyList();
 
@@ -148,7 +181,7 @@ public class ArchiveFileIndexReader implements AutoCloseable
             if (! node.records[index].isEmpty())
             {
                 // A record might point to a chain of data blocks
-                final List<DataFileEntry>  sub_entries = readDatablocks(node.records[index].child);
+                final List<DataFileEntry>  sub_entries = readDatablocks(buffer, node.records[index].child);
                 // Use only the first data block, not the 'shadowed' data blocks below
                 entries.add(sub_entries.get(0));
             }
@@ -162,11 +195,11 @@ public class ArchiveFileIndexReader implements AutoCloseable
                 {
                     if (node.parent == 0)
                         return entries;
-                    final RTreeNode parent = new RTreeNode(buffer, node.parent, node.getM());
+                    final RTreeNode parent = readNode(buffer, node.parent, node.getM());
                     index = parent.findRecordForChild(node.offset) + 1;
                     if (index < node.getM()  &&   ! parent.records[index].isEmpty())
                     {   // From the _next_ parent record, descent into first child
-                        node = new RTreeNode(buffer, parent.records[index].child, node.getM());
+                        node = readNode(buffer, parent.records[index].child, node.getM());
                         index = 0;
                         break;
                     }
@@ -175,7 +208,7 @@ public class ArchiveFileIndexReader implements AutoCloseable
                 }
                 // Keep descending via leftmost child to leaf
                 while (! node.isLeaf)
-                    node = new RTreeNode(buffer, node.records[index].child, node.getM());
+                    node = readNode(buffer, node.records[index].child, node.getM());
             }
         }
 
@@ -196,7 +229,15 @@ public class ArchiveFileIndexReader implements AutoCloseable
      */
     public RTreeNodeWithIndex searchRTreeNodes(final long root, final int numRecords, final Instant time) throws Exception
     {
-        RTreeNode node = new RTreeNode(buffer, root, numRecords);
+        synchronized (buffer)
+        {
+            return searchRTreeNodes(buffer, root, numRecords, time);
+        }
+    }
+
+    private RTreeNodeWithIndex searchRTreeNodes(final ArchiveFileBuffer buffer, final long root, final int numRecords, final Instant time) throws Exception
+    {
+        RTreeNode node = readNode(buffer, root, numRecords);
         while (true)
         {
             // System.out.println(node);
@@ -216,21 +257,35 @@ public class ArchiveFileIndexReader implements AutoCloseable
                 i = 0;
             if (node.isLeaf)
                 return new RTreeNodeWithIndex(node, i);
-            node = new RTreeNode(buffer, child, numRecords);
+            node = readNode(buffer, child, numRecords);
         }
     }
 
+    /** @param buffer Buffer for index file
+     *  @param offset Offset of node
+     *  @param M Number of records per node
+     *  @return {@link RTreeNode}, possibly from cache
+     *  @throws Exception on error
+     */
+    private RTreeNode readNode(final ArchiveFileBuffer buffer, final long offset, final int M) throws Exception
+    {
+        if (cache == null)
+            return new RTreeNode(buffer, offset, M);
+        return cache.getNode(buffer, offset, M);
+    }
+
     /**
      * Given the offset of an RTree datablock, gets the filename and offset
      * associated with that datablock, and the same for any child datablocks.
      * The returned values correspond to the same time frame, but should be in
      * different sub-archives, if there are more than one.
+     * @param buffer Buffer for index file
      * @param offset Offset of RTree datablock (child_id of leaf node's record)
      * @return List<DataFileEntry> corresponding to the respective files and offsets of
      *             all datablocks associated with the RTree record which contains the given offset
      * @throws IOException
      */
-    private List<DataFileEntry> readDatablocks(long offset) throws IOException
+    private List<DataFileEntry> readDatablocks(final ArchiveFileBuffer buffer, long offset) throws IOException
     {
         //Datablocks (RTree entries) are stored as follows:
         // long next_ID - offset of next datablock
@@ -20,14 +20,32 @@ import java.util.regex.Pattern;
 import org.phoebus.archive.reader.ArchiveReader;
 import org.phoebus.archive.reader.UnknownChannelException;
 import org.phoebus.archive.reader.ValueIterator;
+import org.phoebus.framework.preferences.AnnotatedPreferences;
+import org.phoebus.framework.preferences.Preference;
 
 /** ArchiveReader for Channel Archiver index and data files.
+ *
+ *  <p>By default, index and data files are memory-mapped,
+ *  and decoded index nodes and CtrlInfo are cached across requests.
+ *
  *  @author Kay Kasemir
  *  @author Amanda Carpenter
  */
 @SuppressWarnings("nls")
 public class ArchiveFileReader implements ArchiveReader
 {
+    @Preference static boolean memory_map;
+    @Preference static int max_mapped_files;
+    @Preference static int cache_size;
+
+    static
+    {
+        AnnotatedPreferences.initialize(ArchiveFileReader.class, "/channelarchiver_file_preferences.properties");
+    }
+
+    /** Cache for mapped files and decoded content, or <code>null</code> */
+    private final ArchiveFileCache cache;
+
     private final ArchiveFileIndexReader indexReader;
 
     /** Construct an ArchiveFileReader.
@@ -36,7 +54,8 @@ public class ArchiveFileReader implements ArchiveReader
      */
     public ArchiveFileReader(final File index) throws IOException
     {
-        indexReader = new ArchiveFileIndexReader(index);
+        cache = memory_map ? new ArchiveFileCache(max_mapped_files, cache_size) : null;
+        indexReader = new ArchiveFileIndexReader(index, cache);
     }
 
     @Override
@@ -66,7 +85,7 @@ public class ArchiveFileReader implements ArchiveReader
     {
         final List<DataFileEntry> entries = indexReader.getEntries(name, start, end);
         // entries.forEach(System.out::println);
-        return new ArchiveFileSampleReader(start, end, entries);
+        return new ArchiveFileSampleReader(start, end, entries, cache);
     }
 
     @Override
@@ -80,5 +99,7 @@ public class ArchiveFileReader implements ArchiveReader
         {
             logger.log(Level.WARNING, "Cannot close index", ex);
         }
+        if (cache != null)
+            cache.clear();
     }
 }
@@ -54,7 +54,7 @@ public class ArchiveFileSampleReader implements ValueIterator
      */
     private final Queue<DataFileEntry> entries;
 
-    private final ArchiveFileBuffer buffer = new ArchiveFileBuffer();
+    private final ArchiveFileBuffer buffer;
 
     private DataHeader header;
 
@@ -71,8 +71,21 @@ public class ArchiveFileSampleReader implements ValueIterator
      */
     public ArchiveFileSampleReader(final Instant iteratorStart, final Instant iteratorStop,
                                    final List<DataFileEntry> entries) throws Exception
+    {
+        this(iteratorStart, iteratorStop, entries, null);
+    }
+
+    /** @param iteratorStart Start time
+     *  @param iteratorStop End time
+     *  @param entries Data files to read
+     *  @param cache Cache for mapped files and CtrlInfo, or <code>null</code>
+     *  @throws Exception on error
+     */
+    ArchiveFileSampleReader(final Instant iteratorStart, final Instant iteratorStop,
+                            final List<DataFileEntry> entries, final ArchiveFileCache cache) throws Exception
     {
         this.iteratorStop = iteratorStop;
+        buffer = new ArchiveFileBuffer(cache);
 
         this.entries = new ArrayDeque<>(entries);
 
@@ -7,6 +7,7 @@
  ******************************************************************************/
 package org.phoebus.archive.reader.channelarchiver.file;
 
+import java.io.File;
 import java.io.IOException;
 import java.util.Arrays;
 import java.util.List;
@@ -22,13 +23,24 @@ import org.epics.vtype.Display;
 @SuppressWarnings("nls")
 public class CtrlInfoReader
 {
+    private final File file;
     private final long offset;
     private Display display; //display, for number/display types
     private List<String> labels; //labels, for enum types
+    private volatile boolean is_read = false;
 
     /** @param offset File offset */
     public CtrlInfoReader(long offset)
     {
+        this(null, offset);
+    }
+
+    /** @param file Data file, <code>null</code> if not known
+     *  @param offset File offset
+     */
+    public CtrlInfoReader(final File file, final long offset)
+    {
+        this.file = file;
         this.offset = offset;
         display = null;
         labels = null;
@@ -76,6 +88,7 @@ public class CtrlInfoReader
                 break;
         }
         buffer.offset(oldOffset);
+        is_read = true;
     }
 
     /** @param buffer File buffer
@@ -84,7 +97,7 @@ public class CtrlInfoReader
      */
     public Display getDisplay(ArchiveFileBuffer buffer) throws IOException
     {
-        if (display == null)
+        if (! is_read)
             read(buffer);
         return display;
     }
@@ -95,7 +108,7 @@ public class CtrlInfoReader
      */
     public List<String> getLabels(ArchiveFileBuffer buffer) throws IOException
     {
-        if (labels == null)
+        if (! is_read)
             read(buffer);
         return labels;
     }
@@ -107,4 +120,13 @@ public class CtrlInfoReader
     {
         return offset == this.offset;
     }
+
+    /** @param file Data file
+     *  @param offset File offset
+     *  @return Is this ctrl info at that offset in that file?
+     */
+    public boolean isLocation(final File file, final long offset)
+    {
+        return offset == this.offset  &&  file.equals(this.file);
+    }
 }
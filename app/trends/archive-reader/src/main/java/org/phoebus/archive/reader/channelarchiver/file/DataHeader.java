@@ -112,8 +112,10 @@ class DataHeader
         final byte nameBytes [] = new byte [40];
         buffer.get(nameBytes);
 
-        if (!info.isOffset(ctrlInfoOffset))
-            info = new CtrlInfoReader(ctrlInfoOffset);
+        if (!info.isLocation(file, ctrlInfoOffset))
+            info = buffer.getCache() == null
+                 ? new CtrlInfoReader(file, ctrlInfoOffset)
+                 : buffer.getCache().getCtrlInfo(buffer, ctrlInfoOffset);
         final DbrType dbrType = DbrType.forValue(dbrTypeCode);
 
         // compute amount of data in this data file entry: (bytes allocated) - (bytes free) - (bytes in header)
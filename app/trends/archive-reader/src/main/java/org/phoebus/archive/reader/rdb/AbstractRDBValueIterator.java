@@ -12,7 +12,9 @@ import java.io.DataInputStream;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
+import java.sql.Timestamp;
 import java.text.NumberFormat;
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
@@ -169,6 +171,47 @@ abstract class AbstractRDBValueIterator implements ValueIterator
         return labels;
     }
 
+    /** Determine the time of the sample at or before the start time,
+     *  which is the first sample to return for the start .. end range
+     *  @param start Start time
+     *  @param end End time
+     *  @return Time of initial sample, or start time if there is no earlier sample
+     *  @throws Exception on error, including cancellation
+     */
+    protected Timestamp determineInitialSampleTime(final Instant start, final Instant end) throws Exception
+    {
+        Timestamp start_stamp = Timestamp.from(start);
+        final PreparedStatement statement =
+                connection.prepareStatement(reader.getSQL().sample_sel_initial_time);
+        reader.addForCancellation(statement);
+        try
+        {
+            statement.setInt(1, channel_id);
+            statement.setTimestamp(2, start_stamp);
+            if (statement.getParameterMetaData().getParameterCount() == 3)
+                statement.setTimestamp(3, Timestamp.from(end));
+            final ResultSet result = statement.executeQuery();
+            if (result.next())
+            {
+                final Timestamp actual_start = result.getTimestamp(1);
+                if (actual_start != null)
+                {
+                    start_stamp = actual_start;
+                    // Oracle has nanoseconds in TIMESTAMP, MySQL in separate column
+                    if (reader.getPool().getDialect() == Dialect.MySQL || reader.getPool().getDialect() == Dialect.PostgreSQL)
+                        start_stamp.setNanos(result.getInt(2));
+                }
+            }
+            result.close();
+        }
+        finally
+        {
+            reader.removeFromCancellation(statement);
+            statement.close();
+        }
+        return start_stamp;
+    }
+
     /** Extract value from SQL result
      *  @param result ResultSet that must contain contain time, severity, ..., value
      *  @param handle_array Try to read array elements, or only a scalar value?
@@ -310,7 +353,7 @@ abstract class AbstractRDBValueIterator implements ValueIterator
      *  @return Array with given element and maybe more.
      *  @throws Exception on error, including 'cancel'
      */
-    private double[] readBlobArrayElements(final double dbl0, final ResultSet result) throws Exception
+    protected double[] readBlobArrayElements(final double dbl0, final ResultSet result) throws Exception
     {
         final String datatype;
         if (reader.getPool().getDialect() == Dialect.Oracle)
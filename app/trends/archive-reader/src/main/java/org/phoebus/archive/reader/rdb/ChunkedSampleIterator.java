@@ -0,0 +1,392 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Phoebus contributors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ ******************************************************************************/
+package org.phoebus.archive.reader.rdb;
+
+import static org.phoebus.archive.reader.ArchiveReaders.logger;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.logging.Level;
+
+import org.epics.util.array.ArrayDouble;
+import org.epics.vtype.Alarm;
+import org.epics.vtype.AlarmSeverity;
+import org.epics.vtype.AlarmStatus;
+import org.epics.vtype.Time;
+import org.epics.vtype.VDouble;
+import org.epics.vtype.VDoubleArray;
+import org.epics.vtype.VEnum;
+import org.epics.vtype.VString;
+import org.epics.vtype.VType;
+import org.phoebus.framework.rdb.RDBInfo.Dialect;
+import org.phoebus.pv.TimeHelper;
+
+/** Value Iterator that reads from the SAMPLE table in chunks of time.
+ *
+ *  <p>The start .. end range is split into chunks of
+ *  {@link RDBPreferences#chunk_secs}, which are fetched in parallel
+ *  by the thread pool of the {@link RDBArchiveReader}, each with its own query.
+ *  Only {@link RDBPreferences#read_ahead} chunks are fetched ahead of the
+ *  chunk from which samples are currently returned.
+ *
+ *  <p>Fetching a chunk decodes the rows into primitive arrays.
+ *  Alarms, time stamps and values are only turned into {@link VType}s
+ *  as the samples are returned, in order.
+ *
+ *  <p>Requires array samples to be stored as BLOBs in the SAMPLE table.
+ *
+ *  @author agent
+ */
+@SuppressWarnings("nls")
+public class ChunkedSampleIterator extends AbstractRDBValueIterator
+{
+    /** Samples of one chunk */
+    private static class SampleBlock
+    {
+        static final byte NUMBER = 0, ARRAY = 1, TEXT = 2;
+
+        int size = 0;
+        long[] seconds = new long[16];
+        int[] nanos = new int[16];
+        int[] severity_ids = new int[16];
+        int[] status_ids = new int[16];
+        byte[] types = new byte[16];
+        double[] numbers = new double[16];
+        /** Array or text samples, allocated when needed */
+        Object[] objects = null;
+
+        /** @return Index for another sample */
+        int add()
+        {
+            if (size >= types.length)
+            {
+                final int length = types.length * 2;
+                seconds = Arrays.copyOf(seconds, length);
+                nanos = Arrays.copyOf(nanos, length);
+                severity_ids = Arrays.copyOf(severity_ids, length);
+                status_ids = Arrays.copyOf(status_ids, length);
+                types = Arrays.copyOf(types, length);
+                numbers = Arrays.copyOf(numbers, length);
+                if (objects != null)
+                    objects = Arrays.copyOf(objects, length);
+            }
+            return size++;
+        }
+
+        void setObject(final int index, final byte type, final Object object)
+        {
+            if (objects == null)
+                objects = new Object[types.length];
+            types[index] = type;
+            objects[index] = object;
+        }
+    }
+
+    /** Start of each chunk, followed by end of last chunk */
+    private final List<Timestamp> bounds = new ArrayList<>();
+
+    /** Chunks that are being fetched, in order */
+    private final Deque<Future<SampleBlock>> fetches = new ArrayDeque<>();
+
+    /** Index of next chunk to fetch */
+    private int next_chunk = 0;
+
+    /** Chunk from which samples are returned */
+    private SampleBlock block = null;
+
+    /** Index of next sample in <code>block</code> */
+    private int index = 0;
+
+    /** 'Current' value that <code>next()</code> will return,
+     *  or <code>null</code>
+     */
+    private VType value = null;
+
+    /** Set when closed to stop ongoing fetches.
+     *  Not initialized because the base class constructor may already close.
+     */
+    private volatile boolean closed;
+
+    /** Initialize
+     *  @param reader RDBArchiveReader
+     *  @param channel_id ID of channel
+     *  @param start Start time
+     *  @param end End time
+     *  @throws Exception on error
+     */
+    public ChunkedSampleIterator(final RDBArchiveReader reader,
+                                 final int channel_id,
+                                 final Instant start, final Instant end) throws Exception
+    {
+        super(reader, channel_id);
+        if (closed)
+            return;
+
+        try
+        {
+            // First chunk includes the sample at or before the start time
+            bounds.add(determineInitialSampleTime(start, end));
+            Instant time = start.plusSeconds(RDBPreferences.chunk_secs);
+            while (time.isBefore(end))
+            {
+                bounds.add(Timestamp.from(time));
+                time = time.plusSeconds(RDBPreferences.chunk_secs);
+            }
+            bounds.add(Timestamp.from(end));
+
+            while (fetches.size() < Math.max(1, RDBPreferences.read_ahead))
+                if (! fetchNextChunk())
+                    break;
+            value = readNextValue();
+        }
+        catch (Exception ex)
+        {
+            if (! RDBArchiveReader.isCancellation(ex))
+            {   // Caller won't get valid iterator, close here
+                close();
+                throw ex;
+            }
+            // Else: Not a real error; return empty iterator
+            value = null;
+        }
+    }
+
+    /** Submit fetch for the next chunk
+     *  @return <code>false</code> if there are no more chunks
+     */
+    private boolean fetchNextChunk()
+    {
+        if (next_chunk >= bounds.size() - 1)
+            return false;
+        final int chunk = next_chunk++;
+        final boolean last = chunk == bounds.size() - 2;
+        fetches.add(reader.getChunkPool().submit(() -> fetch(bounds.get(chunk), bounds.get(chunk+1), last)));
+        return true;
+    }
+
+    /** Fetch samples of one chunk
+     *  @param start Start of chunk
+     *  @param end End of chunk
+     *  @param last Is this the last chunk, which includes samples at the end time?
+     *  @return {@link SampleBlock}
+     *  @throws Exception on error
+     */
+    private SampleBlock fetch(final Timestamp start, final Timestamp end, final boolean last) throws Exception
+    {
+        final SampleBlock block = new SampleBlock();
+        if (closed)
+            return block;
+        final Dialect dialect = reader.getPool().getDialect();
+        final Connection connection = reader.getPool().getConnection();
+        try
+        {
+            // Disable auto-commit to fetch in batches with PostgreSQL
+            if (dialect == Dialect.PostgreSQL)
+                connection.setAutoCommit(false);
+            final PreparedStatement statement = connection.prepareStatement(
+                last ? reader.getSQL().sample_sel_by_id_start_end_with_blob
+                     : reader.getSQL().sample_sel_by_id_start_before_end_with_blob,
+                ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            reader.addForCancellation(statement);
+            try
+            {
+                statement.setFetchDirection(ResultSet.FETCH_FORWARD);
+                statement.setFetchSize(RDBPreferences.fetch_size);
+                statement.setInt(1, channel_id);
+                statement.setTimestamp(2, start);
+                statement.setTimestamp(3, end);
+                final ResultSet result = statement.executeQuery();
+                while (! closed  &&  result.next())
+                    decode(result, dialect, block);
+                result.close();
+            }
+            finally
+            {
+                reader.removeFromCancellation(statement);
+                statement.close();
+                if (dialect == Dialect.PostgreSQL)
+                {
+                    connection.rollback();
+                    connection.setAutoCommit(true);
+                }
+            }
+        }
+        finally
+        {
+            reader.getPool().releaseConnection(connection);
+        }
+        return block;
+    }
+
+    /** Decode one row of the SAMPLE table
+     *  @param result ResultSet with time, severity, ..., value
+     *  @param dialect RDB dialect
+     *  @param block Block to which the sample is added
+     *  @throws Exception on error
+     */
+    private void decode(final ResultSet result, final Dialect dialect, final SampleBlock block) throws Exception
+    {
+        final int i = block.add();
+
+        // Oracle has nanoseconds in TIMESTAMP, other RDBs in separate column
+        final Timestamp stamp = result.getTimestamp(1);
+        block.seconds[i] = Math.floorDiv(stamp.getTime(), 1000);
+        block.nanos[i] = dialect == Dialect.Oracle ? stamp.getNanos() : result.getInt(7);
+        // Severities and stati are mapped when the sample is returned
+        block.severity_ids[i] = result.getInt(2);
+        block.status_ids[i] = result.getInt(3);
+
+        final double dbl0 = result.getDouble(5);
+        if (! result.wasNull())
+        {   // Enumerated samples are never arrays
+            if (labels == null)
+            {
+                final double[] data = readBlobArrayElements(dbl0, result);
+                if (data.length != 1)
+                {
+                    block.setObject(i, SampleBlock.ARRAY, data);
+                    return;
+                }
+            }
+            block.types[i] = SampleBlock.NUMBER;
+            block.numbers[i] = dbl0;
+            return;
+        }
+
+        final int num = result.getInt(4);
+        if (! result.wasNull())
+        {
+            block.types[i] = SampleBlock.NUMBER;
+            block.numbers[i] = num;
+            return;
+        }
+
+        block.setObject(i, SampleBlock.TEXT, Objects.toString(result.getString(6)));
+    }
+
+    /** @return Next value or <code>null</code>
+     *  @throws Exception on error
+     */
+    private VType readNextValue() throws Exception
+    {
+        while (block == null  ||  index >= block.size)
+        {
+            final Future<SampleBlock> fetch = fetches.poll();
+            if (fetch == null)
+                return null;
+            try
+            {
+                block = fetch.get();
+            }
+            catch (ExecutionException ex)
+            {
+                if (ex.getCause() instanceof Exception)
+                    throw (Exception) ex.getCause();
+                throw ex;
+            }
+            index = 0;
+            // Keep reading ahead
+            fetchNextChunk();
+        }
+        return decode(block, index++);
+    }
+
+    /** @param block Block of samples
+     *  @param i Index of sample in block
+     *  @return Sample as VType
+     */
+    private VType decode(final SampleBlock block, final int i)
+    {
+        final Time time = TimeHelper.fromInstant(Instant.ofEpochSecond(block.seconds[i], block.nanos[i]));
+        final String status = reader.getStatus(block.status_ids[i]);
+        final AlarmSeverity severity = filterSeverity(reader.getSeverity(block.severity_ids[i]), status);
+        final Alarm alarm = Alarm.of(severity, AlarmStatus.CLIENT, status);
+        switch (block.types[i])
+        {
+        case SampleBlock.NUMBER:
+            if (labels != null)
+                return VEnum.of((int) block.numbers[i], labels, alarm, time);
+            return VDouble.of(block.numbers[i], alarm, time, display);
+        case SampleBlock.ARRAY:
+            final double[] data = (double[]) block.objects[i];
+            block.objects[i] = null;
+            return VDoubleArray.of(ArrayDouble.of(data), alarm, time, display);
+        default:
+            final String text = (String) block.objects[i];
+            block.objects[i] = null;
+            return VString.of(text, alarm, time);
+        }
+    }
+
+    @Override
+    public boolean hasNext()
+    {
+        return value != null;
+    }
+
+    @Override
+    public VType next()
+    {
+        // This should not happen...
+        if (closed)
+            throw new IllegalStateException("ChunkedSampleIterator.next(" + channel_id + ") called after end");
+
+        // Remember value to return...
+        final VType result = value;
+        // ... and prepare next value
+        try
+        {
+            value = readNextValue();
+            if (value == null)
+                close();
+        }
+        catch (Exception ex)
+        {
+            close();
+            if (! RDBArchiveReader.isCancellation(ex))
+            {
+                logger.log(Level.WARNING, "Error reading samples for channel ID " + channel_id, ex);
+            }
+            // Else: Not a real error; return empty iterator
+        }
+        return result;
+    }
+
+    /** Release all database resources.
+     *  OK to call more than once.
+     */
+    @Override
+    public void close()
+    {
+        value = null;
+        block = null;
+        if (closed)
+            return;
+        closed = true;
+        // Fetches that already started stop at the next row
+        if (fetches != null)
+        {
+            for (Future<SampleBlock> fetch : fetches)
+                fetch.cancel(false);
+            fetches.clear();
+        }
+        // Call super at end because it releases the connection
+        super.close();
+    }
+}
@@ -20,6 +20,8 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.logging.Level;
 
 import org.epics.vtype.AlarmSeverity;
@@ -27,6 +29,7 @@ import org.phoebus.archive.reader.ArchiveReader;
 import org.phoebus.archive.reader.AveragedValueIterator;
 import org.phoebus.archive.reader.UnknownChannelException;
 import org.phoebus.archive.reader.ValueIterator;
+import org.phoebus.framework.jobs.NamedThreadFactory;
 import org.phoebus.framework.rdb.RDBConnectionPool;
 import org.phoebus.pv.PVPool;
 import org.phoebus.util.time.TimeDuration;
@@ -60,6 +63,9 @@ public class RDBArchiveReader implements ArchiveReader
     /** Active statements to cancel in cancel() */
     private final List<Statement> cancellable_statements = new ArrayList<>();
 
+    /** Thread pool for fetching chunks of raw samples, created when first needed */
+    private ExecutorService chunk_pool = null;
+
     /** @param url RDB URL
      *  @throws Exception on error
      */
@@ -83,6 +89,15 @@ public class RDBArchiveReader implements ArchiveReader
         return sql;
     }
 
+    /** @return Thread pool for fetching chunks of raw samples */
+    synchronized ExecutorService getChunkPool()
+    {
+        if (chunk_pool == null)
+            chunk_pool = Executors.newFixedThreadPool(Math.max(1, RDBPreferences.read_threads),
+                                                      new NamedThreadFactory("RDBArchiveReader"));
+        return chunk_pool;
+    }
+
     /** @param status_id Numeric status ID
      *  @return Status string for ID
      */
@@ -254,6 +269,10 @@ public class RDBArchiveReader implements ArchiveReader
     }
 
     /** Fetch raw samples
+     *
+     *  <p>Time ranges that span several chunks
+     *  are read in parallel chunks.
+     *
      *  @param channel_id Channel ID in RDB
      *  @param start Start time
      *  @param end End time
@@ -263,6 +282,9 @@ public class RDBArchiveReader implements ArchiveReader
     public ValueIterator getRawValues(final int channel_id,
                                       final Instant start, final Instant end) throws Exception
     {
+        if (RDBPreferences.chunk_secs > 0  &&  RDBPreferences.use_array_blob  &&
+            Duration.between(start, end).getSeconds() > RDBPreferences.chunk_secs)
+            return new ChunkedSampleIterator(this, channel_id, start, end);
         return new RawSampleIterator(this, channel_id, start, end);
     }
 
@@ -440,6 +462,14 @@ public class RDBArchiveReader implements ArchiveReader
     public void close()
     {
         cancel();
+        synchronized (this)
+        {
+            if (chunk_pool != null)
+            {
+                chunk_pool.shutdown();
+                chunk_pool = null;
+            }
+        }
         pool.clear();
     }
 }
@@ -22,6 +22,9 @@ public class RDBPreferences
     @Preference static String stored_procedure;
     @Preference static String starttime_function;
     @Preference static int fetch_size;
+    @Preference static int chunk_secs;
+    @Preference static int read_threads;
+    @Preference static int read_ahead;
     @Preference static String[] equivalent_pv_prefixes;
 
     static
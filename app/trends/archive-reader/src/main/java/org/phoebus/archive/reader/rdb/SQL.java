@@ -34,6 +34,7 @@ class SQL
     final public String sample_sel_initial_time;
     final public String sample_sel_by_id_start_end;
     final public String sample_sel_by_id_start_end_with_blob;
+    final public String sample_sel_by_id_start_before_end_with_blob;
     final public String sample_sel_array_vals;
     final public String sample_count_by_id_start_end;
 
@@ -93,6 +94,12 @@ class SQL
                 "   WHERE channel_id=?" +
                 "     AND smpl_time>=? AND smpl_time<=?" +
                 "   ORDER BY smpl_time";
+            sample_sel_by_id_start_before_end_with_blob =
+                "SELECT smpl_time, severity_id, status_id, num_val, float_val, str_val, datatype, array_val" +
+                "   FROM " + prefix + "sample" +
+                "   WHERE channel_id=?" +
+                "     AND smpl_time>=? AND smpl_time<?" +
+                "   ORDER BY smpl_time";
         sample_sel_array_vals = "SELECT float_val FROM " + prefix + "array_val" +
                 " WHERE channel_id=? AND smpl_time=? ORDER BY seq_nbr";
         }
@@ -113,6 +120,12 @@ class SQL
                 "   WHERE channel_id=?" +
                 "     AND smpl_time>=? AND smpl_time<=?" +
                 "   ORDER BY smpl_time, nanosecs";
+            sample_sel_by_id_start_before_end_with_blob =
+                "SELECT smpl_time, severity_id, status_id, num_val, float_val, str_val, nanosecs, datatype, array_val" +
+                "   FROM " + prefix + "sample" +
+                "   WHERE channel_id=?" +
+                "     AND smpl_time>=? AND smpl_time<?" +
+                "   ORDER BY smpl_time, nanosecs";
             sample_sel_array_vals = "SELECT float_val FROM " + prefix + "array_val" +
                 " WHERE channel_id=? AND smpl_time=? AND nanosecs=? ORDER BY seq_nbr";
         }
@@ -0,0 +1,198 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Phoebus contributors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ ******************************************************************************/
+package org.phoebus.archive.reader;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import org.epics.vtype.Alarm;
+import org.epics.vtype.Display;
+import org.epics.vtype.VDouble;
+import org.epics.vtype.VStatistics;
+import org.epics.vtype.VType;
+import org.junit.jupiter.api.Test;
+import org.phoebus.pv.TimeHelper;
+
+/** JUnit test of the {@link ArchiveCache} and {@link CachingArchiveReader}
+ *  @author agent
+ */
+@SuppressWarnings("nls")
+public class ArchiveCacheUnitTest
+{
+    /** Archive with one sample per second, value = seconds */
+    private static class DemoArchive implements ArchiveReader
+    {
+        final List<Instant[]> requests = new ArrayList<>();
+
+        @Override
+        public String getDescription()
+        {
+            return "Demo";
+        }
+
+        @Override
+        public Collection<String> getNamesByPattern(final String glob_pattern) throws Exception
+        {
+            return List.of("demo");
+        }
+
+        @Override
+        public ValueIterator getRawValues(final String name, final Instant start, final Instant end) throws UnknownChannelException, Exception
+        {
+            requests.add(new Instant[] { start, end });
+            // Sample at or before start, then samples up to end
+            final List<VType> samples = new ArrayList<>();
+            for (long secs = start.getEpochSecond(); secs <= end.getEpochSecond(); ++secs)
+                samples.add(VDouble.of(secs, Alarm.none(), TimeHelper.fromInstant(Instant.ofEpochSecond(secs)), Display.none()));
+            return new DemoDataIterator(samples.toArray(new VType[samples.size()]));
+        }
+    }
+
+    /** Archive that streams one sample per second without holding them */
+    private static class LargeArchive extends DemoArchive
+    {
+        @Override
+        public ValueIterator getRawValues(final String name, final Instant start, final Instant end) throws UnknownChannelException, Exception
+        {
+            requests.add(new Instant[] { start, end });
+            return new ValueIterator()
+            {
+                private long secs = start.getEpochSecond();
+
+                @Override
+                public boolean hasNext()
+                {
+                    return secs <= end.getEpochSecond();
+                }
+
+                @Override
+                public VType next()
+                {
+                    return VDouble.of(secs, Alarm.none(), TimeHelper.fromInstant(Instant.ofEpochSecond(secs++)), Display.none());
+                }
+            };
+        }
+    }
+
+    private static List<VType> read(final ValueIterator values) throws Exception
+    {
+        final List<VType> result = new ArrayList<>();
+        while (values.hasNext())
+            result.add(values.next());
+        values.close();
+        return result;
+    }
+
+    private static void checkSamples(final List<VType> samples, final long start, final long end)
+    {
+        assertThat(samples.size(), equalTo((int) (end - start + 1)));
+        for (int i=0; i<samples.size(); ++i)
+            assertThat(((VDouble) samples.get(i)).getValue(), equalTo((double) (start + i)));
+    }
+
+    @Test
+    public void testGaps() throws Exception
+    {
+        final ArchiveCache cache = new ArchiveCache(1000000);
+        final DemoArchive archive = new DemoArchive();
+        final ArchiveReader reader = new CachingArchiveReader("demo://", archive, cache);
+
+        checkSamples(read(reader.getRawValues("demo", Instant.ofEpochSecond(100), Instant.ofEpochSecond(200))), 100, 200);
+        assertThat(archive.requests.size(), equalTo(1));
+        assertThat(cache.getMisses(), equalTo(1L));
+
+        // Zoom in: From cache
+        checkSamples(read(reader.getRawValues("demo", Instant.ofEpochSecond(120), Instant.ofEpochSecond(180))), 120, 180);
+        assertThat(archive.requests.size(), equalTo(1));
+        assertThat(cache.getHits(), equalTo(1L));
+
+        // Zoom out: Only fetch the gaps before and after
+        checkSamples(read(reader.getRawValues("demo", Instant.ofEpochSecond(50), Instant.ofEpochSecond(250))), 50, 250);
+        assertThat(archive.requests.size(), equalTo(3));
+        assertThat(archive.requests.get(1), equalTo(new Instant[] { Instant.ofEpochSecond(50), Instant.ofEpochSecond(100) }));
+        assertThat(archive.requests.get(2), equalTo(new Instant[] { Instant.ofEpochSecond(200), Instant.ofEpochSecond(250) }));
+
+        // Separate segment, then request that bridges the gap
+        checkSamples(read(reader.getRawValues("demo", Instant.ofEpochSecond(300), Instant.ofEpochSecond(400))), 300, 400);
+        checkSamples(read(reader.getRawValues("demo", Instant.ofEpochSecond(60), Instant.ofEpochSecond(350))), 60, 350);
+        assertThat(archive.requests.size(), equalTo(5));
+        assertThat(archive.requests.get(4), equalTo(new Instant[] { Instant.ofEpochSecond(250), Instant.ofEpochSecond(300) }));
+
+        // Value at a point in time
+        checkSamples(read(reader.getRawValues("demo", Instant.ofEpochSecond(222), Instant.ofEpochSecond(222))), 222, 222);
+        assertThat(archive.requests.size(), equalTo(5));
+        assertThat(cache.getHits(), equalTo(2L));
+        assertThat(cache.getMisses(), equalTo(4L));
+
+        // Optimized request served from cache
+        final List<VType> optimized = read(reader.getOptimizedValues("demo", Instant.ofEpochSecond(100), Instant.ofEpochSecond(300), 10));
+        assertThat(archive.requests.size(), equalTo(5));
+        assertThat(optimized.get(1), instanceOf(VStatistics.class));
+
+        // Other reader for same URL shares the cache
+        final DemoArchive other_archive = new DemoArchive();
+        final ArchiveReader other = new CachingArchiveReader("demo://", other_archive, cache);
+        checkSamples(read(other.getRawValues("demo", Instant.ofEpochSecond(70), Instant.ofEpochSecond(90))), 70, 90);
+        assertThat(other_archive.requests.size(), equalTo(0));
+    }
+
+    @Test
+    public void testSizeLimit() throws Exception
+    {
+        final long one_channel = 101 * ArchiveCache.estimateSize(VDouble.of(0, Alarm.none(), TimeHelper.fromInstant(Instant.EPOCH), Display.none()));
+        final ArchiveCache cache = new ArchiveCache(2 * one_channel);
+        final DemoArchive archive = new DemoArchive();
+        final ArchiveReader reader = new CachingArchiveReader("demo://", archive, cache);
+
+        for (String name : List.of("a", "b", "c"))
+            checkSamples(read(reader.getRawValues(name, Instant.ofEpochSecond(100), Instant.ofEpochSecond(200))), 100, 200);
+        assertThat(cache.getSize(), equalTo(2 * one_channel));
+        assertThat(cache.getFetchedBytes(), equalTo(3 * one_channel));
+
+        // Oldest channel was removed
+        read(reader.getRawValues("c", Instant.ofEpochSecond(100), Instant.ofEpochSecond(200)));
+        read(reader.getRawValues("b", Instant.ofEpochSecond(100), Instant.ofEpochSecond(200)));
+        assertThat(archive.requests.size(), equalTo(3));
+        read(reader.getRawValues("a", Instant.ofEpochSecond(100), Instant.ofEpochSecond(200)));
+        assertThat(archive.requests.size(), equalTo(4));
+    }
+
+    @Test
+    public void testLargeRange() throws Exception
+    {
+        final long one_channel = 101 * ArchiveCache.estimateSize(VDouble.of(0, Alarm.none(), TimeHelper.fromInstant(Instant.EPOCH), Display.none()));
+        final ArchiveCache cache = new ArchiveCache(one_channel);
+        final DemoArchive archive = new LargeArchive();
+        final ArchiveReader reader = new CachingArchiveReader("demo://", archive, cache);
+
+        // Range with many more samples than fit into the cache is streamed
+        final ValueIterator values = reader.getRawValues("large", Instant.ofEpochSecond(0), Instant.ofEpochSecond(100000));
+        long expected = 0;
+        while (values.hasNext())
+        {
+            assertThat(((VDouble) values.next()).getValue(), equalTo((double) expected++));
+            assertThat(cache.getPendingSize() <= cache.getMaxSize(), equalTo(true));
+        }
+        values.close();
+        assertThat(expected, equalTo(100001L));
+        assertThat(cache.getPendingSize(), equalTo(0L));
+        assertThat(cache.getSize(), equalTo(0L));
+
+        // Range that fits is cached
+        checkSamples(read(reader.getRawValues("large", Instant.ofEpochSecond(100), Instant.ofEpochSecond(200))), 100, 200);
+        assertThat(cache.getSize(), equalTo(one_channel));
+        checkSamples(read(reader.getRawValues("large", Instant.ofEpochSecond(100), Instant.ofEpochSecond(200))), 100, 200);
+        assertThat(archive.requests.size(), equalTo(2));
+    }
+}
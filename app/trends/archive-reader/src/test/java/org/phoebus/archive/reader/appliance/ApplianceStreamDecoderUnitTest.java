@@ -0,0 +1,269 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Phoebus contributors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ ******************************************************************************/
+package org.phoebus.archive.reader.appliance;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import org.epics.vtype.AlarmSeverity;
+import org.epics.vtype.VDouble;
+import org.epics.vtype.VDoubleArray;
+import org.epics.vtype.VType;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.phoebus.archive.reader.ValueIterator;
+import org.phoebus.archive.reader.appliance.ApplianceStreamDecoder.SampleBlock;
+import org.phoebus.core.vtypes.VTypeHelper;
+
+import com.google.protobuf.CodedOutputStream;
+import com.google.protobuf.WireFormat;
+import com.sun.net.httpserver.HttpServer;
+
+/** JUnit test of the {@link ApplianceStreamDecoder}
+ *
+ *  <p>Creates PB/HTTP data with the protocol buffer library,
+ *  then decodes it directly or via a stub server.
+ *
+ *  @author agent
+ */
+@SuppressWarnings("nls")
+public class ApplianceStreamDecoderUnitTest
+{
+    @TempDir
+    Path directory;
+
+    /** Add escaped line to PB/HTTP stream */
+    private static void addLine(final ByteArrayOutputStream stream, final byte[] line)
+    {
+        for (byte b : line)
+        {
+            if (b == 0x1B)
+            {
+                stream.write(0x1B);
+                stream.write(1);
+            }
+            else if (b == 0x0A)
+            {
+                stream.write(0x1B);
+                stream.write(2);
+            }
+            else if (b == 0x0D)
+            {
+                stream.write(0x1B);
+                stream.write(3);
+            }
+            else
+                stream.write(b);
+        }
+        stream.write(0x0A);
+    }
+
+    /** @return Encoded PayloadInfo */
+    private static byte[] createHeader(final int type, final int year) throws Exception
+    {
+        final ByteArrayOutputStream buf = new ByteArrayOutputStream();
+        final CodedOutputStream out = CodedOutputStream.newInstance(buf);
+        out.writeEnum(1, type);
+        out.writeString(2, "test:pv");
+        out.writeInt32(3, year);
+        out.writeDouble(5, 0.0); // unused00
+        for (String[] field : new String[][] { { "EGU", "mm" }, { "PREC", "3" } })
+        {
+            final ByteArrayOutputStream fbuf = new ByteArrayOutputStream();
+            final CodedOutputStream fout = CodedOutputStream.newInstance(fbuf);
+            fout.writeString(1, field[0]);
+            fout.writeString(2, field[1]);
+            fout.flush();
+            out.writeByteArray(15, fbuf.toByteArray());
+        }
+        out.flush();
+        return buf.toByteArray();
+    }
+
+    /** @return Encoded ScalarDouble or VectorDouble */
+    private static byte[] createSample(final int secs, final int nano, final int severity, final double... values) throws Exception
+    {
+        final ByteArrayOutputStream buf = new ByteArrayOutputStream();
+        final CodedOutputStream out = CodedOutputStream.newInstance(buf);
+        out.writeUInt32(1, secs);
+        out.writeUInt32(2, nano);
+        if (values.length == 1)
+            out.writeDouble(3, values[0]);
+        else
+        {   // Packed
+            out.writeTag(3, WireFormat.WIRETYPE_LENGTH_DELIMITED);
+            out.writeUInt32NoTag(values.length * 8);
+            for (double value : values)
+                out.writeDoubleNoTag(value);
+        }
+        if (severity != 0)
+            out.writeInt32(4, severity);
+        out.writeUInt32(6, 1); // repeatcount
+        out.flush();
+        return buf.toByteArray();
+    }
+
+    /** @return PB/HTTP data for scalar PV, spread over two years */
+    private static byte[] createScalarStream(final int count) throws Exception
+    {
+        final ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        addLine(stream, createHeader(ApplianceStreamDecoder.SCALAR_DOUBLE, 2025));
+        for (int i=0; i<count; ++i)
+            // 0x0A, 0x0D and 0x1B in nano and value need to be escaped
+            addLine(stream, createSample(1000 + i, 0x0A0D1B, i % 4, i));
+        addLine(stream, new byte[0]);
+        addLine(stream, createHeader(ApplianceStreamDecoder.SCALAR_DOUBLE, 2026));
+        addLine(stream, createSample(10, 0, 0, -1.0));
+        return stream.toByteArray();
+    }
+
+    @Test
+    public void testScalars() throws Exception
+    {
+        final ApplianceStreamDecoder decoder = new ApplianceStreamDecoder(new ByteArrayInputStream(createScalarStream(10)));
+        final SampleBlock block = new SampleBlock(2);
+
+        final long start_2025 = LocalDate.of(2025, 1, 1).atStartOfDay(ZoneOffset.UTC).toEpochSecond();
+        int total = 0;
+        while (total < 10)
+        {
+            assertThat(decoder.read(block, 4), equalTo(true));
+            assertThat(block.header.year, equalTo(2025));
+            assertThat(block.header.pvname, equalTo("test:pv"));
+            assertThat(block.header.headers.get("EGU"), equalTo("mm"));
+            for (int i=0; i<block.size; ++i)
+            {
+                assertThat(block.seconds[i], equalTo(start_2025 + 1000 + total));
+                assertThat(block.nanos[i], equalTo(0x0A0D1B));
+                assertThat(block.severities[i], equalTo(total % 4));
+                assertThat(block.numbers[i], equalTo((double) total));
+                ++total;
+            }
+        }
+        assertThat(total, equalTo(10));
+
+        // Next chunk
+        assertThat(decoder.read(block, 4), equalTo(true));
+        assertThat(block.size, equalTo(1));
+        assertThat(block.header.year, equalTo(2026));
+        assertThat(block.seconds[0], equalTo(LocalDate.of(2026, 1, 1).atStartOfDay(ZoneOffset.UTC).toEpochSecond() + 10));
+        assertThat(block.numbers[0], equalTo(-1.0));
+
+        assertThat(decoder.read(block, 4), equalTo(false));
+    }
+
+    @Test
+    public void testWaveform() throws Exception
+    {
+        final ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        addLine(stream, createHeader(ApplianceStreamDecoder.WAVEFORM_DOUBLE, 2026));
+        addLine(stream, createSample(1, 2, 0, 1.0, 2.0, 3.0));
+        addLine(stream, createSample(2, 3, 0, 4.0, 5.0));
+
+        final ApplianceStreamDecoder decoder = new ApplianceStreamDecoder(new ByteArrayInputStream(stream.toByteArray()));
+        final SampleBlock block = new SampleBlock(10);
+        assertThat(decoder.read(block, 10), equalTo(true));
+        assertThat(block.size, equalTo(2));
+        assertThat(block.counts[0], equalTo(3));
+        assertThat(block.elements[block.starts[0] + 2], equalTo(3.0));
+        assertThat(block.counts[1], equalTo(2));
+        assertThat(block.elements[block.starts[1]], equalTo(4.0));
+        assertThat(decoder.read(block, 10), equalTo(false));
+    }
+
+    /** Read from stub server that serves recorded '*.pb' files */
+    @Test
+    public void testStubServer() throws Exception
+    {
+        final int count = 100000;
+        Files.write(directory.resolve("scalar.pb"), createScalarStream(count));
+        final ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        addLine(stream, createHeader(ApplianceStreamDecoder.WAVEFORM_DOUBLE, 2026));
+        addLine(stream, createSample(1, 2, 0, 1.0, 2.0, 3.0));
+        Files.write(directory.resolve("waveform.pb"), stream.toByteArray());
+
+        final HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/retrieval" + ApplianceArchiveReaderConstants.RETRIEVAL_PATH, exchange ->
+        {
+            String pv = "";
+            for (String param : exchange.getRequestURI().getRawQuery().split("&"))
+                if (param.startsWith("pv="))
+                    pv = URLDecoder.decode(param.substring(3), StandardCharsets.UTF_8);
+            final Path file = directory.resolve(pv + ".pb");
+            if (Files.exists(file))
+            {
+                exchange.sendResponseHeaders(200, 0);
+                try (OutputStream out = exchange.getResponseBody())
+                {
+                    Files.copy(file, out);
+                }
+            }
+            else
+            {
+                exchange.sendResponseHeaders(404, -1);
+                exchange.close();
+            }
+        });
+        server.start();
+
+        final ApplianceArchiveReader reader = new ApplianceArchiveReader("pbraw://localhost:" + server.getAddress().getPort() + "/retrieval", true, true);
+        try
+        {
+            // Fetch both PVs in parallel
+            final Instant start = Instant.EPOCH, end = Instant.now();
+            final ValueIterator scalars = reader.getRawValues("scalar", start, end);
+            final ValueIterator waveforms = reader.getRawValues("waveform", start, end);
+
+            final VType waveform = waveforms.next();
+            assertThat(waveform, instanceOf(VDoubleArray.class));
+            assertThat(((VDoubleArray) waveform).getData().getDouble(2), equalTo(3.0));
+            assertThat(waveforms.hasNext(), equalTo(false));
+            waveforms.close();
+
+            int total = 0;
+            Instant last = Instant.MIN;
+            while (scalars.hasNext())
+            {
+                final VType value = scalars.next();
+                assertThat(value, instanceOf(VDouble.class));
+                final Instant time = VTypeHelper.getTimestamp(value);
+                assertThat(time.isAfter(last), equalTo(true));
+                last = time;
+                if (total < count)
+                {
+                    assertThat(((VDouble) value).getValue(), equalTo((double) total));
+                    assertThat(((VDouble) value).getAlarm().getSeverity(),
+                               equalTo(List.of(AlarmSeverity.NONE, AlarmSeverity.MINOR, AlarmSeverity.MAJOR, AlarmSeverity.INVALID).get(total % 4)));
+                    assertThat(((VDouble) value).getDisplay().getUnit(), equalTo("mm"));
+                }
+                ++total;
+            }
+            scalars.close();
+            assertThat(total, equalTo(count + 1));
+        }
+        finally
+        {
+            reader.close();
+            server.stop(0);
+        }
+    }
+}
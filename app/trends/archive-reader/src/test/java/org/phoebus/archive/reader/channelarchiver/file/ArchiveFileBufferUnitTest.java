@@ -0,0 +1,70 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Phoebus contributors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ ******************************************************************************/
+package org.phoebus.archive.reader.channelarchiver.file;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/** JUnit test of the {@link ArchiveFileBuffer}
+ *  @author agent
+ */
+@SuppressWarnings("nls")
+public class ArchiveFileBufferUnitTest
+{
+    @TempDir
+    Path directory;
+
+    /** Mapped buffer must read the same as the plain file buffer */
+    @Test
+    public void testMappedBuffer() throws Exception
+    {
+        // File larger than the heap buffer
+        final byte[] data = new byte[300000];
+        new Random(42).nextBytes(data);
+        final File file = directory.resolve("data").toFile();
+        Files.write(file.toPath(), data);
+
+        final ArchiveFileCache cache = new ArchiveFileCache(10, 100);
+        try
+        (
+            final ArchiveFileBuffer plain = new ArchiveFileBuffer(file);
+            final ArchiveFileBuffer mapped = new ArchiveFileBuffer(file, cache);
+            final ArchiveFileBuffer other = new ArchiveFileBuffer(file, cache);
+        )
+        {
+            final Random random = new Random(7);
+            for (int i=0; i<1000; ++i)
+            {
+                final long offset = random.nextInt(data.length - 200);
+                plain.offset(offset);
+                mapped.offset(offset);
+                assertThat(mapped.getInt(), equalTo(plain.getInt()));
+                assertThat(mapped.get(), equalTo(plain.get()));
+                plain.skip(100);
+                mapped.skip(100);
+                assertThat(mapped.getShort(), equalTo(plain.getShort()));
+                assertThat(mapped.getUnsignedInt(), equalTo(plain.getUnsignedInt()));
+                assertThat(mapped.offset(), equalTo(plain.offset()));
+            }
+
+            // Views of the same mapped file have independent positions
+            mapped.offset(0);
+            other.offset(1000);
+            assertThat(mapped.get(), equalTo(data[0]));
+            assertThat(other.get(), equalTo(data[1000]));
+        }
+    }
+}
@@ -0,0 +1,90 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Phoebus contributors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ ******************************************************************************/
+package org.phoebus.archive.reader.rdb;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.epics.vtype.VType;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.phoebus.archive.reader.ValueIterator;
+import org.phoebus.core.vtypes.VTypeHelper;
+import org.phoebus.util.time.TimestampFormats;
+
+/** Demo of RDB archive reader
+ *
+ *  <p>Compares reading raw samples with one query
+ *  against reading them in parallel chunks.
+ *
+ *  @author agent
+ */
+@SuppressWarnings("nls")
+public class RDBArchiveReaderDemo
+{
+    // Meant for a local PostgreSQL archive with a few months of data
+    private static final String URL = "jdbc:postgresql://localhost/archive";
+    private static final String NAME = "sim://sine(0, 10, 10000, 0.1)";
+
+    private static RDBArchiveReader reader;
+
+    @BeforeAll
+    public static void setup() throws Exception
+    {
+        reader = new RDBArchiveReader(URL);
+    }
+
+    @AfterAll
+    public static void shutdown()
+    {
+        reader.close();
+    }
+
+    private List<VType> read(final Instant start, final Instant end, final int chunk_secs) throws Exception
+    {
+        final int orig_chunk_secs = RDBPreferences.chunk_secs;
+        RDBPreferences.chunk_secs = chunk_secs;
+        final List<VType> values = new ArrayList<>();
+        try
+        {
+            final long begin = System.currentTimeMillis();
+            final ValueIterator iter = reader.getRawValues(NAME, start, end);
+            while (iter.hasNext())
+                values.add(iter.next());
+            iter.close();
+            final double secs = (System.currentTimeMillis() - begin) / 1000.0;
+            System.out.format("Chunks of %d secs: %d samples in %.1f secs, %.0f samples/sec\n",
+                              chunk_secs, values.size(), secs, values.size() / secs);
+        }
+        finally
+        {
+            RDBPreferences.chunk_secs = orig_chunk_secs;
+        }
+        return values;
+    }
+
+    @Test
+    public void testChunkedRaw() throws Exception
+    {
+        final Instant start = Instant.from(TimestampFormats.DATETIME_FORMAT.parse("2026-01-01 00:00"));
+        final Instant end = Instant.from(TimestampFormats.DATETIME_FORMAT.parse("2026-04-01 00:00"));
+
+        final List<VType> single = read(start, end, 0);
+        final List<VType> chunked = read(start, end, 86400);
+
+        // Same samples, in same order
+        assertThat(chunked.size(), equalTo(single.size()));
+        for (int i=0; i<single.size(); ++i)
+            assertThat(VTypeHelper.getTimestamp(chunked.get(i)), equalTo(VTypeHelper.getTimestamp(single.get(i))));
+    }
+}
@@ -0,0 +1,67 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Phoebus contributors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ ******************************************************************************/
+package org.phoebus.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.csstudio.apputil.formula.Formula;
+import org.csstudio.apputil.formula.VariableNode;
+import org.epics.vtype.VType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** Benchmark of {@link Formula#eval()}
+ *  @author agent
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@SuppressWarnings("nls")
+public class FormulaBenchmark
+{
+    @Param({ "2*x + 3",
+             "sqrt(x*x + y*y) > 5 ? (x/y) : (y/x)",
+             "sin(x) + cos(y) + exp(x/100) - log(abs(y) + 1)" })
+    public String expression;
+
+    private VariableNode x, y;
+
+    private Formula formula;
+
+    private double step = 0.0;
+
+    @Setup
+    public void setup() throws Exception
+    {
+        x = new VariableNode("x", 1.0);
+        y = new VariableNode("y", 2.0);
+        formula = new Formula(expression, new VariableNode[] { x, y });
+    }
+
+    /** Evaluate with changing variables */
+    @Benchmark
+    public VType eval()
+    {
+        step += 0.5;
+        x.setValue(step);
+        y.setValue(10.0 - step);
+        return formula.eval();
+    }
+}
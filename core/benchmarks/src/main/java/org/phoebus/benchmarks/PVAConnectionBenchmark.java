@@ -0,0 +1,149 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Phoebus contributors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ ******************************************************************************/
+package org.phoebus.benchmarks;
+
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+import org.epics.pva.PVASettings;
+import org.epics.pva.client.PVAChannel;
+import org.epics.pva.client.PVAClient;
+import org.epics.pva.common.IOThreads;
+import org.epics.pva.data.PVADouble;
+import org.epics.pva.data.PVAStructure;
+import org.epics.pva.server.PVAServer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** Benchmark of many PVA connections to a local server
+ *
+ *  <p>Each client opens one TCP connection to the server,
+ *  so both the client and server side of every connection
+ *  run receive and send threads within this process.
+ *  Measures the 'get' round-trip latency while all connections are open,
+ *  and prints the number of platform threads and the resident memory.
+ *
+ *  <p>Virtual threads require a Java runtime that supports them.
+ *  On older runtimes, both variants use platform threads.
+ *  5000 connections need a limit of open files
+ *  well above the typical default:
+ *
+ *  <pre>
+ *  ulimit -n 65536
+ *  java -jar target/benchmarks.jar PVAConnectionBenchmark -p connections=5000
+ *  </pre>
+ *
+ *  @author agent
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@SuppressWarnings("nls")
+public class PVAConnectionBenchmark
+{
+    @Param({ "100", "1000" })
+    public int connections;
+
+    @Param({ "false", "true" })
+    public boolean virtual;
+
+    private PVAServer server;
+
+    private final List<PVAClient> clients = new ArrayList<>();
+
+    private final List<PVAChannel> channels = new ArrayList<>();
+
+    private int next = 0;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception
+    {
+        // Must be set before PVA classes are initialized, which is why each trial is forked
+        System.setProperty("EPICS_PVA_VIRTUAL_THREADS", Boolean.toString(virtual));
+        System.setProperty("EPICS_PVA_ADDR_LIST", "127.0.0.1");
+        System.setProperty("EPICS_PVAS_INTF_ADDR_LIST", "127.0.0.1");
+        Logger.getLogger("").setLevel(java.util.logging.Level.WARNING);
+
+        server = new PVAServer();
+        server.createPV("bench", new PVAStructure("demo", "demo_t", new PVADouble("value", 3.14)));
+
+        final List<CompletableFuture<?>> connected = new ArrayList<>();
+        for (int i=0; i<connections; ++i)
+        {
+            final PVAClient client = new PVAClient();
+            clients.add(client);
+            final PVAChannel channel = client.getChannel("bench");
+            channels.add(channel);
+            connected.add(channel.connect());
+        }
+        CompletableFuture.allOf(connected.toArray(new CompletableFuture<?>[0])).get(5, TimeUnit.MINUTES);
+
+        System.out.println();
+        System.out.println(connections + " connections, virtual threads " + IOThreads.isVirtual() +
+                           " (requested " + PVASettings.EPICS_PVA_VIRTUAL_THREADS + ")");
+        System.out.println("Platform threads: " + ManagementFactory.getThreadMXBean().getThreadCount());
+        System.out.println("Resident memory: " + getResidentMemory());
+    }
+
+    /** @return VmRSS from /proc, if available */
+    private static String getResidentMemory()
+    {
+        try
+        {
+            return Files.readAllLines(Path.of("/proc/self/status"))
+                        .stream()
+                        .filter(line -> line.startsWith("VmRSS"))
+                        .map(line -> line.substring(6).trim())
+                        .findFirst()
+                        .orElse("?");
+        }
+        catch (Exception ex)
+        {
+            return "?";
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown()
+    {
+        for (PVAChannel channel : channels)
+            channel.close();
+        // Closing a client waits for its UDP threads, so close in parallel
+        clients.parallelStream().forEach(PVAClient::close);
+        server.close();
+    }
+
+    /** Round-trip 'get' on the next connection */
+    @Benchmark
+    public PVAStructure get() throws Exception
+    {
+        final PVAChannel channel = channels.get(next);
+        next = (next + 1) % channels.size();
+        return channel.read("").get(10, TimeUnit.SECONDS);
+    }
+}
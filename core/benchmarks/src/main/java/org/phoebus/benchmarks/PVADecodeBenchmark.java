@@ -0,0 +1,104 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Phoebus contributors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ ******************************************************************************/
+package org.phoebus.benchmarks;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.BitSet;
+import java.util.concurrent.TimeUnit;
+
+import org.epics.pva.data.PVADoubleArray;
+import org.epics.pva.data.PVAStructure;
+import org.epics.pva.data.PVATypeRegistry;
+import org.epics.pva.data.nt.PVAAlarm;
+import org.epics.pva.data.nt.PVATimeStamp;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** Benchmark of PVA array and structure decoding
+ *
+ *  <p>Decodes data as received for a monitor update
+ *  of an NTScalarArray with double[] value.
+ *
+ *  @author agent
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@SuppressWarnings("nls")
+public class PVADecodeBenchmark
+{
+    @Param({ "1000", "100000", "1000000" })
+    public int size;
+
+    /** Byte order used by the server, which may differ from the native order of the client */
+    @Param({ "BIG_ENDIAN", "LITTLE_ENDIAN" })
+    public String order;
+
+    private final PVATypeRegistry types = new PVATypeRegistry();
+
+    private PVADoubleArray array;
+
+    private PVAStructure structure;
+
+    /** Bits for a structure update with changed value, alarm, time stamp */
+    private final BitSet changes = new BitSet();
+
+    private ByteBuffer array_buffer, structure_buffer;
+
+    @Setup
+    public void setup() throws Exception
+    {
+        final ByteOrder byte_order = "BIG_ENDIAN".equals(order) ? ByteOrder.BIG_ENDIAN : ByteOrder.LITTLE_ENDIAN;
+        final double[] data = new double[size];
+        for (int i=0; i<size; ++i)
+            data[i] = Math.sin(i * 0.01);
+
+        array = new PVADoubleArray("value", data);
+        array_buffer = ByteBuffer.allocate(size * Double.BYTES + 10).order(byte_order);
+        array.encode(array_buffer);
+        array_buffer.flip();
+
+        structure = new PVAStructure("", "epics:nt/NTScalarArray:1.0",
+                                     new PVADoubleArray("value", data),
+                                     new PVAAlarm(),
+                                     new PVATimeStamp());
+        structure_buffer = ByteBuffer.allocate(size * Double.BYTES + 100).order(byte_order);
+        structure.encode(structure_buffer);
+        structure_buffer.flip();
+        changes.set(0);
+    }
+
+    @Benchmark
+    public PVADoubleArray decodeDoubleArray() throws Exception
+    {
+        array_buffer.rewind();
+        array.decode(types, array_buffer);
+        return array;
+    }
+
+    @Benchmark
+    public PVAStructure decodeStructureElements() throws Exception
+    {
+        structure_buffer.rewind();
+        structure.decodeElements(changes, types, structure_buffer);
+        return structure;
+    }
+}
@@ -0,0 +1,108 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Phoebus contributors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ ******************************************************************************/
+package org.phoebus.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.epics.vtype.Alarm;
+import org.epics.vtype.Display;
+import org.epics.vtype.Time;
+import org.epics.vtype.VDouble;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.phoebus.pv.PV;
+import org.phoebus.pv.PVPool;
+
+import io.reactivex.rxjava3.disposables.Disposable;
+
+/** Benchmark of PV value fan-out to N subscribers
+ *
+ *  <p>Measures the time spent in the thread that
+ *  receives a value, i.e. the network thread for
+ *  a CA or PVA PV.
+ *
+ *  @author agent
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@SuppressWarnings("nls")
+public class PVNotificationBenchmark
+{
+    /** PV that allows benchmark to call notifyListenersOfValue */
+    private static class BenchmarkPV extends PV
+    {
+        BenchmarkPV()
+        {
+            super("bench");
+        }
+
+        void update(final VDouble value)
+        {
+            notifyListenersOfValue(value);
+        }
+    }
+
+    @Param({ "1", "10", "100" })
+    public int subscribers;
+
+    /** Use {@link PVPool#async_notification}? */
+    @Param({ "false", "true" })
+    public boolean async;
+
+    private BenchmarkPV pv;
+
+    private final List<Disposable> subscriptions = new ArrayList<>();
+
+    private final LongAdder received = new LongAdder();
+
+    private double step = 0;
+
+    @Setup(Level.Trial)
+    public void setup()
+    {
+        PVPool.async_notification = async;
+        pv = new BenchmarkPV();
+        for (int i=0; i<subscribers; ++i)
+            subscriptions.add(pv.onValueEvent().subscribe(value -> received.increment()));
+    }
+
+    @TearDown(Level.Trial)
+    public void shutdown()
+    {
+        subscriptions.forEach(Disposable::dispose);
+        subscriptions.clear();
+        System.out.println("\nUpdates received: " + received.sum() +
+                           ", coalesced: " + pv.getCoalescedUpdates() +
+                           ", dropped: " + pv.getDroppedUpdates());
+    }
+
+    @Benchmark
+    public void notifyListeners()
+    {
+        step += 1.0;
+        pv.update(VDouble.of(step, Alarm.none(), Time.now(), Display.none()));
+    }
+}
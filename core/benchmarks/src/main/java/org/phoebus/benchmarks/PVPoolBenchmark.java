@@ -0,0 +1,105 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Phoebus contributors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ ******************************************************************************/
+package org.phoebus.benchmarks;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.phoebus.pv.PV;
+import org.phoebus.pv.PVPool;
+
+/** Benchmark of {@link PVPool} under contention
+ *
+ *  <p>Several threads get and release PVs from a shared set of names.
+ *  Each PV is held by the benchmark while it runs,
+ *  so get/release only update the reference count,
+ *  which is the typical case for displays that share PVs.
+ *
+ *  @author agent
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@SuppressWarnings("nls")
+public class PVPoolBenchmark
+{
+    @Param({ "1", "100", "10000" })
+    public int pv_count;
+
+    private String[] names;
+
+    private PV[] held;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception
+    {
+        names = new String[pv_count];
+        held = new PV[pv_count];
+        for (int i=0; i<pv_count; ++i)
+        {
+            names[i] = "loc://bench" + i + "(" + i + ")";
+            held[i] = PVPool.getPV(names[i]);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void shutdown()
+    {
+        for (PV pv : held)
+            PVPool.releasePV(pv);
+    }
+
+    private String randomName()
+    {
+        return names[ThreadLocalRandom.current().nextInt(pv_count)];
+    }
+
+    @Benchmark
+    @Threads(1)
+    public PV getRelease1() throws Exception
+    {
+        final PV pv = PVPool.getPV(randomName());
+        PVPool.releasePV(pv);
+        return pv;
+    }
+
+    @Benchmark
+    @Threads(4)
+    public PV getRelease4() throws Exception
+    {
+        final PV pv = PVPool.getPV(randomName());
+        PVPool.releasePV(pv);
+        return pv;
+    }
+
+    @Benchmark
+    @Threads(16)
+    public PV getRelease16() throws Exception
+    {
+        final PV pv = PVPool.getPV(randomName());
+        PVPool.releasePV(pv);
+        return pv;
+    }
+}
@@ -0,0 +1,66 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Phoebus contributors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ ******************************************************************************/
+package org.phoebus.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.phoebus.framework.util.RingBuffer;
+
+/** Benchmark of {@link RingBuffer} add/remove
+ *  @author agent
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RingBufferBenchmark
+{
+    @Param({ "1000", "100000" })
+    public int capacity;
+
+    private RingBuffer<Integer> buffer;
+
+    private final Integer item = Integer.valueOf(42);
+
+    @Setup
+    public void setup()
+    {
+        buffer = new RingBuffer<>(capacity);
+        // Start out half full
+        for (int i=0; i<capacity/2; ++i)
+            buffer.add(item);
+    }
+
+    /** Add to a full buffer, overwriting the oldest element */
+    @Benchmark
+    public void addOverwrite()
+    {
+        buffer.add(item);
+    }
+
+    /** Add and remove, keeping the fill level */
+    @Benchmark
+    public Integer addRemove()
+    {
+        buffer.add(item);
+        return buffer.remove();
+    }
+}
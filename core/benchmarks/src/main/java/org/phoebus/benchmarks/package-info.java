@@ -0,0 +1,18 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Phoebus contributors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ ******************************************************************************/
+/** JMH benchmarks for core code
+ *
+ *  <p>Build with <code>mvn package</code>, then run
+ *  <pre>
+ *  java -jar target/benchmarks.jar -rf json -rff results.json
+ *  </pre>
+ *  to get machine-readable results that can be compared across releases.
+ *  Add a regular expression like <code>PVADecode</code> to select benchmarks,
+ *  <code>-h</code> for more options.
+ */
+package org.phoebus.benchmarks;
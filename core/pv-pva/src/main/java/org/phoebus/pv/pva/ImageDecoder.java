@@ -236,7 +236,10 @@ public class ImageDecoder
             }
         }
 
-        // Get data and data type
+        // Get data and data type.
+        // ArrayXXX.of() wraps the decoded array without copying.
+        // With EPICS_PVA_REUSE_ARRAYS, the next update of the same size
+        // will be decoded into that same array.
         final ListNumber data;
         final VImageDataType data_type;
         if (value instanceof PVAByteArray)
@@ -67,7 +67,9 @@ public class PVA_Preferences
                                 "epics_pva_conn_tmo",
                                 "epics_pva_tcp_socket_tmo",
                                 "epics_pva_max_array_formatting",
-                                "epics_pva_send_buffer_size"
+                                "epics_pva_send_buffer_size",
+                                "epics_pva_reuse_arrays",
+                                "epics_pva_virtual_threads"
                             })
         {
             final String value = prefs.get(setting);
@@ -11,6 +11,8 @@ import java.util.List;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
 import java.util.logging.Level;
@@ -22,6 +24,7 @@ import org.epics.vtype.Time;
 import org.epics.vtype.VDouble;
 import org.epics.vtype.VTable;
 import org.epics.vtype.VType;
+import org.phoebus.pv.ValueDispatcher.Update;
 
 import io.reactivex.rxjava3.core.BackpressureStrategy;
 import io.reactivex.rxjava3.core.Flowable;
@@ -65,9 +68,21 @@ public class PV
      *  no longer react to write access via immediate notification
      *  in the calling thread, which impacts unit tests and
      *  other code that depends on this long standing behavior.
+     *
+     *  That alternative is available as an opt-in,
+     *  see {@link PVPool#async_notification}.
      */
     final private Lock value_notification_lock = new ReentrantLock();
 
+    /** Deliver value updates via the {@link ValueDispatcher}? */
+    final private boolean async_notification = PVPool.async_notification;
+
+    /** Count of value updates that replaced a pending, not yet delivered update */
+    final AtomicLong coalesced_updates = new AtomicLong();
+
+    /** Count of value updates that were not delivered */
+    final AtomicLong dropped_updates = new AtomicLong();
+
     final private List<ValueEventHandler.Subscription> value_subs = new CopyOnWriteArrayList<>();
 
     final private List<AccessRightsEventHandler.Subscription> access_subs = new CopyOnWriteArrayList<>();
@@ -79,8 +94,11 @@ public class PV
 
     /** Most recent value?
      *  Derived class typically updates via {@link #notifyListenersOfValue}
+     *
+     *  <p>The sequence number of the update orders values
+     *  for asynchronous notification.
      */
-    private volatile VType last_value = null;
+    private final AtomicReference<Update> last_value = new AtomicReference<>(Update.NONE);
 
     /** Initialize
      *  @param name PV name
@@ -109,6 +127,21 @@ public class PV
      */
     void addSubscription(final ValueEventHandler.Subscription value_sub)
     {
+        if (async_notification)
+        {
+            // Register subscription, then queue known value.
+            // A concurrent notifyListenersOfValue() either already
+            // sees the new subscription, or it updated last_value
+            // before we read it here.
+            // The sequence number prevents the subscription from
+            // receiving an older value after a newer one.
+            value_subs.add(value_sub);
+            final Update update = last_value.get();
+            if (update.value != null)
+                value_sub.offer(update);
+            return;
+        }
+
         try
         {
             if (! value_notification_lock.tryLock(20, TimeUnit.SECONDS))
@@ -129,7 +162,7 @@ public class PV
             // avoiding double updates for an initial value
 
             // If there is a known value, perform initial update
-            final VType value = last_value;
+            final VType value = last_value.get().value;
             if (value != null)
                 value_sub.update(value);
 
@@ -230,7 +263,7 @@ public class PV
      */
     public VType read()
     {
-        return last_value;
+        return last_value.get().value;
     }
 
     /** Issue a read request
@@ -248,7 +281,7 @@ public class PV
     public CompletableFuture<VType> asyncRead() throws Exception
     {
         // Default: Return last known value
-        return CompletableFuture.completedFuture(last_value);
+        return CompletableFuture.completedFuture(read());
     }
 
     /** @return <code>true</code> if PV is read-only */
@@ -290,6 +323,23 @@ public class PV
      */
     protected void notifyListenersOfValue(final VType value)
     {
+        if (async_notification)
+        {
+            // Publish as latest value without locking
+            Update previous, update;
+            do
+            {
+                previous = last_value.get();
+                update = new Update(previous.sequence + 1, value);
+            }
+            while (! last_value.compareAndSet(previous, update));
+
+            // Queue for each subscriber
+            for (ValueEventHandler.Subscription sub : value_subs)
+                sub.offer(update);
+            return;
+        }
+
         try
         {
             if (! value_notification_lock.tryLock(20, TimeUnit.SECONDS))
@@ -303,7 +353,8 @@ public class PV
 
         try
         {
-            last_value = value;
+            final Update previous = last_value.get();
+            last_value.set(new Update(previous.sequence + 1, value));
             for (ValueEventHandler.Subscription sub : value_subs)
             {
                 try
@@ -322,6 +373,23 @@ public class PV
         }
     }
 
+    /** @return Number of value updates that replaced a pending update
+     *          and were thus never delivered to a subscriber.
+     *          Only applies to asynchronous notification.
+     */
+    public long getCoalescedUpdates()
+    {
+        return coalesced_updates.get();
+    }
+
+    /** @return Number of value updates that could not be delivered to a subscriber.
+     *          Only applies to asynchronous notification.
+     */
+    public long getDroppedUpdates()
+    {
+        return dropped_updates.get();
+    }
+
     /** Helper for PV implementation to notify listeners */
     protected void notifyListenersOfDisconnect()
     {
@@ -364,6 +432,6 @@ public class PV
     @Override
     public String toString()
     {
-        return getClass().getSimpleName() + " '" + getName() + "' = " + last_value;
+        return getClass().getSimpleName() + " '" + getName() + "' = " + read();
     }
 }
@@ -65,6 +65,12 @@ public class PVPool
     /** Default PV name type prefix */
     @Preference(name="default") public static String default_type;
 
+    /** Deliver value updates to subscribers on the {@link ValueDispatcher} threads? */
+    @Preference public static boolean async_notification;
+
+    /** Number of {@link ValueDispatcher} threads */
+    @Preference public static int notification_threads;
+
     static
     {
         try
@@ -0,0 +1,76 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Phoebus contributors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ ******************************************************************************/
+package org.phoebus.pv;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.epics.vtype.VType;
+import org.phoebus.framework.jobs.NamedThreadFactory;
+
+/** Asynchronous delivery of PV value updates
+ *
+ *  <p>Used when {@link PVPool#async_notification} is enabled.
+ *  The thread that receives a new value only publishes it
+ *  into a lock-free 'latest value' slot of the PV
+ *  and queues it for each subscriber.
+ *  Each subscriber has a coalescing queue of depth one:
+ *  When the subscriber is still busy with a previous update,
+ *  the next update replaces any pending update,
+ *  so a slow subscriber receives the most recent value
+ *  without delaying other subscribers or the network thread.
+ *
+ *  <p>Delivery happens on a bounded pool of threads.
+ *  Each subscriber is handled by at most one thread at a time,
+ *  so updates to one subscriber are still serialized and
+ *  arrive in the order in which they were published.
+ *
+ *  @author agent
+ */
+class ValueDispatcher
+{
+    /** Value with sequence number that orders it relative to other values of the same PV */
+    static class Update
+    {
+        /** Placeholder before the first value is known */
+        static final Update NONE = new Update(0, null);
+
+        final long sequence;
+        final VType value;
+
+        Update(final long sequence, final VType value)
+        {
+            this.sequence = sequence;
+            this.value = value;
+        }
+
+        /** @param other Other update, may be <code>null</code>
+         *  @return The more recent of this and the other update
+         */
+        Update newest(final Update other)
+        {
+            if (other == null  ||  sequence >= other.sequence)
+                return this;
+            return other;
+        }
+    }
+
+    /** Lazily created thread pool */
+    private static class Pool
+    {
+        static final ExecutorService executor =
+            Executors.newFixedThreadPool(Math.max(1, PVPool.notification_threads),
+                                         new NamedThreadFactory("PVValueDispatch"));
+    }
+
+    /** @param task Delivery task to run on the dispatcher pool */
+    static void execute(final Runnable task)
+    {
+        Pool.executor.execute(task);
+    }
+}
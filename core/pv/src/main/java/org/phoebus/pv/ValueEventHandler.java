@@ -7,7 +7,15 @@
  ******************************************************************************/
 package org.phoebus.pv;
 
+import static org.phoebus.pv.PV.logger;
+
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.logging.Level;
+
 import org.epics.vtype.VType;
+import org.phoebus.pv.ValueDispatcher.Update;
 
 import io.reactivex.rxjava3.core.Flowable;
 import io.reactivex.rxjava3.core.FlowableEmitter;
@@ -26,6 +34,18 @@ class ValueEventHandler implements FlowableOnSubscribe<VType>
     {
         private final FlowableEmitter<VType> emitter;
 
+        /** Update waiting for asynchronous delivery */
+        private final AtomicReference<Update> pending = new AtomicReference<>();
+
+        /** Is a delivery of the pending update scheduled? */
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+
+        /** Sequence number of last delivered update.
+         *  Only accessed by the one scheduled delivery,
+         *  handed from one delivery to the next via 'scheduled'
+         */
+        private long delivered = 0;
+
         public Subscription(final FlowableEmitter<VType> emitter)
         {
             this.emitter = emitter;
@@ -38,6 +58,63 @@ class ValueEventHandler implements FlowableOnSubscribe<VType>
                 emitter.onNext(value);
         }
 
+        /** Queue update for asynchronous delivery
+         *
+         *  <p>Replaces a pending update that has not been delivered, yet.
+         *
+         *  @param update Update to deliver
+         */
+        void offer(final Update update)
+        {
+            final Update previous = pending.getAndAccumulate(update, (current, offered) -> offered.newest(current));
+            if (previous != null)
+                pv.coalesced_updates.incrementAndGet();
+            schedule();
+        }
+
+        private void schedule()
+        {
+            if (! scheduled.compareAndSet(false, true))
+                return;
+            try
+            {
+                ValueDispatcher.execute(this::deliver);
+            }
+            catch (RejectedExecutionException ex)
+            {
+                scheduled.set(false);
+                if (pending.getAndSet(null) != null)
+                    pv.dropped_updates.incrementAndGet();
+            }
+        }
+
+        private void deliver()
+        {
+            final Update update = pending.getAndSet(null);
+            if (update != null)
+            {
+                if (update.sequence > delivered)
+                {
+                    delivered = update.sequence;
+                    try
+                    {
+                        update(update.value);
+                    }
+                    catch (Throwable ex)
+                    {
+                        logger.log(Level.WARNING, pv.getName() + " value update error", ex);
+                    }
+                }
+                else // Initial value that arrived after a newer update
+                    pv.dropped_updates.incrementAndGet();
+            }
+            scheduled.set(false);
+            // Another update might have arrived while this one was delivered.
+            // Re-submit instead of looping to share the threads with other subscribers.
+            if (pending.get() != null)
+                schedule();
+        }
+
         // Cancellable
         @Override
         public void cancel() throws Exception
@@ -0,0 +1,130 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Phoebus contributors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ ******************************************************************************/
+package org.phoebus.pv;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.epics.vtype.Alarm;
+import org.epics.vtype.Display;
+import org.epics.vtype.Time;
+import org.epics.vtype.VDouble;
+import org.epics.vtype.VNumber;
+import org.epics.vtype.VType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.reactivex.rxjava3.disposables.Disposable;
+
+/** Test of {@link PVPool#async_notification}
+ *  @author agent
+ */
+@SuppressWarnings("nls")
+public class AsyncNotificationTest
+{
+    private static class TestPV extends PV
+    {
+        TestPV(final String name)
+        {
+            super(name);
+        }
+
+        void set(final double value)
+        {
+            notifyListenersOfValue(VDouble.of(value, Alarm.none(), Time.now(), Display.none()));
+        }
+    }
+
+    private static double valueOf(final VType value)
+    {
+        return ((VNumber) value).getValue().doubleValue();
+    }
+
+    @BeforeEach
+    public void enable()
+    {
+        PVPool.async_notification = true;
+    }
+
+    @AfterEach
+    public void restore()
+    {
+        PVPool.async_notification = false;
+    }
+
+    @Test
+    public void testInitialValue() throws Exception
+    {
+        final TestPV pv = new TestPV("initial");
+        pv.set(42.0);
+
+        final CountDownLatch received = new CountDownLatch(1);
+        final List<Double> values = new CopyOnWriteArrayList<>();
+        final Disposable sub = pv.onValueEvent().subscribe(value ->
+        {
+            values.add(valueOf(value));
+            received.countDown();
+        });
+        assertThat(received.await(5, TimeUnit.SECONDS), equalTo(true));
+        assertThat(values, equalTo(List.of(42.0)));
+        sub.dispose();
+    }
+
+    @Test
+    public void testSlowSubscriber() throws Exception
+    {
+        final TestPV pv = new TestPV("slow");
+        final int updates = 100;
+
+        // Fast subscriber counts down once it received the last value
+        final CountDownLatch fast_done = new CountDownLatch(1);
+        final Disposable fast = pv.onValueEvent().subscribe(value ->
+        {
+            if (valueOf(value) == updates)
+                fast_done.countDown();
+        });
+
+        // Slow subscriber
+        final CountDownLatch slow_done = new CountDownLatch(1);
+        final List<Double> slow_values = new CopyOnWriteArrayList<>();
+        final Disposable slow = pv.onValueEvent().subscribe(value ->
+        {
+            TimeUnit.MILLISECONDS.sleep(20);
+            slow_values.add(valueOf(value));
+            if (valueOf(value) == updates)
+                slow_done.countDown();
+        });
+
+        final long start = System.currentTimeMillis();
+        for (int i=1; i<=updates; ++i)
+            pv.set(i);
+        final long publish_ms = System.currentTimeMillis() - start;
+        System.out.println("Published " + updates + " updates in " + publish_ms + " ms");
+
+        // Fast subscriber is not held up by the slow one
+        assertThat(fast_done.await(5, TimeUnit.SECONDS), equalTo(true));
+
+        // Slow subscriber receives the most recent value, in order, skipping some
+        assertThat(slow_done.await(5, TimeUnit.SECONDS), equalTo(true));
+        System.out.println("Slow subscriber received " + slow_values);
+        for (int i=1; i<slow_values.size(); ++i)
+            assertThat(slow_values.get(i), greaterThan(slow_values.get(i-1)));
+        assertThat(pv.getCoalescedUpdates(), greaterThan(0L));
+        System.out.println("Coalesced: " + pv.getCoalescedUpdates() + ", dropped: " + pv.getDroppedUpdates());
+
+        fast.dispose();
+        slow.dispose();
+    }
+}
@@ -185,10 +185,40 @@ public class PVASettings
 
     /** Initial TCP buffer size for receiving data
      *
-     *  <p>Buffer grows when larger packages are received.
+     *  <p>Buffer grows when larger packages are received,
+     *  and shrinks back to this size once they have been handled.
      */
     public static final int EPICS_PVA_RECEIVE_BUFFER_SIZE = 16 * 1024;
 
+    /** Number of bytes up to which queued TCP messages are combined into one write
+     *
+     *  <p>When the send queue holds several messages, for example
+     *  updates for many monitors on the same connection,
+     *  they are encoded back-to-back into the send buffer
+     *  and written to the socket in one call, until the buffer
+     *  contains this many bytes.
+     *  0 to send each message on its own.
+     *  Limited to the space that the buffer pool size class of
+     *  {@link #EPICS_PVA_SEND_BUFFER_SIZE} leaves beyond that size.
+     */
+    public static int EPICS_PVA_SEND_COALESCE_SIZE = 64 * 1024;
+
+    /** Time in microseconds to wait for more messages to combine into one write
+     *
+     *  <p>By default, only messages that are already queued
+     *  are combined, which does not add latency.
+     *  A non-zero value allows the sender to wait for more messages
+     *  to arrive, trading latency for fewer, larger writes.
+     */
+    public static int EPICS_PVA_SEND_COALESCE_DELAY_US = 0;
+
+    /** Maximum number of bytes kept in the pool of idle TCP buffers
+     *
+     *  <p>TCP connections obtain send and receive buffers from a shared pool.
+     *  Buffers returned to the pool are kept for re-use up to this total size.
+     */
+    public static int EPICS_PVA_BUFFER_POOL_SIZE = 64 * 1024 * 1024;
+
     /** UDP maximum send message size (for sending search requests).
      *
      *  <p>MAX_UDP: 1500 (max of ethernet and 802.{2,3} MTU) - 20/40(IPv4/IPv6) - 8(UDP) - some reserve (e.g. IPSEC)
@@ -258,6 +288,33 @@ public class PVASettings
      */
     public static boolean EPICS_PVA_ENABLE_IPV6 = true;
 
+    /** Re-use numeric arrays when decoding received data?
+     *
+     *  <p>By default, each received value of a numeric array
+     *  is decoded into a newly allocated array.
+     *  When enabled, a monitor update of the same array size
+     *  is decoded into the array of the previous value,
+     *  which avoids allocating for example a new 4 MB image
+     *  for each update.
+     *
+     *  <p>Only enable this when listeners do not hold on to
+     *  array data beyond the handling of one update,
+     *  because that data will be overwritten by the next update.
+     */
+    public static boolean EPICS_PVA_REUSE_ARRAYS = false;
+
+    /** Use virtual threads for TCP and UDP I/O?
+     *
+     *  <p>By default, each TCP connection uses one platform thread
+     *  to receive and one to send, and each UDP socket has a receive thread.
+     *  With thousands of connections, virtual threads can reduce
+     *  the number of OS threads and their memory.
+     *
+     *  <p>Requires a Java runtime that supports virtual threads.
+     *  On older runtimes, a warning is logged and platform threads are used.
+     */
+    public static boolean EPICS_PVA_VIRTUAL_THREADS = false;
+
     static
     {
         EPICS_PVA_ADDR_LIST = get("EPICS_PVA_ADDR_LIST", EPICS_PVA_ADDR_LIST);
@@ -281,10 +338,15 @@ public class PVASettings
             logger.log(Level.CONFIG, "EPICS_PVA_TLS_KEYCHAIN (empty) updated from EPICS_PVAS_TLS_KEYCHAIN");
         }
         EPICS_PVA_SEND_BUFFER_SIZE = get("EPICS_PVA_SEND_BUFFER_SIZE", EPICS_PVA_SEND_BUFFER_SIZE);
+        EPICS_PVA_BUFFER_POOL_SIZE = get("EPICS_PVA_BUFFER_POOL_SIZE", EPICS_PVA_BUFFER_POOL_SIZE);
+        EPICS_PVA_SEND_COALESCE_SIZE = get("EPICS_PVA_SEND_COALESCE_SIZE", EPICS_PVA_SEND_COALESCE_SIZE);
+        EPICS_PVA_SEND_COALESCE_DELAY_US = get("EPICS_PVA_SEND_COALESCE_DELAY_US", EPICS_PVA_SEND_COALESCE_DELAY_US);
         EPICS_PVA_FAST_BEACON_MIN = get("EPICS_PVA_FAST_BEACON_MIN", EPICS_PVA_FAST_BEACON_MIN);
         EPICS_PVA_FAST_BEACON_MAX = get("EPICS_PVA_FAST_BEACON_MAX", EPICS_PVA_FAST_BEACON_MAX);
         EPICS_PVA_MAX_BEACON_AGE = get("EPICS_PVA_MAX_BEACON_AGE", EPICS_PVA_MAX_BEACON_AGE);
         EPICS_PVA_ENABLE_IPV6 = get("EPICS_PVA_ENABLE_IPV6", EPICS_PVA_ENABLE_IPV6);
+        EPICS_PVA_REUSE_ARRAYS = get("EPICS_PVA_REUSE_ARRAYS", EPICS_PVA_REUSE_ARRAYS);
+        EPICS_PVA_VIRTUAL_THREADS = get("EPICS_PVA_VIRTUAL_THREADS", EPICS_PVA_VIRTUAL_THREADS);
     }
 
     /** Get setting from property, environment or default
@@ -21,11 +21,14 @@ import java.util.Set;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.BiFunction;
 import java.util.logging.Level;
 
 import org.epics.pva.PVASettings;
+import org.epics.pva.client.PVAClient.SearchStatistics;
 import org.epics.pva.common.AddressInfo;
 import org.epics.pva.common.RequestEncoder;
 import org.epics.pva.common.SearchRequest;
@@ -36,18 +39,27 @@ import org.epics.pva.data.PVAString;
  *
  *  <p>Maintains thread that periodically issues search requests
  *  for registered channels.
- *  Search periods match the design of https://github.com/mdavidsaver/pvxs,
- *  repeating searches for missing channels after 1, 2, 3, ..., 30 seconds
+ *  Searches for missing channels are repeated with a per-channel
+ *  exponential backoff after 1, 2, 4, 8, 16, 30 seconds
  *  and then continuing every 30 seconds.
  *  The exact period is not a multiple of 1000ms but 1000+-25ms to randomly
  *  distribute searches from different clients.
- *  Once the search plateaus at 30 seconds, which takes about 7.6 to 7.9 minutes,
- *  the search can be "boosted" back to 1, 2, 3, ... seconds.
+ *  Once the search plateaus at 30 seconds, which takes about 31 seconds,
+ *  the search can be "boosted" back to 1, 2, 4, ... seconds
+ *  when the {@link BeaconTracker} detects a new or restarted server.
+ *  The restarted searches are spread over a few seconds
+ *  to avoid a burst of search packets.
  *  Since long running servers issue beacons every ~3 minutes,
  *  every existing PVA server on the network will appear "new" when a client
  *  receives its first beacon within ~3 minutes after startup.
- *  Such beacons are ignored for the ~7 minutes where the search period settles
- *  to avoid unnecessary network traffic.
+ *  Such beacons are ignored for channels that are still in the ~31 seconds
+ *  where their search period settles, to avoid unnecessary network traffic.
+ *
+ *  <p>Channels that are registered to be searched 'now' are collected
+ *  and searched together, so opening a display with thousands of PVs
+ *  results in a few search packets that each list as many channels
+ *  as fit, instead of one packet per channel.
+ *  The same packing applies to the periodic searches.
  *
  *  <p>Can send search requests to unicast (IPv4 and IPv6), multicast (4 & 6), broadcast (IPv4 only).
  *  Since only StandardProtocolFamily.INET sockets support IPv4 multicast,
@@ -74,7 +86,7 @@ class ChannelSearch
     /** Search period jitter to avoid multiple clients all searching at the same period */
     private static final int SEARCH_JITTER_MS = 25;
 
-    /** Minimum search for a channel is ASAP, then incrementing by 1 */
+    /** Minimum search for a channel is ASAP, then doubling from 1 */
     private static final int MIN_SEARCH_PERIOD = 0;
 
     /** Seconds to delay to start a search "soon", not right now */
@@ -83,15 +95,34 @@ class ChannelSearch
     /** Maximum and eternal search period is every 30 sec */
     private static final int MAX_SEARCH_PERIOD = 30;
 
+    /** Seconds over which the searches restarted by a boost are spread */
+    static final int BOOST_SPREAD = 5;
+
+    /** @param period Current search period in seconds
+     *  @return Next search period in seconds
+     */
+    static int getNextSearchPeriod(final int period)
+    {
+        return Math.min(MAX_SEARCH_PERIOD, Math.max(1, 2*period));
+    }
+
     /** Channel that's being searched */
     private class SearchedChannel
     {
         /** Search period in seconds.
-         *  Steps up from 0 to MAX_SEARCH_PERIOD and then stays at MAX_SEARCH_PERIOD
+         *  Doubles from 1 up to MAX_SEARCH_PERIOD and then stays at MAX_SEARCH_PERIOD
          */
-        final AtomicInteger search_period = new AtomicInteger(1);
+        final AtomicInteger search_period = new AtomicInteger(MIN_SEARCH_PERIOD);
         final PVAChannel channel;
 
+        /** Index of search bucket that holds this channel, -1 if none.
+         *  SYNC on ChannelSearch
+         */
+        int bucket = -1;
+
+        /** Time when channel was registered, used to measure time to find it */
+        final long registered = System.nanoTime();
+
         SearchedChannel(final PVAChannel channel)
         {
             this.channel = channel;
@@ -141,6 +172,11 @@ class ChannelSearch
     //  - search_buckets
     //   Efficiently schedule the search messages for all channels
     //   up to MAX_SEARCH_PERIOD.
+    //   Each SearchedChannel is in at most one bucket.
+    //
+    //  - new_channels
+    //   Channels to be searched 'now', collected for
+    //   the next jump-started search.
     //
     //  Access to either one needs to be synchronized
 
@@ -179,6 +215,30 @@ class ChannelSearch
      */
     private final AtomicInteger current_search_bucket = new AtomicInteger();
 
+    /** Channels to be searched right now
+     *
+     *  <p>Access must only occur in a 'synchronized' method.
+     */
+    private final Set<SearchedChannel> new_channels = new HashSet<>();
+
+    /** Has a search for the new_channels been scheduled? */
+    private final AtomicBoolean jumpstart_pending = new AtomicBoolean();
+
+    /** Number of search rounds, i.e. periodic or jump-started searches that found channels to search */
+    private final AtomicLong search_rounds = new AtomicLong();
+
+    /** Number of search messages sent via UDP or TCP */
+    private final AtomicLong search_packets = new AtomicLong();
+
+    /** Number of channel names listed in search messages */
+    private final AtomicLong searched_names = new AtomicLong();
+
+    /** Histogram of the time from registering a channel until it is found.
+     *  Element <code>i</code> counts times below <code>2^i</code> milliseconds.
+     *  SYNC on found_histogram
+     */
+    private final long[] found_histogram = new long[32];
+
     /** Timer used to periodically check channels and issue search requests */
     private final ScheduledExecutorService timer = Executors.newSingleThreadScheduledExecutor(run ->
     {
@@ -263,10 +323,10 @@ class ChannelSearch
 
         logger.log(Level.FINER,
                    () -> String.format("Search intervals: %.2f s, %.2f s, %.2f s, ..., %.2f s",
+                                 period/1000.0,
                                  2*period/1000.0,
                                  4*period/1000.0,
-                                 8*period/1000.0,
-                                 128*period/1000.0));
+                                 MAX_SEARCH_PERIOD*period/1000.0));
         timer.scheduleAtFixedRate(this::runSearches, period, period, TimeUnit.MILLISECONDS);
     }
 
@@ -285,15 +345,35 @@ class ChannelSearch
 
             final SearchedChannel sc = searched_channels.computeIfAbsent(channel.getCID(), id -> new SearchedChannel(channel));
 
-            int bucket = current_search_bucket.get();
-            if (!now)
-                bucket = (bucket + SEARCH_SOON_DELAY) % search_buckets.size();
-            search_buckets.get(bucket).add(sc);
+            if (now)
+            {
+                schedule(sc, -1);
+                new_channels.add(sc);
+            }
+            else
+                schedule(sc, (current_search_bucket.get() + SEARCH_SOON_DELAY) % search_buckets.size());
         }
 
-        // Jumpstart search instead of waiting up to ~1 second for current bucket to be handled
-        if (now)
-            timer.execute(this::runSearches);
+        // Jumpstart search instead of waiting up to ~1 second for current bucket to be handled.
+        // Channels registered until the jumpstart runs are searched together.
+        if (now  &&  jumpstart_pending.compareAndSet(false, true))
+            timer.execute(this::runJumpstart);
+    }
+
+    /** Move channel to a search bucket
+     *
+     *  <p>Caller must be synchronized
+     *
+     *  @param sc Searched channel
+     *  @param bucket Index of search bucket, -1 to remove from buckets
+     */
+    private void schedule(final SearchedChannel sc, final int bucket)
+    {
+        if (sc.bucket >= 0)
+            search_buckets.get(sc.bucket).remove(sc);
+        sc.bucket = bucket;
+        if (bucket >= 0)
+            search_buckets.get(bucket).add(sc);
     }
 
     /** Stop searching for channel
@@ -306,32 +386,60 @@ class ChannelSearch
         if (searched != null)
         {
             logger.log(Level.FINE, () -> "Unregister search for " + searched.channel.getName() + " " + channel_id);
-            // Remove `searched` from all `search_buckets`.
-            for (Set<SearchedChannel> bucket : search_buckets)
-                bucket.remove(searched);
+            schedule(searched, -1);
+            new_channels.remove(searched);
             return searched.channel;
         }
         return null;
     }
 
+    /** Stop searching for channel because it has been found
+     *  @param channel_id
+     *  @return {@link PVAChannel}, <code>null</code> when channel wasn't searched any more
+     */
+    public PVAChannel found(final int channel_id)
+    {
+        final SearchedChannel searched;
+        synchronized (this)
+        {
+            searched = searched_channels.get(channel_id);
+            if (searched == null)
+                return null;
+            unregister(channel_id);
+        }
+        final long ms = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - searched.registered);
+        final int bin = Math.min(found_histogram.length-1, 64 - Long.numberOfLeadingZeros(ms));
+        synchronized (found_histogram)
+        {
+            ++found_histogram[bin];
+        }
+        return searched.channel;
+    }
+
     /** Boost search for missing channels
      *
-     *  <p>Resets their search counter so they're searched "real soon".
+     *  <p>Resets the search counter of channels whose search has settled
+     *  to the long period, so they're searched "real soon".
+     *  The restarted searches are spread over the next {@link #BOOST_SPREAD} seconds.
      */
     public synchronized void boost()
     {
+        final int current = current_search_bucket.get();
+        int restarted = 0;
         for (SearchedChannel searched : searched_channels.values())
         {
+            // Channel is about to be searched anyway?
+            if (new_channels.contains(searched))
+                continue;
             // If search for channel has settled to the long period, restart
-            final int period = searched.search_period.updateAndGet(val -> val >= MAX_SEARCH_PERIOD
+            final int period = searched.search_period.getAndUpdate(val -> val >= MAX_SEARCH_PERIOD
                                                                         ? MIN_SEARCH_PERIOD
                                                                         : val);
-            if (period == MIN_SEARCH_PERIOD)
+            if (period >= MAX_SEARCH_PERIOD)
             {
                 logger.log(Level.FINE, () -> "Restart search for '" + searched.channel.getName() + "'");
-
-                final Set<SearchedChannel> bucket = search_buckets.get(current_search_bucket.get());
-                bucket.add(searched);
+                schedule(searched, (current + restarted % BOOST_SPREAD) % search_buckets.size());
+                ++restarted;
             }
             // Not sending search right now:
             //   search(channel);
@@ -343,7 +451,7 @@ class ChannelSearch
     }
 
     /** Invoked by timer: Check searched channels for the next one to handle */
-    private void runSearches()
+    void runSearches()
     {
         // Determine current search bucket
         final int current = current_search_bucket.getAndUpdate(i -> (i + 1) % search_buckets.size());
@@ -357,36 +465,82 @@ class ChannelSearch
             // Remove searched channels from the current bucket
             for (SearchedChannel sc : bucket)
             {
+                // Will be moved to another bucket, or dropped
+                sc.bucket = -1;
                 if (sc.channel.getState() == ClientChannelState.SEARCHING  &&
                     searched_channels.containsKey(sc.channel.getCID()))
                 {
                     // Collect channels in 'to_search' for handling outside of sync. section
                     to_search.add(sc.channel);
-
-                    // Determine next search period
-                    final int period = sc.search_period.updateAndGet(sec -> sec < MAX_SEARCH_PERIOD
-                                                                     ? sec + 1
-                                                                     : MAX_SEARCH_PERIOD);
-
-                    // Add to corresponding search bucket, or delay by one second
-                    // in case that search bucket is quite full
-                    final int i_n   = (current + period) % search_buckets.size();
-                    final int i_n_n = (i_n + 1)          % search_buckets.size();
-                    final Set<SearchedChannel> next      = search_buckets.get(i_n);
-                    final Set<SearchedChannel> next_next = search_buckets.get(i_n_n);
-                    if (i_n == current  ||  i_n_n == current)
-                        throw new IllegalStateException("Current, next and nextnext search indices for " + sc.channel + " are " +
-                                                        current + ", " + i_n + ", " + i_n_n);
-                    if (next_next.size() < next.size())
-                        next_next.add(sc);
-                    else
-                        next.add(sc);
+                    scheduleNextSearch(current, sc);
                 }
                 else
                     logger.log(Level.FINE, "Dropping channel from search: " + sc.channel);
             }
             bucket.clear();
         }
+        searchBatches(to_search);
+    }
+
+    /** Invoked by timer: Search channels that were registered to be searched 'now' */
+    private void runJumpstart()
+    {
+        jumpstart_pending.set(false);
+        final ArrayList<SearchRequest.Channel> to_search = new ArrayList<>();
+        synchronized (this)
+        {
+            final int current = current_search_bucket.get();
+            for (SearchedChannel sc : new_channels)
+            {
+                to_search.add(sc.channel);
+                scheduleNextSearch(current, sc);
+            }
+            new_channels.clear();
+        }
+        searchBatches(to_search);
+    }
+
+    /** Schedule next search for a channel that is searched right now
+     *
+     *  <p>Caller must be synchronized
+     *
+     *  @param current Index of current search bucket
+     *  @param sc Channel
+     */
+    private void scheduleNextSearch(final int current, final SearchedChannel sc)
+    {
+        // Determine next search period
+        final int period = sc.search_period.updateAndGet(ChannelSearch::getNextSearchPeriod);
+
+        // Add to corresponding search bucket, or delay by one second
+        // in case that search bucket is quite full
+        final int i_n   = (current + period) % search_buckets.size();
+        final int i_n_n = (i_n + 1)          % search_buckets.size();
+        final Set<SearchedChannel> next      = search_buckets.get(i_n);
+        final Set<SearchedChannel> next_next = search_buckets.get(i_n_n);
+        if (i_n == current  ||  i_n_n == current)
+            throw new IllegalStateException("Current, next and nextnext search indices for " + sc.channel + " are " +
+                                            current + ", " + i_n + ", " + i_n_n);
+        if (next_next.size() < next.size())
+        {
+            sc.bucket = i_n_n;
+            next_next.add(sc);
+        }
+        else
+        {
+            sc.bucket = i_n;
+            next.add(sc);
+        }
+    }
+
+    /** Search channels, packing as many as possible into each search request
+     *  @param to_search Channels to search
+     */
+    private void searchBatches(final List<SearchRequest.Channel> to_search)
+    {
+        if (to_search.isEmpty())
+            return;
+        search_rounds.incrementAndGet();
 
         // Search batch..
         // Size of a search request is close to 50 bytes
@@ -412,7 +566,7 @@ class ChannelSearch
                 else if (count == 0)
                 {   // Can't fit this single name?
                     logger.log(Level.WARNING, "PV name exceeds search buffer size: " + channel);
-                    searched_channels.remove(channel.getCID());
+                    unregister(channel.getCID());
                     to_search.remove(start + count);
                 }
                 else
@@ -427,10 +581,46 @@ class ChannelSearch
             // Submit one batch from 'to_search'
             final List<SearchRequest.Channel> batch = to_search.subList(start, start + count);
             search(batch);
+            searched_names.addAndGet(count);
             start += count;
         }
     }
 
+    /** @return Search statistics */
+    public SearchStatistics getStatistics()
+    {
+        final long[] histogram;
+        synchronized (found_histogram)
+        {
+            histogram = found_histogram.clone();
+        }
+        long found = 0;
+        for (long count : histogram)
+            found += count;
+        return new SearchStatistics(search_rounds.get(), search_packets.get(), searched_names.get(), found,
+                                    getPercentile(histogram, found, 0.5),
+                                    getPercentile(histogram, found, 0.9),
+                                    getPercentile(histogram, found, 0.99));
+    }
+
+    /** @param histogram Histogram of 2^i millisecond bins
+     *  @param total Total count in histogram
+     *  @param fraction Fraction 0..1
+     *  @return Upper limit in milliseconds of the bin that contains the requested percentile, or 0
+     */
+    private static long getPercentile(final long[] histogram, final long total, final double fraction)
+    {
+        final long rank = (long) Math.ceil(total * fraction);
+        long count = 0;
+        for (int i=0; i<histogram.length; ++i)
+        {
+            count += histogram[i];
+            if (count >= rank  &&  count > 0)
+                return 1L << i;
+        }
+        return 0;
+    }
+
     /** Issue a PVA server list request */
     public void list()
     {
@@ -480,7 +670,8 @@ class ChannelSearch
 
                     SearchRequest.encode(true, true, seq, channels, response_address, tls , buffer);
                 };
-                tcp.submit(search_request);
+                if (tcp.submit(search_request))
+                    search_packets.incrementAndGet();
             }
         }
 
@@ -520,6 +711,7 @@ class ChannelSearch
                 logger.log(Level.FINER, () -> "Sending search to UDP  " + addr + " (unicast), " +
                                               "response addr " + response + "\n" + Hexdump.toHexdump(send_buffer));
                 udp.send(send_buffer, addr);
+                search_packets.incrementAndGet();
             }
             catch (Exception ex)
             {
@@ -538,6 +730,7 @@ class ChannelSearch
                 logger.log(Level.FINER, () -> "Sending search to UDP  " + addr + " (broadcast/multicast), " +
                                               "response addr " + response + "\n" + Hexdump.toHexdump(send_buffer));
                 udp.send(send_buffer, addr);
+                search_packets.incrementAndGet();
             }
             catch (Exception ex)
             {
@@ -552,6 +745,9 @@ class ChannelSearch
         synchronized (this)
         {
             searched_channels.clear();
+            new_channels.clear();
+            for (Set<SearchedChannel> bucket : search_buckets)
+                bucket.clear();
         }
         timer.shutdown();
     }
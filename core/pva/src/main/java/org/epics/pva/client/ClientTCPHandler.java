@@ -363,21 +363,21 @@ class ClientTCPHandler extends TCPHandler
             // order sent by the server.
             // Send thread is not running, yet, so safe to
             // configure it
-            send_buffer.order(buffer.order());
+            setSendByteOrder(buffer.order());
 
             if (connection_validated.get())
-                logger.log(Level.WARNING, () -> "Server Version " + server_version + " sets byte order to " + send_buffer.order() +
+                logger.log(Level.WARNING, () -> "Server Version " + server_version + " sets byte order to " + getSendByteOrder() +
                            " after connection has already been validated");
             else
-                logger.log(Level.FINE, () -> "Server Version " + server_version + " sets byte order to " + send_buffer.order());
+                logger.log(Level.FINE, () -> "Server Version " + server_version + " sets byte order to " + getSendByteOrder());
             // Payload 'size' indicates if the server will send messages in that same order,
             // or might change order for each message.
             // We always adapt based on the flags of each received message,
             // so ignore.
-            // send_buffer byte order is locked at this time, though.
+            // Send byte order is locked at this time, though.
             final int hint = buffer.getInt(4);
             if (hint == 0x00000000)
-                logger.log(Level.FINE, () -> "Server hints that it will send all messages in byte order " + send_buffer.order());
+                logger.log(Level.FINE, () -> "Server hints that it will send all messages in byte order " + getSendByteOrder());
             else if (hint == 0xFFFFFFFF)
                 logger.log(Level.FINE, () -> "Server hints that client needs to check each received messages for changing byte order");
             else
@@ -409,28 +409,36 @@ class ClientTCPHandler extends TCPHandler
         // Reply to Connection Validation request.
         logger.log(Level.FINE, () -> "Sending connection validation response, auth = " + auth);
         // Since send thread is not running, yet, send directly
-        PVAHeader.encodeMessageHeader(send_buffer, PVAHeader.FLAG_NONE, PVAHeader.CMD_CONNECTION_VALIDATION, 4+2+2+1);
-        final int start = send_buffer.position();
+        final ByteBuffer send_buffer = acquireSendBuffer();
+        try
+        {
+            PVAHeader.encodeMessageHeader(send_buffer, PVAHeader.FLAG_NONE, PVAHeader.CMD_CONNECTION_VALIDATION, 4+2+2+1);
+            final int start = send_buffer.position();
 
-        // Inform server about our receive buffer size
-        send_buffer.putInt(receive_buffer.capacity());
+            // Inform server about our receive buffer size
+            send_buffer.putInt(receive_buffer.capacity());
 
-        // Unclear, just echo the server's size
-        send_buffer.putShort(server_introspection_registry_max_size);
+            // Unclear, just echo the server's size
+            send_buffer.putShort(server_introspection_registry_max_size);
 
-        // QoS = Connection priority
-        final short quos = 0;
-        send_buffer.putShort(quos);
+            // QoS = Connection priority
+            final short quos = 0;
+            send_buffer.putShort(quos);
 
-        // Selected authNZ plug-in
-        auth.encode(send_buffer);
+            // Selected authNZ plug-in
+            auth.encode(send_buffer);
 
-        // Correct payload size (depends on auth)
-        final int end = send_buffer.position();
-        send_buffer.putInt(PVAHeader.HEADER_OFFSET_PAYLOAD_SIZE, end - start);
+            // Correct payload size (depends on auth)
+            final int end = send_buffer.position();
+            send_buffer.putInt(PVAHeader.HEADER_OFFSET_PAYLOAD_SIZE, end - start);
 
-        send_buffer.flip();
-        send(send_buffer);
+            send_buffer.flip();
+            send(send_buffer);
+        }
+        finally
+        {
+            releaseSendBuffer(send_buffer);
+        }
     }
 
     void markValid() throws Exception
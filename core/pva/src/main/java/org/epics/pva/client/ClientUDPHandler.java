@@ -21,6 +21,7 @@ import java.util.logging.Level;
 
 import org.epics.pva.PVASettings;
 import org.epics.pva.common.AddressInfo;
+import org.epics.pva.common.IOThreads;
 import org.epics.pva.common.Network;
 import org.epics.pva.common.OriginTag;
 import org.epics.pva.common.PVAHeader;
@@ -172,21 +173,18 @@ class ClientUDPHandler extends UDPHandler
         // Same code for messages from the 'search' and 'beacon' socket,
         // though each socket is likely to see only one type of message.
         final ByteBuffer receive_buffer4 = ByteBuffer.allocate(PVASettings.MAX_UDP_PACKET);
-        search_thread4 = new Thread(() -> listen(udp_search4, receive_buffer4), "UDP4-receiver " + Network.getLocalAddress(udp_search4));
-        search_thread4.setDaemon(true);
+        search_thread4 = IOThreads.newThread(() -> listen(udp_search4, receive_buffer4), "UDP4-receiver " + Network.getLocalAddress(udp_search4));
         search_thread4.start();
 
         if (PVASettings.EPICS_PVA_ENABLE_IPV6)
         {
             final ByteBuffer receive_buffer6 = ByteBuffer.allocate(PVASettings.MAX_UDP_PACKET);
-            search_thread6 = new Thread(() -> listen(udp_search6, receive_buffer6), "UDP6-receiver " + Network.getLocalAddress(udp_search6));
-            search_thread6.setDaemon(true);
+            search_thread6 = IOThreads.newThread(() -> listen(udp_search6, receive_buffer6), "UDP6-receiver " + Network.getLocalAddress(udp_search6));
             search_thread6.start();
         }
 
         final ByteBuffer beacon_buffer = ByteBuffer.allocate(PVASettings.MAX_UDP_PACKET);
-        beacon_thread = new Thread(() -> listen(udp_beacon, beacon_buffer), "UDP-beacon-receiver " + Network.getLocalAddress(udp_beacon));
-        beacon_thread.setDaemon(true);
+        beacon_thread = IOThreads.newThread(() -> listen(udp_beacon, beacon_buffer), "UDP-beacon-receiver " + Network.getLocalAddress(udp_beacon));
         beacon_thread.start();
     }
 
@@ -64,6 +64,21 @@ public class PVAClient implements AutoCloseable
 
     private final AtomicInteger request_ids = new AtomicInteger();
 
+    /** Channel search statistics
+     *
+     *  @param rounds Number of search rounds that sent requests
+     *  @param packets Number of search messages sent via UDP or TCP
+     *  @param names Number of channel names listed in search messages
+     *  @param found Number of channels found by search
+     *  @param p50_ms Median time from starting the search for a channel until it was found, in milliseconds
+     *  @param p90_ms 90th percentile of time to find a channel
+     *  @param p99_ms 99th percentile of time to find a channel
+     */
+    public static record SearchStatistics(long rounds, long packets, long names, long found,
+                                          long p50_ms, long p90_ms, long p99_ms)
+    {
+    }
+
     /** Create a new PVAClient
      *
      *  <p>The {@link PVAClient} maintain PVs and coordinates the necessary search requests.
@@ -244,7 +259,7 @@ public class PVAClient implements AutoCloseable
         }
 
         // Reply for specific channel
-        final PVAChannel channel = search.unregister(channel_id);
+        final PVAChannel channel = search.found(channel_id);
         // Late reply for search that was already satisfied?
         if (channel == null)
         {
@@ -329,6 +344,16 @@ public class PVAClient implements AutoCloseable
         tcp.close(false);
     }
 
+    /** The time to find a channel is measured with a resolution of powers of 2,
+     *  so the percentiles are upper limits like 1, 2, 4, 8, ... ms.
+     *
+     *  @return Channel search statistics
+     */
+    public SearchStatistics getSearchStatistics()
+    {
+        return search.getStatistics();
+    }
+
     /** Allow in-package test code to check for TCP connections
      *  @return <code>true</code> if there are still TCP connections
      */
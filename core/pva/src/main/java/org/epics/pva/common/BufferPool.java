@@ -0,0 +1,178 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Phoebus contributors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ ******************************************************************************/
+package org.epics.pva.common;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Deque;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.epics.pva.PVASettings;
+
+/** Pool of buffers shared by all TCP connections
+ *
+ *  <p>Buffers are handed out in size classes of powers of two,
+ *  starting at {@link PVASettings#TCP_BUFFER_SIZE}.
+ *  Buffers that are returned to the pool are kept for re-use
+ *  until the pool holds {@link PVASettings#EPICS_PVA_BUFFER_POOL_SIZE} bytes.
+ *
+ *  <p>Buffers are heap buffers, not direct buffers,
+ *  because the TCP connections read and write via the
+ *  (possibly TLS) socket streams, which require byte arrays.
+ *
+ *  @author agent
+ */
+@SuppressWarnings("nls")
+public class BufferPool
+{
+    /** Smallest size class, 16 kB */
+    private static final int MIN_SHIFT = Integer.numberOfTrailingZeros(Integer.highestOneBit(PVASettings.TCP_BUFFER_SIZE));
+
+    /** Idle buffers for each size class, index 0 for 2^MIN_SHIFT.
+     *  Used as a stack to re-use the most recently released, 'warm' buffer
+     */
+    @SuppressWarnings("unchecked")
+    private static final Deque<ByteBuffer>[] idle = new Deque[31 - MIN_SHIFT];
+
+    static
+    {
+        for (int i=0; i<idle.length; ++i)
+            idle[i] = new ConcurrentLinkedDeque<>();
+    }
+
+    private static final AtomicLong idle_bytes = new AtomicLong();
+    private static final AtomicLong idle_buffers = new AtomicLong();
+    private static final AtomicLong used_bytes = new AtomicLong();
+    private static final AtomicLong used_buffers = new AtomicLong();
+    private static final AtomicLong allocations = new AtomicLong();
+    private static final AtomicLong reuses = new AtomicLong();
+
+    private BufferPool()
+    {
+        // Static methods only
+    }
+
+    /** @param size Requested size
+     *  @return Size class index for that size
+     */
+    private static int getSizeClass(final int size)
+    {
+        if (size <= (1 << MIN_SHIFT))
+            return 0;
+        // Round up to next power of two
+        final int shift = 32 - Integer.numberOfLeadingZeros(size - 1);
+        return shift - MIN_SHIFT;
+    }
+
+    /** @param size Requested size
+     *  @return Capacity of the buffer that {@link #acquire(int)} returns for that size
+     */
+    public static int getCapacity(final int size)
+    {
+        return 1 << (getSizeClass(size) + MIN_SHIFT);
+    }
+
+    /** Obtain a buffer
+     *
+     *  @param size Minimum size of the buffer
+     *  @return Cleared buffer with capacity of at least 'size', big endian byte order
+     */
+    public static ByteBuffer acquire(final int size)
+    {
+        final int size_class = getSizeClass(size);
+        if (size_class >= idle.length)
+            throw new IllegalArgumentException("Cannot allocate buffer for " + size + " bytes");
+        ByteBuffer buffer = idle[size_class].poll();
+        if (buffer == null)
+        {
+            buffer = ByteBuffer.allocate(1 << (size_class + MIN_SHIFT));
+            allocations.incrementAndGet();
+        }
+        else
+        {
+            idle_buffers.decrementAndGet();
+            idle_bytes.addAndGet(-buffer.capacity());
+            reuses.incrementAndGet();
+            buffer.clear();
+            buffer.order(ByteOrder.BIG_ENDIAN);
+        }
+        used_buffers.incrementAndGet();
+        used_bytes.addAndGet(buffer.capacity());
+        return buffer;
+    }
+
+    /** Return buffer to the pool
+     *
+     *  <p>Caller must no longer use the buffer.
+     *
+     *  @param buffer Buffer obtained via {@link #acquire(int)}, may be <code>null</code>
+     */
+    public static void release(final ByteBuffer buffer)
+    {
+        if (buffer == null)
+            return;
+        final int capacity = buffer.capacity();
+        used_buffers.decrementAndGet();
+        used_bytes.addAndGet(-capacity);
+
+        // Keep unless that would exceed the pool limit.
+        // Check and add are not atomic, so limit might be exceeded by a few buffers
+        if (idle_bytes.get() + capacity > PVASettings.EPICS_PVA_BUFFER_POOL_SIZE)
+            return;
+        final int size_class = getSizeClass(capacity);
+        idle_bytes.addAndGet(capacity);
+        idle_buffers.incrementAndGet();
+        idle[size_class].push(buffer);
+    }
+
+    /** @return Number of buffers held in the pool for re-use */
+    public static long getIdleBuffers()
+    {
+        return idle_buffers.get();
+    }
+
+    /** @return Bytes held in the pool for re-use */
+    public static long getIdleBytes()
+    {
+        return idle_bytes.get();
+    }
+
+    /** @return Number of buffers that have been acquired and not released */
+    public static long getUsedBuffers()
+    {
+        return used_buffers.get();
+    }
+
+    /** @return Bytes that have been acquired and not released */
+    public static long getUsedBytes()
+    {
+        return used_bytes.get();
+    }
+
+    /** @return Total number of newly allocated buffers */
+    public static long getAllocations()
+    {
+        return allocations.get();
+    }
+
+    /** @return Total number of buffers that were re-used from the pool */
+    public static long getReuses()
+    {
+        return reuses.get();
+    }
+
+    /** @return Summary of pool occupancy */
+    public static String getStatistics()
+    {
+        return String.format("Buffer pool: %d buffers (%d kB) in use, %d buffers (%d kB) idle, %d allocated, %d re-used",
+                             getUsedBuffers(), getUsedBytes() / 1024,
+                             getIdleBuffers(), getIdleBytes() / 1024,
+                             getAllocations(), getReuses());
+    }
+}
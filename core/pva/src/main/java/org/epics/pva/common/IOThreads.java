@@ -0,0 +1,116 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Phoebus contributors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ ******************************************************************************/
+package org.epics.pva.common;
+
+import static org.epics.pva.PVASettings.logger;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.logging.Level;
+
+import org.epics.pva.PVASettings;
+
+/** Threads for TCP and UDP I/O
+ *
+ *  <p>Creates daemon platform threads, or virtual threads
+ *  when {@link PVASettings#EPICS_PVA_VIRTUAL_THREADS} is set
+ *  and the Java runtime supports them.
+ *
+ *  <p>Virtual threads are accessed via reflection
+ *  so that the code still compiles and runs on
+ *  Java runtimes without virtual threads.
+ *
+ *  @author agent
+ */
+@SuppressWarnings("nls")
+public class IOThreads
+{
+    /** Factory for virtual threads, or <code>null</code> to use platform threads */
+    private static final ThreadFactory virtual_factory = createVirtualThreadFactory();
+
+    private IOThreads()
+    {
+        // Static methods only
+    }
+
+    private static ThreadFactory createVirtualThreadFactory()
+    {
+        if (! PVASettings.EPICS_PVA_VIRTUAL_THREADS)
+            return null;
+        try
+        {
+            // Thread.ofVirtual().factory()
+            final Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            final ThreadFactory factory = (ThreadFactory) builder.getClass().getMethod("factory").invoke(builder);
+            logger.log(Level.CONFIG, "Using virtual threads for PVA I/O");
+            return factory;
+        }
+        catch (Throwable ex)
+        {
+            logger.log(Level.WARNING, "EPICS_PVA_VIRTUAL_THREADS is set, but Java " + Runtime.version() +
+                                      " does not support virtual threads. Using platform threads.");
+            return null;
+        }
+    }
+
+    /** @return Are virtual threads used? */
+    public static boolean isVirtual()
+    {
+        return virtual_factory != null;
+    }
+
+    /** Create I/O thread
+     *
+     *  @param runnable Code to run
+     *  @param name Thread name
+     *  @return Daemon thread, not yet started
+     */
+    public static Thread newThread(final Runnable runnable, final String name)
+    {
+        final Thread thread;
+        if (virtual_factory != null)
+            thread = virtual_factory.newThread(runnable);
+        else
+        {
+            thread = new Thread(runnable);
+            // Virtual threads are always daemon threads
+            thread.setDaemon(true);
+        }
+        thread.setName(name);
+        return thread;
+    }
+
+    /** Create executor for I/O tasks
+     *
+     *  <p>With platform threads, the executor caches idle threads
+     *  for one minute.
+     *  With virtual threads, each task uses a new thread.
+     *
+     *  @param name Name of the executor's threads
+     *  @return {@link ExecutorService}
+     */
+    public static ExecutorService newExecutor(final String name)
+    {
+        final ThreadFactory factory = runnable -> newThread(runnable, name);
+        if (virtual_factory != null)
+        {
+            try
+            {
+                // Executors.newThreadPerTaskExecutor(factory)
+                return (ExecutorService) Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class)
+                                                        .invoke(null, factory);
+            }
+            catch (Throwable ex)
+            {
+                logger.log(Level.WARNING, "Cannot create thread-per-task executor", ex);
+            }
+        }
+        return Executors.newCachedThreadPool(factory);
+    }
+}
@@ -18,10 +18,10 @@ import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.logging.Level;
 
 import org.epics.pva.PVASettings;
@@ -75,21 +75,42 @@ abstract public class TCPHandler
     /** Flag to indicate that 'close' was called to close the 'socket' */
     protected volatile boolean running = true;
 
-    /** Buffer used to receive data via {@link TCPHandler#receive_thread} */
-    protected ByteBuffer receive_buffer = ByteBuffer.allocate(PVASettings.EPICS_PVA_RECEIVE_BUFFER_SIZE);
+    /** Buffer used to receive data via {@link TCPHandler#receive_thread}
+     *
+     *  <p>Obtained from the {@link BufferPool},
+     *  grown for large messages and shrunk again
+     *  once they have been handled.
+     */
+    protected ByteBuffer receive_buffer = BufferPool.acquire(PVASettings.EPICS_PVA_RECEIVE_BUFFER_SIZE);
 
     /** Buffer for assembling parts of segmented message
      *
-     *  <p>Created and then grown as needed
+     *  <p>Obtained from the {@link BufferPool} for the first segment,
+     *  grown as needed, and returned to the pool after the last segment
      */
     private ByteBuffer segments = null;
 
-    /** Buffer used to send data via {@link TCPHandler#send_thread} */
-    protected final ByteBuffer send_buffer = ByteBuffer.allocate(PVASettings.EPICS_PVA_SEND_BUFFER_SIZE);
+    /** Byte order for sending data
+     *
+     *  <p>Send buffers are obtained from the {@link BufferPool}
+     *  by the {@link TCPHandler#send_thread} while there are items to send
+     *  and returned to the pool when the send queue is empty,
+     *  so idle connections do not hold a send buffer.
+     */
+    private volatile ByteOrder send_order = ByteOrder.nativeOrder();
 
     /** Queue of items to send to peer */
     private final BlockingQueue<RequestEncoder> send_items = new LinkedBlockingQueue<>();
 
+    /** Number of socket writes by send thread */
+    private final AtomicLong write_count = new AtomicLong();
+
+    /** Number of messages sent by send thread */
+    private final AtomicLong message_count = new AtomicLong();
+
+    /** Largest observed depth of the send queue */
+    private volatile int max_queue_depth = 0;
+
     /** Magic `send_items` value that asks send thread to exit */
     private static final RequestEncoder END_REQUEST = new RequestEncoder()
     {
@@ -102,12 +123,7 @@ abstract public class TCPHandler
 
     /** Pool for sender and receiver threads */
     // Default keeps idle threads for one minute
-    private static final ExecutorService thread_pool = Executors.newCachedThreadPool(runnable ->
-    {
-        final Thread thread = new Thread(runnable);
-        thread.setDaemon(true);
-        return thread;
-    });
+    private static final ExecutorService thread_pool = IOThreads.newExecutor("TCP I/O");
 
     /** Thread that runs {@link TCPHandler#receiver()} */
     private volatile Future<Void> receive_thread = null;
@@ -132,7 +148,41 @@ abstract public class TCPHandler
         // Send buffer of server and client starts out with native byte order.
         // For server, it stays that way.
         // For client, order is updated during connection validation (PVAHeader.CTRL_SET_BYTE_ORDER)
-        send_buffer.order(ByteOrder.nativeOrder());
+    }
+
+    /** @param order Byte order to use for sending data */
+    protected void setSendByteOrder(final ByteOrder order)
+    {
+        send_order = order;
+    }
+
+    /** @return Byte order used for sending data */
+    protected ByteOrder getSendByteOrder()
+    {
+        return send_order;
+    }
+
+    /** Obtain buffer for sending data
+     *
+     *  <p>Buffer has the size {@link PVASettings#EPICS_PVA_SEND_BUFFER_SIZE}
+     *  and the send byte order.
+     *  Must be returned via {@link #releaseSendBuffer(ByteBuffer)}
+     *
+     *  @return Send buffer
+     */
+    protected ByteBuffer acquireSendBuffer()
+    {
+        final ByteBuffer buffer = BufferPool.acquire(PVASettings.EPICS_PVA_SEND_BUFFER_SIZE);
+        // Limit to configured size even if size class is larger
+        buffer.limit(PVASettings.EPICS_PVA_SEND_BUFFER_SIZE);
+        buffer.order(send_order);
+        return buffer;
+    }
+
+    /** @param buffer Buffer obtained via {@link #acquireSendBuffer()} */
+    protected void releaseSendBuffer(final ByteBuffer buffer)
+    {
+        BufferPool.release(buffer);
     }
 
     /** Initialize the {@link #socket}. Called by receiver.
@@ -189,36 +239,131 @@ abstract public class TCPHandler
         return false;
     }
 
-    /** Send {@link RequestEncoder} entries off queue */
+    /** @return Number of messages waiting in the send queue */
+    public int getSendQueueDepth()
+    {
+        return send_items.size();
+    }
+
+    /** @return Largest number of messages found in the send queue */
+    public int getMaxSendQueueDepth()
+    {
+        return max_queue_depth;
+    }
+
+    /** @return Number of socket writes performed by the send thread */
+    public long getWriteCount()
+    {
+        return write_count.get();
+    }
+
+    /** @return Number of messages sent by the send thread */
+    public long getMessageCount()
+    {
+        return message_count.get();
+    }
+
+    /** @return Average number of messages combined into one socket write */
+    public double getMessagesPerWrite()
+    {
+        final long writes = write_count.get();
+        return writes > 0 ? (double) message_count.get() / writes : 0.0;
+    }
+
+    /** Send {@link RequestEncoder} entries off queue
+     *
+     *  <p>Takes the next entry off the queue, then keeps adding
+     *  further entries to the same send buffer until it holds
+     *  {@link PVASettings#EPICS_PVA_SEND_COALESCE_SIZE} bytes,
+     *  the queue is empty, and {@link PVASettings#EPICS_PVA_SEND_COALESCE_DELAY_US}
+     *  has passed.
+     *  The send buffer uses the {@link BufferPool} size class of
+     *  {@link PVASettings#EPICS_PVA_SEND_BUFFER_SIZE}, and the coalesce size
+     *  is limited to the space that this leaves beyond the send buffer size,
+     *  so each message, even the last one started within the coalesce size,
+     *  still has {@link PVASettings#EPICS_PVA_SEND_BUFFER_SIZE} bytes available.
+     */
     private Void sender()
     {
+        final int buffer_size = BufferPool.getCapacity(PVASettings.EPICS_PVA_SEND_BUFFER_SIZE);
+        final int coalesce_size = Math.min(Math.max(0, PVASettings.EPICS_PVA_SEND_COALESCE_SIZE),
+                                           buffer_size - PVASettings.EPICS_PVA_SEND_BUFFER_SIZE);
+        final long coalesce_delay = TimeUnit.MICROSECONDS.toNanos(Math.max(0, PVASettings.EPICS_PVA_SEND_COALESCE_DELAY_US));
+        ByteBuffer send_buffer = null;
         try
         {
             Thread.currentThread().setName("TCP sender from " + socket.getLocalSocketAddress() + " to " + socket.getRemoteSocketAddress());
             logger.log(Level.FINER, () -> Thread.currentThread().getName() + " started");
-            while (true)
+            boolean done = false;
+            while (! done)
             {
-                send_buffer.clear();
-                final RequestEncoder to_send = send_items.take();
+                // Return buffer to pool while idle
+                if (send_buffer != null  &&  send_items.isEmpty())
+                {
+                    releaseSendBuffer(send_buffer);
+                    send_buffer = null;
+                }
+                RequestEncoder to_send = send_items.take();
                 if (to_send == END_REQUEST)
                     break;
-                try
+                final int depth = send_items.size() + 1;
+                if (depth > max_queue_depth)
+                    max_queue_depth = depth;
+                if (send_buffer == null)
                 {
-                    to_send.encodeRequest(server_version, send_buffer);
+                    send_buffer = BufferPool.acquire(buffer_size);
+                    send_buffer.order(send_order);
                 }
-                catch (Exception ex)
+                send_buffer.clear().limit(buffer_size);
+
+                // Encode messages back-to-back
+                final long deadline = System.nanoTime() + coalesce_delay;
+                int messages = 0;
+                while (true)
                 {
-                    logger.log(Level.WARNING, Thread.currentThread().getName() + " request encoding error", ex);
-                    continue;
+                    final int start = send_buffer.position();
+                    try
+                    {
+                        to_send.encodeRequest(server_version, send_buffer);
+                        ++messages;
+                    }
+                    catch (Exception ex)
+                    {
+                        logger.log(Level.WARNING, Thread.currentThread().getName() + " request encoding error", ex);
+                        // Drop what might have been encoded
+                        send_buffer.position(start);
+                    }
+                    if (send_buffer.position() >= coalesce_size)
+                        break;
+                    if (coalesce_delay > 0)
+                        to_send = send_items.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                    else
+                        to_send = send_items.poll();
+                    if (to_send == null)
+                        break;
+                    if (to_send == END_REQUEST)
+                    {   // Send what's been encoded, then exit
+                        done = true;
+                        break;
+                    }
                 }
+
+                if (send_buffer.position() <= 0)
+                    continue;
                 send_buffer.flip();
                 send(send_buffer);
+                write_count.incrementAndGet();
+                message_count.addAndGet(messages);
             }
         }
         catch (Exception ex)
         {
             logger.log(Level.WARNING, Thread.currentThread().getName() + " exits because of error", ex);
         }
+        finally
+        {
+            releaseSendBuffer(send_buffer);
+        }
         logger.log(Level.FINER, Thread.currentThread().getName() + " done.");
         return null;
     }
@@ -330,6 +475,12 @@ abstract public class TCPHandler
 
                 // Shift rest to start of buffer and handle next message
                 receive_buffer.compact();
+
+                // Once a large message has been handled, shrink buffer
+                // unless it already holds (the start of) another large message
+                if (receive_buffer.capacity() > PVASettings.EPICS_PVA_RECEIVE_BUFFER_SIZE  &&
+                    receive_buffer.position() <= PVASettings.EPICS_PVA_RECEIVE_BUFFER_SIZE/2)
+                    receive_buffer = shrinkBuffer(receive_buffer, PVASettings.EPICS_PVA_RECEIVE_BUFFER_SIZE);
             }
         }
         catch (Exception ex)
@@ -341,6 +492,9 @@ abstract public class TCPHandler
         {
             logger.log(Level.FINER, Thread.currentThread().getName() + " done.");
             onReceiverExited(running);
+            BufferPool.release(segments);
+            segments = null;
+            BufferPool.release(receive_buffer);
         }
         return null;
     }
@@ -359,8 +513,8 @@ abstract public class TCPHandler
 
     /** Check buffer size, grow if needed
      *
-     *  <p>When necessary, a new buffer is allocated,
-     *  existing data copied.
+     *  <p>When necessary, a new buffer is obtained from the {@link BufferPool},
+     *  existing data copied, and the original buffer returned to the pool.
      *
      *  @param buffer Original buffer
      *  @param message_size Required receive buffer size
@@ -371,18 +525,39 @@ abstract public class TCPHandler
         if (buffer.capacity() >= size)
             return buffer;
 
-        final ByteBuffer new_buffer = ByteBuffer.allocate(size);
+        final ByteBuffer new_buffer = BufferPool.acquire(size);
         new_buffer.order(buffer.order());
         buffer.flip();
         new_buffer.put(buffer);
+        BufferPool.release(buffer);
 
-        logger.log(Level.INFO,
+        logger.log(Level.FINE,
                    Thread.currentThread().getName() + " extends buffer from " +
                    buffer.capacity() + " to " + new_buffer.capacity() +
                    ", copied " + new_buffer.position() + " bytes to new buffer");
         return new_buffer;
     }
 
+    /** Replace buffer with smaller one
+     *
+     *  @param buffer Original buffer, positioned after the data to keep
+     *  @param size Desired size
+     *  @return Smaller buffer with copied data
+     */
+    private ByteBuffer shrinkBuffer(final ByteBuffer buffer, final int size)
+    {
+        final ByteBuffer new_buffer = BufferPool.acquire(size);
+        new_buffer.order(buffer.order());
+        buffer.flip();
+        new_buffer.put(buffer);
+        BufferPool.release(buffer);
+
+        logger.log(Level.FINE,
+                   Thread.currentThread().getName() + " shrinks buffer from " +
+                   buffer.capacity() + " to " + new_buffer.capacity());
+        return new_buffer;
+    }
+
     /** Handle a received message
      *
      *  <p>Called after the protocol header was found
@@ -434,9 +609,9 @@ abstract public class TCPHandler
         {
             if (segments == null)
             {
-                logger.log(Level.INFO,
-                           () -> Thread.currentThread().getName() + " allocates segmented message accumulator buffer for " + buffer.limit() + " bytes");
-                segments = ByteBuffer.allocate(buffer.limit());
+                logger.log(Level.FINE,
+                           () -> Thread.currentThread().getName() + " obtains segmented message accumulator buffer for " + buffer.limit() + " bytes");
+                segments = BufferPool.acquire(buffer.limit());
                 segments.order(buffer.order());
             }
             else if (segments.position() > 0)
@@ -500,8 +675,10 @@ abstract public class TCPHandler
                     throw new Exception("Error handling assembled segmented message", ex);
                 }
                 finally
-                {   // Reset segments buffer to allow starting with another 'first' message
-                    segments.clear();
+                {   // Return accumulator buffer to the pool,
+                    // next 'first' message will obtain a new one
+                    BufferPool.release(segments);
+                    segments = null;
                 }
             }
         }
@@ -586,6 +763,9 @@ abstract public class TCPHandler
             logger.log(Level.WARNING, "Cannot stop receive thread", ex);
         }
         logger.log(Level.FINE, () -> this + " closed  ============================");
+        logger.log(Level.FINE, () -> this + " sent " + getMessageCount() + " messages in " + getWriteCount() +
+                                     " writes, max. queue depth " + getMaxSendQueueDepth());
+        logger.log(Level.FINE, BufferPool::getStatistics);
     }
 
     @Override
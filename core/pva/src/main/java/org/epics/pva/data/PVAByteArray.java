@@ -114,11 +114,23 @@ public class PVAByteArray extends PVAData implements PVAArray, PVAValue
     public void decode(final PVATypeRegistry types, final ByteBuffer buffer) throws Exception
     {
         final int size = PVASize.decodeSize(buffer);
-        final byte[] new_value = new byte[size];
+        final byte[] new_value = reuseOrAllocate(size);
         buffer.get(new_value);
         value = new_value;
     }
 
+    /** @param size Required array size
+     *  @return Current value if it may be re-used, otherwise new array
+     *  @see PVASettings#EPICS_PVA_REUSE_ARRAYS
+     */
+    private byte[] reuseOrAllocate(final int size)
+    {
+        final byte[] current = value;
+        if (PVASettings.EPICS_PVA_REUSE_ARRAYS  &&  current != null  &&  current.length == size)
+            return current;
+        return new byte[size];
+    }
+
     @Override
     public void encode(final ByteBuffer buffer) throws Exception
     {
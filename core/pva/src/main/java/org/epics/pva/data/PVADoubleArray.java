@@ -98,12 +98,25 @@ public class PVADoubleArray extends PVAData implements PVAArray, PVAValue
     public void decode(final PVATypeRegistry types, final ByteBuffer buffer) throws Exception
     {
         final int size = PVASize.decodeSize(buffer);
-        final double[] new_value = new double[size];
-        for (int i=0; i<size; ++i)
-            new_value[i] = buffer.getDouble();
+        final double[] new_value = reuseOrAllocate(size);
+        // Bulk copy via view, which uses the byte order of the buffer
+        buffer.asDoubleBuffer().get(new_value);
+        buffer.position(buffer.position() + size * Double.BYTES);
         value = new_value;
     }
 
+    /** @param size Required array size
+     *  @return Current value if it may be re-used, otherwise new array
+     *  @see PVASettings#EPICS_PVA_REUSE_ARRAYS
+     */
+    private double[] reuseOrAllocate(final int size)
+    {
+        final double[] current = value;
+        if (PVASettings.EPICS_PVA_REUSE_ARRAYS  &&  current != null  &&  current.length == size)
+            return current;
+        return new double[size];
+    }
+
     @Override
     public void encode(final ByteBuffer buffer) throws Exception
     {
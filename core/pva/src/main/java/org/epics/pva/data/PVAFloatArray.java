@@ -99,12 +99,25 @@ public class PVAFloatArray extends PVAData implements PVAArray, PVAValue
     public void decode(final PVATypeRegistry types, final ByteBuffer buffer) throws Exception
     {
         final int size = PVASize.decodeSize(buffer);
-        final float[] new_value = new float[size];
-        for (int i=0; i<size; ++i)
-            new_value[i] = buffer.getFloat();
+        final float[] new_value = reuseOrAllocate(size);
+        // Bulk copy via view, which uses the byte order of the buffer
+        buffer.asFloatBuffer().get(new_value);
+        buffer.position(buffer.position() + size * Float.BYTES);
         value = new_value;
     }
 
+    /** @param size Required array size
+     *  @return Current value if it may be re-used, otherwise new array
+     *  @see PVASettings#EPICS_PVA_REUSE_ARRAYS
+     */
+    private float[] reuseOrAllocate(final int size)
+    {
+        final float[] current = value;
+        if (PVASettings.EPICS_PVA_REUSE_ARRAYS  &&  current != null  &&  current.length == size)
+            return current;
+        return new float[size];
+    }
+
     @Override
     public void encode(final ByteBuffer buffer) throws Exception
     {
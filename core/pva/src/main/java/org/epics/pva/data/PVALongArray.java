@@ -111,12 +111,25 @@ public class PVALongArray extends PVAData implements PVAArray, PVAValue
     public void decode(final PVATypeRegistry types, final ByteBuffer buffer) throws Exception
     {
         final int size = PVASize.decodeSize(buffer);
-        final long[] new_value = new long[size];
-        for (int i=0; i<size; ++i)
-            new_value[i] = buffer.getLong();
+        final long[] new_value = reuseOrAllocate(size);
+        // Bulk copy via view, which uses the byte order of the buffer
+        buffer.asLongBuffer().get(new_value);
+        buffer.position(buffer.position() + size * Long.BYTES);
         value = new_value;
     }
 
+    /** @param size Required array size
+     *  @return Current value if it may be re-used, otherwise new array
+     *  @see PVASettings#EPICS_PVA_REUSE_ARRAYS
+     */
+    private long[] reuseOrAllocate(final int size)
+    {
+        final long[] current = value;
+        if (PVASettings.EPICS_PVA_REUSE_ARRAYS  &&  current != null  &&  current.length == size)
+            return current;
+        return new long[size];
+    }
+
     @Override
     public void encode(final ByteBuffer buffer) throws Exception
     {
@@ -50,19 +50,41 @@ class MonitorHandler implements CommandHandler<ServerTCPHandler>
             return;
         }
 
-        if (subcmd == PVAHeader.CMD_SUB_INIT)
+        if ((subcmd & ~PVAHeader.CMD_SUB_PIPELINE) == PVAHeader.CMD_SUB_INIT)
         {
             // FieldDesc pvRequestIF
             // PVField pvRequest
             final PVAData requested_type = tcp.getClientTypes().decodeType("", buffer);
             logger.log(Level.FINE, () -> "Received MONITOR INIT request for " + pv + " as\n" + requested_type.formatType());
+            int nfree = 0;
+            if ((subcmd & PVAHeader.CMD_SUB_PIPELINE) != 0)
+            {
+                // Skip pvRequest data (record._options.pipeline, queueSize),
+                // then read 'nfree'
+                if (requested_type != null)
+                    requested_type.decode(tcp.getClientTypes(), buffer);
+                if (buffer.remaining() < 4)
+                    throw new Exception("Incomplete MONITOR pipeline INIT, missing 'nfree'");
+                nfree = buffer.getInt();
+                final int log_nfree = nfree;
+                logger.log(Level.FINE, () -> "MONITOR for " + pv + " uses pipeline with nfree " + log_nfree);
+            }
+            tcp.setMonitorPipeline(req, nfree);
             GetHandler.sendDataInitReply(tcp, PVAHeader.CMD_MONITOR, req, pv, requested_type);
         }
         else if (subcmd == PVAHeader.CMD_SUB_START)
         {
             logger.log(Level.FINE, () -> "Received MONITOR START for " + pv);
             // Register monitor to PV can keep sending updates as data changes
-            pv.registerSubscription(new MonitorSubscription(req, pv, tcp));
+            pv.registerSubscription(new MonitorSubscription(req, pv, tcp, tcp.getMonitorPipeline(req)));
+        }
+        else if (subcmd == PVAHeader.CMD_SUB_PIPELINE)
+        {
+            if (buffer.remaining() < 4)
+                throw new Exception("Incomplete MONITOR pipeline ack");
+            final int ack = buffer.getInt();
+            logger.log(Level.FINE, () -> "Received MONITOR pipeline ack of " + ack + " for " + pv);
+            pv.acknowledgeSubscription(tcp, req, ack);
         }
         else if (subcmd == PVAHeader.CMD_SUB_STOP  ||
                  subcmd == PVAHeader.CMD_SUB_DESTROY)
@@ -70,6 +92,8 @@ class MonitorHandler implements CommandHandler<ServerTCPHandler>
             logger.log(Level.FINE, () -> "Received MONITOR STOP/DESTROY for  " + pv);
             // Stop/cancel/remove subscription
             pv.unregisterSubscription(tcp, req);
+            if (subcmd == PVAHeader.CMD_SUB_DESTROY)
+                tcp.setMonitorPipeline(req, 0);
         }
         else
         {
@@ -11,17 +11,30 @@ import static org.epics.pva.PVASettings.logger;
 
 import java.nio.ByteBuffer;
 import java.util.BitSet;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.logging.Level;
 
 import org.epics.pva.common.PVAHeader;
 import org.epics.pva.data.PVABitSet;
-import org.epics.pva.data.PVAData;
-import org.epics.pva.data.PVAStructure;
 
 /** One client's subscription to "monitor" a PV
  *
- *  <p>Maintains the most recent value sent to client,
- *  sends changes to that client as the value is updated.
+ *  <p>Sends changes to that client as the value is updated.
+ *
+ *  <p>When the client keeps up with the updates,
+ *  each update is sent as the {@link MonitorUpdate}
+ *  that the PV encoded once for all its subscriptions.
+ *  When the client falls behind, changes from several updates
+ *  are combined, indicating overruns, and the combined changes
+ *  are encoded from the current value of the PV.
+ *
+ *  <p>In 'pipeline' mode, the client initially allows
+ *  a certain number of updates and then acknowledges
+ *  received updates to allow more.
+ *  While the client does not allow more updates,
+ *  changes are combined without queuing anything for the
+ *  TCP connection, so a slow client only costs the
+ *  combined 'changes' and 'overrun' bitsets.
  *
  *  @author Kay Kasemir
  */
@@ -36,53 +49,66 @@ class MonitorSubscription
     /** TCP connection to client */
     private final ServerTCPHandler tcp;
 
+    /** Use 'pipeline' flow control? */
+    private final boolean pipeline;
+
     // Clients subscribe at different times,
     // and their TCP connection might be able to handle updates
     // at different rates, so each subscription maintains
-    // the per-client state of the data, changes and overruns.
+    // the per-client state of changes and overruns.
     //
     //   /------------------------------------\
-    //  /--- SYNC on data for the following ---\
+    //  /--- SYNC on this for the following ---\
 
-    /** Most recent value, to be sent to clients
-     *  SYNC on data
-     */
-    private final PVAStructure data;
+    /** Most recent changes, yet to be sent to client */
+    private final BitSet changes = new BitSet();
 
-    /** Most recent changes, yet to be sent to clients
-     *  SYNC on data
-     */
-    private volatile BitSet changes = new BitSet();
+    /** Shared encoding of the changes if they result from exactly one update, else <code>null</code> */
+    private MonitorUpdate update = null;
 
-    /** Overruns, u.e. updates received between successful transmissions to client
-     *  SYNC on data
-     */
+    /** Overruns, u.e. updates received between successful transmissions to client */
     private final BitSet overrun = new BitSet();
 
-    /** Is an update pending to be sent out?
+    /** Is an update submitted to the TCP connection, waiting to be sent out?
      *
      *  <p>Used to prevent scheduling more updates than TCP connection can handle.
      *  Changes from multiple updates are combined, potentially indicating overrun.
-     *  SYNC on data
      */
-    private volatile boolean pending = true;
+    private boolean pending = false;
+
+    /** In pipeline mode, number of updates that client allows us to send */
+    private int nfree;
 
-    //  \--- SYNC on data for the above     ---/
+    //  \--- SYNC on this for the above     ---/
     //   \------------------------------------/
 
+    /** Number of updates sent as shared {@link MonitorUpdate} */
+    private final AtomicLong shared_updates = new AtomicLong();
 
-    MonitorSubscription(final int req, final ServerPV pv, final ServerTCPHandler tcp)
+    /** Number of updates that needed to be encoded for this subscription */
+    private final AtomicLong encoded_updates = new AtomicLong();
+
+    /** @param req Client's monitor request ID
+     *  @param pv PV to monitor
+     *  @param tcp TCP connection to client
+     *  @param nfree Number of updates that client allows in pipeline mode, 0 to disable pipelining
+     */
+    MonitorSubscription(final int req, final ServerPV pv, final ServerTCPHandler tcp, final int nfree)
     {
         this.req = req;
         this.pv = pv;
         this.tcp = tcp;
-        data = pv.getData();
+        this.pipeline = nfree > 0;
+        this.nfree = nfree;
 
         // Initial update: Send all the data (bit zero)
         // Later we typically send changes to "value" etc.
         // as determined in `update`
-        changes.set(0);
-        tcp.submit(this::encodeMonitor);
+        synchronized (this)
+        {
+            changes.set(0);
+            submitIfPossible();
+        }
     }
 
     /** @param tcp TCP connection
@@ -95,51 +121,81 @@ class MonitorSubscription
         return this.tcp == tcp  &&  (req == -1 || this.req == req);
     }
 
-    void update(final PVAStructure new_data) throws Exception
+    /** @param update Update of the PV, shared by all subscriptions */
+    void update(final MonitorUpdate update)
     {
-        // We update `data`, then submit an `encodeMonitor` run.
+        // We add the changes, then submit an `encodeMonitor` run.
         // As updates arrive, one could occur before or right when
         // `encodeMonitor` runs.
-        // Since we all sync on data, there are several scenarios
+        // Since we all sync, there are several scenarios
         // a) Previously submitted `encodeMonitor` is pending,
         //    another `update` adds changes and maybe accumulates overruns.
         //    It will not submit another `encodeMonitor` run
         //    because one is already pending which will eventually
         //    transmit the combined update.
-        // c) Previously submitted `encodeMonitor` runs but
-        //    we are able to lock `data` before `encodeMonitor`.
-        //    Plays out just like case a), add changes, detect
-        //    a pending `encodeMonitor` run.
         // b) Previously submitted `encodeMonitor` runs and
-        //    syncs on data, we are blocked.
-        //    `encodeMonitor` transmits the update, clears `pending`,
-        //    and then we can update data and submit another `encodeMonitor` run.
-        synchronized (data)
+        //    syncs, we are blocked.
+        //    `encodeMonitor` takes the changes, clears `pending`,
+        //    and then we can add changes and submit another `encodeMonitor` run.
+        // c) In pipeline mode, the client does not allow more updates.
+        //    Changes are combined just like in case a),
+        //    and `acknowledge` will eventually submit the `encodeMonitor` run.
+        final BitSet new_changes = update.getChanges();
+        synchronized (this)
         {
-            final BitSet old_changes = changes;
-
-            // Update data, see what's new
-            changes = data.update(new_data);
-
-            // Accumulate overrun:
-            // See what had changed before, and now changed again
-            old_changes.and(changes);
-            overrun.or(old_changes);
-
-            // Only submit when there's not already one pending, waiting to be sent out
-            if (pending)
-                logger.log(Level.WARNING, "Skipping already submitted " + this + ", changes " + changes + ", overrun " + overrun);
+            if (changes.isEmpty())
+                this.update = update;
             else
             {
-                tcp.submit(this::encodeMonitor);
-                pending = true;
+                // Accumulate overrun:
+                // See what had changed before, and now changed again
+                final BitSet again = (BitSet) changes.clone();
+                again.and(new_changes);
+                overrun.or(again);
+                // Combined changes need to be encoded for this client
+                this.update = null;
             }
+            changes.or(new_changes);
+
+            if (pending)
+                logger.log(Level.FINE, () -> "Skipping already submitted " + this + ", changes " + changes + ", overrun " + overrun);
+            else
+                submitIfPossible();
         }
     }
 
-    private void encodeMonitor(final byte version, final ByteBuffer buffer) throws Exception
+    /** Client acknowledged received updates in pipeline mode
+     *  @param count Number of additional updates that client allows
+     */
+    synchronized void acknowledge(final int count)
+    {
+        if (! pipeline)
+        {
+            logger.log(Level.WARNING, () -> "Ignoring pipeline acknowledgement for " + this);
+            return;
+        }
+        nfree += count;
+        logger.log(Level.FINE, () -> "Pipeline ack of " + count + " for " + this + ", nfree " + nfree);
+        if (! changes.isEmpty())
+            submitIfPossible();
+    }
+
+    /** Submit `encodeMonitor` unless already pending or blocked by pipeline.
+     *  Caller must SYNC on this
+     */
+    private void submitIfPossible()
     {
+        if (pending  ||  (pipeline  &&  nfree <= 0))
+            return;
+        pending = true;
+        if (pipeline)
+            --nfree;
+        tcp.submit(this::encodeMonitor);
+    }
 
+    private void encodeMonitor(final byte version, final ByteBuffer buffer) throws Exception
+    {
+        final int size_offset = buffer.position() + PVAHeader.HEADER_OFFSET_PAYLOAD_SIZE;
         PVAHeader.encodeMessageHeader(buffer, PVAHeader.FLAG_SERVER, PVAHeader.CMD_MONITOR, 0);
         final int payload_start = buffer.position();
 
@@ -147,38 +203,73 @@ class MonitorSubscription
         // Subcommand 0 = value update
         buffer.put((byte)0);
 
-        synchronized (data)
+        // Take the changes, leaving this subscription ready to accumulate new ones
+        final BitSet send_overrun = new BitSet();
+        final MonitorUpdate send_update;
+        synchronized (this)
         {
-            logger.log(Level.FINE, () -> "Sending MONITOR value for " + pv + ": changes " + changes + ", overrun " + overrun);
-
-            // Encode what changed
-            PVABitSet.encodeBitSet(changes, buffer);
-            // Encode the changed data
-            for (int index = changes.nextSetBit(0);
-                    index >= 0;
-                    index = changes.nextSetBit(index + 1))
-            {
-                // final version of index to allow use in logging lambdas
-                final int i = index;
-                final PVAData element = data.get(i);
-                logger.log(Level.FINER, () -> "Encode data for indexed element " + i + ": " + element);
-                element.encode(buffer);
-
-                // Javadoc for nextSetBit() suggests checking for MAX_VALUE
-                // to avoid index + 1 overflow and thus starting over with first bit
-                if (i == Integer.MAX_VALUE)
-                    break;
-            }
-            changes.clear();
-
-            PVABitSet.encodeBitSet(overrun, buffer);
-            overrun.clear();
+            send_update = update;
+            if (send_update != null)
+                takeChanges(send_overrun);
+        }
 
-            pending = false;
+        if (send_update != null  &&  send_update.copyTo(buffer))
+            shared_updates.incrementAndGet();
+        else
+        {
+            // Encode combined changes from current value of the PV.
+            // Changes are taken while the PV is locked, so an update
+            // that arrives meanwhile is either included in what's
+            // encoded now or left for the next `encodeMonitor` run,
+            // but not sent twice
+            final BitSet shared_changes = send_update == null ? null : send_update.getChanges();
+            pv.encodeChanges(() ->
+            {
+                if (shared_changes != null)
+                    return shared_changes;
+                synchronized (this)
+                {
+                    return takeChanges(send_overrun);
+                }
+            }, buffer);
+            encoded_updates.incrementAndGet();
         }
+        logger.log(Level.FINE, () -> "Sent MONITOR value for " + pv + ", overrun " + send_overrun);
+
+        PVABitSet.encodeBitSet(send_overrun, buffer);
 
         final int payload_end = buffer.position();
-        buffer.putInt(PVAHeader.HEADER_OFFSET_PAYLOAD_SIZE, payload_end - payload_start);
+        buffer.putInt(size_offset, payload_end - payload_start);
+    }
+
+    /** Take changes to send
+     *
+     *  <p>Caller must SYNC on this
+     *
+     *  @param send_overrun Receives the overrun
+     *  @return Changes
+     */
+    private BitSet takeChanges(final BitSet send_overrun)
+    {
+        final BitSet send_changes = (BitSet) changes.clone();
+        changes.clear();
+        send_overrun.or(overrun);
+        overrun.clear();
+        update = null;
+        pending = false;
+        return send_changes;
+    }
+
+    /** @return Number of updates that were sent as the shared encoding of a PV update */
+    long getSharedUpdates()
+    {
+        return shared_updates.get();
+    }
+
+    /** @return Number of updates that had to be encoded for this subscription */
+    long getEncodedUpdates()
+    {
+        return encoded_updates.get();
     }
 
     @Override
@@ -0,0 +1,137 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Phoebus contributors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ ******************************************************************************/
+package org.epics.pva.server;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.BitSet;
+
+import org.epics.pva.common.BufferPool;
+import org.epics.pva.data.PVABitSet;
+import org.epics.pva.data.PVAStructure;
+
+/** Encoded monitor update, shared by all subscriptions to a PV
+ *
+ *  <p>When a {@link ServerPV} is updated, the changed elements
+ *  are serialized once.
+ *  Each {@link MonitorSubscription} that has no other
+ *  changes pending for its client can then copy the
+ *  encoded bytes into its TCP buffer instead of
+ *  serializing the same data again.
+ *
+ *  <p>Immutable once created.
+ *
+ *  @author agent
+ */
+class MonitorUpdate
+{
+    /** Elements that changed in this update. Must not be modified */
+    private final BitSet changes;
+
+    /** Byte order of the encoded data */
+    private final ByteOrder order;
+
+    /** Encoded 'changes' bitset followed by the changed elements */
+    private final byte[] encoded;
+
+    /** Encode update
+     *
+     *  <p>Caller must SYNC on data.
+     *
+     *  @param data Current value of the PV
+     *  @param changes Elements of the data that changed
+     *  @param size_hint Expected size of the encoded update
+     *  @throws Exception on error
+     */
+    MonitorUpdate(final PVAStructure data, final BitSet changes, final int size_hint) throws Exception
+    {
+        this.changes = changes;
+        // Server sends in native byte order, see TCPHandler.send_order
+        order = ByteOrder.nativeOrder();
+
+        encoded = encode(data, changes, order, size_hint);
+    }
+
+    /** @return Encoded changes */
+    private static byte[] encode(final PVAStructure data, final BitSet changes, final ByteOrder order, final int size_hint) throws Exception
+    {
+        int size = size_hint;
+        while (true)
+        {
+            final ByteBuffer buffer = BufferPool.acquire(size);
+            try
+            {
+                buffer.order(order);
+                encodeChanges(data, changes, buffer);
+                buffer.flip();
+                final byte[] encoded = new byte[buffer.remaining()];
+                buffer.get(encoded);
+                return encoded;
+            }
+            catch (BufferOverflowException ex)
+            {
+                // Try again with larger buffer
+                size = buffer.capacity() * 2;
+            }
+            finally
+            {
+                BufferPool.release(buffer);
+            }
+        }
+    }
+
+    /** Encode changed elements
+     *  @param data Data to encode
+     *  @param changes Elements of the data to encode
+     *  @param buffer Buffer into which to encode the 'changes' bitset and the changed elements
+     *  @throws Exception on error
+     */
+    static void encodeChanges(final PVAStructure data, final BitSet changes, final ByteBuffer buffer) throws Exception
+    {
+        // Encode what changed
+        PVABitSet.encodeBitSet(changes, buffer);
+        // Encode the changed data
+        for (int index = changes.nextSetBit(0);
+                index >= 0;
+                index = changes.nextSetBit(index + 1))
+        {
+            data.get(index).encode(buffer);
+
+            // Javadoc for nextSetBit() suggests checking for MAX_VALUE
+            // to avoid index + 1 overflow and thus starting over with first bit
+            if (index == Integer.MAX_VALUE)
+                break;
+        }
+    }
+
+    /** @return Elements that changed in this update. Must not be modified */
+    BitSet getChanges()
+    {
+        return changes;
+    }
+
+    /** @return Size of encoded update in bytes */
+    int getSize()
+    {
+        return encoded.length;
+    }
+
+    /** Copy encoded update into buffer
+     *  @param buffer Buffer that receives the 'changes' bitset and the changed elements
+     *  @return <code>true</code> if update was copied,
+     *          <code>false</code> if buffer uses a different byte order
+     */
+    boolean copyTo(final ByteBuffer buffer)
+    {
+        if (buffer.order() != order)
+            return false;
+        buffer.put(encoded);
+        return true;
+    }
+}
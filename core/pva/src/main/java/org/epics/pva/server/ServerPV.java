@@ -9,13 +9,16 @@ package org.epics.pva.server;
 
 import static org.epics.pva.PVASettings.logger;
 
+import java.nio.ByteBuffer;
 import java.util.BitSet;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentHashMap.KeySetView;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
 import java.util.logging.Level;
 
+import org.epics.pva.PVASettings;
 import org.epics.pva.common.AccessRightsChange;
 import org.epics.pva.common.PVAHeader;
 import org.epics.pva.data.PVAString;
@@ -87,6 +90,12 @@ public class ServerPV implements AutoCloseable
     /** All the 'monitor' subscriptions to this PV */
     private final KeySetView<MonitorSubscription, Boolean> subscriptions = ConcurrentHashMap.newKeySet();
 
+    /** Size of the last encoded {@link MonitorUpdate}, used as a hint for the next one
+     *
+     *  <p>SYNC on data
+     */
+    private int update_size = PVASettings.TCP_BUFFER_SIZE;
+
     /** Create a PV for serving data
      *  @param name PV name
      *  @param data Initial value
@@ -175,6 +184,18 @@ public class ServerPV implements AutoCloseable
         subscriptions.add(subscription);
     }
 
+    /** Client acknowledged monitor updates in pipeline mode
+     *  @param tcp TCP connection of the client
+     *  @param req Client's monitor request ID
+     *  @param count Number of additional updates that client allows
+     */
+    void acknowledgeSubscription(final ServerTCPHandler tcp, final int req, final int count)
+    {
+        for (MonitorSubscription subscription : subscriptions)
+            if (subscription.isFor(tcp, req))
+                subscription.acknowledge(count);
+    }
+
     /** Forget monitor subscriptions
      *  @param tcp TCP connection for which to forget monitors
      *  @param req Specific monitor request or -1 to forget subscriptions for that connection
@@ -211,14 +232,34 @@ public class ServerPV implements AutoCloseable
      */
     public void update(final PVAStructure new_data) throws Exception
     {
-        // Update data
         synchronized (data)
         {
-            data.update(new_data);
+            // Update data
+            final BitSet changes = data.update(new_data);
+            if (subscriptions.isEmpty())
+                return;
+
+            // Encode the changes once, then update subscriptions.
+            // Handing the update to subscriptions while holding the lock
+            // assures that they receive concurrent updates in order.
+            final MonitorUpdate update = new MonitorUpdate(data, changes, update_size);
+            update_size = update.getSize();
+            for (MonitorSubscription subscription : subscriptions)
+                subscription.update(update);
+        }
+    }
+
+    /** Encode changed elements of the current value
+     *  @param changes Supplies the elements to encode, called while the PV is locked
+     *  @param buffer Buffer into which to encode the 'changes' bitset and the changed elements
+     *  @throws Exception on error
+     */
+    void encodeChanges(final Supplier<BitSet> changes, final ByteBuffer buffer) throws Exception
+    {
+        synchronized (data)
+        {
+            MonitorUpdate.encodeChanges(data, changes.get(), buffer);
         }
-        // Update subscriptions
-        for (MonitorSubscription subscription : subscriptions)
-            subscription.update(new_data);
     }
 
     /** Get current value (thread-safe copy)
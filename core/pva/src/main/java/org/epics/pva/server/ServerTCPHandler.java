@@ -13,6 +13,7 @@ import java.net.InetSocketAddress;
 import java.net.Socket;
 import java.nio.ByteBuffer;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.logging.Level;
 
 import org.epics.pva.common.CommandHandlers;
@@ -59,6 +60,11 @@ class ServerTCPHandler extends TCPHandler
     /** Auth info, e.g. client user info and his/her permissions */
     private volatile ServerAuth auth = ServerAuth.Anonymous;
 
+    /** Pipeline 'nfree' of monitor requests, by client's request ID.
+     *  Set on monitor INIT, used when monitor is (re-)started
+     */
+    private final ConcurrentHashMap<Integer, Integer> monitor_pipeline = new ConcurrentHashMap<>();
+
 
     public ServerTCPHandler(final PVAServer server, final Socket client, final TLSHandshakeInfo tls_info) throws Exception
     {
@@ -143,6 +149,25 @@ class ServerTCPHandler extends TCPHandler
         return client_types;
     }
 
+    /** @param req Client's monitor request ID
+     *  @param nfree Number of updates that client allows in pipeline mode, 0 to remove
+     */
+    void setMonitorPipeline(final int req, final int nfree)
+    {
+        if (nfree > 0)
+            monitor_pipeline.put(req, nfree);
+        else
+            monitor_pipeline.remove(req);
+    }
+
+    /** @param req Client's monitor request ID
+     *  @return Number of updates that client allows in pipeline mode, 0 when not pipelined
+     */
+    int getMonitorPipeline(final int req)
+    {
+        return monitor_pipeline.getOrDefault(req, 0);
+    }
+
     void setAuth(final ServerAuth auth)
     {
         this.auth = auth;
@@ -16,7 +16,6 @@ import java.net.ServerSocket;
 import java.net.Socket;
 import java.net.SocketTimeoutException;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 import java.util.logging.Level;
 
@@ -24,6 +23,7 @@ import javax.net.ssl.SSLHandshakeException;
 import javax.net.ssl.SSLSocket;
 
 import org.epics.pva.PVASettings;
+import org.epics.pva.common.IOThreads;
 import org.epics.pva.common.SecureSockets;
 import org.epics.pva.common.SecureSockets.TLSHandshakeInfo;;
 
@@ -36,12 +36,7 @@ import org.epics.pva.common.SecureSockets.TLSHandshakeInfo;;
  */
 class ServerTCPListener
 {
-    private final ExecutorService thread_pool = Executors.newCachedThreadPool(runnable ->
-    {
-        final Thread thread = new Thread(runnable);
-        thread.setDaemon(true);
-        return thread;
-    });
+    private final ExecutorService thread_pool = IOThreads.newExecutor("TCP connection");
 
     private final PVAServer server;
 
@@ -78,8 +73,7 @@ class ServerTCPListener
             tls_server_socket = null;
 
         // Start accepting connections
-        listen_thread = new Thread(this::listen, name);
-        listen_thread.setDaemon(true);
+        listen_thread = IOThreads.newThread(this::listen, name);
         listen_thread.start();
     }
 
@@ -23,6 +23,7 @@ import java.util.logging.Level;
 
 import org.epics.pva.PVASettings;
 import org.epics.pva.common.AddressInfo;
+import org.epics.pva.common.IOThreads;
 import org.epics.pva.common.Network;
 import org.epics.pva.common.OriginTag;
 import org.epics.pva.common.PVAHeader;
@@ -120,17 +121,15 @@ class ServerUDPHandler extends UDPHandler
         if (udp4 != null)
         {
             final ByteBuffer receive_buffer = ByteBuffer.allocate(PVASettings.MAX_UDP_PACKET);
-            listen_thread4 = new Thread(() -> listen(udp4, receive_buffer),
-                                        "UDP4-receiver " + Network.getLocalAddress(udp4));
-            listen_thread4.setDaemon(true);
+            listen_thread4 = IOThreads.newThread(() -> listen(udp4, receive_buffer),
+                                                 "UDP4-receiver " + Network.getLocalAddress(udp4));
             listen_thread4.start();
         }
         if (udp6 != null)
         {
             final ByteBuffer receive_buffer = ByteBuffer.allocate(PVASettings.MAX_UDP_PACKET);
-            listen_thread6 = new Thread(() -> listen(udp6, receive_buffer),
-                                        "UDP6-receiver " + Network.getLocalAddress(udp6));
-            listen_thread6.setDaemon(true);
+            listen_thread6 = IOThreads.newThread(() -> listen(udp6, receive_buffer),
+                                                 "UDP6-receiver " + Network.getLocalAddress(udp6));
             listen_thread6.start();
         }
     }
@@ -0,0 +1,106 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Phoebus contributors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ ******************************************************************************/
+package org.epics.pva.client;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.lessThan;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.epics.pva.PVASettings;
+import org.epics.pva.client.PVAClient.SearchStatistics;
+import org.epics.pva.data.PVAInt;
+import org.epics.pva.data.PVAStructure;
+import org.epics.pva.server.PVAServer;
+import org.epics.pva.server.ServerPV;
+import org.junit.jupiter.api.Test;
+
+/** Test searching many channels at once, boosting searches
+ *  @author agent
+ */
+@SuppressWarnings("nls")
+public class ChannelSearchTest
+{
+    @Test
+    public void testManyChannels() throws Exception
+    {
+        if (!PVASettings.EPICS_PVA_ENABLE_IPV6)
+        {
+            PVASettings.EPICS_PVAS_INTF_ADDR_LIST = "127.0.0.1";
+            PVASettings.EPICS_PVA_ADDR_LIST = "127.0.0.1";
+        }
+        final PVAServer server = new PVAServer();
+        final int count = 1000;
+        final List<ServerPV> pvs = new ArrayList<>();
+        for (int i=0; i<count; ++i)
+            pvs.add(server.createPV("search_test_" + i,
+                                    new PVAStructure("demo", "demo_t", new PVAInt("value", i))));
+
+        final PVAClient client = new PVAClient();
+        final List<PVAChannel> channels = new ArrayList<>();
+        final List<CompletableFuture<?>> connected = new ArrayList<>();
+        for (int i=0; i<count; ++i)
+        {
+            final PVAChannel channel = client.getChannel("search_test_" + i);
+            channels.add(channel);
+            connected.add(channel.connect());
+        }
+        CompletableFuture.allOf(connected.toArray(new CompletableFuture<?>[0])).get(10, TimeUnit.SECONDS);
+
+        final SearchStatistics stats = client.getSearchStatistics();
+        System.out.println(stats);
+        assertThat(stats.found(), equalTo((long) count));
+        assertThat(stats.names(), greaterThanOrEqualTo((long) count));
+        // Several names are packed into each search message,
+        // and the jump-started searches are combined into few rounds
+        assertThat(stats.packets(), lessThan(count / 10L));
+        assertThat(stats.rounds(), lessThan(count / 10L));
+
+        for (PVAChannel channel : channels)
+            channel.close();
+        client.close();
+        for (ServerPV pv : pvs)
+            pv.close();
+        server.close();
+    }
+
+    @Test
+    public void testBoost() throws Exception
+    {
+        final PVAClient client = new PVAClient();
+        // Search without any addresses, only counting the searched names
+        final ChannelSearch search = new ChannelSearch(null, List.of(), (address, tls) -> null, List.of());
+        final int count = 100;
+        for (int i=0; i<count; ++i)
+            search.register(new PVAChannel(client, "missing_" + i, (channel, state) -> {}, null), false);
+
+        // Let searches settle to the long period
+        for (int i=0; i<100; ++i)
+            search.runSearches();
+
+        // Boost restarts the searches, but not all at once.
+        // Duplicate boost from same beacon received via other network interface is ignored.
+        search.boost();
+        search.boost();
+        final long names = search.getStatistics().names();
+        search.runSearches();
+        assertThat(search.getStatistics().names() - names, equalTo((long) count / ChannelSearch.BOOST_SPREAD));
+
+        // All restarted searches have been sent after a few seconds
+        for (int i=1; i<ChannelSearch.BOOST_SPREAD; ++i)
+            search.runSearches();
+        assertThat(search.getStatistics().names() - names, greaterThanOrEqualTo((long) count));
+        search.close();
+        client.close();
+    }
+}
@@ -0,0 +1,179 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Phoebus contributors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ ******************************************************************************/
+package org.epics.pva.combined;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.lessThan;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.epics.pva.PVASettings;
+import org.epics.pva.client.PVAChannel;
+import org.epics.pva.client.PVAClient;
+import org.epics.pva.data.PVADoubleArray;
+import org.epics.pva.data.PVAInt;
+import org.epics.pva.data.PVAStructure;
+import org.epics.pva.server.PVAServer;
+import org.epics.pva.server.ServerPV;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+/** Test monitors with many subscribers and with pipelining
+ *  @author agent
+ */
+@SuppressWarnings("nls")
+public class MonitorPipelineTest
+{
+    private static PVAServer server;
+    private static PVAClient client;
+
+    @BeforeAll
+    public static void setup() throws Exception
+    {
+        if (!PVASettings.EPICS_PVA_ENABLE_IPV6)
+        {
+            PVASettings.EPICS_PVAS_INTF_ADDR_LIST = "127.0.0.1";
+            PVASettings.EPICS_PVA_ADDR_LIST = "127.0.0.1";
+        }
+        server = new PVAServer();
+        client = new PVAClient();
+    }
+
+    @AfterAll
+    public static void tearDown()
+    {
+        client.close();
+        server.close();
+    }
+
+    /** Counter and waveform where each array element equals the counter */
+    private static PVAStructure createData(final int count)
+    {
+        final double[] array = new double[10000];
+        for (int i=0; i<array.length; ++i)
+            array[i] = count;
+        return new PVAStructure("demo", "demo_t",
+                                new PVAInt("count", count),
+                                new PVADoubleArray("value", array));
+    }
+
+    /** @return Count of received data after checking that array matches the count */
+    private static int checkData(final PVAStructure data)
+    {
+        final int count = ((PVAInt) data.get("count")).get();
+        final double[] array = ((PVADoubleArray) data.get("value")).get();
+        for (double element : array)
+            assertThat(element, equalTo((double) count));
+        return count;
+    }
+
+    @Test
+    public void testManySubscribers() throws Exception
+    {
+        final String name = "shared_update_test";
+        final ServerPV pv = server.createPV(name, createData(0));
+        final PVAChannel channel = client.getChannel(name);
+        channel.connect().get(10, TimeUnit.SECONDS);
+
+        final int subscribers = 20, updates = 50;
+        final CountDownLatch done = new CountDownLatch(subscribers);
+        final List<AutoCloseable> subscriptions = new ArrayList<>();
+        final List<List<Integer>> received = new ArrayList<>();
+        for (int s=0; s<subscribers; ++s)
+        {
+            final List<Integer> counts = new CopyOnWriteArrayList<>();
+            received.add(counts);
+            subscriptions.add(channel.subscribe("", (ch, changes, overruns, data) ->
+            {
+                final int count = checkData(data);
+                counts.add(count);
+                if (count == updates)
+                    done.countDown();
+            }));
+        }
+
+        // Wait for initial value
+        TimeUnit.MILLISECONDS.sleep(500);
+        for (int i=1; i<=updates; ++i)
+        {
+            pv.update(createData(i));
+            TimeUnit.MILLISECONDS.sleep(5);
+        }
+        assertThat(done.await(10, TimeUnit.SECONDS), equalTo(true));
+
+        // Each subscriber receives updates in order, ending with the last one
+        for (List<Integer> counts : received)
+        {
+            for (int i=1; i<counts.size(); ++i)
+                assertThat(counts.get(i), greaterThan(counts.get(i-1)));
+            assertThat(counts.get(counts.size()-1), equalTo(updates));
+        }
+
+        for (AutoCloseable subscription : subscriptions)
+            subscription.close();
+        channel.close();
+        pv.close();
+    }
+
+    @Test
+    public void testPipeline() throws Exception
+    {
+        final String name = "pipeline_test";
+        final ServerPV pv = server.createPV(name, createData(0));
+        final PVAChannel channel = client.getChannel(name);
+        channel.connect().get(10, TimeUnit.SECONDS);
+
+        final int updates = 100;
+        final CountDownLatch done = new CountDownLatch(1);
+        final List<Integer> counts = new CopyOnWriteArrayList<>();
+        final AtomicInteger overruns = new AtomicInteger();
+        // Slow client
+        final AutoCloseable subscription = channel.subscribe("", 4, (ch, changes, overrun, data) ->
+        {
+            final int count = checkData(data);
+            counts.add(count);
+            if (! overrun.isEmpty())
+                overruns.incrementAndGet();
+            if (count == updates)
+                done.countDown();
+            try
+            {
+                TimeUnit.MILLISECONDS.sleep(20);
+            }
+            catch (InterruptedException ex)
+            {
+                // Ignore
+            }
+        });
+
+        // Wait for initial value
+        TimeUnit.MILLISECONDS.sleep(500);
+        for (int i=1; i<=updates; ++i)
+            pv.update(createData(i));
+        assertThat(done.await(10, TimeUnit.SECONDS), equalTo(true));
+
+        // Client received the last value, but skipped some
+        System.out.println("Pipelined client received " + counts.size() + " updates, " + overruns.get() + " with overruns");
+        for (int i=1; i<counts.size(); ++i)
+            assertThat(counts.get(i), greaterThan(counts.get(i-1)));
+        assertThat(counts.size(), lessThan(updates));
+        assertThat(overruns.get(), greaterThan(0));
+
+        subscription.close();
+        channel.close();
+        pv.close();
+    }
+}
@@ -0,0 +1,81 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Phoebus contributors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ ******************************************************************************/
+package org.epics.pva.common;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+import org.epics.pva.PVASettings;
+import org.junit.jupiter.api.Test;
+
+/** Unit test of BufferPool
+ *  @author agent
+ */
+public class BufferPoolTest
+{
+    @Test
+    public void testSizeClasses()
+    {
+        ByteBuffer buffer = BufferPool.acquire(10);
+        assertEquals(PVASettings.TCP_BUFFER_SIZE, buffer.capacity());
+        BufferPool.release(buffer);
+
+        buffer = BufferPool.acquire(PVASettings.TCP_BUFFER_SIZE + 1);
+        assertEquals(2 * PVASettings.TCP_BUFFER_SIZE, buffer.capacity());
+        BufferPool.release(buffer);
+
+        buffer = BufferPool.acquire(1000000);
+        assertEquals(1024 * 1024, buffer.capacity());
+        BufferPool.release(buffer);
+    }
+
+    @Test
+    public void testSendBufferSizeClass()
+    {
+        // Default send buffer leaves room for coalescing messages
+        // within its size class, not requiring the next larger one
+        final int capacity = BufferPool.getCapacity(PVASettings.EPICS_PVA_SEND_BUFFER_SIZE);
+        assertEquals(8 * 1024 * 1024, capacity);
+        assertTrue(PVASettings.EPICS_PVA_SEND_BUFFER_SIZE + PVASettings.EPICS_PVA_SEND_COALESCE_SIZE <= capacity);
+
+        final ByteBuffer buffer = BufferPool.acquire(PVASettings.EPICS_PVA_SEND_BUFFER_SIZE);
+        assertEquals(capacity, buffer.capacity());
+        BufferPool.release(buffer);
+    }
+
+    @Test
+    public void testReuse()
+    {
+        final ByteBuffer buffer = BufferPool.acquire(100000);
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putInt(42);
+        BufferPool.release(buffer);
+        System.out.println(BufferPool.getStatistics());
+
+        // Same size class returns the same, cleared buffer
+        final ByteBuffer again = BufferPool.acquire(70000);
+        assertSame(buffer, again);
+        assertEquals(0, again.position());
+        assertEquals(again.capacity(), again.limit());
+        assertEquals(ByteOrder.BIG_ENDIAN, again.order());
+
+        // Other size class is a different buffer
+        final ByteBuffer other = BufferPool.acquire(200000);
+        assertNotSame(buffer, other);
+        System.out.println(BufferPool.getStatistics());
+
+        BufferPool.release(other);
+        BufferPool.release(again);
+        System.out.println(BufferPool.getStatistics());
+    }
+}
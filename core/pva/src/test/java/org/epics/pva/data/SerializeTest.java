@@ -10,8 +10,13 @@ package org.epics.pva.data;
 import org.junit.jupiter.api.Test;
 
 import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+import org.epics.pva.PVASettings;
 
 import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.sameInstance;
 import static org.hamcrest.MatcherAssert.assertThat;
 
 public class SerializeTest
@@ -44,4 +49,76 @@ public class SerializeTest
             assertThat(readback, equalTo(size));
         }
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testArrays() throws Exception
+    {
+        final PVATypeRegistry types = new PVATypeRegistry();
+        for (ByteOrder order : new ByteOrder[] { ByteOrder.BIG_ENDIAN, ByteOrder.LITTLE_ENDIAN })
+        {
+            final ByteBuffer buffer = ByteBuffer.allocate(1000).order(order);
+            new PVADoubleArray("d", 1.0, -2.5, 3e10).encode(buffer);
+            new PVAFloatArray("f", 1.5f, -2.0f).encode(buffer);
+            new PVALongArray("l", false, 1L, Long.MIN_VALUE).encode(buffer);
+            new PVAIntArray("i", false, 7, -8, Integer.MAX_VALUE).encode(buffer);
+            new PVAShortArray("s", false, (short) 1, (short) -2).encode(buffer);
+            new PVAByteArray("b", false, (byte) 1, (byte) -2, (byte) 3).encode(buffer);
+            // Marker to check that decoding ends at the correct buffer position
+            buffer.putInt(0xCAFE);
+            buffer.flip();
+
+            final PVADoubleArray d = new PVADoubleArray("d");
+            d.decode(types, buffer);
+            assertThat(d.get(), equalTo(new double[] { 1.0, -2.5, 3e10 }));
+            final PVAFloatArray f = new PVAFloatArray("f");
+            f.decode(types, buffer);
+            assertThat(f.get(), equalTo(new float[] { 1.5f, -2.0f }));
+            final PVALongArray l = new PVALongArray("l", false);
+            l.decode(types, buffer);
+            assertThat(l.get(), equalTo(new long[] { 1L, Long.MIN_VALUE }));
+            final PVAIntArray i = new PVAIntArray("i", false);
+            i.decode(types, buffer);
+            assertThat(i.get(), equalTo(new int[] { 7, -8, Integer.MAX_VALUE }));
+            final PVAShortArray s = new PVAShortArray("s", false);
+            s.decode(types, buffer);
+            assertThat(s.get(), equalTo(new short[] { 1, -2 }));
+            final PVAByteArray b = new PVAByteArray("b", false);
+            b.decode(types, buffer);
+            assertThat(b.get(), equalTo(new byte[] { 1, -2, 3 }));
+            assertThat(buffer.getInt(), equalTo(0xCAFE));
+        }
+    }
+
+    @Test
+    public void testArrayReuse() throws Exception
+    {
+        final PVATypeRegistry types = new PVATypeRegistry();
+        final ByteBuffer buffer = ByteBuffer.allocate(100);
+        new PVADoubleArray("d", 1.0, 2.0).encode(buffer);
+        new PVADoubleArray("d", 3.0, 4.0).encode(buffer);
+        buffer.flip();
+
+        final boolean orig = PVASettings.EPICS_PVA_REUSE_ARRAYS;
+        try
+        {
+            final PVADoubleArray d = new PVADoubleArray("d");
+
+            PVASettings.EPICS_PVA_REUSE_ARRAYS = false;
+            d.decode(types, buffer);
+            final double[] first = d.get();
+            buffer.rewind();
+            d.decode(types, buffer);
+            assertThat(d.get(), not(sameInstance(first)));
+
+            PVASettings.EPICS_PVA_REUSE_ARRAYS = true;
+            final double[] second = d.get();
+            d.decode(types, buffer);
+            assertThat(d.get(), sameInstance(second));
+            assertThat(d.get(), equalTo(new double[] { 3.0, 4.0 }));
+        }
+        finally
+        {
+            PVASettings.EPICS_PVA_REUSE_ARRAYS = orig;
+        }
+    }
+}
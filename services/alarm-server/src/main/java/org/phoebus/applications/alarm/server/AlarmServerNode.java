@@ -9,13 +9,18 @@ package org.phoebus.applications.alarm.server;
 
 import static org.phoebus.applications.alarm.AlarmSystem.logger;
 
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.logging.Level;
 
 import org.phoebus.applications.alarm.client.AlarmClientNode;
 import org.phoebus.applications.alarm.model.AlarmTreeItem;
+import org.phoebus.applications.alarm.model.AlarmTreePath;
 import org.phoebus.applications.alarm.model.BasicState;
 import org.phoebus.applications.alarm.model.SeverityLevel;
 import org.phoebus.applications.alarm.model.TitleDetailDelay;
@@ -25,6 +30,12 @@ import org.phoebus.applications.alarm.server.actions.AutomatedActionsHelper;
 /** Alarm tree node as used by server
  *
  *  <p>Is part of ServerModel, can maximize severity.
+ *
+ *  <p>Tracks the number of child items for each severity.
+ *  When a child item reports a change, only that child is checked
+ *  and the severity of the node is then based on the counts,
+ *  instead of checking all children.
+ *  The changes are applied by {@link SeverityPropagation}.
  *  @author Kay Kasemir
  */
 @SuppressWarnings("nls")
@@ -44,10 +55,32 @@ public class AlarmServerNode extends AlarmClientNode
 
     private volatile String severity_pv_name = null;
 
+    /** Depth in alarm tree, 1 for root */
+    private final int depth;
+
+    /** Severity that each child contributes to the severity_counts.
+     *  Disabled PVs and removed children contribute nothing.
+     *  SYNC on this
+     */
+    private final Map<AlarmTreeItem<?>, SeverityLevel> contributions = new HashMap<>();
+
+    /** Number of children for each severity level, SYNC on this */
+    private final int[] severity_counts = new int[SeverityLevel.values().length];
+
+    /** Children that reported a change, SYNC on this */
+    private final Set<AlarmTreeItem<?>> changed_children = new HashSet<>();
+
     public AlarmServerNode(final ServerModel model, final String parent_path, final String name)
     {
         super(parent_path, name);
         this.model = model;
+        depth = AlarmTreePath.splitPath(getPathName()).length;
+    }
+
+    /** @return Depth in alarm tree, 1 for root */
+    int getDepth()
+    {
+        return depth;
     }
 
     @Override
@@ -58,48 +91,100 @@ public class AlarmServerNode extends AlarmClientNode
 
     /** Set severity of this item by maximizing over its child severities.
      *  Recursively updates parent items.
+     *
+     *  <p>Checks all child items.
+     *  The update is performed by the {@link SeverityPropagation},
+     *  i.e. by the time this method returns
+     *  the severity might not have been updated, yet.
      */
     public void maximizeSeverity()
     {
-        try
+        synchronized (this)
         {
-            SeverityLevel new_severity = SeverityLevel.OK;
+            changed_children.addAll(getChildren());
+            // Includes children that have been removed
+            changed_children.addAll(contributions.keySet());
+        }
+        model.propagateSeverity(this);
+    }
 
-            for (AlarmTreeItem<?> child : getChildren())
-            {
-                // Skip disabled PVs
-                if ((child instanceof AlarmServerPV)  &&
-                    ! ((AlarmServerPV) child).isEnabled())
-                    continue;
-                final SeverityLevel child_severity = child.getState().severity;
-                if (child_severity.ordinal() > new_severity.ordinal())
-                    new_severity = child_severity;
-            }
+    /** Child item changed its severity, was enabled, disabled or removed
+     *
+     *  <p>The update is performed by the {@link SeverityPropagation}.
+     *
+     *  @param child Child item of this node
+     */
+    public void childChanged(final AlarmTreeItem<?> child)
+    {
+        synchronized (this)
+        {
+            changed_children.add(child);
+        }
+        model.propagateSeverity(this);
+    }
 
-            if (never_updated  ||  new_severity != getState().severity)
+    /** Update severity based on the changed children
+     *
+     *  <p>Called by {@link SeverityPropagation}
+     *
+     *  @return Parent node that needs to be updated because this node changed, or <code>null</code>
+     */
+    AlarmServerNode updateSeverity()
+    {
+        final SeverityLevel new_severity;
+        synchronized (this)
+        {
+            for (AlarmTreeItem<?> child : changed_children)
             {
-                never_updated = false;
-                final BasicState new_state = new BasicState(new_severity);
-                setState(new_state);
-                model.sendStateUpdate(getPathName(), new_state);
-
-                // Update automated actions
-                AutomatedActionsHelper.update(automated_actions, new_severity);
-
-                // Write optional severity PV
-                final String pv = severity_pv_name;
-                if (pv != null)
-                    SeverityPVHandler.update(pv, new_severity);
+                // Skip removed children and disabled PVs
+                final SeverityLevel child_severity;
+                if (child.getParent() != this  ||
+                    ((child instanceof AlarmServerPV)  &&  ! ((AlarmServerPV) child).isEnabled()))
+                    child_severity = null;
+                else
+                    child_severity = child.getState().severity;
+
+                final SeverityLevel previous = child_severity == null
+                                             ? contributions.remove(child)
+                                             : contributions.put(child, child_severity);
+                if (previous != null)
+                    --severity_counts[previous.ordinal()];
+                if (child_severity != null)
+                    ++severity_counts[child_severity.ordinal()];
             }
+            changed_children.clear();
+
+            int level = severity_counts.length - 1;
+            while (level > 0  &&  severity_counts[level] <= 0)
+                --level;
+            new_severity = SeverityLevel.values()[level];
+
+            if (!never_updated  &&  new_severity == getState().severity)
+                return null;
 
-            // Percolate changes towards root
-            if (parent instanceof AlarmServerNode)
-                ((AlarmServerNode) parent).maximizeSeverity();
+            never_updated = false;
+            final BasicState new_state = new BasicState(new_severity);
+            setState(new_state);
+            model.sendStateUpdate(getPathName(), new_state);
         }
-        catch (Throwable ex)
+
+        // Update automated actions
+        AutomatedActionsHelper.update(automated_actions, new_severity);
+
+        // Write optional severity PV
+        final String pv = severity_pv_name;
+        if (pv != null)
+            SeverityPVHandler.update(pv, new_severity);
+
+        // Percolate changes towards root
+        final AlarmServerNode parent = getParent();
+        if (parent == null)
+            return null;
+        synchronized (parent)
         {
-            throw new RuntimeException(getPathName() + " failed to maximize severity", ex);
+            parent.changed_children.add(this);
         }
+        return parent;
     }
 
     @Override
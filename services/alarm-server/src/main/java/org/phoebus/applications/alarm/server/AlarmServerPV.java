@@ -116,7 +116,7 @@ public class AlarmServerPV extends AlarmTreeItem<AlarmState> implements AlarmTre
                 // Whenever logic computes new state, maximize up parent tree
                 final AlarmServerNode parent = getParent();
                 if (parent != null)
-                    parent.maximizeSeverity();
+                    parent.childChanged(AlarmServerPV.this);
                 else
                     logger.log(Level.FINE, getPathName() + " ignores delayed change to " + current + ", " + alarm + " since no longer in alarm tree");
             }
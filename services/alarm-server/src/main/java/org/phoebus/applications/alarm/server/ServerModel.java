@@ -13,8 +13,10 @@ import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.List;
+import java.util.Locale;
 import java.util.Objects;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.logging.Level;
 
 import org.apache.kafka.clients.consumer.Consumer;
@@ -46,6 +48,10 @@ import org.phoebus.applications.alarm.server.actions.InfoPVActionExecutor;
  *
  *  <p>Publishes alarm state updates to the "AcceleratorState" topic.
  *
+ *  <p>Maintains an index of all nodes by path and of all PVs by name
+ *  so that configuration updates and commands can locate
+ *  an item without walking the alarm tree.
+ *
  *  @author Kay Kasemir
  */
 @SuppressWarnings("nls")
@@ -64,10 +70,20 @@ class ServerModel
     private final String config_state_topic, command_topic, talk_topic;
     private final ServerModelListener listener;
     private final AlarmServerNode root;
+
+    /** All items in the alarm tree by path name, including the root */
+    private final ConcurrentHashMap<String, AlarmTreeItem<?>> nodes_by_path = new ConcurrentHashMap<>();
+
+    /** All PVs by lower-case name.
+     *  Usually one PV per name, but the same PV may be
+     *  listed in more than one place of the alarm tree.
+     */
+    private final ConcurrentHashMap<String, List<AlarmServerPV>> pvs_by_name = new ConcurrentHashMap<>();
     private volatile boolean running = true;
     private final Consumer<String, String> consumer;
     private final Producer<String, String> producer;
     private final Thread thread;
+    private final SeverityPropagation severity_propagation = new SeverityPropagation(AlarmSystem.severity_propagation_ms);
     private long last_state_update = 0;
     private long last_annunciation = 0;
 
@@ -92,6 +108,26 @@ class ServerModel
                        final ConcurrentHashMap<String, ClientState> initial_states,
                        final ServerModelListener listener,
                        final String kafka_properties_file)
+    {
+        this(config_name, initial_states, listener,
+             KafkaHelper.connectConsumer(Objects.requireNonNull(kafka_servers),
+                                         List.of(config_name, config_name + AlarmSystem.COMMAND_TOPIC_SUFFIX),
+                                         List.of(config_name),
+                                         kafka_properties_file),
+             KafkaHelper.connectProducer(kafka_servers, kafka_properties_file));
+    }
+
+    /** @param config_name Name of alarm tree root
+     *  @param initial_states
+     *  @param listener
+     *  @param consumer Consumer for the config and command topics
+     *  @param producer Producer for the state and talk topics
+     */
+    ServerModel(final String config_name,
+                final ConcurrentHashMap<String, ClientState> initial_states,
+                final ServerModelListener listener,
+                final Consumer<String, String> consumer,
+                final Producer<String, String> producer)
     {
         this.initial_states = initial_states;
 
@@ -101,12 +137,10 @@ class ServerModel
         this.listener = Objects.requireNonNull(listener);
 
         root = new AlarmServerNode(this, null, config_name);
+        nodes_by_path.put(root.getPathName(), root);
 
-        consumer = KafkaHelper.connectConsumer(Objects.requireNonNull(kafka_servers),
-                                               List.of(config_state_topic, command_topic),
-                                               List.of(config_state_topic),
-                                               kafka_properties_file);
-        producer = KafkaHelper.connectProducer(kafka_servers, kafka_properties_file);
+        this.consumer = consumer;
+        this.producer = producer;
 
         thread = new Thread(this::run, "ServerModel");
         thread.setDaemon(true);
@@ -241,58 +275,7 @@ class ServerModel
                 final String node_config = record.value();
                 try
                 {
-                    // System.out.printf("\n%s - %s:\n", path, node_config);
-                    if (node_config == null)
-                    {   // No config -> Delete node
-                        final AlarmTreeItem<?> node = deleteNode(path);
-                        if (node != null)
-                            stopDeletedPVs(node);
-                        // else: Deletion message for node we never created
-                    }
-                    else
-                    {
-                        // Get node_config as JSON map to check for "pv" key
-                        final Object json = JsonModelReader.parseJsonText(node_config);
-
-                        // Ignore 'delete' messages because they don't update the config
-                        // and would result in superfluous PV stop() and re-start().
-                        // The follow-up message with config == null will actually delete the AlarmServerPV
-                        if (JsonModelReader.isConfigDeletion(json))
-                            continue;
-
-                        AlarmTreeItem<?> node = findNode(path);
-
-                        // New node? Create it.
-                        final boolean new_node = node == null;
-                        if (new_node)
-                            node = findOrCreateNode(path, JsonModelReader.isLeafConfigOrState(json));
-
-                        // If an existing (i.e. started) PV is about to be updated, stop it.
-                        if (node instanceof AlarmServerPV   &&  !new_node)
-                            ((AlarmServerPV)node).stop();
-
-                        // Return value of update..() tells us if it really changed.
-                        // It might not have been necessary to stop the PV, but hard to tell in advance...
-                        JsonModelReader.updateAlarmItemConfig(node, json);
-
-                        // A new PV, or an existing one that was stopped: Start it
-                        if (node instanceof AlarmServerPV)
-                        {
-                            final AlarmServerPV pv = (AlarmServerPV) node;
-                            // Update parents in case node was disabled
-                            // (i.e. 'start()' won't do anything),
-                            // and to reflect last known state ASAP
-                            // before the PV connects
-                            pv.getParent().maximizeSeverity();
-                            pv.start();
-
-                            //check if using past disabled date
-                            LocalDateTime enabled_date = pv.getEnabledDate();
-                            if (enabled_date != null && enabled_date.isBefore(LocalDateTime.now())) {
-                                pv.setEnabled(true);
-                            }
-                        }
-                    }
+                    handleConfigUpdate(path, node_config);
                 }
                 catch (Exception ex)
                 {
@@ -305,6 +288,67 @@ class ServerModel
         }
     }
 
+    /** Handle configuration update
+     *
+     *  @param path Path to node
+     *  @param node_config Configuration of node as JSON, <code>null</code> to delete
+     *  @throws Exception on error
+     */
+    void handleConfigUpdate(final String path, final String node_config) throws Exception
+    {
+        // System.out.printf("\n%s - %s:\n", path, node_config);
+        if (node_config == null)
+        {   // No config -> Delete node
+            final AlarmTreeItem<?> node = deleteNode(path);
+            if (node != null)
+                stopDeletedPVs(node);
+            // else: Deletion message for node we never created
+            return;
+        }
+
+        // Get node_config as JSON map to check for "pv" key
+        final Object json = JsonModelReader.parseJsonText(node_config);
+
+        // Ignore 'delete' messages because they don't update the config
+        // and would result in superfluous PV stop() and re-start().
+        // The follow-up message with config == null will actually delete the AlarmServerPV
+        if (JsonModelReader.isConfigDeletion(json))
+            return;
+
+        AlarmTreeItem<?> node = findNode(path);
+
+        // New node? Create it.
+        final boolean new_node = node == null;
+        if (new_node)
+            node = findOrCreateNode(path, JsonModelReader.isLeafConfigOrState(json));
+
+        // If an existing (i.e. started) PV is about to be updated, stop it.
+        if (node instanceof AlarmServerPV   &&  !new_node)
+            ((AlarmServerPV)node).stop();
+
+        // Return value of update..() tells us if it really changed.
+        // It might not have been necessary to stop the PV, but hard to tell in advance...
+        JsonModelReader.updateAlarmItemConfig(node, json);
+
+        // A new PV, or an existing one that was stopped: Start it
+        if (node instanceof AlarmServerPV)
+        {
+            final AlarmServerPV pv = (AlarmServerPV) node;
+            // Update parents in case node was disabled
+            // (i.e. 'start()' won't do anything),
+            // and to reflect last known state ASAP
+            // before the PV connects
+            pv.getParent().childChanged(pv);
+            pv.start();
+
+            //check if using past disabled date
+            LocalDateTime enabled_date = pv.getEnabledDate();
+            if (enabled_date != null && enabled_date.isBefore(LocalDateTime.now())) {
+                pv.setEnabled(true);
+            }
+        }
+    }
+
     /** Find existing node
      *
      *  @param path Path to node
@@ -313,6 +357,11 @@ class ServerModel
      */
     public AlarmTreeItem<?> findNode(final String path) throws Exception
     {
+        // Usually called with the exact path name of a node
+        final AlarmTreeItem<?> node = nodes_by_path.get(path);
+        if (node != null)
+            return node;
+
         final String[] path_elements = AlarmTreePath.splitPath(path);
 
         // Start of path must match the alarm tree root
@@ -320,16 +369,8 @@ class ServerModel
             !root.getName().equals(path_elements[0]))
             throw new Exception("Invalid path for alarm configuration " + root.getName() + ": " + path);
 
-        // Walk down the path
-        AlarmTreeItem<?> node = root;
-        for (int i=1; i<path_elements.length; ++i)
-        {
-            final String name = path_elements[i];
-            node = node.getChild(name);
-            if (node == null)
-                return null;
-        }
-        return node;
+        // Check normalized path, for example without duplicate or trailing '/'
+        return nodes_by_path.get(AlarmTreePath.makePath(path_elements, path_elements.length));
     }
 
 
@@ -340,24 +381,40 @@ class ServerModel
      */
     public AlarmServerPV findPV(final String name)
     {
-        return findPV(name, root);
+        final List<AlarmServerPV> pvs = pvs_by_name.get(name.toLowerCase(Locale.ROOT));
+        if (pvs != null)
+            // Return the first PV, iterating to be safe against concurrent removal
+            for (AlarmServerPV pv : pvs)
+                return pv;
+        return null;
     }
 
-    private AlarmServerPV findPV(final String name, final AlarmTreeItem<?> node)
+    /** Add newly created item to index
+     *  @param node Item that was added to the alarm tree
+     */
+    private void addToIndex(final AlarmTreeItem<?> node)
     {
+        nodes_by_path.put(node.getPathName(), node);
         if (node instanceof AlarmServerPV)
-        {
-            if (node.getName().equalsIgnoreCase(name))
-                return (AlarmServerPV) node;
-        }
+            pvs_by_name.computeIfAbsent(node.getName().toLowerCase(Locale.ROOT), n -> new CopyOnWriteArrayList<>())
+                       .add((AlarmServerPV) node);
+    }
+
+    /** Remove items from index
+     *  @param node Item that was removed from the alarm tree, recursing to its child items
+     */
+    private void removeFromIndex(final AlarmTreeItem<?> node)
+    {
+        nodes_by_path.remove(node.getPathName(), node);
+        if (node instanceof AlarmServerPV)
+            pvs_by_name.computeIfPresent(node.getName().toLowerCase(Locale.ROOT), (n, pvs) ->
+            {
+                pvs.remove(node);
+                return pvs.isEmpty() ? null : pvs;
+            });
         else
             for (AlarmTreeItem<?> child : node.getChildren())
-            {
-                final AlarmServerPV pv = findPV(name, child);
-                if (pv != null)
-                    return pv;
-            }
-        return null;
+                removeFromIndex(child);
     }
 
     /** Find an existing alarm tree item or create a new one
@@ -394,12 +451,14 @@ class ServerModel
                 {
                     final AlarmServerPV pv = new AlarmServerPV(this, parent.getPathName(), name, initial_states.remove(path));
                     pv.addToParent(parent);
+                    addToIndex(pv);
                     return pv;
                 }
                 else
                 {
                     node = new AlarmServerNode(this, parent.getPathName(), name);
                     node.addToParent(parent);
+                    addToIndex(node);
                 }
             }
             // Reached desired node?
@@ -439,10 +498,11 @@ class ServerModel
         // Detach it
         final AlarmTreeItem<BasicState> parent = node.getParent();
         node.detachFromParent();
+        removeFromIndex(node);
 
         // Removing a node that was in alarm can update the severity of the parent
         if (parent instanceof AlarmServerNode)
-            ((AlarmServerNode)parent).maximizeSeverity();
+            ((AlarmServerNode)parent).childChanged(node);
         return node;
     }
 
@@ -463,6 +523,18 @@ class ServerModel
                 stopDeletedPVs(child);
     }
 
+    /** @param node Node with changed children that needs to update its severity */
+    void propagateSeverity(final AlarmServerNode node)
+    {
+        severity_propagation.schedule(node);
+    }
+
+    /** Update severity of nodes with changed children right now */
+    void flushSeverityUpdates()
+    {
+        severity_propagation.update();
+    }
+
     /** Send alarm update to 'state' topic
      *  @param path Path of item that has a new state
      *  @param new_state That new state
@@ -624,7 +696,11 @@ class ServerModel
 
         // Delete config
         root.getChildren().clear();
+        nodes_by_path.keySet().removeIf(path -> ! path.equals(root.getPathName()));
+        pvs_by_name.clear();
         root.maximizeSeverity();
+        flushSeverityUpdates();
+        severity_propagation.shutdown();
         logger.info("Cleared configuration for " + root.getName());
     }
 }
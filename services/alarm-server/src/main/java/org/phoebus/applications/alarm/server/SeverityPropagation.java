@@ -0,0 +1,142 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Phoebus contributors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.phoebus.applications.alarm.server;
+
+import static org.phoebus.applications.alarm.AlarmSystem.logger;
+
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Level;
+
+/** Propagation of severity changes up the alarm tree
+ *
+ *  <p>When a PV or node changes its severity, its parent is marked 'dirty'.
+ *  Dirty nodes are updated once per period, deepest nodes first,
+ *  so a node whose children changed many times within the period
+ *  is still only computed once,
+ *  and changes to several children of a node are handled together
+ *  before moving on to the parent of the node.
+ *
+ *  <p>With a period of zero, nodes are updated right away
+ *  in the thread that reports the change.
+ *
+ *  <p>Only one thread at a time performs updates,
+ *  so automated actions and severity PVs of a node
+ *  are updated in the order in which its severity changes.
+ *
+ *  @author agent
+ */
+@SuppressWarnings("nls")
+class SeverityPropagation
+{
+    /** Order nodes by depth, deepest first */
+    private static final Comparator<AlarmServerNode> DEEPEST_FIRST = Comparator.comparingInt(AlarmServerNode::getDepth).reversed();
+
+    /** Period in millisec, 0 to update right away */
+    private final long period_ms;
+
+    /** Nodes with changed children */
+    private final Set<AlarmServerNode> dirty = ConcurrentHashMap.newKeySet();
+
+    /** Has an update been scheduled? */
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+
+    private final ScheduledExecutorService timer;
+
+    /** Lock that allows only one thread to update nodes */
+    private final Object update_lock = new Object();
+
+    /** @param period_ms Period in millisec, 0 to update right away */
+    SeverityPropagation(final long period_ms)
+    {
+        this.period_ms = period_ms;
+        if (period_ms > 0)
+            timer = Executors.newSingleThreadScheduledExecutor(runnable ->
+            {
+                final Thread thread = new Thread(runnable);
+                thread.setName("SeverityPropagation");
+                thread.setDaemon(true);
+                return thread;
+            });
+        else
+            timer = null;
+    }
+
+    /** @param node Node with changed children that needs to be updated */
+    void schedule(final AlarmServerNode node)
+    {
+        dirty.add(node);
+        if (timer == null)
+            update();
+        else if (scheduled.compareAndSet(false, true))
+        {
+            try
+            {
+                timer.schedule(this::update, period_ms, TimeUnit.MILLISECONDS);
+            }
+            catch (RejectedExecutionException ex)
+            {   // Late update after shutdown, ignore
+                scheduled.set(false);
+                dirty.clear();
+            }
+        }
+    }
+
+    /** Update all dirty nodes */
+    void update()
+    {
+        synchronized (update_lock)
+        {
+            updateDirtyNodes();
+        }
+    }
+
+    private void updateDirtyNodes()
+    {
+        scheduled.set(false);
+        final PriorityQueue<AlarmServerNode> queue = new PriorityQueue<>(DEEPEST_FIRST);
+        final Set<AlarmServerNode> queued = new HashSet<>();
+        for (AlarmServerNode node : dirty)
+            // Skip node if another thread already took it
+            if (dirty.remove(node)  &&  queued.add(node))
+                queue.add(node);
+
+        // Parents of updated nodes are added to the queue.
+        // Being less deep, they are handled after all their dirty children.
+        AlarmServerNode node = queue.poll();
+        while (node != null)
+        {
+            try
+            {
+                final AlarmServerNode parent = node.updateSeverity();
+                if (parent != null  &&  queued.add(parent))
+                    queue.add(parent);
+            }
+            catch (Throwable ex)
+            {
+                logger.log(Level.WARNING, node.getPathName() + " failed to update severity", ex);
+            }
+            node = queue.poll();
+        }
+    }
+
+    /** Stop periodic updates */
+    void shutdown()
+    {
+        if (timer != null)
+            timer.shutdown();
+    }
+}
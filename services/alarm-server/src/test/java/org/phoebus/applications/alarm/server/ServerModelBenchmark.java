@@ -0,0 +1,105 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Phoebus contributors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.phoebus.applications.alarm.server;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/** Benchmark of the {@link ServerModel} for a large alarm configuration
+ *
+ *  <p>Replays the configuration topic of an alarm tree
+ *  with areas, systems and PVs,
+ *  then locates each PV by path and by name as commands would.
+ *
+ *  <p>Not a unit test, run via its <code>main</code>
+ *  after <code>mvn test-compile</code>.
+ *
+ *  @author agent
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@SuppressWarnings("nls")
+public class ServerModelBenchmark
+{
+    @Param({ "60000" })
+    public int pvs;
+
+    /** Path and configuration of each record in the config topic */
+    private final List<String[]> records = new ArrayList<>();
+
+    private final List<String> pv_names = new ArrayList<>();
+
+    @Setup(Level.Trial)
+    public void setup()
+    {
+        Logger.getLogger("").setLevel(java.util.logging.Level.WARNING);
+        // 100 PVs per system, 20 systems per area
+        for (int i=0; i<pvs; ++i)
+        {
+            final int system = i / 100, area = system / 20;
+            final String path = "/Bench/Area" + area + "/System" + system;
+            if (i % 100 == 0)
+                records.add(new String[] { path, ServerModelIndexUnitTest.NODE_CONFIG });
+            final String name = "Area" + area + ":PV" + i;
+            records.add(new String[] { path + "/" + name, ServerModelIndexUnitTest.PV_CONFIG });
+            pv_names.add(name);
+        }
+    }
+
+    /** @return Model with all records replayed */
+    private ServerModel replay() throws Exception
+    {
+        final ServerModel model = ServerModelIndexUnitTest.createModel("Bench");
+        for (String[] record : records)
+            model.handleConfigUpdate(record[0], record[1]);
+        return model;
+    }
+
+    @Benchmark
+    public ServerModel replayConfig() throws Exception
+    {
+        return replay();
+    }
+
+    @Benchmark
+    public void replayConfigAndFindPVs(final Blackhole hole) throws Exception
+    {
+        final ServerModel model = replay();
+        for (String[] record : records)
+            hole.consume(model.findNode(record[0]));
+        for (String name : pv_names)
+            hole.consume(model.findPV(name.toUpperCase()));
+    }
+
+    public static void main(final String[] args) throws Exception
+    {
+        new Runner(new OptionsBuilder().include(ServerModelBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,83 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Phoebus contributors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.phoebus.applications.alarm.server;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.kafka.clients.consumer.MockConsumer;
+import org.apache.kafka.clients.consumer.OffsetResetStrategy;
+import org.apache.kafka.clients.producer.MockProducer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.junit.jupiter.api.Test;
+import org.phoebus.applications.alarm.model.AlarmTreeItem;
+
+/** JUnit test of the {@link ServerModel} node and PV index
+ *  @author agent
+ */
+@SuppressWarnings("nls")
+public class ServerModelIndexUnitTest
+{
+    /** Configuration of a disabled PV, so it won't connect */
+    static final String PV_CONFIG = "{\"description\":\"Test\",\"enabled\":false}";
+
+    /** Configuration of a node */
+    static final String NODE_CONFIG = "{}";
+
+    static ServerModel createModel(final String config_name)
+    {
+        return new ServerModel(config_name,
+                               new ConcurrentHashMap<>(),
+                               (path, json) -> {},
+                               new MockConsumer<>(OffsetResetStrategy.EARLIEST),
+                               new MockProducer<>(true, new StringSerializer(), new StringSerializer()));
+    }
+
+    @Test
+    public void testIndex() throws Exception
+    {
+        final ServerModel model = createModel("Test");
+        assertThat(model.findNode("/Test"), sameInstance(model.getRoot()));
+        assertThat(model.findNode("/Test/Area"), nullValue());
+
+        // Creating a PV also creates the nodes along the path
+        model.handleConfigUpdate("/Test/Area/System/pv1", PV_CONFIG);
+        model.handleConfigUpdate("/Test/Area/System/pv2", PV_CONFIG);
+        model.handleConfigUpdate("/Test/Other", NODE_CONFIG);
+        model.handleConfigUpdate("/Test/Other/pv1", PV_CONFIG);
+
+        final AlarmTreeItem<?> system = model.findNode("/Test/Area/System");
+        assertThat(system, instanceOf(AlarmServerNode.class));
+        assertThat(system.getChildren().size(), equalTo(2));
+        // Path that's not normalized
+        assertThat(model.findNode("/Test//Area/System/"), sameInstance(system));
+
+        // PV names are case-insensitive
+        final AlarmServerPV pv2 = model.findPV("PV2");
+        assertThat(pv2, sameInstance(model.findNode("/Test/Area/System/pv2")));
+        assertThat(pv2.isEnabled(), equalTo(false));
+
+        // Delete subtree, pv1 is still listed in 'Other'
+        model.handleConfigUpdate("/Test/Area", null);
+        assertThat(model.findNode("/Test/Area"), nullValue());
+        assertThat(model.findNode("/Test/Area/System/pv2"), nullValue());
+        assertThat(model.findPV("pv2"), nullValue());
+        assertThat(model.findPV("pv1"), sameInstance(model.findNode("/Test/Other/pv1")));
+
+        // 'Move' PV by deleting and adding it elsewhere
+        model.handleConfigUpdate("/Test/Other/pv1", null);
+        assertThat(model.findPV("pv1"), nullValue());
+        model.handleConfigUpdate("/Test/Area/pv1", PV_CONFIG);
+        assertThat(model.findPV("pv1").getPathName(), equalTo("/Test/Area/pv1"));
+    }
+}
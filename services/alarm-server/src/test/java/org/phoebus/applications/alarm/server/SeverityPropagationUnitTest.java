@@ -0,0 +1,153 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Phoebus contributors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.phoebus.applications.alarm.server;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.kafka.clients.consumer.MockConsumer;
+import org.apache.kafka.clients.consumer.OffsetResetStrategy;
+import org.apache.kafka.clients.producer.MockProducer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.junit.jupiter.api.Test;
+import org.phoebus.applications.alarm.AlarmSystem;
+import org.phoebus.applications.alarm.client.ClientState;
+import org.phoebus.applications.alarm.model.BasicState;
+import org.phoebus.applications.alarm.model.SeverityLevel;
+
+/** JUnit test of the severity propagation in {@link AlarmServerNode}
+ *  @author agent
+ */
+@SuppressWarnings("nls")
+public class SeverityPropagationUnitTest
+{
+    private final MockProducer<String, String> producer = new MockProducer<>(true, new StringSerializer(), new StringSerializer());
+
+    /** @return Number of state updates sent for path */
+    private long countStateUpdates(final String path)
+    {
+        return producer.history()
+                       .stream()
+                       .filter(record -> record.key().equals(AlarmSystem.STATE_PREFIX + path))
+                       .count();
+    }
+
+    @Test
+    public void testPropagation() throws Exception
+    {
+        final ConcurrentHashMap<String, ClientState> initial_states = new ConcurrentHashMap<>();
+        initial_states.put("/Test/Area/pv1", new ClientState(SeverityLevel.MAJOR, "Test", "1", Instant.now(), SeverityLevel.MAJOR, "Test"));
+        final ServerModel model = new ServerModel("Test", initial_states, (path, json) -> {},
+                                                  new MockConsumer<>(OffsetResetStrategy.EARLIEST), producer);
+
+        // Nodes with disabled PVs remain OK
+        model.handleConfigUpdate("/Test/Area/pv1", ServerModelIndexUnitTest.PV_CONFIG);
+        model.handleConfigUpdate("/Test/Other/System", ServerModelIndexUnitTest.NODE_CONFIG);
+        model.flushSeverityUpdates();
+        final AlarmServerPV pv1 = model.findPV("pv1");
+        assertThat(pv1.getState().severity, equalTo(SeverityLevel.OK));
+        assertThat(model.getRoot().getState().severity, equalTo(SeverityLevel.OK));
+
+        // Many changes of a child within one period result in one update of the parent
+        final AlarmServerNode system = (AlarmServerNode) model.findNode("/Test/Other/System");
+        final AlarmServerNode other = system.getParent();
+        final long updates = countStateUpdates(other.getPathName());
+        for (SeverityLevel severity : new SeverityLevel[] { SeverityLevel.MINOR, SeverityLevel.INVALID, SeverityLevel.MAJOR })
+        {
+            system.setState(new BasicState(severity));
+            other.childChanged(system);
+        }
+        model.flushSeverityUpdates();
+        assertThat(other.getState().severity, equalTo(SeverityLevel.MAJOR));
+        assertThat(model.getRoot().getState().severity, equalTo(SeverityLevel.MAJOR));
+        assertThat(countStateUpdates(other.getPathName()), equalTo(updates + 1));
+
+        // No update when severity doesn't change
+        other.maximizeSeverity();
+        model.flushSeverityUpdates();
+        assertThat(countStateUpdates(other.getPathName()), equalTo(updates + 1));
+
+        // Enabling the PV restores its MAJOR alarm, acknowledging lowers the severity
+        pv1.setEnabled(true);
+        model.flushSeverityUpdates();
+        assertThat(pv1.getState().severity, equalTo(SeverityLevel.MAJOR));
+        system.setState(new BasicState(SeverityLevel.OK));
+        other.childChanged(system);
+        pv1.acknowledge(true);
+        model.flushSeverityUpdates();
+        assertThat(other.getState().severity, equalTo(SeverityLevel.OK));
+        assertThat(model.getRoot().getState().severity, equalTo(SeverityLevel.MAJOR_ACK));
+
+        // Deleting the node with the PV leaves the root OK
+        model.handleConfigUpdate("/Test/Area", null);
+        model.flushSeverityUpdates();
+        assertThat(model.getRoot().getState().severity, equalTo(SeverityLevel.OK));
+    }
+
+    @Test
+    public void testConcurrentUpdates() throws Exception
+    {
+        final ServerModel model = new ServerModel("Test", new ConcurrentHashMap<>(), (path, json) -> {},
+                                                  new MockConsumer<>(OffsetResetStrategy.EARLIEST), producer);
+        model.handleConfigUpdate("/Test/Other/System", ServerModelIndexUnitTest.NODE_CONFIG);
+        model.flushSeverityUpdates();
+        final AlarmServerNode system = (AlarmServerNode) model.findNode("/Test/Other/System");
+        final AlarmServerNode other = system.getParent();
+
+        // Several threads change the child and flush updates,
+        // while the propagation timer may update as well
+        final SeverityLevel[] severities = new SeverityLevel[] { SeverityLevel.MINOR, SeverityLevel.MAJOR, SeverityLevel.INVALID };
+        final List<Thread> threads = new ArrayList<>();
+        for (int t=0; t<4; ++t)
+        {
+            final Thread thread = new Thread(() ->
+            {
+                for (int i=0; i<500; ++i)
+                {
+                    system.setState(new BasicState(severities[i % severities.length]));
+                    other.childChanged(system);
+                    model.flushSeverityUpdates();
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads)
+            thread.join();
+        model.flushSeverityUpdates();
+
+        // Last update sent for the parent matches its final severity
+        final String key = AlarmSystem.STATE_PREFIX + other.getPathName();
+        String last = null;
+        for (var record : producer.history())
+            if (record.key().equals(key))
+                last = record.value();
+        assertThat(other.getState().severity, equalTo(system.getState().severity));
+        assertThat(last.contains(other.getState().severity.name()), equalTo(true));
+    }
+
+    @Test
+    public void testLateUpdateAfterShutdown() throws Exception
+    {
+        final ServerModel model = new ServerModel("Test", new ConcurrentHashMap<>(), (path, json) -> {},
+                                                  new MockConsumer<>(OffsetResetStrategy.EARLIEST), producer);
+        model.handleConfigUpdate("/Test/Other/System", ServerModelIndexUnitTest.NODE_CONFIG);
+        final AlarmServerNode system = (AlarmServerNode) model.findNode("/Test/Other/System");
+
+        // Changes reported after shutdown are ignored, not thrown at the caller
+        final SeverityPropagation propagation = new SeverityPropagation(100);
+        propagation.shutdown();
+        propagation.schedule(system);
+        propagation.schedule(system);
+    }
+}
@@ -25,6 +25,7 @@ import org.csstudio.archive.engine.model.ArchiveGroup;
 import org.csstudio.archive.engine.model.Enablement;
 import org.csstudio.archive.engine.model.EngineModel;
 import org.csstudio.archive.engine.model.SampleMode;
+import org.csstudio.archive.engine.model.SampleMode.Compression;
 import org.csstudio.archive.writer.rdb.TimestampHelper;
 import org.phoebus.framework.rdb.RDBInfo;
 import org.phoebus.pv.PVPool;
@@ -48,6 +49,9 @@ public class RDBConfig implements AutoCloseable
     private final Connection connection;
     private int scan_mode_id = 0;
     private int monitor_mode_id = 1;
+    /** Optional sample modes for compressed monitors, -1 if not in RDB */
+    private int deduplicate_mode_id = -1;
+    private int compress_mode_id = -1;
 
     /** @throws Exception on error */
     public RDBConfig() throws Exception
@@ -56,7 +60,7 @@ public class RDBConfig implements AutoCloseable
         sql = new SQL(rdb.getDialect(), Preferences.schema);
         connection = rdb.connect();
 
-        // Determine which mode is 'monitor'
+        // Determine which mode is 'monitor', 'scan', ...
         try
         (
             final Statement stmt = connection.createStatement();
@@ -68,6 +72,10 @@ public class RDBConfig implements AutoCloseable
                     monitor_mode_id = result.getInt(1);
                 else if (result.getString(2).equalsIgnoreCase("Scan"))
                     scan_mode_id = result.getInt(1);
+                else if (result.getString(2).equalsIgnoreCase("Deduplicate"))
+                    deduplicate_mode_id = result.getInt(1);
+                else if (result.getString(2).equalsIgnoreCase("Compress"))
+                    compress_mode_id = result.getInt(1);
         }
     }
 
@@ -207,7 +215,28 @@ public class RDBConfig implements AutoCloseable
     public void addChannel(final int group_id, final DuplicateMode duplicate_mode, final String original_name,
                            final boolean monitor, final double period, final double delta,
                            final boolean enable) throws Exception
-    {   // Does the channel already exist?
+    {
+        addChannel(group_id, duplicate_mode, original_name, monitor, period, delta, Compression.NONE, enable);
+    }
+
+    /** @param group_id Group where to add channel
+     *  @param duplicate_mode How to handle duplicate channels
+     *  @param original_name Name of channel
+     *  @param monitor Monitor?
+     *  @param period Scan or estimated monitor period in seconds
+     *  @param delta Delta for engine-side deadband check, or deviation for swinging door compression
+     *  @param compression Compression of received values. Channels with compression are monitored.
+     *  @param enable Does channel enable its group?
+     *  @throws Exception on error, including existing channel
+     */
+    public void addChannel(final int group_id, final DuplicateMode duplicate_mode, final String original_name,
+                           final boolean monitor, final double period, final double delta,
+                           final Compression compression,
+                           final boolean enable) throws Exception
+    {
+        final int mode_id = getModeID(monitor, compression);
+
+        // Does the channel already exist?
         int channel_id = -1;
         String name = original_name;
         try
@@ -275,7 +304,7 @@ public class RDBConfig implements AutoCloseable
             {
                 statement.setInt(1, group_id);
                 statement.setString(2, original_name);
-                statement.setInt(3, monitor ? monitor_mode_id : scan_mode_id);
+                statement.setInt(3, mode_id);
                 statement.setDouble(4, delta);
                 statement.setDouble(5, period);
                 statement.setInt(6, channel_id);
@@ -304,7 +333,7 @@ public class RDBConfig implements AutoCloseable
             {
                 statement.setInt(1, group_id);
                 statement.setString(2, name);
-                statement.setInt(3, monitor ? monitor_mode_id : scan_mode_id);
+                statement.setInt(3, mode_id);
                 statement.setDouble(4, delta);
                 statement.setDouble(5, period);
                 statement.setInt(6, channel_id);
@@ -327,6 +356,29 @@ public class RDBConfig implements AutoCloseable
         }
     }
 
+    /** @param monitor Monitor?
+     *  @param compression Compression of received values
+     *  @return ID of sample mode
+     *  @throws Exception if RDB lacks the sample mode for the compression
+     */
+    private int getModeID(final boolean monitor, final Compression compression) throws Exception
+    {
+        switch (compression)
+        {
+        case DEDUPLICATE:
+            if (deduplicate_mode_id < 0)
+                throw new Exception("RDB lacks sample mode 'Deduplicate' for skipping duplicates");
+            return deduplicate_mode_id;
+        case SWINGING_DOOR:
+            if (compress_mode_id < 0)
+                throw new Exception("RDB lacks sample mode 'Compress' for swinging door compression");
+            return compress_mode_id;
+        case NONE:
+        default:
+            return monitor ? monitor_mode_id : scan_mode_id;
+        }
+    }
+
     /** @param config_name Name of engine config to delete
      *  @param complete Delete the sample engine entry itself, or leave that after unlinking all groups and channels?
      *  @throws Exception on error
@@ -495,7 +547,13 @@ public class RDBConfig implements AutoCloseable
                             Enablement enablement = Enablement.Passive;
                             if (channel_id == enabling_chan_id)
                                 enablement = Enablement.Enabling;
-                            final SampleMode sample_mode = new SampleMode(smpl_mode_id == monitor_mode_id, smpl_val,  smpl_per);
+                            final SampleMode sample_mode;
+                            if (smpl_mode_id == deduplicate_mode_id)
+                                sample_mode = new SampleMode(true, smpl_val, smpl_per, Compression.DEDUPLICATE);
+                            else if (smpl_mode_id == compress_mode_id)
+                                sample_mode = new SampleMode(true, smpl_val, smpl_per, Compression.SWINGING_DOOR);
+                            else
+                                sample_mode = new SampleMode(smpl_mode_id == monitor_mode_id, smpl_val,  smpl_per);
 
                             logger.log(Level.INFO, "Channel '" + name + "' (" + channel_id + "), " + sample_mode +
                                                    (last_sample_time != null ? ", last written " + last_sample_time : ""));
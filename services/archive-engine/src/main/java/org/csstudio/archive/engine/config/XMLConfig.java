@@ -18,10 +18,14 @@ import javax.xml.stream.XMLStreamWriter;
 import org.csstudio.archive.engine.model.ArchiveChannel;
 import org.csstudio.archive.engine.model.ArchiveGroup;
 import org.csstudio.archive.engine.model.DeltaArchiveChannel;
+import org.csstudio.archive.engine.model.DuplicateSuppression;
 import org.csstudio.archive.engine.model.Enablement;
 import org.csstudio.archive.engine.model.EngineModel;
 import org.csstudio.archive.engine.model.MonitoredArchiveChannel;
+import org.csstudio.archive.engine.model.SampleCompression;
+import org.csstudio.archive.engine.model.SampleMode.Compression;
 import org.csstudio.archive.engine.model.ScannedArchiveChannel;
+import org.csstudio.archive.engine.model.SwingingDoorCompression;
 import org.phoebus.framework.persistence.IndentingXMLStreamWriter;
 import org.phoebus.framework.persistence.XMLUtil;
 import org.phoebus.util.time.SecondsParser;
@@ -34,6 +38,8 @@ import org.w3c.dom.Element;
 public class XMLConfig
 {
     private static final String CHANNEL = "channel";
+    private static final String COMPRESS = "compress";
+    private static final String DEDUPLICATE = "deduplicate";
     private static final String DELTA = "delta";
     private static final String ENABLE = "enable";
     private static final String ENGINECONFIG = "engineconfig";
@@ -106,6 +112,17 @@ public class XMLConfig
                 writer.writeStartElement(PERIOD);
                 writer.writeCharacters(Double.toString(((MonitoredArchiveChannel)channel).getPeriodEstimate()));
                 writer.writeEndElement();
+
+                final SampleCompression compression = channel.getCompression();
+                if (compression instanceof SwingingDoorCompression)
+                {
+                    writer.writeEmptyElement(COMPRESS);
+                    writer.writeStartElement(DELTA);
+                    writer.writeCharacters(Double.toString(((SwingingDoorCompression)compression).getDeviation()));
+                    writer.writeEndElement();
+                }
+                else if (compression instanceof DuplicateSuppression)
+                    writer.writeEmptyElement(DEDUPLICATE);
             }
 
             if (channel instanceof ScannedArchiveChannel)
@@ -147,8 +164,15 @@ public class XMLConfig
                 final double period = SecondsParser.parseSeconds(XMLUtil.getChildString(ce, PERIOD).orElse("60.0"));
                 final double delta = XMLUtil.getChildDouble(ce, DELTA).orElse(-1.0);
                 final boolean enable = XMLUtil.getChildElement(ce, ENABLE) != null;
-
-                config.addChannel(group_id, duplicates, name, monitor, period, delta, enable);
+                final Compression compression;
+                if (XMLUtil.getChildElement(ce, COMPRESS) != null)
+                    compression = Compression.SWINGING_DOOR;
+                else if (XMLUtil.getChildElement(ce, DEDUPLICATE) != null)
+                    compression = Compression.DEDUPLICATE;
+                else
+                    compression = Compression.NONE;
+
+                config.addChannel(group_id, duplicates, name, monitor, period, delta, compression, enable);
             }
         }
     }
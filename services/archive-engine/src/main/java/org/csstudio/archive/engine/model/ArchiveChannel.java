@@ -14,6 +14,7 @@ import java.time.Instant;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -95,12 +96,21 @@ abstract public class ArchiveChannel
     /** Counter for received values (monitor updates) */
     private AtomicLong received_value_count = new AtomicLong();
 
+    /** Counter for values added to the buffer */
+    private AtomicLong archived_value_count = new AtomicLong();
+
     /** Last value in the archive, i.e. the one most recently written. */
     protected volatile VType last_archived_value = null;
 
     /** Buffer of received samples, periodically written */
     private final SampleBuffer buffer;
 
+    /** Compression of received values, <code>null</code> to archive all */
+    private volatile SampleCompression compression = null;
+
+    /** Adds values passed by the compression to the buffer */
+    private final Consumer<VType> compressed_values = this::addValueToBuffer;
+
     /** Construct an archive channel
      *  @param name Name of the channel (PV)
      *  @param enablement How channel affects its groups
@@ -160,6 +170,18 @@ abstract public class ArchiveChannel
     /** @return Short description of sample mechanism */
     abstract public String getMechanism();
 
+    /** @param compression Compression of received values, <code>null</code> to archive all */
+    final public void setCompression(final SampleCompression compression)
+    {
+        this.compression = compression;
+    }
+
+    /** @return Compression of received values, <code>null</code> if all are archived */
+    final public SampleCompression getCompression()
+    {
+        return compression;
+    }
+
     /** @return Number of Groups to which this channel belongs */
     final public int getGroupCount()
     {
@@ -299,6 +321,29 @@ abstract public class ArchiveChannel
         return received_value_count.get();
     }
 
+    /** @return Count of values added to the sample buffer */
+    final public long getArchivedValues()
+    {
+        return archived_value_count.get();
+    }
+
+    /** @return Ratio of received to archived values */
+    final public double getCompressionRatio()
+    {
+        return getCompressionRatio(received_value_count.get(), archived_value_count.get());
+    }
+
+    /** @param received Count of received values
+     *  @param archived Count of archived values
+     *  @return Ratio of received to archived values, 1 if nothing was archived
+     */
+    public static double getCompressionRatio(final long received, final long archived)
+    {
+        if (archived <= 0)
+            return 1.0;
+        return received / (double) archived;
+    }
+
     /** @return Last value written to archive*/
     final public VType getLastArchivedValue()
     {
@@ -322,6 +367,7 @@ abstract public class ArchiveChannel
     {
         buffer.reset();
         received_value_count.set(0);
+        archived_value_count.set(0);
     }
 
     /** Enable or disable groups based on received value */
@@ -369,7 +415,7 @@ abstract public class ArchiveChannel
 
         // Did we recover from write errors?
         if (need_write_error_sample &&
-            SampleBuffer.isInErrorState() == false)
+            buffer.isInErrorState() == false)
         {
             need_write_error_sample = false;
             logger.log(Level.FINE, "Wrote error sample for {0}", getName());
@@ -406,6 +452,10 @@ abstract public class ArchiveChannel
      */
     final protected VType addInfoToBuffer(VType value)
     {
+        // Archive value held by compression before the info
+        final SampleCompression stage = compression;
+        if (stage != null)
+            stage.flush(compressed_values);
         final VType last_value = last_archived_value;
         if (last_value != null)
         {
@@ -418,9 +468,33 @@ abstract public class ArchiveChannel
             // else: value is OK as is
         }
         addValueToBuffer(value);
+        if (stage != null)
+            stage.reset(value);
         return value;
     }
 
+    /** Add given sample to buffer via the compression, if there is one
+     *  @param value Value to archive
+     */
+    final protected void archiveValue(final VType value)
+    {
+        final SampleCompression stage = compression;
+        if (stage == null)
+            addValueToBuffer(value);
+        else
+            stage.add(value, compressed_values);
+    }
+
+    /** Archive a value held by the compression once its heartbeat period has passed
+     *  @param now Current time
+     */
+    final void flushExpiredCompression(final Instant now)
+    {
+        final SampleCompression stage = compression;
+        if (stage != null)
+            stage.flushExpired(now, compressed_values);
+    }
+
     /** @param time Timestamp to check
      *  @return <code>true</code> if time is too far into the future; better ignore.
      */
@@ -463,8 +537,9 @@ abstract public class ArchiveChannel
         }
         // else ...
         last_archived_value = value;
+        archived_value_count.incrementAndGet();
         buffer.add(value);
-        if (SampleBuffer.isInErrorState())
+        if (buffer.isInErrorState())
             need_write_error_sample = true;
         return true;
     }
@@ -509,6 +584,9 @@ abstract public class ArchiveChannel
                 // the re-enablement
                 value = VTypeHelper.transformTimestampToNow(value);
                 addValueToBuffer(value);
+                final SampleCompression stage = compression;
+                if (stage != null)
+                    stage.reset(value);
             }
         }
         else
@@ -96,6 +96,18 @@ public class ArchiveGroup
         return channels.get(i);
     }
 
+    /** @return Ratio of values received to values archived by all channels in the group */
+    final public double getCompressionRatio()
+    {
+        long received = 0, archived = 0;
+        for (ArchiveChannel channel : channels)
+        {
+            received += channel.getReceivedValues();
+            archived += channel.getArchivedValues();
+        }
+        return ArchiveChannel.getCompressionRatio(received, archived);
+    }
+
     /** Locate a channel by name.
      *
      *  @param channel_name
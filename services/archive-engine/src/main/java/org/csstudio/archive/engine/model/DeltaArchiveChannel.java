@@ -99,7 +99,7 @@ public class DeltaArchiveChannel extends ArchiveChannel
         if (isEnabled()  &&  isBeyondDelta(value))
         {
             logger.log(Level.FINE, "Wrote sample for {0}: {1}", new Object[] { getName(), value });
-            addValueToBuffer(value);
+            archiveValue(value);
             return true;
         }
         return false;
@@ -0,0 +1,141 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Phoebus contributors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ ******************************************************************************/
+package org.csstudio.archive.engine.model;
+
+import java.time.Instant;
+import java.util.function.Consumer;
+
+import org.epics.util.array.ListNumber;
+import org.epics.vtype.Alarm;
+import org.epics.vtype.VEnum;
+import org.epics.vtype.VNumber;
+import org.epics.vtype.VNumberArray;
+import org.epics.vtype.VString;
+import org.epics.vtype.VType;
+import org.phoebus.core.vtypes.VTypeHelper;
+import org.phoebus.util.time.SecondsParser;
+
+/** Compression that skips exact duplicates
+ *
+ *  <p>Values that match the last archived value
+ *  in value, severity and alarm message are skipped,
+ *  unless the heartbeat period has passed.
+ *
+ *  @author agent
+ */
+@SuppressWarnings("nls")
+public class DuplicateSuppression extends SampleCompression
+{
+    /** Last archived value, <code>null</code> if unknown */
+    private VType last = null;
+
+    /** @param heartbeat Seconds after which a duplicate is archived, 0 to disable */
+    public DuplicateSuppression(final double heartbeat)
+    {
+        super(heartbeat);
+    }
+
+    @Override
+    public synchronized void add(final VType value, final Consumer<VType> archive)
+    {
+        if (last != null  &&  isMatchingValue(last, value)  &&
+            ! isHeartbeatDue(VTypeHelper.getTimestamp(last), VTypeHelper.getTimestamp(value)))
+            return;
+        last = value;
+        archive.accept(value);
+    }
+
+    @Override
+    public void flush(final Consumer<VType> archive)
+    {
+        // Never holds values
+    }
+
+    @Override
+    public void flushExpired(final Instant now, final Consumer<VType> archive)
+    {
+        // Never holds values
+    }
+
+    @Override
+    public synchronized void reset(final VType value)
+    {
+        last = value;
+    }
+
+    /** Check if values match in status, severity, and value. Time is ignored.
+     *  @param val1 One value
+     *  @param val2 Other value
+     *  @return <code>true</code> if they match
+     */
+    static boolean isMatchingValue(final VType val1, final VType val2)
+    {
+        // Compare data type and value
+        if (val1 instanceof VNumber)
+        {
+            if (! (val2 instanceof VNumber))
+                return false;
+            final double v1 = ((VNumber) val1).getValue().doubleValue();
+            final double v2 = ((VNumber) val2).getValue().doubleValue();
+            if (Double.doubleToLongBits(v1) != Double.doubleToLongBits(v2))
+                return false;
+        }
+        else if (val1 instanceof VNumberArray)
+        {
+            if (! (val2 instanceof VNumberArray))
+                return false;
+            final ListNumber n1 = ((VNumberArray) val1).getData();
+            final ListNumber n2 = ((VNumberArray) val2).getData();
+            final int N = n1.size();
+            if (n2.size() != N)
+                return false;
+            for (int i=0; i<N; ++i)
+                if (Double.doubleToLongBits(n1.getDouble(i)) != Double.doubleToLongBits(n2.getDouble(i)))
+                    return false;
+        }
+        else if (val1 instanceof VEnum)
+        {
+            if (! (val2 instanceof VEnum))
+                return false;
+            final int v1 = ((VEnum) val1).getIndex();
+            final int v2 = ((VEnum) val2).getIndex();
+            if (v1 != v2)
+                return false;
+        }
+        else if (val1 instanceof VString)
+        {
+            if (! (val2 instanceof VString))
+                return false;
+            final String v1 = ((VString) val1).getValue();
+            final String v2 = ((VString) val2).getValue();
+            if (v1 == null)
+            {
+                if (v2 != null)
+                    return false;
+            }
+            else if (! v1.equals(v2))
+                return false;
+        }
+        else
+            return false; // Assume that unknown type differs in value
+        // Compare severity, status
+        final Alarm a1 = Alarm.alarmOf(val1);
+        final Alarm a2 = Alarm.alarmOf(val2);
+        return a1.getSeverity() == a2.getSeverity()
+            && a1.getName().equals(a2.getName());
+    }
+
+    @Override
+    public String toString()
+    {
+        final double heartbeat = getHeartbeat();
+        if (heartbeat > 0)
+            return "skip duplicates, heartbeat " + SecondsParser.formatSeconds(heartbeat);
+        return "skip duplicates";
+    }
+}
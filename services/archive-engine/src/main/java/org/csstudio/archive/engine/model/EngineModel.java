@@ -17,6 +17,7 @@ import java.util.Map;
 import java.util.logging.Level;
 
 import org.csstudio.archive.Preferences;
+import org.csstudio.archive.engine.scanner.ScanList;
 import org.csstudio.archive.engine.scanner.ScanThread;
 import org.csstudio.archive.engine.scanner.Scanner;
 import org.csstudio.archive.writer.rdb.TimestampHelper;
@@ -40,8 +41,8 @@ public class EngineModel
     /** Name of this model */
     private String name = "Archive Engine";  //$NON-NLS-1$
 
-    /** Thread that writes to the <code>archive</code> */
-    final private WriteThread writer;
+    /** Threads that write to the <code>archive</code> */
+    final private List<WriteThread> writers = new ArrayList<>();
 
     /** All the channels.
      *  <p>
@@ -91,7 +92,9 @@ public class EngineModel
     /** Construct model that writes to archive */
     public EngineModel()
     {
-        writer = new WriteThread();
+        final int count = Math.max(1, Preferences.write_threads);
+        for (int i=0; i<count; ++i)
+            writers.add(new WriteThread(count > 1 ? "WriteThread " + (i+1) : "WriteThread", i, count));
     }
 
     /** @return Name (description) */
@@ -241,7 +244,17 @@ public class EngineModel
             buffer_capacity = (int)Preferences.buffer_reserve;
 
         // Create new channel
-        if (sample_mode.isMonitor())
+        if (sample_mode.getCompression() != SampleMode.Compression.NONE)
+        {
+            channel = new MonitoredArchiveChannel(name, retention,
+                                                  enablement, buffer_capacity,
+                                                  last_sample, sample_mode.getPeriod());
+            if (sample_mode.getCompression() == SampleMode.Compression.SWINGING_DOOR)
+                channel.setCompression(new SwingingDoorCompression(sample_mode.getDelta(), Preferences.compression_heartbeat));
+            else
+                channel.setCompression(new DuplicateSuppression(Preferences.compression_heartbeat));
+        }
+        else if (sample_mode.isMonitor())
         {
             if (sample_mode.getDelta() > 0)
                 channel = new DeltaArchiveChannel(name, retention, enablement,
@@ -263,7 +276,8 @@ public class EngineModel
             channels.add(channel);
             channel_by_name.put(channel.getName(), channel);
         }
-        writer.addChannel(channel);
+        // Same channel name always uses the same write thread
+        writers.get(Math.floorMod(name.hashCode(), writers.size())).addChannel(channel);
 
         // Connect new or old channel to group
         channel.addGroup(group);
@@ -277,7 +291,8 @@ public class EngineModel
     {
         start_time = Instant.now();
         state = State.RUNNING;
-        writer.start(Preferences.write_period, Preferences.batch_size);
+        for (WriteThread writer : writers)
+            writer.start(Preferences.write_period, Preferences.batch_size);
         for (ArchiveGroup group : groups)
         {
             group.start();
@@ -290,22 +305,55 @@ public class EngineModel
         scan_thread.start();
     }
 
-    /** @return Timestamp of end of last write run */
+    /** @return Write threads */
+    public List<WriteThread> getWriteThreads()
+    {
+        return writers;
+    }
+
+    /** @return Timestamp of end of last write run,
+     *          i.e. the oldest of all write threads,
+     *          <code>null</code> if one of them never wrote
+     */
     public Instant getLastWriteTime()
     {
-        return writer.getLastWriteTime();
+        Instant oldest = null;
+        for (WriteThread writer : writers)
+        {
+            final Instant time = writer.getLastWriteTime();
+            if (time == null)
+                return null;
+            if (oldest == null  ||  time.isBefore(oldest))
+                oldest = time;
+        }
+        return oldest;
     }
 
-    /** @return Average number of values per write run */
+    /** @return Average number of values per write run, summed over all write threads */
     public double getWriteCount()
     {
-        return writer.getWriteCount();
+        double count = 0;
+        for (WriteThread writer : writers)
+            count += writer.getWriteCount();
+        return count;
     }
 
-    /** @return  Average duration of write run in seconds */
+    /** @return  Average duration of write run in seconds, longest of all write threads */
     public double getWriteDuration()
     {
-        return writer.getWriteDuration();
+        double duration = 0;
+        for (WriteThread writer : writers)
+            duration = Math.max(duration, writer.getWriteDuration());
+        return duration;
+    }
+
+    /** @return <code>true</code> if any write thread experiences write errors */
+    public boolean isInErrorState()
+    {
+        for (WriteThread writer : writers)
+            if (writer.isInErrorState())
+                return true;
+        return false;
     }
 
     /** @see Scanner#getIdlePercentage() */
@@ -314,6 +362,24 @@ public class EngineModel
         return scanner.getIdlePercentage();
     }
 
+    /** @return Scan lists, one per scan period, with their statistics */
+    public List<ScanList> getScanLists()
+    {
+        return scanner.getScanLists();
+    }
+
+    /** @see Scanner#getAverageBatchSize() */
+    public double getScanBatchSize()
+    {
+        return scanner.getAverageBatchSize();
+    }
+
+    /** @see Scanner#getThreadCount() */
+    public int getScanThreadCount()
+    {
+        return scanner.getThreadCount();
+    }
+
     /** Ask the model to stop.
      *  Merely updates the model state.
      *  @see #getState()
@@ -344,7 +410,8 @@ public class EngineModel
     /** Reset engine statistics */
     public void reset()
     {
-        writer.reset();
+        for (WriteThread writer : writers)
+            writer.reset();
         scanner.reset();
         synchronized (this)
         {
@@ -362,13 +429,39 @@ public class EngineModel
         scan_thread.stop();
         // Assert that scanning has stopped before we add 'off' events
         scan_thread.join();
+        scanner.shutdown();
         // Disconnect from network
         logger.info("Stopping archive groups");
         for (ArchiveGroup group : groups)
             group.stop();
         // Flush all values out
         logger.info("Stopping writer");
-        writer.shutdown();
+        // Stop all threads, then perform their final writes in parallel
+        final List<Thread> final_writes = new ArrayList<>();
+        final List<Exception> errors = new ArrayList<>();
+        for (WriteThread writer : writers)
+        {
+            final Thread thread = new Thread(() ->
+            {
+                try
+                {
+                    writer.shutdown();
+                }
+                catch (Exception ex)
+                {
+                    synchronized (errors)
+                    {
+                        errors.add(ex);
+                    }
+                }
+            }, writer.getName() + " shutdown");
+            thread.start();
+            final_writes.add(thread);
+        }
+        for (Thread thread : final_writes)
+            thread.join();
+        if (! errors.isEmpty())
+            throw errors.get(0);
         // Update state
         state = State.IDLE;
         start_time = null;
@@ -386,6 +479,7 @@ public class EngineModel
             channels.clear();
         }
         scanner.clear();
+        scanner.shutdown();
     }
 
     /** Write debug info to stdout */
@@ -70,7 +70,7 @@ public class MonitoredArchiveChannel extends ArchiveChannel
         if (isEnabled())
         {
             logger.log(Level.FINE, "Wrote sample for {0}: {1}", new Object[] { getName(), value });
-            addValueToBuffer(value);
+            archiveValue(value);
             return true;
         }
         return false;
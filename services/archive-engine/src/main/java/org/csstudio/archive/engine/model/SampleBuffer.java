@@ -12,7 +12,6 @@ import java.util.logging.Level;
 import org.csstudio.archive.Preferences;
 import org.csstudio.archive.ThrottledLogger;
 import org.epics.vtype.VType;
-import org.phoebus.framework.util.RingBuffer;
 
 /** Buffer for the samples of one channel.
  *
@@ -20,6 +19,9 @@ import org.phoebus.framework.util.RingBuffer;
  *  thread removes them.
  *  When the queue size is reached, older samples get dropped.
  *
+ *  <p>Scalar samples are kept in primitive form,
+ *  see {@link SampleRing}.
+ *
  *  @author Kay Kasemir
  */
 public class SampleBuffer
@@ -35,8 +37,8 @@ public class SampleBuffer
      */
     final private String retention;
 
-    /** The actual samples in a thread-save queue. */
-    final private RingBuffer<VType> samples;
+    /** The actual samples, synchronized on access. */
+    final private SampleRing samples;
 
     /** Statistics */
     final private BufferStats stats = new BufferStats();
@@ -47,10 +49,10 @@ public class SampleBuffer
     /** Logger for overrun messages */
     final private static ThrottledLogger overrun_msg = new ThrottledLogger(Level.WARNING, Preferences.log_overrun);
 
-    /** Is the buffer in an error state because of RDB write errors?
-     *  Note that this is global for all buffers, not per instance!
+    /** Is the buffer in an error state because of RDB write errors
+     *  in the {@link WriteThread} that handles this buffer?
      */
-    private static volatile boolean error = false;
+    private volatile boolean error = false;
 
     /** Create sample buffer of given capacity
      * @deprecated Use {@link #SampleBuffer(String,String,int)} instead*/
@@ -66,7 +68,7 @@ public class SampleBuffer
     {
         this.channel_name = channel_name;
         this.retention = retention;
-        samples = new RingBuffer<>(capacity);
+        samples = new SampleRing(capacity);
     }
 
     /** @return channel name of this buffer */
@@ -100,15 +102,15 @@ public class SampleBuffer
     }
 
     /** @return <code>true</code> if currently experiencing write errors */
-    public static boolean isInErrorState()
+    public boolean isInErrorState()
     {
         return error;
     }
 
     /** Set the error state. */
-    static void setErrorState(final boolean error)
+    void setErrorState(final boolean error)
     {
-        SampleBuffer.error = error;
+        this.error = error;
     }
 
     /** Add a sample to the queue, maybe dropping older samples */
@@ -133,12 +135,15 @@ public class SampleBuffer
         }
     }
 
-    /** @return latest sample in queue or <code>null</code> if empty */
-    VType remove()
+    /** Remove oldest sample from queue
+     *  @param sample Sample to update with the oldest sample in the queue
+     *  @return <code>false</code> if queue was empty
+     */
+    boolean remove(final SampleRing.Sample sample)
     {
         synchronized (samples)
         {
-            return samples.remove();
+            return samples.remove(sample);
         }
     }
 
@@ -0,0 +1,91 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Phoebus contributors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ ******************************************************************************/
+package org.csstudio.archive.engine.model;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.function.Consumer;
+
+import org.epics.vtype.VType;
+
+/** Compression stage between received values and the sample buffer
+ *
+ *  <p>Decides which of the values received by a channel
+ *  need to be archived.
+ *  An implementation may hold on to a received value
+ *  and archive it later, once following values show
+ *  that it is needed, for example as the end point of
+ *  a linear segment.
+ *
+ *  <p>Values arrive from the PV, while the channel
+ *  flushes and resets the stage from other threads
+ *  when it adds 'disconnected', 'off', .. info samples,
+ *  so implementations must be thread-safe.
+ *
+ *  @author agent
+ */
+abstract public class SampleCompression
+{
+    /** Period after which a value is archived even if it could be skipped, <code>null</code> for none */
+    private final Duration heartbeat;
+
+    /** @param heartbeat Seconds after which a value is archived even if it could be skipped, 0 to disable */
+    protected SampleCompression(final double heartbeat)
+    {
+        this.heartbeat = heartbeat > 0
+                       ? Duration.ofMillis(Math.round(heartbeat * 1000))
+                       : null;
+    }
+
+    /** @return Heartbeat period in seconds, 0 if disabled */
+    public double getHeartbeat()
+    {
+        return heartbeat == null ? 0.0 : heartbeat.toMillis() / 1000.0;
+    }
+
+    /** @param last Time stamp of last archived value
+     *  @param time Time stamp of new value
+     *  @return <code>true</code> if new value needs to be archived because heartbeat period has passed
+     */
+    protected boolean isHeartbeatDue(final Instant last, final Instant time)
+    {
+        return heartbeat != null  &&
+               Duration.between(last, time).compareTo(heartbeat) >= 0;
+    }
+
+    /** Handle received value
+     *  @param value Value received by channel
+     *  @param archive Called with each value that needs to be archived
+     */
+    abstract public void add(VType value, Consumer<VType> archive);
+
+    /** Archive a value that is held back, if there is one
+     *  @param archive Called with each value that needs to be archived
+     */
+    abstract public void flush(Consumer<VType> archive);
+
+    /** Archive a value that is held back once the heartbeat period has passed
+     *
+     *  <p>Called periodically, so a value that is held back
+     *  is archived even if the channel receives no further values.
+     *
+     *  @param now Current time
+     *  @param archive Called with each value that needs to be archived
+     */
+    abstract public void flushExpired(Instant now, Consumer<VType> archive);
+
+    /** Restart compression after channel archived a value on its own
+     *
+     *  <p>Values that are held back are dropped,
+     *  so caller should {@link #flush} before archiving
+     *  the value.
+     *
+     *  @param value Value that was archived, for example first value after connecting or 'disconnected' info
+     */
+    abstract public void reset(VType value);
+}
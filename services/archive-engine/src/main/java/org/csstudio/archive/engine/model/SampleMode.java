@@ -13,21 +13,46 @@ package org.csstudio.archive.engine.model;
 @SuppressWarnings("nls")
 public class SampleMode
 {
+    /** Compression of received values */
+    public static enum Compression
+    {
+        /** Archive all values */
+        NONE,
+        /** Skip exact duplicates */
+        DEDUPLICATE,
+        /** Swinging door compression with the delta as deviation */
+        SWINGING_DOOR
+    }
+
     final private boolean monitor;
 
     final private double delta;
 
     final private double period;
 
+    final private Compression compression;
+
     /** Initialize
      *  @param monitor Monitor/subscription or active scan?
      *  @param delta Value change threshold
      *  @param period (Expected) update period in seconds
      */
     public SampleMode(final boolean monitor, final double delta, final double period)
+    {
+        this(monitor, delta, period, Compression.NONE);
+    }
+
+    /** Initialize
+     *  @param monitor Monitor/subscription or active scan?
+     *  @param delta Value change threshold, or deviation for swinging door compression
+     *  @param period (Expected) update period in seconds
+     *  @param compression Compression of received values
+     */
+    public SampleMode(final boolean monitor, final double delta, final double period, final Compression compression)
     {
         this.monitor = monitor;
         this.delta = delta;
+        this.compression = compression;
         // Enforce minimum sample period.
         // Must be >0 to avoid divide-by-0 and other errors
         // in engine sample buffer computation.
@@ -56,10 +81,20 @@ public class SampleMode
         return period;
     }
 
+    /** @return Compression of received values */
+    public Compression getCompression()
+    {
+        return compression;
+    }
+
     /** @return Debug representation */
     @Override
     public String toString()
     {
+        if (compression == Compression.DEDUPLICATE)
+            return "Monitor [skip duplicates] @ min. period " + period + " sec";
+        if (compression == Compression.SWINGING_DOOR)
+            return "Monitor [swinging door " + delta + "] @ min. period " + period + " sec";
         if (monitor)
         {
             if (delta > 0.0)
@@ -0,0 +1,352 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Phoebus contributors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ ******************************************************************************/
+package org.csstudio.archive.engine.model;
+
+import java.time.Instant;
+
+import org.csstudio.archive.writer.ArchiveWriter;
+import org.csstudio.archive.writer.WriteChannel;
+import org.epics.vtype.Alarm;
+import org.epics.vtype.AlarmSeverity;
+import org.epics.vtype.AlarmStatus;
+import org.epics.vtype.Display;
+import org.epics.vtype.EnumDisplay;
+import org.epics.vtype.Time;
+import org.epics.vtype.VDouble;
+import org.epics.vtype.VEnum;
+import org.epics.vtype.VFloat;
+import org.epics.vtype.VLong;
+import org.epics.vtype.VNumber;
+import org.epics.vtype.VType;
+
+/** Ring buffer for samples that keeps scalars in primitive form.
+ *
+ *  <p>Scalar numbers and enums are stored in parallel arrays
+ *  for time stamp, value and alarm info
+ *  instead of holding on to the {@link VType} with its
+ *  value, alarm, time and display objects.
+ *  Display meta data rarely changes, so equal meta data
+ *  is shared between samples.
+ *  Arrays, strings and samples without valid time stamp
+ *  are kept as {@link VType}.
+ *
+ *  <p>The arrays grow as needed up to the capacity,
+ *  so the many channels whose buffer never holds more than
+ *  a few samples don't allocate the full capacity.
+ *
+ *  <p>Not thread-safe, caller needs to synchronize.
+ *
+ *  @author agent
+ */
+class SampleRing
+{
+    /** Kinds of samples */
+    static final byte DOUBLE = 0, LONG = 1, ENUM = 2, OBJECT = 3;
+
+    private static final int INITIAL_SIZE = 4;
+
+    private static final AlarmSeverity[] SEVERITIES = AlarmSeverity.values();
+
+    private static final AlarmStatus[] STATI = AlarmStatus.values();
+
+    /** Maximum number of samples */
+    private final int capacity;
+
+    /** Indices of valid entries:
+     *  [start], [start+1], ..., [start+size-1]
+     *  with wrap-around at the current array length
+     */
+    private int start = 0, size = 0;
+
+    /** Kind of each sample */
+    private byte[] kinds;
+
+    /** Time stamp seconds and nanoseconds */
+    private long[] seconds;
+    private int[] nanos;
+
+    /** Double value as raw long bits, long value or enum index */
+    private long[] values;
+
+    /** Alarm severity and status ordinals */
+    private byte[] severities, stati;
+
+    /** Alarm message */
+    private String[] messages;
+
+    /** Display, EnumDisplay or VType of OBJECT sample */
+    private Object[] objects;
+
+    /** Most recent meta data and alarm message,
+     *  shared with following samples when equal
+     */
+    private Object last_meta = null;
+    private String last_message = null;
+
+    /** @param capacity Maximum number of samples */
+    SampleRing(final int capacity)
+    {
+        this.capacity = capacity;
+        allocate(Math.min(capacity, INITIAL_SIZE));
+    }
+
+    private void allocate(final int length)
+    {
+        kinds = new byte[length];
+        seconds = new long[length];
+        nanos = new int[length];
+        values = new long[length];
+        severities = new byte[length];
+        stati = new byte[length];
+        messages = new String[length];
+        objects = new Object[length];
+    }
+
+    /** @return Maximum number of samples */
+    int getCapacity()
+    {
+        return capacity;
+    }
+
+    /** @return Number of samples */
+    int size()
+    {
+        return size;
+    }
+
+    /** @return <code>true</code> if next addition will drop the oldest sample */
+    boolean isFull()
+    {
+        return size >= capacity;
+    }
+
+    /** @return Number of samples that the arrays can currently hold */
+    int getAllocatedSize()
+    {
+        return kinds.length;
+    }
+
+    /** Grow arrays, keeping samples in order */
+    private void grow()
+    {
+        final int length = kinds.length;
+        final int new_length = Math.min(capacity, Math.max(INITIAL_SIZE, 2 * length));
+        final byte[] old_kinds = kinds, old_severities = severities, old_stati = stati;
+        final long[] old_seconds = seconds, old_values = values;
+        final int[] old_nanos = nanos;
+        final String[] old_messages = messages;
+        final Object[] old_objects = objects;
+        allocate(new_length);
+        // Copy [start .. length-1], then [0 .. start-1]
+        final int tail = length - start;
+        System.arraycopy(old_kinds, start, kinds, 0, tail);
+        System.arraycopy(old_kinds, 0, kinds, tail, start);
+        System.arraycopy(old_seconds, start, seconds, 0, tail);
+        System.arraycopy(old_seconds, 0, seconds, tail, start);
+        System.arraycopy(old_nanos, start, nanos, 0, tail);
+        System.arraycopy(old_nanos, 0, nanos, tail, start);
+        System.arraycopy(old_values, start, values, 0, tail);
+        System.arraycopy(old_values, 0, values, tail, start);
+        System.arraycopy(old_severities, start, severities, 0, tail);
+        System.arraycopy(old_severities, 0, severities, tail, start);
+        System.arraycopy(old_stati, start, stati, 0, tail);
+        System.arraycopy(old_stati, 0, stati, tail, start);
+        System.arraycopy(old_messages, start, messages, 0, tail);
+        System.arraycopy(old_messages, 0, messages, tail, start);
+        System.arraycopy(old_objects, start, objects, 0, tail);
+        System.arraycopy(old_objects, 0, objects, tail, start);
+        start = 0;
+    }
+
+    /** Add sample, dropping the oldest sample when full
+     *  @param value Sample to add
+     */
+    void add(final VType value)
+    {
+        final int length = kinds.length;
+        final int i;
+        if (size >= capacity)
+        {   // Overwrite oldest sample
+            i = start;
+            ++start;
+            if (start >= length)
+                start = 0;
+        }
+        else
+        {
+            if (size >= length)
+                grow();
+            i = (start + size) % kinds.length;
+            ++size;
+        }
+
+        if (value instanceof VNumber)
+        {
+            final VNumber number = (VNumber) value;
+            if (setTimeAndAlarm(i, number.getTime(), number.getAlarm()))
+            {
+                final Number num = number.getValue();
+                // Same distinction of floating point and integer types as the RDB writer
+                if (value instanceof VDouble  ||  value instanceof VFloat  ||
+                    num instanceof Double  ||  num instanceof Float)
+                {
+                    kinds[i] = DOUBLE;
+                    values[i] = Double.doubleToRawLongBits(num.doubleValue());
+                }
+                else
+                {
+                    kinds[i] = LONG;
+                    values[i] = num.longValue();
+                }
+                objects[i] = shareMeta(number.getDisplay());
+                return;
+            }
+        }
+        else if (value instanceof VEnum)
+        {
+            final VEnum enumerated = (VEnum) value;
+            if (setTimeAndAlarm(i, enumerated.getTime(), enumerated.getAlarm()))
+            {
+                kinds[i] = ENUM;
+                values[i] = enumerated.getIndex();
+                objects[i] = shareMeta(enumerated.getDisplay());
+                return;
+            }
+        }
+        kinds[i] = OBJECT;
+        messages[i] = null;
+        objects[i] = value;
+    }
+
+    /** @return <code>false</code> if time stamp is not valid, so sample must be kept as VType */
+    private boolean setTimeAndAlarm(final int i, final Time time, final Alarm alarm)
+    {
+        if (time == null  ||  !time.isValid()  ||  alarm == null)
+            return false;
+        final Instant stamp = time.getTimestamp();
+        seconds[i] = stamp.getEpochSecond();
+        nanos[i] = stamp.getNano();
+        severities[i] = (byte) alarm.getSeverity().ordinal();
+        stati[i] = (byte) alarm.getStatus().ordinal();
+        final String message = alarm.getName();
+        if (message == last_message  ||  (message != null  &&  message.equals(last_message)))
+            messages[i] = last_message;
+        else
+            messages[i] = last_message = message;
+        return true;
+    }
+
+    /** @param meta Display or EnumDisplay of new sample
+     *  @return Same or equal meta data of previous sample, or new meta data
+     */
+    private Object shareMeta(final Object meta)
+    {
+        if (meta == last_meta  ||  (meta != null  &&  meta.equals(last_meta)))
+            return last_meta;
+        last_meta = meta;
+        return meta;
+    }
+
+    /** Remove oldest sample
+     *  @param sample Sample to update with the oldest sample
+     *  @return <code>false</code> if ring was empty
+     */
+    boolean remove(final Sample sample)
+    {
+        if (size <= 0)
+            return false;
+        final int i = start;
+        sample.kind = kinds[i];
+        sample.seconds = seconds[i];
+        sample.nanos = nanos[i];
+        sample.value = values[i];
+        sample.severity = SEVERITIES[severities[i]];
+        sample.status = STATI[stati[i]];
+        sample.message = messages[i];
+        sample.object = objects[i];
+        // Remove references from buffer
+        messages[i] = null;
+        objects[i] = null;
+        --size;
+        ++start;
+        if (start >= kinds.length)
+            start = 0;
+        return true;
+    }
+
+    /** Sample removed from the ring.
+     *
+     *  <p>Reused by the caller for all samples it removes.
+     */
+    static class Sample
+    {
+        byte kind;
+        long seconds;
+        int nanos;
+        long value;
+        AlarmSeverity severity;
+        AlarmStatus status;
+        String message;
+        Object object;
+
+        /** @return Sample as VType. Creates a new VType for primitive samples */
+        VType toVType()
+        {
+            if (kind == OBJECT)
+                return (VType) object;
+            final Alarm alarm = Alarm.of(severity, status, message);
+            final Time time = Time.of(Instant.ofEpochSecond(seconds, nanos));
+            if (kind == DOUBLE)
+                return VDouble.of(Double.longBitsToDouble(value), alarm, time, (Display) object);
+            if (kind == LONG)
+                return VLong.of(value, alarm, time, (Display) object);
+            return VEnum.of((int) value, (EnumDisplay) object, alarm, time);
+        }
+
+        /** @param other Sample to copy */
+        void copy(final Sample other)
+        {
+            kind = other.kind;
+            seconds = other.seconds;
+            nanos = other.nanos;
+            value = other.value;
+            severity = other.severity;
+            status = other.status;
+            message = other.message;
+            object = other.object;
+        }
+
+        /** Write sample
+         *  @param writer {@link ArchiveWriter}
+         *  @param channel Channel to which to add the sample
+         *  @throws Exception on error
+         */
+        void writeTo(final ArchiveWriter writer, final WriteChannel channel) throws Exception
+        {
+            switch (kind)
+            {
+            case DOUBLE:
+                writer.addDoubleSample(channel, seconds, nanos, severity, status, message,
+                                       (Display) object, Double.longBitsToDouble(value));
+                break;
+            case LONG:
+                writer.addLongSample(channel, seconds, nanos, severity, status, message,
+                                     (Display) object, value);
+                break;
+            case ENUM:
+                writer.addEnumSample(channel, seconds, nanos, severity, status, message,
+                                     (EnumDisplay) object, (int) value);
+                break;
+            default:
+                writer.addSample(channel, (VType) object);
+            }
+            // Release reference to meta data or VType
+            object = null;
+        }
+    }
+}
@@ -0,0 +1,613 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Phoebus contributors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ ******************************************************************************/
+package org.csstudio.archive.engine.model;
+
+import static org.csstudio.archive.Engine.logger;
+
+import java.io.IOException;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.logging.Level;
+
+import org.epics.util.array.ArrayByte;
+import org.epics.util.array.ArrayDouble;
+import org.epics.util.array.ListNumber;
+import org.epics.util.stats.Range;
+import org.epics.util.text.NumberFormats;
+import org.epics.vtype.Alarm;
+import org.epics.vtype.AlarmSeverity;
+import org.epics.vtype.AlarmStatus;
+import org.epics.vtype.Display;
+import org.epics.vtype.EnumDisplay;
+import org.epics.vtype.Time;
+import org.epics.vtype.VByteArray;
+import org.epics.vtype.VDouble;
+import org.epics.vtype.VDoubleArray;
+import org.epics.vtype.VEnum;
+import org.epics.vtype.VFloat;
+import org.epics.vtype.VLong;
+import org.epics.vtype.VNumber;
+import org.epics.vtype.VNumberArray;
+import org.epics.vtype.VString;
+import org.epics.vtype.VStringArray;
+import org.epics.vtype.VType;
+import org.phoebus.core.vtypes.VTypeHelper;
+
+/** Persistent spool for samples that cannot be written
+ *
+ *  <p>Append-only log of samples in memory-mapped segment files.
+ *  Samples are read back in the order in which they were added.
+ *  Read samples are only removed from the spool once they are committed,
+ *  otherwise they can be read again after a rewind.
+ *
+ *  <p>Each segment file starts with a header that holds
+ *  the end of the added samples and the start of those
+ *  that have not been committed, so spooled samples
+ *  survive a restart of the engine.
+ *
+ *  <p>Not thread-safe, meant to be used by one {@link WriteThread}.
+ *
+ *  @author agent
+ */
+@SuppressWarnings("nls")
+class SampleSpool
+{
+    /** File name suffix of segments */
+    private static final String SUFFIX = ".spool";
+
+    /** Header: magic, write position, read position */
+    private static final int MAGIC = 0x53504F4C, HEADER = 12;
+
+    /** Tags for samples kept as VType */
+    private static final byte STRING = 0, NUMBER = 1, ENUM = 2, NUMBER_ARRAY = 3, BYTE_ARRAY = 4, STRING_ARRAY = 5, INTEGER = 6;
+
+    private static final AlarmSeverity[] SEVERITIES = AlarmSeverity.values();
+
+    private static final AlarmStatus[] STATI = AlarmStatus.values();
+
+    /** One segment file */
+    private static class Segment
+    {
+        final Path file;
+        final long sequence;
+        final FileChannel channel;
+        final MappedByteBuffer buffer;
+
+        Segment(final Path file, final long sequence, final int size) throws IOException
+        {
+            this.file = file;
+            this.sequence = sequence;
+            channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        }
+
+        int getWritePosition()
+        {
+            return buffer.getInt(4);
+        }
+
+        void setWritePosition(final int position)
+        {
+            buffer.putInt(4, position);
+        }
+
+        int getReadPosition()
+        {
+            return buffer.getInt(8);
+        }
+
+        void setReadPosition(final int position)
+        {
+            buffer.putInt(8, position);
+        }
+
+        void delete() throws IOException
+        {
+            channel.close();
+            Files.deleteIfExists(file);
+        }
+    }
+
+    /** Directory that holds the segment files */
+    private final Path directory;
+
+    /** Name that starts all segment file names */
+    private final String name;
+
+    /** Size of each segment file */
+    private final int segment_size;
+
+    /** Segments, oldest first. The last segment is used to add samples. */
+    private final List<Segment> segments = new ArrayList<>();
+
+    /** Buffer for encoding one sample */
+    private ByteBuffer record = ByteBuffer.allocate(1024);
+
+    /** Read cursor: Index of segment and position within that segment */
+    private int read_segment = 0, read_position = HEADER;
+
+    /** Number of samples read since last commit */
+    private long read_count = 0;
+
+    /** Number of samples that have not been committed */
+    private volatile long size = 0;
+
+    /** Open spool, loading existing segments
+     *  @param directory Directory for segment files
+     *  @param name Name that starts all segment file names
+     *  @param segment_size Size of each segment file
+     *  @throws IOException on error
+     */
+    SampleSpool(final Path directory, final String name, final int segment_size) throws IOException
+    {
+        this.directory = directory;
+        this.name = name.replaceAll("[^A-Za-z0-9_-]", "_");
+        this.segment_size = segment_size;
+        Files.createDirectories(directory);
+
+        // Load existing segments, ordered by sequence number
+        final List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> found = Files.newDirectoryStream(directory, this.name + "-*" + SUFFIX))
+        {
+            for (Path file : found)
+                files.add(file);
+        }
+        files.sort((a, b) -> Long.compare(getSequence(a), getSequence(b)));
+        for (Path file : files)
+        {
+            final Segment segment = new Segment(file, getSequence(file), (int) Math.max(Files.size(file), HEADER));
+            if (segment.buffer.getInt(0) != MAGIC)
+            {
+                logger.log(Level.WARNING, "Ignoring invalid spool file " + file);
+                segment.channel.close();
+                continue;
+            }
+            // Count samples
+            int position = segment.getReadPosition();
+            final int end = segment.getWritePosition();
+            while (position < end)
+            {
+                position += 4 + segment.buffer.getInt(position);
+                ++size;
+            }
+            segments.add(segment);
+        }
+        if (size > 0)
+            logger.log(Level.INFO, "Spool " + this.name + " holds " + size + " samples");
+        rewind();
+    }
+
+    /** @param directory Directory for segment files
+     *  @return Names of all spools that have segment files in the directory
+     *  @throws IOException on error
+     */
+    static Set<String> findSpools(final Path directory) throws IOException
+    {
+        final Set<String> names = new TreeSet<>();
+        if (! Files.isDirectory(directory))
+            return names;
+        try (DirectoryStream<Path> found = Files.newDirectoryStream(directory, "*-*" + SUFFIX))
+        {
+            for (Path file : found)
+            {
+                final String file_name = file.getFileName().toString();
+                names.add(file_name.substring(0, file_name.lastIndexOf('-')));
+            }
+        }
+        return names;
+    }
+
+    /** @param file Segment file
+     *  @return Sequence number from file name
+     */
+    private long getSequence(final Path file)
+    {
+        final String file_name = file.getFileName().toString();
+        try
+        {
+            return Long.parseLong(file_name.substring(name.length() + 1, file_name.length() - SUFFIX.length()));
+        }
+        catch (NumberFormatException ex)
+        {
+            return -1;
+        }
+    }
+
+    /** @return Number of samples that have not been committed */
+    long size()
+    {
+        return size;
+    }
+
+    /** @return <code>true</code> if there are no samples */
+    boolean isEmpty()
+    {
+        return size <= 0;
+    }
+
+    /** Add sample to the spool
+     *  @param channel Channel name
+     *  @param retention Retention policy or <code>null</code>
+     *  @param sample Sample
+     *  @throws IOException on error, including samples that exceed the segment size
+     */
+    void add(final String channel, final String retention, final SampleRing.Sample sample) throws IOException
+    {
+        // Encode, growing the buffer as needed
+        while (true)
+        {
+            try
+            {
+                record.clear();
+                encode(channel, retention, sample);
+                break;
+            }
+            catch (BufferOverflowException ex)
+            {
+                if (record.capacity() >= segment_size)
+                    throw new IOException("Sample for " + channel + " exceeds spool segment size");
+                record = ByteBuffer.allocate(Math.min(2 * record.capacity(), segment_size));
+            }
+        }
+        record.flip();
+        final int length = record.remaining();
+        if (HEADER + 4 + length > segment_size)
+            throw new IOException("Sample for " + channel + " exceeds spool segment size");
+
+        Segment segment = segments.isEmpty() ? null : segments.get(segments.size()-1);
+        if (segment == null  ||  segment.getWritePosition() + 4 + length > segment.buffer.capacity())
+            segment = addSegment();
+        final int position = segment.getWritePosition();
+        segment.buffer.putInt(position, length);
+        segment.buffer.put(position + 4, record, 0, length);
+        segment.setWritePosition(position + 4 + length);
+        ++size;
+    }
+
+    /** @return New segment, added to the end of the segment list */
+    private Segment addSegment() throws IOException
+    {
+        long sequence = 0;
+        if (! segments.isEmpty())
+        {
+            final Segment last = segments.get(segments.size()-1);
+            last.buffer.force();
+            sequence = last.sequence + 1;
+        }
+        final Segment segment = new Segment(directory.resolve(name + "-" + sequence + SUFFIX), sequence, segment_size);
+        segment.buffer.putInt(0, MAGIC);
+        segment.setWritePosition(HEADER);
+        segment.setReadPosition(HEADER);
+        segments.add(segment);
+        return segment;
+    }
+
+    /** Move all samples from another spool into this one
+     *  @param other Spool that will be empty when done
+     *  @throws IOException on error
+     */
+    void addAll(final SampleSpool other) throws IOException
+    {
+        final SampleRing.Sample sample = new SampleRing.Sample();
+        String[] channel;
+        while ((channel = other.read(sample)) != null)
+            add(channel[0], channel[1], sample);
+        force();
+        other.commit();
+    }
+
+    /** Read next sample
+     *  @param sample Sample to update
+     *  @return Channel name and retention policy of the sample, <code>null</code> if there are no more samples
+     */
+    String[] read(final SampleRing.Sample sample)
+    {
+        while (read_segment < segments.size())
+        {
+            final Segment segment = segments.get(read_segment);
+            if (read_position < segment.getWritePosition())
+            {
+                final int length = segment.buffer.getInt(read_position);
+                final ByteBuffer data = segment.buffer.duplicate();
+                data.position(read_position + 4);
+                data.limit(read_position + 4 + length);
+                read_position += 4 + length;
+                ++read_count;
+                return decode(data, sample);
+            }
+            // Segment exhausted. Is there another one?
+            if (read_segment >= segments.size() - 1)
+                break;
+            ++read_segment;
+            read_position = HEADER;
+        }
+        return null;
+    }
+
+    /** Remove the samples that have been read from the spool
+     *  @throws IOException on error
+     */
+    void commit() throws IOException
+    {
+        // Delete segments that have been read completely
+        for (int i=0; i<read_segment; ++i)
+            segments.remove(0).delete();
+        read_segment = 0;
+        size -= read_count;
+        read_count = 0;
+        if (segments.isEmpty())
+            return;
+        final Segment segment = segments.get(0);
+        if (segments.size() == 1  &&  read_position >= segment.getWritePosition())
+        {   // All read, start over
+            segment.setWritePosition(HEADER);
+            read_position = HEADER;
+        }
+        segment.setReadPosition(read_position);
+        segment.buffer.force();
+    }
+
+    /** Move read cursor back to the first sample that has not been committed */
+    void rewind()
+    {
+        read_segment = 0;
+        read_position = segments.isEmpty() ? HEADER : segments.get(0).getReadPosition();
+        read_count = 0;
+    }
+
+    /** Write added samples to disk */
+    void force()
+    {
+        if (! segments.isEmpty())
+            segments.get(segments.size()-1).buffer.force();
+    }
+
+    /** Close the spool. Segments with samples remain on disk. */
+    void close()
+    {
+        for (Segment segment : segments)
+        {
+            try
+            {
+                if (segment.getReadPosition() >= segment.getWritePosition())
+                    segment.delete();
+                else
+                {
+                    segment.buffer.force();
+                    segment.channel.close();
+                }
+            }
+            catch (IOException ex)
+            {
+                logger.log(Level.WARNING, "Cannot close spool segment " + segment.file, ex);
+            }
+        }
+        segments.clear();
+    }
+
+    private void encode(final String channel, final String retention, final SampleRing.Sample sample)
+    {
+        putString(channel);
+        putString(retention);
+        record.put(sample.kind);
+        if (sample.kind == SampleRing.OBJECT)
+        {
+            encode((VType) sample.object);
+            return;
+        }
+        record.putLong(sample.seconds);
+        record.putInt(sample.nanos);
+        record.put((byte) sample.severity.ordinal());
+        record.put((byte) sample.status.ordinal());
+        putString(sample.message);
+        record.putLong(sample.value);
+        if (sample.kind == SampleRing.ENUM)
+            putStrings(((EnumDisplay) sample.object).getChoices());
+        else
+            putDisplay((Display) sample.object);
+    }
+
+    private void encode(final VType value)
+    {
+        final Time time = Time.timeOf(value);
+        final Instant stamp = time == null ? VTypeHelper.getTimestamp(value) : time.getTimestamp();
+        record.putLong(stamp.getEpochSecond());
+        record.putInt(stamp.getNano());
+        final Alarm alarm = Alarm.alarmOf(value);
+        record.put((byte) alarm.getSeverity().ordinal());
+        record.put((byte) alarm.getStatus().ordinal());
+        putString(alarm.getName());
+        record.put((byte) (time == null  ||  time.isValid() ? 1 : 0));
+        if (value instanceof VNumber)
+        {
+            final Number number = ((VNumber) value).getValue();
+            // Same distinction of floating point and integer types as the RDB writer
+            if (value instanceof VDouble  ||  value instanceof VFloat  ||
+                number instanceof Double  ||  number instanceof Float)
+            {
+                record.put(NUMBER);
+                record.putDouble(number.doubleValue());
+            }
+            else
+            {
+                record.put(INTEGER);
+                record.putLong(number.longValue());
+            }
+            putDisplay(((VNumber) value).getDisplay());
+        }
+        else if (value instanceof VEnum)
+        {
+            record.put(ENUM);
+            record.putInt(((VEnum) value).getIndex());
+            putStrings(((VEnum) value).getDisplay().getChoices());
+        }
+        else if (value instanceof VByteArray)
+        {
+            record.put(BYTE_ARRAY);
+            final ListNumber data = ((VByteArray) value).getData();
+            record.putInt(data.size());
+            for (int i=0; i<data.size(); ++i)
+                record.put(data.getByte(i));
+        }
+        else if (value instanceof VNumberArray)
+        {
+            record.put(NUMBER_ARRAY);
+            final ListNumber data = ((VNumberArray) value).getData();
+            record.putInt(data.size());
+            for (int i=0; i<data.size(); ++i)
+                record.putDouble(data.getDouble(i));
+            putDisplay(((VNumberArray) value).getDisplay());
+        }
+        else if (value instanceof VStringArray)
+        {
+            record.put(STRING_ARRAY);
+            putStrings(((VStringArray) value).getData());
+        }
+        else
+        {   // Write strings and anything else as text, like the RDB writer
+            record.put(STRING);
+            putString(value instanceof VString ? ((VString) value).getValue() : value.toString());
+        }
+    }
+
+    /** @return Channel name and retention */
+    private String[] decode(final ByteBuffer data, final SampleRing.Sample sample)
+    {
+        final String[] channel = new String[] { getString(data), getString(data) };
+        sample.kind = data.get();
+        sample.seconds = data.getLong();
+        sample.nanos = data.getInt();
+        sample.severity = SEVERITIES[data.get()];
+        sample.status = STATI[data.get()];
+        sample.message = getString(data);
+        if (sample.kind == SampleRing.OBJECT)
+        {
+            final Alarm alarm = Alarm.of(sample.severity, sample.status, sample.message);
+            final Time time = Time.of(Instant.ofEpochSecond(sample.seconds, sample.nanos), null, data.get() != 0);
+            final byte type = data.get();
+            if (type == NUMBER)
+                sample.object = VDouble.of(data.getDouble(), alarm, time, getDisplay(data));
+            else if (type == INTEGER)
+                sample.object = VLong.of(data.getLong(), alarm, time, getDisplay(data));
+            else if (type == ENUM)
+            {
+                final int index = data.getInt();
+                sample.object = VEnum.of(index, EnumDisplay.of(getStrings(data)), alarm, time);
+            }
+            else if (type == BYTE_ARRAY)
+            {
+                final byte[] bytes = new byte[data.getInt()];
+                data.get(bytes);
+                sample.object = VByteArray.of(ArrayByte.of(bytes), alarm, time, Display.none());
+            }
+            else if (type == NUMBER_ARRAY)
+            {
+                final double[] values = new double[data.getInt()];
+                for (int i=0; i<values.length; ++i)
+                    values[i] = data.getDouble();
+                sample.object = VDoubleArray.of(ArrayDouble.of(values), alarm, time, getDisplay(data));
+            }
+            else if (type == STRING_ARRAY)
+                sample.object = VStringArray.of(getStrings(data), alarm, time);
+            else
+                sample.object = VString.of(getString(data), alarm, time);
+            return channel;
+        }
+        sample.value = data.getLong();
+        if (sample.kind == SampleRing.ENUM)
+            sample.object = EnumDisplay.of(getStrings(data));
+        else
+            sample.object = getDisplay(data);
+        return channel;
+    }
+
+    private void putString(final String text)
+    {
+        if (text == null)
+            record.putInt(-1);
+        else
+        {
+            final byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+            record.putInt(bytes.length);
+            record.put(bytes);
+        }
+    }
+
+    private static String getString(final ByteBuffer data)
+    {
+        final int length = data.getInt();
+        if (length < 0)
+            return null;
+        final byte[] bytes = new byte[length];
+        data.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private void putStrings(final List<String> texts)
+    {
+        record.putInt(texts.size());
+        for (String text : texts)
+            putString(text);
+    }
+
+    private static List<String> getStrings(final ByteBuffer data)
+    {
+        final int count = data.getInt();
+        final List<String> texts = new ArrayList<>(count);
+        for (int i=0; i<count; ++i)
+            texts.add(getString(data));
+        return texts;
+    }
+
+    /** Write the parts of the display that the RDB keeps */
+    private void putDisplay(Display display)
+    {
+        if (display == null)
+            display = Display.none();
+        putRange(display.getDisplayRange());
+        putRange(display.getWarningRange());
+        putRange(display.getAlarmRange());
+        putRange(display.getControlRange());
+        record.putInt(display.getFormat() == null ? 0 : display.getFormat().getMinimumFractionDigits());
+        putString(display.getUnit());
+    }
+
+    private static Display getDisplay(final ByteBuffer data)
+    {
+        final Range display = getRange(data), warning = getRange(data), alarm = getRange(data), control = getRange(data);
+        final int precision = data.getInt();
+        final String units = getString(data);
+        return Display.of(display, alarm, warning, control, units, NumberFormats.precisionFormat(precision));
+    }
+
+    private void putRange(final Range range)
+    {
+        record.putDouble(range.getMinimum());
+        record.putDouble(range.getMaximum());
+    }
+
+    private static Range getRange(final ByteBuffer data)
+    {
+        final double min = data.getDouble(), max = data.getDouble();
+        if (Double.isNaN(min)  &&  Double.isNaN(max))
+            return Range.undefined();
+        return Range.of(min, max);
+    }
+}
@@ -12,12 +12,6 @@ import static org.csstudio.archive.Engine.logger;
 import java.util.logging.Level;
 
 import org.csstudio.archive.writer.rdb.TimestampHelper;
-import org.epics.util.array.ListNumber;
-import org.epics.vtype.Alarm;
-import org.epics.vtype.VEnum;
-import org.epics.vtype.VNumber;
-import org.epics.vtype.VNumberArray;
-import org.epics.vtype.VString;
 import org.epics.vtype.VType;
 import org.phoebus.core.vtypes.VTypeHelper;
 import org.phoebus.util.time.SecondsParser;
@@ -104,7 +98,7 @@ public class ScannedArchiveChannel extends ArchiveChannel implements Runnable
                 return;
             }
             // Is it a new value?
-            if (isMatchingValue(last_archived_value, most_recent_value))
+            if (DuplicateSuppression.isMatchingValue(last_archived_value, most_recent_value))
             {
                 ++repeats ;
                 if (repeats < max_repeats)
@@ -133,68 +127,6 @@ public class ScannedArchiveChannel extends ArchiveChannel implements Runnable
             repeats = 0;
         }
         // unlocked, should have 'value'
-        addValueToBuffer(value);
-    }
-
-    /** Check if values match in status, severity, and value. Time is ignored.
-     *  @param val1 One value
-     *  @param val2 Other value
-     *  @return <code>true</code> if they match
-     */
-    private boolean isMatchingValue(final VType val1, final VType val2)
-    {
-        // Compare data type and value
-        if (val1 instanceof VNumber)
-        {
-            if (! (val2 instanceof VNumber))
-                return false;
-            final double v1 = ((VNumber) val1).getValue().doubleValue();
-            final double v2 = ((VNumber) val2).getValue().doubleValue();
-            if (Double.doubleToLongBits(v1) != Double.doubleToLongBits(v2))
-                return false;
-        }
-        else if (val1 instanceof VNumberArray)
-        {
-            if (! (val2 instanceof VNumberArray))
-                return false;
-            final ListNumber n1 = ((VNumberArray) val1).getData();
-            final ListNumber n2 = ((VNumberArray) val2).getData();
-            final int N = n1.size();
-            if (n2.size() != N)
-                return false;
-            for (int i=0; i<N; ++i)
-                if (Double.doubleToLongBits(n1.getDouble(i)) != Double.doubleToLongBits(n2.getDouble(i)))
-                    return false;
-        }
-        else if (val1 instanceof VEnum)
-        {
-            if (! (val2 instanceof VEnum))
-                return false;
-            final int v1 = ((VEnum) val1).getIndex();
-            final int v2 = ((VEnum) val2).getIndex();
-            if (v1 != v2)
-                return false;
-        }
-        else if (val1 instanceof VString)
-        {
-            if (! (val2 instanceof VString))
-                return false;
-            final String v1 = ((VString) val1).getValue();
-            final String v2 = ((VString) val2).getValue();
-            if (v1 == null)
-            {
-                if (v2 != null)
-                    return false;
-            }
-            else if (! v1.equals(v2))
-                return false;
-        }
-        else
-            return false; // Assume that unknown type differs in value
-        // Compare severity, status
-        final Alarm a1 = Alarm.alarmOf(val1);
-        final Alarm a2 = Alarm.alarmOf(val2);
-        return a1.getSeverity() == a2.getSeverity()
-            && a1.getName().equals(a2.getName());
+        archiveValue(value);
     }
 }
@@ -0,0 +1,190 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Phoebus contributors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ ******************************************************************************/
+package org.csstudio.archive.engine.model;
+
+import java.time.Instant;
+import java.util.function.Consumer;
+
+import org.epics.vtype.Alarm;
+import org.epics.vtype.VNumber;
+import org.epics.vtype.VType;
+import org.phoebus.core.vtypes.VTypeHelper;
+import org.phoebus.util.time.SecondsParser;
+
+/** Swinging door compression
+ *
+ *  <p>Skips values that are within the deviation of a straight line
+ *  from the last archived value (the 'anchor') to a later value.
+ *  The most recent value is held back.
+ *  Each new value narrows the range of slopes, the 'door',
+ *  for lines that pass within the deviation of all held values.
+ *  Once the door closes, the held value is archived as the end
+ *  of the segment and becomes the new anchor.
+ *
+ *  <p>Linear interpolation between archived values thus
+ *  reproduces all received values within the deviation.
+ *
+ *  <p>Only numeric scalars are compressed.
+ *  Other values, NaN, infinity and changes in alarm state
+ *  are archived as received, after archiving a held value.
+ *
+ *  @author agent
+ */
+@SuppressWarnings("nls")
+public class SwingingDoorCompression extends SampleCompression
+{
+    /** Allowed deviation from the compressed line */
+    private final double deviation;
+
+    /** Last archived value, <code>null</code> when unknown or not numeric */
+    private VType anchor = null;
+    private Instant anchor_time;
+    private double anchor_value;
+
+    /** Most recent value that has not been archived, or <code>null</code> */
+    private VType held = null;
+
+    /** Range of slopes from the anchor that pass all values since the anchor */
+    private double lower_slope, upper_slope;
+
+    /** @param deviation Allowed deviation from the compressed line
+     *  @param heartbeat Seconds after which a value is archived even if it's on the line, 0 to disable
+     */
+    public SwingingDoorCompression(final double deviation, final double heartbeat)
+    {
+        super(heartbeat);
+        this.deviation = Math.max(0.0, deviation);
+    }
+
+    /** @return Allowed deviation from the compressed line */
+    public double getDeviation()
+    {
+        return deviation;
+    }
+
+    @Override
+    public synchronized void add(final VType value, final Consumer<VType> archive)
+    {
+        final double number = value instanceof VNumber
+                            ? ((VNumber) value).getValue().doubleValue()
+                            : Double.NaN;
+        if (anchor == null  ||  ! Double.isFinite(number)  ||  ! isSameAlarm(anchor, value))
+        {
+            flush(archive);
+            archive(value, archive);
+            return;
+        }
+
+        final Instant time = VTypeHelper.getTimestamp(value);
+        double dt = seconds(anchor_time, time);
+        if (dt <= 0.0  ||  isHeartbeatDue(anchor_time, time))
+        {
+            flush(archive);
+            archive(value, archive);
+            return;
+        }
+
+        if (held != null)
+        {
+            final double upper = Math.min(upper_slope, (number + deviation - anchor_value) / dt);
+            final double lower = Math.max(lower_slope, (number - deviation - anchor_value) / dt);
+            if (lower <= upper)
+            {   // Door still open, value is within the deviation of the line
+                upper_slope = upper;
+                lower_slope = lower;
+                held = value;
+                return;
+            }
+            // Door closed: Held value ends this segment and starts the next
+            flush(archive);
+            dt = seconds(anchor_time, time);
+            if (dt <= 0.0)
+            {
+                archive(value, archive);
+                return;
+            }
+        }
+
+        // Open the door from the anchor to this value
+        upper_slope = (number + deviation - anchor_value) / dt;
+        lower_slope = (number - deviation - anchor_value) / dt;
+        held = value;
+    }
+
+    @Override
+    public synchronized void flush(final Consumer<VType> archive)
+    {
+        if (held == null)
+            return;
+        final VType value = held;
+        held = null;
+        archive(value, archive);
+    }
+
+    @Override
+    public synchronized void flushExpired(final Instant now, final Consumer<VType> archive)
+    {
+        if (held != null  &&  isHeartbeatDue(anchor_time, now))
+            flush(archive);
+    }
+
+    @Override
+    public synchronized void reset(final VType value)
+    {
+        held = null;
+        setAnchor(value);
+    }
+
+    /** Archive value, using it as the new anchor */
+    private void archive(final VType value, final Consumer<VType> archive)
+    {
+        archive.accept(value);
+        setAnchor(value);
+    }
+
+    private void setAnchor(final VType value)
+    {
+        if (value instanceof VNumber)
+        {
+            final double number = ((VNumber) value).getValue().doubleValue();
+            final Instant time = VTypeHelper.getTimestamp(value);
+            if (Double.isFinite(number)  &&  time != null)
+            {
+                anchor = value;
+                anchor_time = time;
+                anchor_value = number;
+                return;
+            }
+        }
+        anchor = null;
+    }
+
+    /** @return Seconds from start to end */
+    private static double seconds(final Instant start, final Instant end)
+    {
+        return (end.getEpochSecond() - start.getEpochSecond()) +
+               (end.getNano() - start.getNano()) * 1e-9;
+    }
+
+    private static boolean isSameAlarm(final VType val1, final VType val2)
+    {
+        final Alarm a1 = Alarm.alarmOf(val1);
+        final Alarm a2 = Alarm.alarmOf(val2);
+        return a1.getSeverity() == a2.getSeverity()
+            && a1.getName().equals(a2.getName());
+    }
+
+    @Override
+    public String toString()
+    {
+        final double heartbeat = getHeartbeat();
+        if (heartbeat > 0)
+            return "swinging door [" + deviation + "], heartbeat " + SecondsParser.formatSeconds(heartbeat);
+        return "swinging door [" + deviation + "]";
+    }
+}
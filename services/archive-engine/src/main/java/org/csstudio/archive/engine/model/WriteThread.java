@@ -9,14 +9,21 @@ package org.csstudio.archive.engine.model;
 
 import static org.csstudio.archive.Engine.logger;
 
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.logging.Level;
 
+import org.csstudio.archive.Preferences;
 import org.csstudio.archive.writer.ArchiveWriter;
 import org.csstudio.archive.writer.ArchiveWriterFactory;
 import org.csstudio.archive.writer.WriteChannel;
-import org.epics.vtype.VType;
 
 /** Thread that writes values from multiple <code>SampleBuffer</code>s
  *  to an <code>RDBArchiveServer</code>.
@@ -24,10 +31,24 @@ import org.epics.vtype.VType;
  *  When there are write errors, it sets the sample buffer error state
  *  and tries to reconnect to the database and write again until successful.
  *  Since the Oracle batch mechanism doesn't tell us what exactly failed
- *  in a batch, all the samples that were part of the batch might
- *  be lost.
+ *  in a batch, all the samples that were part of the batch are
+ *  kept until they have been written or moved into the spool.
  *  The channels that add samples to the sample buffer supposedly notice
  *  the error condition and add a special indicator once we recover.
+ *  <p>
+ *  With a spool directory, samples are moved from the sample buffers
+ *  into a {@link SampleSpool} while the archive cannot be written,
+ *  so they are not lost when the sample buffers overrun.
+ *  Once writes succeed again, the spooled samples are written
+ *  before any newer samples.
+ *  The spool is named by the index of the write thread,
+ *  and the first write thread adopts the spools of write threads
+ *  that no longer exist after their number has been reduced.
+ *  <p>
+ *  The engine may use several write threads, each with its own
+ *  connection to the archive and a subset of the channels.
+ *  A channel is always handled by the same write thread,
+ *  so its samples are written in order.
  *
  *  @author Kay Kasemir
  */
@@ -36,6 +57,18 @@ public class WriteThread implements Runnable
     /** Minimum write period [seconds] */
     private static final double MIN_WRITE_PERIOD = 5.0;
 
+    /** Maximum number of batches replayed from the spool per write run */
+    private static final int MAX_REPLAY_BATCHES = 100;
+
+    /** Name of this write thread */
+    private final String name;
+
+    /** Index of this write thread */
+    private final int shard;
+
+    /** Number of write threads */
+    private final int shards;
+
     /** Server to which this thread writes. */
     private ArchiveWriter writer;
 
@@ -43,6 +76,10 @@ public class WriteThread implements Runnable
     final private ArrayList<SampleBuffer> buffers =
         new ArrayList<>();
 
+    /** Channels of the sample buffers, checked for held values that are due */
+    final private ArrayList<ArchiveChannel> channels =
+        new ArrayList<>();
+
     /** Flag that tells the write thread to run or quit. */
     private boolean do_run;
 
@@ -66,12 +103,84 @@ public class WriteThread implements Runnable
     /** Average duration of write run */
     private Average write_time = new Average();
 
+    /** Average number of values written per second */
+    private Average write_rate = new Average();
+
+    /** Total number of values written */
+    private final AtomicLong total_count = new AtomicLong();
+
+    /** Is this thread experiencing write errors? */
+    private volatile boolean write_error = false;
+
+    /** Message of most recent write error, or <code>null</code> */
+    private volatile String last_error = null;
+
+    /** Sample removed from a buffer, reused for all samples written */
+    private final SampleRing.Sample sample = new SampleRing.Sample();
+
+    /** Sample passed to the writer, kept until it has been flushed */
+    private static class PendingSample
+    {
+        String name, retention;
+        final SampleRing.Sample sample = new SampleRing.Sample();
+    }
+
+    /** Samples passed to the writer since its last successful flush.
+     *  Elements are reused, only the first <code>pending_count</code> are valid.
+     */
+    private final ArrayList<PendingSample> pending = new ArrayList<>();
+
+    /** Number of valid samples in <code>pending</code> */
+    private int pending_count = 0;
+
+    /** Spool for samples that cannot be written, or <code>null</code> */
+    private volatile SampleSpool spool = null;
+
     /** Thread the executes this.run() */
     private Thread thread;
 
+    /** Create write thread
+     *  @param name Name of the thread
+     */
+    public WriteThread(final String name)
+    {
+        this(name, 0, 1);
+    }
+
+    /** Create one of several write threads
+     *  @param name Name of the thread
+     *  @param shard Index of this write thread, 0 to <code>shards-1</code>
+     *  @param shards Number of write threads
+     */
+    public WriteThread(final String name, final int shard, final int shards)
+    {
+        this.name = name;
+        this.shard = shard;
+        this.shards = shards;
+    }
+
+    /** Create write thread that uses a given writer
+     *  @param name Name of the thread
+     *  @param shard Index of this write thread, 0 to <code>shards-1</code>
+     *  @param shards Number of write threads
+     *  @param writer {@link ArchiveWriter}
+     */
+    WriteThread(final String name, final int shard, final int shards, final ArchiveWriter writer)
+    {
+        this(name, shard, shards);
+        this.writer = writer;
+    }
+
+    /** @return Name of the thread */
+    public String getName()
+    {
+        return name;
+    }
+
     /** Add a channel's buffer that this thread reads */
     public void addChannel(final ArchiveChannel channel)
     {
+        channels.add(channel);
         addSampleBuffer(channel.getSampleBuffer());
     }
 
@@ -96,15 +205,65 @@ public class WriteThread implements Runnable
         }
         millisec_delay = (int)(1000.0 * write_period);
         this.batch_size = batch_size;
-        thread = new Thread(this, "WriteThread");
+        if (! Preferences.spool_directory.isBlank())
+        {
+            try
+            {
+                openSpool(Paths.get(Preferences.spool_directory), Preferences.spool_segment_mb * 1024 * 1024);
+            }
+            catch (IOException ex)
+            {
+                logger.log(Level.WARNING, name + " cannot spool to " + Preferences.spool_directory, ex);
+            }
+        }
+        thread = new Thread(this, name);
         thread.start();
     }
 
+    /** @param shard Index of a write thread
+     *  @return Name of that write thread's spool
+     */
+    private static String getSpoolName(final int shard)
+    {
+        return "WriteThread" + shard;
+    }
+
+    /** Open the spool of this write thread
+     *
+     *  <p>The first write thread also adopts the samples
+     *  in spools of write threads that no longer exist,
+     *  so they are written once the archive can be reached.
+     *
+     *  @param directory Spool directory
+     *  @param segment_size Size of spool segment files
+     *  @throws IOException on error
+     */
+    @SuppressWarnings("nls")
+    void openSpool(final Path directory, final int segment_size) throws IOException
+    {
+        spool = new SampleSpool(directory, getSpoolName(shard), segment_size);
+        if (shard != 0)
+            return;
+        final Set<String> current = new HashSet<>();
+        for (int i=0; i<shards; ++i)
+            current.add(getSpoolName(i));
+        for (String other_name : SampleSpool.findSpools(directory))
+        {
+            if (current.contains(other_name))
+                continue;
+            final SampleSpool other = new SampleSpool(directory, other_name, segment_size);
+            logger.log(Level.INFO, name + " adopts " + other.size() + " samples from spool " + other_name);
+            spool.addAll(other);
+            other.close();
+        }
+    }
+
     /** Reset statistics */
     public void reset()
     {
         write_count.reset();
         write_time.reset();
+        write_rate.reset();
     }
 
     /** Ask the write thread to stop ASAP. */
@@ -135,6 +294,52 @@ public class WriteThread implements Runnable
         return write_time.get();
     }
 
+    /** @return Average number of values written per second */
+    public double getWriteRate()
+    {
+        return write_rate.get();
+    }
+
+    /** @return Total number of values written */
+    public long getTotalWriteCount()
+    {
+        return total_count.get();
+    }
+
+    /** @return Number of channels handled by this thread */
+    public int getChannelCount()
+    {
+        return buffers.size();
+    }
+
+    /** @return Number of values waiting to be written */
+    public long getQueuedSamples()
+    {
+        long queued = 0;
+        for (int i=0; i<buffers.size(); ++i)
+            queued += buffers.get(i).getQueueSize();
+        return queued;
+    }
+
+    /** @return Number of values in spool, waiting to be written */
+    public long getSpooledSamples()
+    {
+        final SampleSpool spool = this.spool;
+        return spool == null ? 0 : spool.size();
+    }
+
+    /** @return <code>true</code> if currently experiencing write errors */
+    public boolean isInErrorState()
+    {
+        return write_error;
+    }
+
+    /** @return Message of most recent write error, or <code>null</code> */
+    public String getLastError()
+    {
+        return last_error;
+    }
+
     /** 'Main loop' of the write thread.
      *  <p>
      *  Writes all values out, then waits.
@@ -152,47 +357,11 @@ public class WriteThread implements Runnable
     @SuppressWarnings("nls")
     public void run()
     {
-        logger.info("WriteThread starts");
-        boolean write_error = false;
+        logger.info(name + " starts");
         do_run = true;
         while (do_run)
         {
-            long delay;
-            try
-            {
-                // If there was an error before...
-                if (write_error)
-                {   // .. try to reconnect
-                    if (writer != null)
-                    {
-                        writer.close();
-                        writer = null;
-                    }
-                    // If we get here, all is OK so far ...
-                    write_error = false;
-                    // .. and we continue to write.
-                }
-                if (writer == null)
-                    writer = ArchiveWriterFactory.getArchiveWriter();
-                final long start = System.currentTimeMillis();
-                // In case of a network problem, we can hang in here
-                // for a long time...
-                final long written = write();
-                final long milli = System.currentTimeMillis() - start;
-                last_write_stamp = Instant.now();
-                write_count.update(written);
-                write_time.update(milli / 1000.0);
-                // How much of the scheduled delay is left after write()?
-                delay = millisec_delay - milli;
-            }
-            catch (Exception ex)
-            {   // Error in write() or the preceding reconnect()...
-                logger.log(Level.WARNING, "Error, will try to reconnect", ex);
-                // Use max. delay
-                delay = millisec_delay;
-                write_error = true;
-            }
-            SampleBuffer.setErrorState(write_error);
+            final long delay = runOnce();
             // See if there's any time left to wait,
             // or if we already used all that time in the last 'write'
             if (delay > 0)
@@ -210,7 +379,82 @@ public class WriteThread implements Runnable
                 }
             }
         }
-        logger.info("WriteThread exists");
+        logger.info(name + " exits");
+    }
+
+    /** Perform one write run
+     *  @return Milliseconds left to wait before the next run
+     */
+    @SuppressWarnings("nls")
+    long runOnce()
+    {
+        long delay;
+        try
+        {
+            // Move values held by compression into the buffers
+            // when channels have been quiet for the heartbeat period
+            flushExpiredCompression();
+            // If there was an error before...
+            if (write_error)
+            {   // .. try to reconnect
+                if (writer != null)
+                {
+                    writer.close();
+                    writer = null;
+                }
+                // If we get here, all is OK so far ...
+                write_error = false;
+                // .. and we continue to write.
+            }
+            if (writer == null)
+                writer = ArchiveWriterFactory.getArchiveWriter();
+            final long start = System.currentTimeMillis();
+            // In case of a network problem, we can hang in here
+            // for a long time...
+            final long written = write();
+            final long milli = System.currentTimeMillis() - start;
+            final Instant now = Instant.now();
+            if (last_write_stamp != null)
+            {
+                final long period = now.toEpochMilli() - last_write_stamp.toEpochMilli();
+                if (period > 0)
+                    write_rate.update(written * 1000.0 / period);
+            }
+            last_write_stamp = now;
+            write_count.update(written);
+            write_time.update(milli / 1000.0);
+            // How much of the scheduled delay is left after write()?
+            delay = millisec_delay - milli;
+        }
+        catch (Exception ex)
+        {   // Error in write() or the preceding reconnect()...
+            logger.log(Level.WARNING, name + " error, will try to reconnect", ex);
+            last_error = ex.getMessage();
+            // Use max. delay
+            delay = millisec_delay;
+            write_error = true;
+            spoolBuffers();
+        }
+        setErrorState(write_error);
+        return delay;
+    }
+
+    /** Archive values held by the compression of channels once their heartbeat period has passed */
+    private void flushExpiredCompression()
+    {
+        final Instant now = Instant.now();
+        for (ArchiveChannel channel : channels)
+            channel.flushExpiredCompression(now);
+    }
+
+    /** Update error state of all sample buffers when it changes
+     *  @param error Is there a write error?
+     */
+    private void setErrorState(final boolean error)
+    {
+        for (SampleBuffer buffer : buffers)
+            if (buffer.isInErrorState() != error)
+                buffer.setErrorState(error);
     }
 
     /** Stop the write thread, performing a final write. */
@@ -226,8 +470,18 @@ public class WriteThread implements Runnable
         {
             write();
         }
+        catch (Exception ex)
+        {
+            spoolBuffers();
+            throw ex;
+        }
         finally
         {
+            if (spool != null)
+            {
+                spool.close();
+                spool = null;
+            }
             if (writer != null)
             {
                 writer.close();
@@ -241,7 +495,35 @@ public class WriteThread implements Runnable
      */
     private long write() throws Exception
     {
-        int total_count = 0;
+        long written = 0;
+        if (spool != null  &&  ! spool.isEmpty())
+        {   // Add buffered samples to the spool, behind the older samples,
+            // then write from the spool
+            spoolBuffers();
+            written = replay();
+            if (! spool.isEmpty())
+                return written;
+        }
+        if (pending_count > 0)
+        {   // Write samples of a batch that failed to flush
+            String name = null, retention = null;
+            WriteChannel channel = null;
+            for (int i=0; i<pending_count; ++i)
+            {
+                final PendingSample keep = pending.get(i);
+                if (channel == null  ||  ! keep.name.equals(name)  ||  ! Objects.equals(keep.retention, retention))
+                {
+                    name = keep.name;
+                    retention = keep.retention;
+                    channel = writer.getChannel(name, retention);
+                }
+                keep.sample.writeTo(writer, channel);
+            }
+            writer.flush();
+            written += pending_count;
+            total_count.addAndGet(pending_count);
+            clearPending();
+        }
         int count = 0;
         for (SampleBuffer buffer : buffers)
         {
@@ -251,25 +533,135 @@ public class WriteThread implements Runnable
             final String name = buffer.getChannelName();
             final String retention = buffer.getArchiveDataRetention();
             final WriteChannel channel = writer.getChannel(name, retention);
-            VType sample = buffer.remove();
-            while (sample != null)
-            {   // Write one value
-                writer.addSample(channel, sample);
+            while (buffer.remove(sample))
+            {   // Keep value until flushed, then write it
+                keepPending(name, retention, sample);
+                sample.writeTo(writer, channel);
                 // Note: count across different sample buffers!
                 ++count;
                 if (count > batch_size)
                 {
-                    total_count += count;
-                    count = 0;
                     writer.flush();
+                    clearPending();
+                    written += count;
+                    total_count.addAndGet(count);
+                    count = 0;
                 }
-                // next
-                sample = buffer.remove();
             }
         }
         // Flush remaining samples (less than batch_size)
         writer.flush();
-        total_count += count;
-        return total_count;
+        clearPending();
+        written += count;
+        total_count.addAndGet(count);
+        return written;
+    }
+
+    /** Remember a sample passed to the writer until it has been flushed
+     *  @param name Channel name
+     *  @param retention Retention policy or <code>null</code>
+     *  @param sample Sample
+     */
+    private void keepPending(final String name, final String retention, final SampleRing.Sample sample)
+    {
+        if (pending_count >= pending.size())
+            pending.add(new PendingSample());
+        final PendingSample keep = pending.get(pending_count++);
+        keep.name = name;
+        keep.retention = retention;
+        keep.sample.copy(sample);
+    }
+
+    /** Forget pending samples once they have been flushed or spooled */
+    private void clearPending()
+    {
+        for (int i=0; i<pending_count; ++i)
+        {
+            final PendingSample keep = pending.get(i);
+            keep.sample.message = null;
+            keep.sample.object = null;
+        }
+        pending_count = 0;
+    }
+
+    /** Move samples of a failed batch and then samples from all sample buffers into the spool */
+    @SuppressWarnings("nls")
+    private void spoolBuffers()
+    {
+        if (spool == null)
+            return;
+        try
+        {
+            for (int i=0; i<pending_count; ++i)
+            {
+                final PendingSample keep = pending.get(i);
+                spool.add(keep.name, keep.retention, keep.sample);
+            }
+            clearPending();
+            for (SampleBuffer buffer : buffers)
+            {
+                final String name = buffer.getChannelName();
+                final String retention = buffer.getArchiveDataRetention();
+                while (buffer.remove(sample))
+                {
+                    spool.add(name, retention, sample);
+                    sample.object = null;
+                }
+            }
+            spool.force();
+        }
+        catch (IOException ex)
+        {
+            logger.log(Level.WARNING, name + " cannot spool samples", ex);
+        }
+    }
+
+    /** Write samples from the spool
+     *
+     *  <p>Samples are removed from the spool as each batch is flushed.
+     *  On error, the samples of the failed batch remain in the spool.
+     *
+     *  @return number of samples written
+     */
+    private long replay() throws Exception
+    {
+        long written = 0;
+        int count = 0;
+        String name = null, retention = null;
+        WriteChannel channel = null;
+        try
+        {
+            String[] info;
+            while (written + count < MAX_REPLAY_BATCHES * batch_size  &&
+                   (info = spool.read(sample)) != null)
+            {
+                if (channel == null  ||  ! info[0].equals(name)  ||  ! Objects.equals(info[1], retention))
+                {
+                    name = info[0];
+                    retention = info[1];
+                    channel = writer.getChannel(name, retention);
+                }
+                sample.writeTo(writer, channel);
+                ++count;
+                if (count >= batch_size)
+                {
+                    writer.flush();
+                    spool.commit();
+                    written += count;
+                    total_count.addAndGet(count);
+                    count = 0;
+                }
+            }
+            writer.flush();
+            spool.commit();
+            written += count;
+            total_count.addAndGet(count);
+        }
+        catch (Exception ex)
+        {
+            spool.rewind();
+            throw ex;
+        }
+        return written;
     }
 }
@@ -7,58 +7,56 @@
  ******************************************************************************/
 package org.csstudio.archive.engine.scanner;
 
-import static org.csstudio.archive.Engine.logger;
-
 import java.util.ArrayList;
-import java.util.logging.Level;
 
-/** A Scan list scans a list of channels at a given rate.
+import org.csstudio.archive.engine.model.Average;
+
+/** A Scan list holds the items scanned at a given rate
+ *  together with their scan statistics.
  *  <p>
- *  Only the {@link Scanner} is supposed to modify and scan
+ *  The {@link Scanner} schedules the items,
+ *  spreading them over the ticks of its timing wheel.
+ *  Only the {@link Scanner} is supposed to modify
  *  the scan list, so many methods are package-scoped.
  *  @author Kay Kasemir
  */
 @SuppressWarnings("nls")
-public class ScanList implements Scheduleable
+public class ScanList
 {
-    /** Scan period in seconds */
-    final private long scan_period_millis;
+    /** Scan period in ticks */
+    final private long period_ticks;
 
     /** Items to scan */
     final private ArrayList<Runnable> items = new ArrayList<>();
 
-    private long next_due_time = System.currentTimeMillis();
+    /** Number of item scans */
+    private long scans = 0;
+
+    /** Number of item scans that were skipped because a scan ran late by a full period */
+    private long overruns = 0;
+
+    /** Delay of scans relative to their due time in seconds */
+    private final Average delay = new Average();
+    private double max_delay = 0.0;
 
     /** Construct scan list.
-     *  @param scan_period Scan period in seconds
+     *  @param period_ticks Scan period in ticks of the {@link Scanner}
      */
-    public ScanList(final double scan_period)
-    {
-        scan_period_millis = (long)(scan_period * 1000.0);
-        // Schedule initial run
-        next_due_time = System.currentTimeMillis() + scan_period_millis;
-    }
-
-    /** @return Scan period in seconds */
-    public final double getPeriod()
+    ScanList(final long period_ticks)
     {
-        return scan_period_millis / 1000.0;
+        this.period_ticks = period_ticks;
     }
 
-    /** {@inheritDoc} */
-    @Override
-    public boolean isDueAtAll()
+    /** @return Scan period in ticks */
+    long getPeriodTicks()
     {
-        return items.size() > 0;
+        return period_ticks;
     }
 
-    /** {@inheritDoc} */
-    @Override
-    public long getNextDueTime()
+    /** @return Scan period in seconds */
+    public final double getPeriod()
     {
-        if (items.size() == 0)
-            throw new Error(toString() + " never due");
-        return next_due_time;
+        return period_ticks * Scanner.GRANULARITY;
     }
 
     /** Add an item to the scan list */
@@ -87,28 +85,50 @@ public class ScanList implements Scheduleable
         return items.get(index);
     }
 
-    /** Scan all items on this scan list.
-     *  Doesn't care if they're due or not,
-     *  that's up to the code that invokes this.
+    /** Update statistics for one scan of an item
+     *  @param delay_secs Delay of the scan relative to its due time in seconds
+     *  @param skipped Number of scans that were skipped
      */
-    void scanItems()
+    synchronized void updateStats(final double delay_secs, final long skipped)
+    {
+        ++scans;
+        overruns += skipped;
+        delay.update(delay_secs);
+        if (delay_secs > max_delay)
+            max_delay = delay_secs;
+    }
+
+    /** @return Number of item scans */
+    public synchronized long getScans()
+    {
+        return scans;
+    }
+
+    /** @return Number of item scans that were skipped because scans ran late by a full period */
+    public synchronized long getOverruns()
+    {
+        return overruns;
+    }
+
+    /** @return Average delay of scans in seconds */
+    public synchronized double getAverageDelay()
+    {
+        return delay.get();
+    }
+
+    /** @return Maximum delay of scans in seconds */
+    public synchronized double getMaxDelay()
+    {
+        return max_delay;
+    }
+
+    /** Reset statistics */
+    public synchronized void reset()
     {
-        final long start = System.currentTimeMillis();
-        // Scan all items
-        for (Runnable item : items)
-        {
-            try
-            {
-                item.run();
-            }
-            catch (Throwable ex)
-            {
-                logger.log(Level.SEVERE, toString() + " scan error", ex);
-            }
-        }
-        // Determine next due time relative to start,
-        // swallowing the time used to scan the items.
-        next_due_time = start + scan_period_millis;
+        scans = 0;
+        overruns = 0;
+        delay.reset();
+        max_delay = 0.0;
     }
 
     @Override
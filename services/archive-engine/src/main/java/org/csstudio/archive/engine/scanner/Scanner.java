@@ -10,46 +10,122 @@ package org.csstudio.archive.engine.scanner;
 import static org.csstudio.archive.Engine.logger;
 
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.logging.Level;
 
+import org.csstudio.archive.Preferences;
 import org.csstudio.archive.engine.model.Average;
 
 /** Helper for scanning something.
  *  <p>
- *  Places runnable items on scan lists,
- *  determines how long to wait to the scan next.
+ *  Places runnable items on a hierarchical timing wheel
+ *  that advances in ticks of {@link #GRANULARITY}.
+ *  All items due in a tick are scanned as one batch,
+ *  which is spread over a small pool of scan threads.
+ *  Items with the same period are kept on a {@link ScanList}
+ *  for statistics, and spread over the ticks of their period
+ *  to even out the number of items scanned per tick.
  *  @author Kay Kasemir
  */
+@SuppressWarnings("nls")
 public class Scanner implements Scheduleable
 {
     /** Granularity in seconds for the supported lists. */
-    final private static double GRANULARITY = 0.1;
+    final static double GRANULARITY = 0.1;
+
+    /** Duration of one tick in millis */
+    final private static long TICK_MILLIS = Math.round(GRANULARITY * 1000);
 
     /** Default idle delay */
     final private static long DEFAULT_IDLE_DELAY = 500;
 
+    /** Batches smaller than this are scanned on the calling thread */
+    final private static int MIN_PARALLEL_BATCH = 100;
+
     /** Time to wait in system millis when nothing to do */
     final private long idle_delay;
 
+    /** Item on the timing wheel */
+    private static class Entry
+    {
+        final Runnable item;
+        final ScanList list;
+        /** Tick when item is due */
+        long due;
+        /** Number of scans that were skipped in the most recent scan */
+        long skipped = 0;
+        /** Removed from scanner? */
+        volatile boolean removed = false;
+
+        Entry(final Runnable item, final ScanList list, final long due)
+        {
+            this.item = item;
+            this.list = list;
+            this.due = due;
+        }
+    }
+
+    /** Timing wheel of {@link Entry}s */
+    final private TimerWheel<Entry> wheel = new TimerWheel<>();
+
+    /** Entry for each item */
+    final private Map<Runnable, Entry> entries = new HashMap<>();
+
     /** All the single-period scan lists.
      *  <p>
-     *  Note that we don't keep empty lists around,
-     *  so every list should have a valid 'due time'.
+     *  Note that we don't keep empty lists around.
      */
     final private ArrayList<ScanList> lists = new ArrayList<>();
 
-    /** Next due time in system millis */
-    private long next_due_time;
+    /** Pool that scans a batch, <code>null</code> to scan on calling thread */
+    final private ExecutorService pool;
+
+    /** Number of threads in pool */
+    final private int threads;
+
+    /** Wall clock millis of tick 0, or -1 before first scan */
+    private long start_millis = -1;
 
     /** Average idle time in percent. */
     final private Average idle_percentage = new Average();
 
+    /** Average number of items scanned per tick */
+    final private Average batch_size = new Average();
+
     /** Construct scanner
      *  @param idle_delay Time to wait in system millis when nothing to do
+     *  @param threads Number of threads for scanning a batch
      */
-    public Scanner(final long idle_delay)
+    public Scanner(final long idle_delay, final int threads)
     {
         this.idle_delay = idle_delay;
+        this.threads = Math.max(1, threads);
+        if (this.threads > 1)
+        {
+            final AtomicInteger count = new AtomicInteger();
+            pool = Executors.newFixedThreadPool(this.threads, runnable ->
+            {
+                final Thread thread = new Thread(runnable, "Scan-" + count.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        else
+            pool = null;
+    }
+
+    /** Construct scanner
+     *  @param idle_delay Time to wait in system millis when nothing to do
+     */
+    public Scanner(final long idle_delay)
+    {
+        this(idle_delay, Preferences.scan_threads);
     }
 
     /** Construct scanner with default idle delay */
@@ -62,16 +138,18 @@ public class Scanner implements Scheduleable
      *  @param item Item to scan
      *  @param period Scan period in seconds
      */
-    public void add(final Runnable item, final double period)
+    public synchronized void add(final Runnable item, final double period)
     {
         // Avoid duplicates by removing what might be there
         remove(item);
 
+        final long period_ticks = Math.max(1, Math.round(period / GRANULARITY));
+
         // Locate suitable scan list
         ScanList the_list = null;
         for (ScanList list : lists)
         {
-            if (Math.abs(list.getPeriod() - period) < GRANULARITY)
+            if (list.getPeriodTicks() == period_ticks)
             {
                 the_list = list;
                 break;
@@ -80,84 +158,76 @@ public class Scanner implements Scheduleable
         // Nothing found?
         if (the_list == null)
         {   // Create new scan list
-            the_list = new ScanList(Math.round(period / GRANULARITY) * GRANULARITY);
+            the_list = new ScanList(period_ticks);
             lists.add(the_list);
         }
-        // Add item to list
+        // Spread items of the list over the ticks of their period
+        final long phase = the_list.size() % period_ticks;
         the_list.add(item);
-        computeDueTime();
+        final Entry entry = new Entry(item, the_list, wheel.getTick() + 1 + phase);
+        entries.put(item, entry);
+        wheel.schedule(entry, entry.due);
     }
 
     /** Remove an item from the scanner */
-    public void remove(final Runnable item)
+    public synchronized void remove(final Runnable item)
     {
-        // Brute-force remove from all lists,
-        // stopping as soon as item was found
-        for (ScanList list : lists)
-            if (list.remove(item))
-            {
-                // If this leaves an empty list, remove it.
-                if (! list.isDueAtAll())
-                    lists.remove(list);
-                return;
-            }
+        final Entry entry = entries.remove(item);
+        if (entry == null)
+            return;
+        // Entry is dropped from wheel when it expires
+        entry.removed = true;
+        entry.list.remove(item);
+        // If this leaves an empty list, remove it.
+        if (entry.list.size() <= 0)
+            lists.remove(entry.list);
     }
 
     /** Remove all items from this scanner */
-    public void clear()
+    public synchronized void clear()
     {
+        for (Entry entry : entries.values())
+            entry.removed = true;
+        entries.clear();
+        wheel.clear();
         lists.clear();
+        start_millis = -1;
     }
 
     /** @return Number of scan lists. */
-    public long size()
+    public synchronized long size()
     {
         return lists.size();
     }
 
     /** @return One of the scan lists. */
-    public ScanList get(final int index)
+    public synchronized ScanList get(final int index)
     {
         return lists.get(index);
     }
 
-    /** {@inheritDoc} */
-    @Override
-    public boolean isDueAtAll()
+    /** @return Snapshot of all scan lists */
+    public synchronized List<ScanList> getScanLists()
     {
-        return lists.size() > 0;
+        return new ArrayList<>(lists);
     }
 
     /** {@inheritDoc} */
     @Override
-    public long getNextDueTime()
+    public synchronized boolean isDueAtAll()
     {
-        if (lists.size() == 0)
-            throw new Error("Scanner never due"); //$NON-NLS-1$
-        return next_due_time;
+        return ! entries.isEmpty();
     }
 
-    /** Scan all the scan lists which are currently due */
-    void scanDueScanLists()
-    {
-        final long now = System.currentTimeMillis();
-        next_due_time = Long.MAX_VALUE;
-        for (ScanList list : lists)
-        {   // Scan (run) what's due now, and update the next due time
-            if (list.getNextDueTime() <= now)
-                list.scanItems();
-            // Update the next due time - which could change in run()
-            if (list.getNextDueTime() < next_due_time)
-                next_due_time = list.getNextDueTime();
-        }
-    }
-
-    /** Compute the next due time */
-    private void computeDueTime()
+    /** {@inheritDoc} */
+    @Override
+    public synchronized long getNextDueTime()
     {
-        next_due_time = Long.MAX_VALUE;
-        for (ScanList list : lists)
-            next_due_time = Math.min(list.getNextDueTime(), next_due_time);
+        if (entries.isEmpty())
+            throw new Error("Scanner never due"); //$NON-NLS-1$
+        if (start_millis < 0)
+            return System.currentTimeMillis();
+        return start_millis + (wheel.getTick() + 1) * TICK_MILLIS;
     }
 
     /** Average idle time in percent.
@@ -171,45 +241,165 @@ public class Scanner implements Scheduleable
         return idle_percentage.get();
     }
 
+    /** @return Average number of items scanned per tick */
+    public double getAverageBatchSize()
+    {
+        return batch_size.get();
+    }
+
+    /** @return Number of threads used to scan a batch */
+    public int getThreadCount()
+    {
+        return threads;
+    }
+
+    /** Stop the threads used to scan a batch
+     *
+     *  <p>Call when the scanner is no longer used.
+     *  Should it still be used, batches are scanned on the calling thread.
+     */
+    public void shutdown()
+    {
+        if (pool != null)
+            pool.shutdown();
+    }
+
     /** Reset statistics */
     public void reset()
     {
         idle_percentage.reset();
+        batch_size.reset();
+        for (ScanList list : getScanLists())
+            list.reset();
     }
 
-    /** Perform one scan: Wait for the next scan, perform it. */
+    /** Perform one scan: Wait for the next tick, scan the items due in that tick. */
     public void scanOnce()
     {
         try
         {
-            if (isDueAtAll())
-            {
-                final long delay = getNextDueTime() - System.currentTimeMillis();
-                if (delay > idle_delay)
-                {   // Nothing due within idle time
-                    idle_percentage.update(100.0);
-                    Thread.sleep(idle_delay);
-                    return;
-                }
-                if (delay > 0)
-                {   // Need to wait a little, then run scan
-                    idle_percentage.update(delay*100.0/idle_delay);
-                    Thread.sleep(delay);
-                    scanDueScanLists();
-                    return;
-                }
-                // High noon
-                idle_percentage.update(0.0);
-                scanDueScanLists();
+            if (! isDueAtAll())
+            {   // Nothing to do, ever. Just wait.
+                idle_percentage.update(100.0);
+                Thread.sleep(idle_delay);
                 return;
             }
-            // Nothing to do, ever. Just wait.
-            idle_percentage.update(100.0);
-            Thread.sleep(idle_delay);
+
+            // Wait for next tick
+            final long due_millis;
+            synchronized (this)
+            {
+                if (start_millis < 0)
+                    start_millis = System.currentTimeMillis() - wheel.getTick() * TICK_MILLIS;
+                due_millis = start_millis + (wheel.getTick() + 1) * TICK_MILLIS;
+            }
+            final long delay = due_millis - System.currentTimeMillis();
+            if (delay > 0)
+            {
+                idle_percentage.update(delay*100.0/TICK_MILLIS);
+                Thread.sleep(delay);
+            }
+            else // High noon, or already late
+                idle_percentage.update(0.0);
+
+            scanNextTick();
         }
         catch (InterruptedException ex)
         {
             logger.log(Level.WARNING, "Scanner interrupted", ex); //$NON-NLS-1$
         }
     }
+
+    /** Scan the items due in the next tick */
+    void scanNextTick() throws InterruptedException
+    {
+        final List<Entry> batch = new ArrayList<>();
+        final long tick;
+        synchronized (this)
+        {
+            tick = wheel.advance(batch);
+        }
+        batch_size.update(batch.size());
+        if (batch.isEmpty())
+            return;
+
+        // Items that are late by one or more periods skip those scans
+        final long now = System.currentTimeMillis();
+        final long late_ticks = Math.max(0, (now - start_millis) / TICK_MILLIS - tick);
+        final double delay = Math.max(0, now - start_millis - tick * TICK_MILLIS) / 1000.0;
+        for (Entry entry : batch)
+        {
+            final long period_ticks = entry.list.getPeriodTicks();
+            entry.skipped = late_ticks / period_ticks;
+            entry.due = tick + (entry.skipped + 1) * period_ticks;
+        }
+
+        scan(batch);
+
+        synchronized (this)
+        {
+            for (Entry entry : batch)
+            {
+                if (entry.removed)
+                    continue;
+                entry.list.updateStats(delay, entry.skipped);
+                wheel.schedule(entry, entry.due);
+            }
+        }
+    }
+
+    /** @param batch Entries to scan, split across the pool */
+    private void scan(final List<Entry> batch) throws InterruptedException
+    {
+        final int count = batch.size();
+        if (pool == null  ||  pool.isShutdown()  ||  count < MIN_PARALLEL_BATCH)
+        {
+            scan(batch, 0, count);
+            return;
+        }
+        final int chunk = (count + threads - 1) / threads;
+        final List<Future<?>> done = new ArrayList<>(threads);
+        for (int start = 0;  start < count;  start += chunk)
+        {
+            final int first = start, end = Math.min(count, start + chunk);
+            done.add(pool.submit(() -> scan(batch, first, end)));
+        }
+        for (Future<?> future : done)
+        {
+            try
+            {
+                future.get();
+            }
+            catch (InterruptedException ex)
+            {
+                throw ex;
+            }
+            catch (Exception ex)
+            {
+                logger.log(Level.SEVERE, "Scan error", ex);
+            }
+        }
+    }
+
+    /** @param batch Entries to scan
+     *  @param start Index of first entry to scan
+     *  @param end Index after last entry to scan
+     */
+    private void scan(final List<Entry> batch, final int start, final int end)
+    {
+        for (int i=start; i<end; ++i)
+        {
+            final Entry entry = batch.get(i);
+            if (entry.removed)
+                continue;
+            try
+            {
+                entry.item.run();
+            }
+            catch (Throwable ex)
+            {
+                logger.log(Level.SEVERE, entry.list + " scan error", ex);
+            }
+        }
+    }
 }
@@ -0,0 +1,143 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Phoebus contributors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ ******************************************************************************/
+package org.csstudio.archive.engine.scanner;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/** Hierarchical timing wheel
+ *
+ *  <p>Items are scheduled for a 'tick'.
+ *  The first level has one slot per tick,
+ *  each following level has one slot for all the ticks
+ *  of a complete revolution of the previous level.
+ *  When the lower level wraps around, the items of the
+ *  next slot on the higher level cascade down.
+ *  Scheduling is thus O(1), and advancing by one tick
+ *  only touches the items that are due,
+ *  independent of the total number of items.
+ *
+ *  <p>Not thread-safe, caller needs to synchronize.
+ *
+ *  @author agent
+ *  @param <T> Item type
+ */
+class TimerWheel<T>
+{
+    private static final int SLOT_BITS = 6, SLOTS = 1 << SLOT_BITS, MASK = SLOTS - 1;
+
+    /** 64^4 ticks, at 0.1 secs per tick about 19 days */
+    private static final int LEVELS = 4;
+
+    /** Ticks that the wheel can cover */
+    private static final long RANGE = 1L << (SLOT_BITS * LEVELS);
+
+    /** Item with its due tick */
+    private static class Entry<T>
+    {
+        final T item;
+        final long due;
+
+        Entry(final T item, final long due)
+        {
+            this.item = item;
+            this.due = due;
+        }
+    }
+
+    /** Slots [level][slot] */
+    private final List<List<Entry<T>>> slots = new ArrayList<>(LEVELS * SLOTS);
+
+    /** Most recently expired tick */
+    private long tick = 0;
+
+    /** Number of items in the wheel */
+    private int size = 0;
+
+    TimerWheel()
+    {
+        for (int i=0; i<LEVELS * SLOTS; ++i)
+            slots.add(new ArrayList<>());
+    }
+
+    /** @return Most recently expired tick */
+    long getTick()
+    {
+        return tick;
+    }
+
+    /** @return Number of scheduled items */
+    int size()
+    {
+        return size;
+    }
+
+    /** @param item Item to schedule
+     *  @param due Tick when item is due. Ticks that already expired are moved to the next tick.
+     */
+    void schedule(final T item, final long due)
+    {
+        insert(new Entry<>(item, Math.max(due, tick + 1)), tick);
+        ++size;
+    }
+
+    /** @param entry Entry to place in its slot
+     *  @param now Tick relative to which the entry is placed
+     */
+    private void insert(final Entry<T> entry, final long now)
+    {
+        // Items beyond the range are placed at the end of the range,
+        // from where they cascade down to be placed again
+        final long due = Math.min(entry.due, now + RANGE - 1);
+        final long delta = due - now;
+        int level = 0;
+        while (level < LEVELS-1  &&  delta >= 1L << (SLOT_BITS * (level+1)))
+            ++level;
+        final int slot = (int) ((due >>> (SLOT_BITS * level)) & MASK);
+        slots.get(level * SLOTS + slot).add(entry);
+    }
+
+    /** Advance to the next tick
+     *  @param expired List to which items due in the next tick are added
+     *  @return Next tick, which is now the most recently expired tick
+     */
+    long advance(final List<T> expired)
+    {
+        final long next = tick + 1;
+        // Cascade from higher levels as lower levels wrap around
+        for (int level=1; level<LEVELS; ++level)
+        {
+            if ((next & ((1L << (SLOT_BITS * level)) - 1)) != 0)
+                break;
+            final int slot = (int) ((next >>> (SLOT_BITS * level)) & MASK);
+            final List<Entry<T>> cascade = slots.get(level * SLOTS + slot);
+            if (cascade.isEmpty())
+                continue;
+            final List<Entry<T>> entries = new ArrayList<>(cascade);
+            cascade.clear();
+            for (Entry<T> entry : entries)
+                insert(entry, next);
+        }
+
+        final List<Entry<T>> due = slots.get((int) (next & MASK));
+        for (Entry<T> entry : due)
+            expired.add(entry.item);
+        size -= due.size();
+        due.clear();
+        tick = next;
+        return next;
+    }
+
+    /** Remove all items */
+    void clear()
+    {
+        for (List<Entry<T>> slot : slots)
+            slot.clear();
+        size = 0;
+    }
+}
@@ -20,6 +20,7 @@ import org.csstudio.archive.engine.model.ArchiveGroup;
 import org.csstudio.archive.engine.model.BufferStats;
 import org.csstudio.archive.engine.model.EngineModel;
 import org.csstudio.archive.engine.model.SampleBuffer;
+import org.csstudio.archive.engine.model.SampleCompression;
 
 import com.fasterxml.jackson.core.JsonGenerator;
 
@@ -80,12 +81,17 @@ public class ChannelServlet extends HttpServlet
 
             html.tableLine(Messages.HTTP_InternalState, channel.getInternalState());
             html.tableLine(Messages.HTTP_Mechanism, channel.getMechanism());
+            final SampleCompression compression = channel.getCompression();
+            html.tableLine(Messages.HTTP_Compression, compression == null ? Messages.HTTP_None : compression.toString());
             html.tableLine(Messages.HTTP_CurrentValue, channel.getCurrentValueAsString());
             html.tableLine(Messages.HTTP_LastArchivedValue, channel.getLastArchivedValueAsString());
             html.tableLine(Messages.HTTP_Enablement, channel.getEnablement().toString());
             html.tableLine(Messages.HTTP_State, channel.isEnabled()
                     ? Messages.HTTP_Enabled
                     : HTMLWriter.makeRedText(Messages.HTTP_Disabled));
+            html.tableLine(Messages.HTTP_ReceivedValues, Long.toString(channel.getReceivedValues()));
+            html.tableLine(Messages.HTTP_ArchivedValues, Long.toString(channel.getArchivedValues()));
+            html.tableLine(Messages.HTTP_CompressionRatio, String.format("%.1f", channel.getCompressionRatio()));
 
             final SampleBuffer buffer = channel.getSampleBuffer();
             html.tableLine(Messages.HTTP_QueueLen, Integer.toString(buffer.getQueueSize()));
@@ -36,6 +36,8 @@ public class EngineWebServer
         context.addServlet(GroupsServlet.class, "/groups/*");
         context.addServlet(GroupServlet.class, "/group/*");
         context.addServlet(ChannelServlet.class, "/channel/*");
+        context.addServlet(WritersServlet.class, "/writers/*");
+        context.addServlet(ScansServlet.class, "/scans/*");
         context.addServlet(RestartServlet.class, "/restart/*");
         context.addServlet(StopServlet.class, "/stop/*");
 
@@ -64,6 +64,7 @@ public class GroupServlet extends HttpServlet
 
             // Basic group info
             jg.writeBooleanField(Messages.HTTP_Enabled, group.isEnabled());
+            jg.writeNumberField(Messages.HTTP_CompressionRatio, group.getCompressionRatio());
 
             final ArchiveChannel ena_channel = group.getEnablingChannel();
             if (ena_channel != null)
@@ -91,6 +92,7 @@ public class GroupServlet extends HttpServlet
             // Basic group info
             html.openTable(2, Messages.HTTP_Status);
             html.tableLine(Messages.HTTP_State, group.isEnabled() ? Messages.HTTP_Enabled : Messages.HTTP_Disabled);
+            html.tableLine(Messages.HTTP_CompressionRatio, String.format("%.1f", group.getCompressionRatio()));
             final ArchiveChannel ena_channel = group.getEnablingChannel();
             if (ena_channel != null)
                 html.tableLine(Messages.HTTP_EnablingChannel,
@@ -108,6 +110,7 @@ public class GroupServlet extends HttpServlet
                 Messages.HTTP_CurrentValue,
                 Messages.HTTP_LastArchivedValue,
                 Messages.HTTP_ReceivedValues,
+                Messages.HTTP_CompressionRatio,
                 Messages.HTTP_QueueLen,
                 Messages.HTTP_QueueAvg,
                 Messages.HTTP_QueueMax,
@@ -139,6 +142,7 @@ public class GroupServlet extends HttpServlet
                     current_value,
                     last_value,
                     Long.toString(channel.getReceivedValues()),
+                    String.format("%.1f", channel.getCompressionRatio()),
                     Integer.toString(buffer.getQueueSize()),
                     String.format("%.1f", stats.getAverageSize()),
                     Integer.toString(stats.getMaxSize()),
@@ -51,6 +51,7 @@ public class GroupsServlet extends HttpServlet
             int total_channels = 0;
             int total_connect = 0;
             long total_received_values = 0;
+            long total_archived_values = 0;
             // Per group objects
             for (int i=0; i<group_count; ++i)
             {
@@ -60,12 +61,14 @@ public class GroupsServlet extends HttpServlet
                 double queue_avg = 0;
                 int queue_max = 0;
                 long received_values = 0;
+                long archived_values = 0;
                 for (int j=0; j<channel_count; ++j)
                 {
                     final ArchiveChannel channel = group.getChannel(j);
                     if (channel.isConnected())
                         ++connect_count;
                     received_values += channel.getReceivedValues();
+                    archived_values += channel.getArchivedValues();
                     final BufferStats stats =
                         channel.getSampleBuffer().getBufferStats();
                     queue_avg += stats.getAverageSize();
@@ -77,6 +80,7 @@ public class GroupsServlet extends HttpServlet
                 total_channels += channel_count;
                 total_connect += connect_count;
                 total_received_values += received_values;
+                total_archived_values += archived_values;
 
                 jg.writeStartObject();
                 jg.writeStringField(Messages.HTTP_Group, group.getName());
@@ -84,6 +88,7 @@ public class GroupsServlet extends HttpServlet
                 jg.writeNumberField(Messages.HTTP_ChannelCount, channel_count);
                 jg.writeNumberField(Messages.HTTP_Connected, connect_count);
                 jg.writeNumberField(Messages.HTTP_ReceivedValues, received_values);
+                jg.writeNumberField(Messages.HTTP_CompressionRatio, ArchiveChannel.getCompressionRatio(received_values, archived_values));
                 jg.writeNumberField(Messages.HTTP_QueueAvg, queue_avg);
                 jg.writeNumberField(Messages.HTTP_QueueMax, queue_max);
                 jg.writeEndObject();
@@ -95,6 +100,7 @@ public class GroupsServlet extends HttpServlet
             jg.writeNumberField(Messages.HTTP_ChannelCount, total_channels);
             jg.writeNumberField(Messages.HTTP_Connected, total_connect);
             jg.writeNumberField(Messages.HTTP_ReceivedValues, total_received_values);
+            jg.writeNumberField(Messages.HTTP_CompressionRatio, ArchiveChannel.getCompressionRatio(total_received_values, total_archived_values));
             jg.writeEndObject();
 
             jg.writeEndArray();
@@ -109,6 +115,7 @@ public class GroupsServlet extends HttpServlet
                               Messages.HTTP_ChannelCount,
                               Messages.HTTP_Connected,
                               Messages.HTTP_ReceivedValues,
+                              Messages.HTTP_CompressionRatio,
                               Messages.HTTP_QueueAvg,
                               Messages.HTTP_QueueMax);
 
@@ -116,6 +123,7 @@ public class GroupsServlet extends HttpServlet
             int total_channels = 0;
             int total_connect = 0;
             long total_received_values = 0;
+            long total_archived_values = 0;
             // Per group lines
             for (int i=0; i<group_count; ++i)
             {
@@ -125,12 +133,14 @@ public class GroupsServlet extends HttpServlet
                 double queue_avg = 0;
                 int queue_max = 0;
                 long received_values = 0;
+                long archived_values = 0;
                 for (int j=0; j<channel_count; ++j)
                 {
                     final ArchiveChannel channel = group.getChannel(j);
                     if (channel.isConnected())
                         ++connect_count;
                     received_values += channel.getReceivedValues();
+                    archived_values += channel.getArchivedValues();
                     final BufferStats stats =
                         channel.getSampleBuffer().getBufferStats();
                     queue_avg += stats.getAverageSize();
@@ -142,6 +152,7 @@ public class GroupsServlet extends HttpServlet
                 total_channels += channel_count;
                 total_connect += connect_count;
                 total_received_values += received_values;
+                total_archived_values += archived_values;
 
                 final String connected = (channel_count == connect_count)
                     ? Integer.toString(connect_count)
@@ -154,6 +165,7 @@ public class GroupsServlet extends HttpServlet
                     Integer.toString(channel_count),
                     connected,
                     Long.toString(received_values),
+                    String.format("%.1f", ArchiveChannel.getCompressionRatio(received_values, archived_values)),
                     String.format("%.1f", queue_avg),
                     Integer.toString(queue_max));
             }
@@ -167,6 +179,7 @@ public class GroupsServlet extends HttpServlet
                 Integer.toString(total_channels),
                 connected,
                 Long.toString(total_received_values),
+                String.format("%.1f", ArchiveChannel.getCompressionRatio(total_received_values, total_archived_values)),
                 "",
                 "");
 
@@ -60,6 +60,8 @@ public class HTMLWriter
         text("<a href=\"/main\">-Main-</a> ");
         text("<a href=\"/groups\">-Groups-</a> ");
         text("<a href=\"/disconnected\">-Disconnected-</a> ");
+        text("<a href=\"/writers\">-Writers-</a> ");
+        text("<a href=\"/scans\">-Scans-</a> ");
         text("<a href=\"/version.html\">-Version-</a> ");
 
         text("<address>");
@@ -164,6 +166,28 @@ public class HTMLWriter
         return "<a href=\"" + url + "\">" + text + "</a>";
     }
 
+    /** @param text Plain text that may contain '&lt;', '&amp;', ...
+     *  @return Text with HTML special characters escaped
+     */
+    public static String escape(final String text)
+    {
+        final StringBuilder buf = new StringBuilder(text.length());
+        for (int i=0; i<text.length(); ++i)
+        {
+            final char c = text.charAt(i);
+            switch (c)
+            {
+            case '<':  buf.append("&lt;");   break;
+            case '>':  buf.append("&gt;");   break;
+            case '&':  buf.append("&amp;");  break;
+            case '"':  buf.append("&quot;"); break;
+            case '\'': buf.append("&#39;");  break;
+            default:   buf.append(c);
+            }
+        }
+        return buf.toString();
+    }
+
     /** @return HTML for red text */
     public static String makeRedText(final String text)
     {
@@ -17,6 +17,7 @@ import javax.servlet.http.HttpServletResponse;
 import org.csstudio.archive.engine.model.ArchiveChannel;
 import org.csstudio.archive.engine.model.BufferStats;
 import org.csstudio.archive.engine.model.SampleBuffer;
+import org.csstudio.archive.engine.model.SampleCompression;
 import org.csstudio.archive.writer.rdb.TimestampHelper;
 import org.epics.vtype.VType;
 import org.phoebus.core.vtypes.VTypeHelper;
@@ -86,6 +87,10 @@ public class JSONWriter implements AutoCloseable
         jg.writeEndObject();
 
         jg.writeNumberField(Messages.HTTP_ReceivedValues, channel.getReceivedValues());
+        jg.writeNumberField(Messages.HTTP_ArchivedValues, channel.getArchivedValues());
+        jg.writeNumberField(Messages.HTTP_CompressionRatio, channel.getCompressionRatio());
+        final SampleCompression compression = channel.getCompression();
+        jg.writeStringField(Messages.HTTP_Compression, compression == null ? Messages.HTTP_None : compression.toString());
         jg.writeBooleanField(Messages.HTTP_State, channel.isEnabled());
 
         final SampleBuffer buffer = channel.getSampleBuffer();
@@ -20,7 +20,6 @@ import org.csstudio.archive.Engine;
 import org.csstudio.archive.Preferences;
 import org.csstudio.archive.engine.model.ArchiveGroup;
 import org.csstudio.archive.engine.model.EngineModel;
-import org.csstudio.archive.engine.model.SampleBuffer;
 import org.csstudio.archive.writer.rdb.TimestampHelper;
 import org.phoebus.util.time.SecondsParser;
 import org.phoebus.util.time.TimeDuration;
@@ -87,13 +86,16 @@ public class MainServlet extends HttpServlet
             jg.writeNumberField(Messages.HTTP_BatchSize, Preferences.batch_size);
             jg.writeNumberField(Messages.HTTP_WritePeriod, Preferences.write_period);
 
-            jg.writeStringField(Messages.HTTP_WriteState, (SampleBuffer.isInErrorState()
+            jg.writeNumberField(Messages.HTTP_WriteThreads, model.getWriteThreads().size());
+            jg.writeStringField(Messages.HTTP_WriteState, (model.isInErrorState()
                     ? Messages.HTTP_WriteError : "OK"));
 
             jg.writeStringField(Messages.HTTP_LastWriteTime, last_write_time == null ? "Never" : TimestampHelper.format(last_write_time));
             jg.writeNumberField(Messages.HTTP_WriteCount, model.getWriteCount());
             jg.writeNumberField(Messages.HTTP_WriteDuration, model.getWriteDuration());
             jg.writeNumberField(Messages.HTTP_Idletime, model.getIdlePercentage());
+            jg.writeNumberField(Messages.HTTP_ScanPeriods, model.getScanLists().size());
+            jg.writeNumberField(Messages.HTTP_ScanThreads, model.getScanThreadCount());
 
             final Runtime runtime = Runtime.getRuntime();
             final double used_mem = runtime.totalMemory() / MB;
@@ -132,7 +134,8 @@ public class MainServlet extends HttpServlet
             html.tableLine(Messages.HTTP_BatchSize, Preferences.batch_size + " samples");
             html.tableLine(Messages.HTTP_WritePeriod, Preferences.write_period + " sec");
 
-            html.tableLine(Messages.HTTP_WriteState, (SampleBuffer.isInErrorState()
+            html.tableLine(Messages.HTTP_WriteThreads, HTMLWriter.makeLink("writers", Integer.toString(model.getWriteThreads().size())));
+            html.tableLine(Messages.HTTP_WriteState, (model.isInErrorState()
                     ? HTMLWriter.makeRedText(Messages.HTTP_WriteError)
                     : "OK"));
 
@@ -141,6 +144,8 @@ public class MainServlet extends HttpServlet
             html.tableLine(Messages.HTTP_WriteDuration, String.format("%.1f sec", model.getWriteDuration()));
 
             html.tableLine(Messages.HTTP_Idletime, String.format("%.1f %%", model.getIdlePercentage()));
+            html.tableLine(Messages.HTTP_ScanPeriods, HTMLWriter.makeLink("scans", Integer.toString(model.getScanLists().size())));
+            html.tableLine(Messages.HTTP_ScanThreads, Integer.toString(model.getScanThreadCount()));
 
             final Runtime runtime = Runtime.getRuntime();
             final double used_mem = runtime.totalMemory() / MB;
@@ -14,11 +14,14 @@ package org.csstudio.archive.engine.server;
 @SuppressWarnings("nls")
 public class Messages
 {
+    final public static String HTTP_ArchivedValues = "Archived Values";
     final public static String HTTP_BatchSize = "Batch Size";
     final public static String HTTP_Channel = "Channel";
     final public static String HTTP_ChannelCount = "Channels";
     final public static String HTTP_ChannelInfo = "Channel Info";
     final public static String HTTP_Channels = "Channels";
+    final public static String HTTP_Compression = "Compression";
+    final public static String HTTP_CompressionRatio = "Compression Ratio";
     final public static String HTTP_Connected = "Connected";
     final public static String HTTP_Description = "Description";
     final public static String HTTP_Disabled = "Disabled";
@@ -34,26 +37,43 @@ public class Messages
     final public static String HTTP_InternalState = "Internal State";
     final public static String HTTP_CurrentValue = "Current Value";
     final public static String HTTP_LastArchivedValue = "Last Archived Value";
+    final public static String HTTP_LastError = "Last Error";
     final public static String HTTP_LastWriteTime = "Last Written";
     final public static String HTTP_MainTitle = "Archive Engine";
     final public static String HTTP_Mechanism = "Mechanism";
     final public static String HTTP_Never = "never";
+    final public static String HTTP_None = "none";
     final public static String HTTP_QueueAvg = "Queue Avg.";
     final public static String HTTP_QueueLen = "Queue Len.";
     final public static String HTTP_QueueMax = "Queue Max.";
     final public static String HTTP_QueueCapacity = "Capacity";
     final public static String HTTP_QueueOverruns = "Overruns";
+    final public static String HTTP_QueuedSamples = "Queued Samples";
     final public static String HTTP_ReceivedValues = "Received Values";
+    final public static String HTTP_ScanBatchSize = "Scan Batch Avg.";
+    final public static String HTTP_ScanCount = "Scans";
+    final public static String HTTP_ScanDelayAvg = "Delay Avg.";
+    final public static String HTTP_ScanDelayMax = "Delay Max.";
+    final public static String HTTP_ScanOverruns = "Skipped Scans";
+    final public static String HTTP_ScanPeriod = "Scan Period";
+    final public static String HTTP_ScanPeriods = "Scan Periods";
+    final public static String HTTP_ScanThreads = "Scan Threads";
+    final public static String HTTP_SpooledSamples = "Spooled Samples";
     final public static String HTTP_StartTime = "Start Time";
     final public static String HTTP_State = "State";
     final public static String HTTP_Status = "Status";
     final public static String HTTP_Total = "Total";
     final public static String HTTP_Uptime = "Uptime";
     final public static String HTTP_Version = "Version";
+    final public static String HTTP_WriteLag = "Write Lag";
     final public static String HTTP_Workspace = "Workspace";
     final public static String HTTP_WriteCount = "Write Count";
     final public static String HTTP_WriteDuration = "Write Duration";
+    final public static String HTTP_WriteRate = "Write Rate";
     final public static String HTTP_WriteError = "Write Error";
     final public static String HTTP_WritePeriod = "Write Period";
     final public static String HTTP_WriteState = "Write State";
+    final public static String HTTP_WriteThread = "Write Thread";
+    final public static String HTTP_WriteThreads = "Write Threads";
+    final public static String HTTP_WriteTotal = "Samples Written";
 }
@@ -0,0 +1,104 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Phoebus contributors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ ******************************************************************************/
+package org.csstudio.archive.engine.server;
+
+import java.io.IOException;
+
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.csstudio.archive.Engine;
+import org.csstudio.archive.engine.model.EngineModel;
+import org.csstudio.archive.engine.scanner.ScanList;
+import org.phoebus.util.time.SecondsParser;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+
+/** 'scans' web page
+ *
+ *  <p>Scan statistics for each scan period.
+ *  The delay is the time between when a channel was due
+ *  and when it was scanned.
+ *  Channels that are late by a full period skip scans.
+ *
+ *  @author agent
+ */
+@SuppressWarnings("nls")
+public class ScansServlet extends HttpServlet
+{
+    private static final long serialVersionUID = 1L;
+
+    @Override
+    protected void doGet(final HttpServletRequest request,
+                         final HttpServletResponse response) throws ServletException, IOException
+    {
+        final EngineModel model = Engine.getModel();
+
+        if ("json".equals(request.getParameter("format")))
+        {
+            final JSONWriter json = new JSONWriter(request, response);
+            final JsonGenerator jg = json.getGenerator();
+
+            jg.writeNumberField(Messages.HTTP_ScanThreads, model.getScanThreadCount());
+            jg.writeNumberField(Messages.HTTP_ScanBatchSize, model.getScanBatchSize());
+            jg.writeNumberField(Messages.HTTP_Idletime, model.getIdlePercentage());
+
+            jg.writeArrayFieldStart(Messages.HTTP_ScanPeriods);
+            for (ScanList list : model.getScanLists())
+            {
+                jg.writeStartObject();
+                jg.writeNumberField(Messages.HTTP_ScanPeriod, list.getPeriod());
+                jg.writeNumberField(Messages.HTTP_ChannelCount, list.size());
+                jg.writeNumberField(Messages.HTTP_ScanCount, list.getScans());
+                jg.writeNumberField(Messages.HTTP_ScanOverruns, list.getOverruns());
+                jg.writeNumberField(Messages.HTTP_ScanDelayAvg, list.getAverageDelay());
+                jg.writeNumberField(Messages.HTTP_ScanDelayMax, list.getMaxDelay());
+                jg.writeEndObject();
+            }
+            jg.writeEndArray();
+
+            json.close();
+        }
+        else
+        {
+            final HTMLWriter html = new HTMLWriter(response, "Archive Engine Scans");
+
+            html.openTable(2, Messages.HTTP_Status);
+            html.tableLine(Messages.HTTP_ScanThreads, Integer.toString(model.getScanThreadCount()));
+            html.tableLine(Messages.HTTP_ScanBatchSize, String.format("%.1f channels", model.getScanBatchSize()));
+            html.tableLine(Messages.HTTP_Idletime, String.format("%.1f %%", model.getIdlePercentage()));
+            html.closeTable();
+
+            html.h2(Messages.HTTP_ScanPeriods);
+            html.openTable(1, Messages.HTTP_ScanPeriod,
+                              Messages.HTTP_ChannelCount,
+                              Messages.HTTP_ScanCount,
+                              Messages.HTTP_ScanOverruns,
+                              Messages.HTTP_ScanDelayAvg,
+                              Messages.HTTP_ScanDelayMax);
+            for (ScanList list : model.getScanLists())
+            {
+                final long overrun_count = list.getOverruns();
+                String overruns = Long.toString(overrun_count);
+                if (overrun_count > 0)
+                    overruns = HTMLWriter.makeRedText(overruns);
+                html.tableLine(SecondsParser.formatSeconds(list.getPeriod()),
+                               Integer.toString(list.size()),
+                               Long.toString(list.getScans()),
+                               overruns,
+                               String.format("%.3f sec", list.getAverageDelay()),
+                               String.format("%.3f sec", list.getMaxDelay()));
+            }
+            html.closeTable();
+
+            html.close();
+        }
+    }
+}
@@ -0,0 +1,121 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Phoebus contributors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ ******************************************************************************/
+package org.csstudio.archive.engine.server;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.csstudio.archive.Engine;
+import org.csstudio.archive.engine.model.EngineModel;
+import org.csstudio.archive.engine.model.WriteThread;
+import org.csstudio.archive.writer.rdb.TimestampHelper;
+import org.phoebus.util.time.SecondsParser;
+import org.phoebus.util.time.TimeDuration;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+
+/** 'writers' web page
+ *
+ *  <p>Throughput, lag and error state of each write thread.
+ *  The lag is the time since the end of the last successful write.
+ *  Spooled samples are kept on disk while the archive cannot be written.
+ *
+ *  @author agent
+ */
+@SuppressWarnings("nls")
+public class WritersServlet extends HttpServlet
+{
+    private static final long serialVersionUID = 1L;
+
+    @Override
+    protected void doGet(final HttpServletRequest request,
+                         final HttpServletResponse response) throws ServletException, IOException
+    {
+        final EngineModel model = Engine.getModel();
+        final Instant now = Instant.now();
+
+        if ("json".equals(request.getParameter("format")))
+        {
+            final JSONWriter json = new JSONWriter(request, response);
+            final JsonGenerator jg = json.getGenerator();
+
+            jg.writeArrayFieldStart("Archive Engine Writers");
+            for (WriteThread writer : model.getWriteThreads())
+            {
+                final Instant last_write_time = writer.getLastWriteTime();
+                jg.writeStartObject();
+                jg.writeStringField(Messages.HTTP_WriteThread, writer.getName());
+                jg.writeNumberField(Messages.HTTP_ChannelCount, writer.getChannelCount());
+                jg.writeStringField(Messages.HTTP_WriteState, writer.isInErrorState() ? Messages.HTTP_WriteError : "OK");
+                jg.writeStringField(Messages.HTTP_LastError, writer.getLastError() == null ? "" : writer.getLastError());
+                jg.writeStringField(Messages.HTTP_LastWriteTime, last_write_time == null ? "Never" : TimestampHelper.format(last_write_time));
+                if (last_write_time != null)
+                    jg.writeNumberField(Messages.HTTP_WriteLag, TimeDuration.toSecondsDouble(Duration.between(last_write_time, now)));
+                jg.writeNumberField(Messages.HTTP_QueuedSamples, writer.getQueuedSamples());
+                jg.writeNumberField(Messages.HTTP_SpooledSamples, writer.getSpooledSamples());
+                jg.writeNumberField(Messages.HTTP_WriteCount, writer.getWriteCount());
+                jg.writeNumberField(Messages.HTTP_WriteDuration, writer.getWriteDuration());
+                jg.writeNumberField(Messages.HTTP_WriteRate, writer.getWriteRate());
+                jg.writeNumberField(Messages.HTTP_WriteTotal, writer.getTotalWriteCount());
+                jg.writeEndObject();
+            }
+            jg.writeEndArray();
+
+            json.close();
+        }
+        else
+        {
+            final HTMLWriter html = new HTMLWriter(response, "Archive Engine Writers");
+            html.openTable(1, Messages.HTTP_WriteThread,
+                              Messages.HTTP_ChannelCount,
+                              Messages.HTTP_WriteState,
+                              Messages.HTTP_LastWriteTime,
+                              Messages.HTTP_WriteLag,
+                              Messages.HTTP_QueuedSamples,
+                              Messages.HTTP_SpooledSamples,
+                              Messages.HTTP_WriteCount,
+                              Messages.HTTP_WriteDuration,
+                              Messages.HTTP_WriteRate,
+                              Messages.HTTP_WriteTotal);
+
+            for (WriteThread writer : model.getWriteThreads())
+            {
+                final Instant last_write_time = writer.getLastWriteTime();
+                final String state;
+                if (writer.isInErrorState())
+                    state = HTMLWriter.makeRedText(writer.getLastError() == null
+                                                   ? Messages.HTTP_WriteError
+                                                   : Messages.HTTP_WriteError + ": " + HTMLWriter.escape(writer.getLastError()));
+                else
+                    state = "OK";
+                html.tableLine(writer.getName(),
+                               Integer.toString(writer.getChannelCount()),
+                               state,
+                               last_write_time == null ? Messages.HTTP_Never : TimestampHelper.format(last_write_time),
+                               last_write_time == null
+                               ? ""
+                               : SecondsParser.formatSeconds(TimeDuration.toSecondsDouble(Duration.between(last_write_time, now))),
+                               Long.toString(writer.getQueuedSamples()),
+                               Long.toString(writer.getSpooledSamples()),
+                               (int) writer.getWriteCount() + " samples",
+                               String.format("%.1f sec", writer.getWriteDuration()),
+                               String.format("%.1f samples/sec", writer.getWriteRate()),
+                               Long.toString(writer.getTotalWriteCount()));
+            }
+
+            html.closeTable();
+            html.close();
+        }
+    }
+}
@@ -7,6 +7,17 @@
  ******************************************************************************/
 package org.csstudio.archive.writer;
 
+import java.time.Instant;
+
+import org.epics.vtype.Alarm;
+import org.epics.vtype.AlarmSeverity;
+import org.epics.vtype.AlarmStatus;
+import org.epics.vtype.Display;
+import org.epics.vtype.EnumDisplay;
+import org.epics.vtype.Time;
+import org.epics.vtype.VDouble;
+import org.epics.vtype.VEnum;
+import org.epics.vtype.VLong;
 import org.epics.vtype.VType;
 
 /** Interface for writing samples to an archive
@@ -42,6 +53,77 @@ public interface ArchiveWriter
      */
     public void addSample(WriteChannel channel, VType sample) throws Exception;
 
+    /** Add a scalar floating point sample to the archive.
+     *
+     *  <p>Allows callers that buffer samples in primitive form
+     *  to write them without first creating a {@link VType}.
+     *  The default implementation creates a {@link VDouble}
+     *  and calls {@link #addSample(WriteChannel, VType)}.
+     *
+     *  @param channel Channel to which to add a sample
+     *  @param seconds Time stamp, seconds since 1970 epoch
+     *  @param nanos Nanoseconds within the second
+     *  @param severity Alarm severity
+     *  @param status Alarm status
+     *  @param message Alarm message
+     *  @param display Display meta data
+     *  @param value Value to add
+     *  @throws Exception on error
+     */
+    public default void addDoubleSample(WriteChannel channel, long seconds, int nanos,
+                                        AlarmSeverity severity, AlarmStatus status, String message,
+                                        Display display, double value) throws Exception
+    {
+        addSample(channel, VDouble.of(value, Alarm.of(severity, status, message),
+                                      Time.of(Instant.ofEpochSecond(seconds, nanos)), display));
+    }
+
+    /** Add a scalar integer sample to the archive.
+     *
+     *  <p>The default implementation creates a {@link VLong}
+     *  and calls {@link #addSample(WriteChannel, VType)}.
+     *
+     *  @param channel Channel to which to add a sample
+     *  @param seconds Time stamp, seconds since 1970 epoch
+     *  @param nanos Nanoseconds within the second
+     *  @param severity Alarm severity
+     *  @param status Alarm status
+     *  @param message Alarm message
+     *  @param display Display meta data
+     *  @param value Value to add
+     *  @throws Exception on error
+     */
+    public default void addLongSample(WriteChannel channel, long seconds, int nanos,
+                                      AlarmSeverity severity, AlarmStatus status, String message,
+                                      Display display, long value) throws Exception
+    {
+        addSample(channel, VLong.of(value, Alarm.of(severity, status, message),
+                                    Time.of(Instant.ofEpochSecond(seconds, nanos)), display));
+    }
+
+    /** Add an enumerated sample to the archive.
+     *
+     *  <p>The default implementation creates a {@link VEnum}
+     *  and calls {@link #addSample(WriteChannel, VType)}.
+     *
+     *  @param channel Channel to which to add a sample
+     *  @param seconds Time stamp, seconds since 1970 epoch
+     *  @param nanos Nanoseconds within the second
+     *  @param severity Alarm severity
+     *  @param status Alarm status
+     *  @param message Alarm message
+     *  @param display Enumeration labels
+     *  @param index Index of the enumeration value
+     *  @throws Exception on error
+     */
+    public default void addEnumSample(WriteChannel channel, long seconds, int nanos,
+                                      AlarmSeverity severity, AlarmStatus status, String message,
+                                      EnumDisplay display, int index) throws Exception
+    {
+        addSample(channel, VEnum.of(index, display, Alarm.of(severity, status, message),
+                                    Time.of(Instant.ofEpochSecond(seconds, nanos))));
+    }
+
     /** Write all recently added samples to the archive.
      *
      *  <p>Since the underlying implementation is allowed to
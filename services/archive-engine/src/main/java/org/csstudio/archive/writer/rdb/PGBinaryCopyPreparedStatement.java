@@ -0,0 +1,1116 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Phoebus contributors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ ******************************************************************************/
+package org.csstudio.archive.writer.rdb;
+
+import java.io.InputStream;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.sql.Array;
+import java.sql.Blob;
+import java.sql.Clob;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.NClob;
+import java.sql.ParameterMetaData;
+import java.sql.PreparedStatement;
+import java.sql.Ref;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.RowId;
+import java.sql.SQLException;
+import java.sql.SQLWarning;
+import java.sql.SQLXML;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TimeZone;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.postgresql.util.PSQLException;
+
+/** PreparedStatement for sample inserts that streams rows via binary COPY
+ *
+ *  <p>Like the {@link PGCopyPreparedStatement}, this turns an
+ *  "INSERT INTO table (columns) VALUES (?, ...)" statement into
+ *  a "COPY table (columns) FROM STDIN" of all batched rows,
+ *  but it uses the binary COPY format so numbers and time stamps
+ *  are sent without formatting and parsing them as text.
+ *
+ *  <p>Rows are encoded into a buffer of fixed size.
+ *  Whenever the buffer is full, its rows are sent in one COPY,
+ *  so memory use does not depend on the batch size.
+ *  All COPY commands are part of the current transaction,
+ *  which the caller commits after <code>executeBatch()</code>.
+ *
+ *  <p>Instead of keeping a copy of the batched samples,
+ *  only the channel ID and time stamp of the rows in the buffer are remembered,
+ *  taken from parameters 1 and 2 of the sample inserts.
+ *  When the database rejects a row, the line number reported for the COPY
+ *  identifies the failed row.
+ *
+ *  @author agent
+ */
+@SuppressWarnings("nls")
+public class PGBinaryCopyPreparedStatement implements PreparedStatement
+{
+    /** Send one chunk of binary COPY data */
+    @FunctionalInterface
+    interface CopySink
+    {
+        /** @param copy_sql COPY command
+         *  @param data Binary COPY data with header and trailer
+         *  @param length Number of valid bytes in data
+         *  @return Number of rows copied
+         *  @throws SQLException on error
+         */
+        long copy(String copy_sql, byte[] data, int length) throws SQLException;
+    }
+
+    /** Column types supported in binary format */
+    enum ColumnType
+    {
+        INT2, INT4, INT8, FLOAT4, FLOAT8, TIMESTAMP, TIMESTAMPTZ, TEXT, BYTEA;
+
+        /** @param type_name PostgreSQL type name
+         *  @return {@link ColumnType}
+         *  @throws SQLException if type is not supported
+         */
+        static ColumnType fromTypeName(final String type_name) throws SQLException
+        {
+            switch (type_name.toLowerCase(Locale.ROOT))
+            {
+            case "int2":
+            case "smallserial":
+                return INT2;
+            case "int4":
+            case "serial":
+                return INT4;
+            case "int8":
+            case "bigserial":
+                return INT8;
+            case "float4":
+                return FLOAT4;
+            case "float8":
+                return FLOAT8;
+            case "timestamp":
+                return TIMESTAMP;
+            case "timestamptz":
+                return TIMESTAMPTZ;
+            case "varchar":
+            case "bpchar":
+            case "text":
+                return TEXT;
+            case "bytea":
+                return BYTEA;
+            default:
+                throw new SQLException("Binary COPY does not support column type " + type_name);
+            }
+        }
+    }
+
+    /** Binary COPY header: Signature, flags, header extension length */
+    private static final byte[] HEADER =
+    {
+        'P', 'G', 'C', 'O', 'P', 'Y', '\n', (byte) 0xFF, '\r', '\n', 0,
+        0, 0, 0, 0,
+        0, 0, 0, 0
+    };
+
+    /** Seconds from 1970 epoch to 2000 epoch used by PostgreSQL */
+    private static final long PG_EPOCH_SECONDS = 946684800L;
+
+    /** Parameter value kinds */
+    private static final byte UNSET = 0, NULL = 1, LONG = 2, DOUBLE = 3, MICROS = 4, BYTES = 5;
+
+    private static final Pattern INSERT = Pattern.compile("^INSERT[ ]+INTO[ ]+([^ ]+)[ ]+\\(([^)]+)\\)",
+                                                          Pattern.CASE_INSENSITIVE);
+
+    private static final Pattern LINE = Pattern.compile("line (\\d+)");
+
+    private final String table;
+
+    private final String[] columns;
+
+    private final ColumnType[] types;
+
+    private final String copy_sql;
+
+    private final CopySink sink;
+
+    /** Current row parameters, index 0 for parameter 1 */
+    private final byte[] kinds;
+    private final long[] longs;
+    private final double[] doubles;
+    private final byte[][] bytes;
+
+    /** Buffer for header and rows, trailer is added when sent */
+    private final ByteBuffer buffer;
+
+    /** Number of rows in buffer */
+    private int rows = 0;
+
+    /** Channel ID and time stamp [micro seconds since 1970 epoch] of each row in buffer */
+    private long[] row_ids = new long[64];
+    private long[] row_micros = new long[64];
+
+    /** Number of rows sent since last executeBatch */
+    private long copied = 0;
+
+    /** Channel ID and time stamp of row that failed in last COPY */
+    private long failed_id = -1;
+    private Instant failed_time = null;
+
+    /** Create statement for a PostgreSQL connection
+     *  @param connection PostgreSQL connection
+     *  @param insert_sql "INSERT INTO table (columns) VALUES (?, ...)"
+     *  @param buffer_size Size of COPY buffer in bytes
+     *  @throws SQLException on error, including columns with types not supported in binary COPY
+     */
+    public PGBinaryCopyPreparedStatement(final Connection connection, final String insert_sql, final int buffer_size) throws SQLException
+    {
+        this(parseTable(insert_sql), parseColumns(insert_sql),
+             getColumnTypes(connection, parseTable(insert_sql), parseColumns(insert_sql)),
+             buffer_size,
+             (copy_sql, data, length) ->
+             {
+                 final CopyIn copy = connection.unwrap(PGConnection.class).getCopyAPI().copyIn(copy_sql);
+                 try
+                 {
+                     copy.writeToCopy(data, 0, length);
+                     return copy.endCopy();
+                 }
+                 finally
+                 {
+                     if (copy.isActive())
+                         copy.cancelCopy();
+                 }
+             });
+    }
+
+    /** Create statement
+     *  @param table Table name
+     *  @param columns Column names, in order of parameters
+     *  @param types Column types
+     *  @param buffer_size Size of COPY buffer in bytes
+     *  @param sink Sends each COPY
+     */
+    PGBinaryCopyPreparedStatement(final String table, final String[] columns, final ColumnType[] types,
+                                  final int buffer_size, final CopySink sink)
+    {
+        this.table = table;
+        this.columns = columns;
+        this.types = types;
+        this.sink = sink;
+        copy_sql = "COPY " + table + " (" + String.join(", ", columns) + ") FROM STDIN WITH (FORMAT binary)";
+        kinds = new byte[columns.length];
+        longs = new long[columns.length];
+        doubles = new double[columns.length];
+        bytes = new byte[columns.length][];
+        buffer = ByteBuffer.allocate(Math.max(buffer_size, HEADER.length + 2));
+        buffer.put(HEADER);
+    }
+
+    private static String parseTable(final String insert_sql) throws SQLException
+    {
+        final Matcher matcher = INSERT.matcher(insert_sql);
+        if (! matcher.find())
+            throw new SQLException("Cannot parse " + insert_sql);
+        return matcher.group(1);
+    }
+
+    private static String[] parseColumns(final String insert_sql) throws SQLException
+    {
+        final Matcher matcher = INSERT.matcher(insert_sql);
+        if (! matcher.find())
+            throw new SQLException("Cannot parse " + insert_sql);
+        final String[] columns = matcher.group(2).split(",");
+        for (int i=0; i<columns.length; ++i)
+            columns[i] = columns[i].trim();
+        return columns;
+    }
+
+    /** @return Types of columns, read from RDB meta data */
+    private static ColumnType[] getColumnTypes(final Connection connection, final String table, final String[] columns) throws SQLException
+    {
+        // Table may be "schema.table". Meta data lists names in lower case.
+        final int sep = table.lastIndexOf('.');
+        final String schema = sep > 0 ? table.substring(0, sep).toLowerCase(Locale.ROOT) : null;
+        final String name = table.substring(sep + 1).toLowerCase(Locale.ROOT);
+        final Map<String, String> column_types = new HashMap<>();
+        try
+        (
+            ResultSet result = connection.getMetaData().getColumns(connection.getCatalog(), schema, name, null);
+        )
+        {
+            while (result.next())
+                column_types.put(result.getString("COLUMN_NAME").toLowerCase(Locale.ROOT), result.getString("TYPE_NAME"));
+        }
+        final ColumnType[] types = new ColumnType[columns.length];
+        for (int i=0; i<columns.length; ++i)
+        {
+            final String type_name = column_types.get(columns[i].toLowerCase(Locale.ROOT));
+            if (type_name == null)
+                throw new SQLException("Unable to find column " + columns[i] + " in table " + table);
+            types[i] = ColumnType.fromTypeName(type_name);
+        }
+        return types;
+    }
+
+    /** @return Channel ID of the row that failed in the last COPY, or -1 */
+    public long getFailedChannelID()
+    {
+        return failed_id;
+    }
+
+    /** @return Time stamp of the row that failed in the last COPY, or <code>null</code> */
+    public Instant getFailedTime()
+    {
+        return failed_time;
+    }
+
+    @Override
+    public void setInt(final int parameterIndex, final int x) throws SQLException
+    {
+        setLong(parameterIndex, x);
+    }
+
+    @Override
+    public void setShort(final int parameterIndex, final short x) throws SQLException
+    {
+        setLong(parameterIndex, x);
+    }
+
+    @Override
+    public void setLong(final int parameterIndex, final long x) throws SQLException
+    {
+        kinds[parameterIndex-1] = LONG;
+        longs[parameterIndex-1] = x;
+    }
+
+    @Override
+    public void setFloat(final int parameterIndex, final float x) throws SQLException
+    {
+        setDouble(parameterIndex, x);
+    }
+
+    @Override
+    public void setDouble(final int parameterIndex, final double x) throws SQLException
+    {
+        kinds[parameterIndex-1] = DOUBLE;
+        doubles[parameterIndex-1] = x;
+    }
+
+    @Override
+    public void setTimestamp(final int parameterIndex, final Timestamp x) throws SQLException
+    {
+        if (x == null)
+        {
+            setNull(parameterIndex, 0);
+            return;
+        }
+        // getTime() includes the milliseconds, getNanos() all fractional seconds
+        kinds[parameterIndex-1] = MICROS;
+        longs[parameterIndex-1] = Math.floorDiv(x.getTime(), 1000L) * 1000000L + x.getNanos() / 1000;
+    }
+
+    @Override
+    public void setString(final int parameterIndex, final String x) throws SQLException
+    {
+        if (x == null)
+            setNull(parameterIndex, 0);
+        else
+            setBytes(parameterIndex, x.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Override
+    public void setNString(final int parameterIndex, final String value) throws SQLException
+    {
+        setString(parameterIndex, value);
+    }
+
+    @Override
+    public void setBytes(final int parameterIndex, final byte[] x) throws SQLException
+    {
+        if (x == null)
+        {
+            setNull(parameterIndex, 0);
+            return;
+        }
+        kinds[parameterIndex-1] = BYTES;
+        bytes[parameterIndex-1] = x;
+    }
+
+    @Override
+    public void setNull(final int parameterIndex, final int sqlType) throws SQLException
+    {
+        kinds[parameterIndex-1] = NULL;
+        bytes[parameterIndex-1] = null;
+    }
+
+    @Override
+    public void setNull(final int parameterIndex, final int sqlType, final String typeName) throws SQLException
+    {
+        setNull(parameterIndex, sqlType);
+    }
+
+    @Override
+    public void clearParameters() throws SQLException
+    {
+        Arrays.fill(kinds, UNSET);
+        Arrays.fill(bytes, null);
+    }
+
+    /** @return Number of bytes for the value of a column */
+    private int getFieldSize(final int i) throws SQLException
+    {
+        switch (kinds[i])
+        {
+        case UNSET:
+            throw new SQLException("No value for column " + columns[i] + " of " + table);
+        case NULL:
+            return 0;
+        case BYTES:
+            if (types[i] != ColumnType.TEXT  &&  types[i] != ColumnType.BYTEA)
+                break;
+            return bytes[i].length;
+        case MICROS:
+            if (types[i] != ColumnType.TIMESTAMP  &&  types[i] != ColumnType.TIMESTAMPTZ)
+                break;
+            return 8;
+        default:
+            // LONG, DOUBLE
+            switch (types[i])
+            {
+            case INT2:
+                return 2;
+            case INT4:
+            case FLOAT4:
+                return 4;
+            case INT8:
+            case FLOAT8:
+                return 8;
+            default:
+                break;
+            }
+        }
+        throw new SQLException("Cannot write value to column " + columns[i] + " of " + table + " with type " + types[i]);
+    }
+
+    /** Write value of a column, size has been checked */
+    private void putField(final ByteBuffer out, final int i) throws SQLException
+    {
+        final byte kind = kinds[i];
+        if (kind == NULL)
+        {
+            out.putInt(-1);
+            return;
+        }
+        switch (types[i])
+        {
+        case INT2:
+        {
+            final long value = getLong(i);
+            if (value < Short.MIN_VALUE  ||  value > Short.MAX_VALUE)
+                throw new SQLException("Value " + value + " out of range for column " + columns[i] + " of " + table);
+            out.putInt(2).putShort((short) value);
+            break;
+        }
+        case INT4:
+        {
+            final long value = getLong(i);
+            if (value < Integer.MIN_VALUE  ||  value > Integer.MAX_VALUE)
+                throw new SQLException("Value " + value + " out of range for column " + columns[i] + " of " + table);
+            out.putInt(4).putInt((int) value);
+            break;
+        }
+        case INT8:
+            out.putInt(8).putLong(getLong(i));
+            break;
+        case FLOAT4:
+            out.putInt(4).putFloat((float) (kind == DOUBLE ? doubles[i] : longs[i]));
+            break;
+        case FLOAT8:
+            out.putInt(8).putDouble(kind == DOUBLE ? doubles[i] : longs[i]);
+            break;
+        case TIMESTAMP:
+        {   // Like the JDBC driver, write local time of the JVM time zone
+            final long millis = Math.floorDiv(longs[i], 1000L);
+            out.putInt(8).putLong(longs[i] + TimeZone.getDefault().getOffset(millis) * 1000L - PG_EPOCH_SECONDS * 1000000L);
+            break;
+        }
+        case TIMESTAMPTZ:
+            out.putInt(8).putLong(longs[i] - PG_EPOCH_SECONDS * 1000000L);
+            break;
+        default:
+            // TEXT, BYTEA
+            out.putInt(bytes[i].length).put(bytes[i]);
+        }
+    }
+
+    private long getLong(final int i) throws SQLException
+    {
+        if (kinds[i] != LONG)
+            throw new SQLException("Cannot write floating point value to column " + columns[i] + " of " + table);
+        return longs[i];
+    }
+
+    @Override
+    public void addBatch() throws SQLException
+    {
+        try
+        {
+            // Row: Field count, then size and data of each field
+            int size = 2;
+            for (int i=0; i<columns.length; ++i)
+                size += 4 + getFieldSize(i);
+
+            // Send buffered rows if this one doesn't fit, leaving room for trailer
+            if (buffer.position() + size + 2 > buffer.capacity())
+                copyBuffer();
+
+            if (buffer.position() + size + 2 <= buffer.capacity())
+            {
+                putRow(buffer);
+                rememberRow();
+            }
+            else
+            {   // Row is too large for any buffer, send by itself
+                final ByteBuffer large = ByteBuffer.allocate(HEADER.length + size + 2);
+                large.put(HEADER);
+                putRow(large);
+                rememberRow();
+                copy(large);
+            }
+        }
+        finally
+        {
+            clearParameters();
+        }
+    }
+
+    private void putRow(final ByteBuffer out) throws SQLException
+    {
+        final int start = out.position();
+        try
+        {
+            out.putShort((short) columns.length);
+            for (int i=0; i<columns.length; ++i)
+                putField(out, i);
+        }
+        catch (SQLException ex)
+        {   // Drop partial row
+            out.position(start);
+            throw ex;
+        }
+    }
+
+    /** Remember channel ID and time of row just added to buffer */
+    private void rememberRow()
+    {
+        if (rows >= row_ids.length)
+        {
+            row_ids = Arrays.copyOf(row_ids, 2 * rows);
+            row_micros = Arrays.copyOf(row_micros, 2 * rows);
+        }
+        row_ids[rows] = kinds[0] == LONG ? longs[0] : -1;
+        row_micros[rows] = columns.length > 1  &&  kinds[1] == MICROS ? longs[1] : 0;
+        ++rows;
+    }
+
+    /** Send rows in buffer */
+    private void copyBuffer() throws SQLException
+    {
+        if (rows > 0)
+            copy(buffer);
+    }
+
+    /** Send rows in buffer, then clear it
+     *  @param out Buffer with header and rows
+     */
+    private void copy(final ByteBuffer out) throws SQLException
+    {
+        try
+        {
+            out.putShort((short) -1);
+            copied += sink.copy(copy_sql, out.array(), out.position());
+            failed_id = -1;
+            failed_time = null;
+        }
+        catch (SQLException ex)
+        {
+            throw identifyFailedRow(ex);
+        }
+        finally
+        {
+            buffer.position(HEADER.length);
+            rows = 0;
+        }
+    }
+
+    /** @param ex Error from COPY
+     *  @return Error that identifies the failed row, if possible
+     */
+    private SQLException identifyFailedRow(final SQLException ex)
+    {
+        String where = null;
+        if (ex instanceof PSQLException  &&  ((PSQLException) ex).getServerErrorMessage() != null)
+            where = ((PSQLException) ex).getServerErrorMessage().getWhere();
+        if (where == null)
+            where = ex.getMessage();
+        final Matcher matcher = where == null ? null : LINE.matcher(where);
+        if (matcher == null  ||  !matcher.find())
+            return ex;
+        // Line numbers of the COPY start at 1
+        final int row = Integer.parseInt(matcher.group(1)) - 1;
+        if (row < 0  ||  row >= rows)
+            return ex;
+        failed_id = row_ids[row];
+        failed_time = Instant.ofEpochSecond(Math.floorDiv(row_micros[row], 1000000L),
+                                            Math.floorMod(row_micros[row], 1000000L) * 1000L);
+        return new SQLException("COPY into " + table + " failed for channel ID " + failed_id +
+                                " at " + TimestampHelper.format(failed_time) + ": " + ex.getMessage(),
+                                ex.getSQLState(), ex);
+    }
+
+    @Override
+    public int[] executeBatch() throws SQLException
+    {
+        try
+        {
+            copyBuffer();
+            return new int[] { (int) copied };
+        }
+        finally
+        {
+            copied = 0;
+        }
+    }
+
+    @Override
+    public void clearBatch() throws SQLException
+    {
+        buffer.position(HEADER.length);
+        rows = 0;
+        copied = 0;
+    }
+
+    @Override
+    public void close() throws SQLException
+    {
+        clearBatch();
+    }
+
+    @Override
+    public void setQueryTimeout(final int seconds) throws SQLException
+    {
+        // Ignored
+    }
+
+    @Override
+    public void addBatch(String arg0) throws SQLException
+    {
+        throw new SQLException("Not implemented");
+    }
+
+    @Override
+    public void cancel() throws SQLException
+    {
+        throw new SQLException("Not implemented");
+    }
+
+    @Override
+    public void clearWarnings() throws SQLException
+    {
+        throw new SQLException("Not implemented");
+    }
+
+    @Override
+    public void closeOnCompletion() throws SQLException
+    {
+        throw new SQLException("Not implemented");
+    }
+
+    @Override
+    public boolean execute(String arg0) throws SQLException
+    {
+        throw new SQLException("Not implemented");
+    }
+
+    @Override
+    public boolean execute(String arg0, int arg1) throws SQLException
+    {
+        throw new SQLException("Not implemented");
+    }
+
+    @Override
+    public boolean execute(String arg0, int[] arg1) throws SQLException
+    {
+        throw new SQLException("Not implemented");
+    }
+
+    @Override
+    public boolean execute(String arg0, String[] arg1) throws SQLException
+    {
+        throw new SQLException("Not implemented");
+    }
+
+    @Override
+    public ResultSet executeQuery(String arg0) throws SQLException
+    {
+        throw new SQLException("Not implemented");
+    }
+
+    @Override
+    public int executeUpdate(String arg0) throws SQLException
+    {
+        throw new SQLException("Not implemented");
+    }
+
+    @Override
+    public int executeUpdate(String arg0, int arg1) throws SQLException
+    {
+        throw new SQLException("Not implemented");
+    }
+
+    @Override
+    public int executeUpdate(String arg0, int[] arg1) throws SQLException
+    {
+        throw new SQLException("Not implemented");
+    }
+
+    @Override
+    public int executeUpdate(String arg0, String[] arg1) throws SQLException
+    {
+        throw new SQLException("Not implemented");
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException
+    {
+        throw new SQLException("Not implemented");
+    }
+
+    @Override
+    public int getFetchDirection() throws SQLException
+    {
+        throw new SQLException("Not implemented");
+    }
+
+    @Override
+    public int getFetchSize() throws SQLException
+    {
+        throw new SQLException("Not implemented");
+    }
+
+    @Override
+    public ResultSet getGeneratedKeys() throws SQLException
+    {
+        throw new SQLException("Not implemented");
+    }
+
+    @Override
+    public int getMaxFieldSize() throws SQLException
+    {
+        throw new SQLException("Not implemented");
+    }
+
+    @Override
+    public int getMaxRows() throws SQLException
+    {
+        throw new SQLException("Not implemented");
+    }
+
+    @Override
+    public boolean getMoreResults() throws SQLException
+    {
+        throw new SQLException("Not implemented");
+    }
+
+    @Override
+    public boolean getMoreResults(int arg0) throws SQLException
+    {
+        throw new SQLException("Not implemented");
+    }
+
+    @Override
+    public int getQueryTimeout() throws SQLException
+    {
+        throw new SQLException("Not implemented");
+    }
+
+    @Override
+    public ResultSet getResultSet() throws SQLException
+    {
+        throw new SQLException("Not implemented");
+    }
+
+    @Override
+    public int getResultSetConcurrency() throws SQLException
+    {
+        throw new SQLException("Not implemented");
+    }
+
+    @Override
+    public int getResultSetHoldability() throws SQLException
+    {
+        throw new SQLException("Not implemented");
+    }
+
+    @Override
+    public int getResultSetType() throws SQLException
+    {
+        throw new SQLException("Not implemented");
+    }
+
+    @Override
+    public int getUpdateCount() throws SQLException
+    {
+        throw new SQLException("Not implemented");
+    }
+
+    @Override
+    public SQLWarning getWarnings() throws SQLException
+    {
+        throw new SQLException("Not implemented");
+    }
+
+    @Override
+    public boolean isCloseOnCompletion() throws SQLException
+    {
+        throw new SQLException("Not implemented");
+    }
+
+    @Override
+    public boolean isClosed() throws SQLException
+    {
+        throw new SQLException("Not implemented");
+    }
+
+    @Override
+    public boolean isPoolable() throws SQLException
+    {
+        throw new SQLException("Not implemented");
+    }
+
+    @Override
+    public void setCursorName(String arg0) throws SQLException
+    {
+        throw new SQLException("Not implemented");
+    }
+
+    @Override
+    public void setEscapeProcessing(boolean arg0) throws SQLException
+    {
+        throw new SQLException("Not implemented");
+    }
+
+    @Override
+    public void setFetchDirection(int arg0) throws SQLException
+    {
+        throw new SQLException("Not implemented");
+    }
+
+    @Override
+    public void setFetchSize(int arg0) throws SQLException
+    {
+        throw new SQLException("Not implemented");
+    }
+
+    @Override
+    public void setMaxFieldSize(int arg0) throws SQLException
+    {
+        throw new SQLException("Not implemented");
+    }
+
+    @Override
+    public void setMaxRows(int arg0) throws SQLException
+    {
+        throw new SQLException("Not implemented");
+    }
+
+    @Override
+    public void setPoolable(boolean arg0) throws SQLException
+    {
+        throw new SQLException("Not implemented");
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> arg0) throws SQLException
+    {
+        throw new SQLException("Not implemented");
+    }
+
+    @Override
+    public <T> T unwrap(Class<T> arg0) throws SQLException
+    {
+        throw new SQLException("Not implemented");
+    }
+
+    @Override
+    public boolean execute() throws SQLException
+    {
+        throw new SQLException("Not implemented");
+    }
+
+    @Override
+    public ResultSet executeQuery() throws SQLException
+    {
+        throw new SQLException("Not implemented");
+    }
+
+    @Override
+    public int executeUpdate() throws SQLException
+    {
+        throw new SQLException("Not implemented");
+    }
+
+    @Override
+    public ResultSetMetaData getMetaData() throws SQLException
+    {
+        throw new SQLException("Not implemented");
+    }
+
+    @Override
+    public ParameterMetaData getParameterMetaData() throws SQLException
+    {
+        throw new SQLException("Not implemented");
+    }
+
+    @Override
+    public void setArray(int parameterIndex, Array x) throws SQLException
+    {
+        throw new SQLException("Not implemented");
+    }
+
+    @Override
+    public void setAsciiStream(int parameterIndex, InputStream x) throws SQLException
+    {
+        throw new SQLException("Not implemented");
+    }
+
+    @Override
+    public void setAsciiStream(int parameterIndex, InputStream x, int length) throws SQLException
+    {
+        throw new SQLException("Not implemented");
+    }
+
+    @Override
+    public void setAsciiStream(int parameterIndex, InputStream x, long length) throws SQLException
+    {
+        throw new SQLException("Not implemented");
+    }
+
+    @Override
+    public void setBigDecimal(int parameterIndex, BigDecimal x) throws SQLException
+    {
+        throw new SQLException("Not implemented");
+    }
+
+    @Override
+    public void setBinaryStream(int parameterIndex, InputStream x) throws SQLException
+    {
+        throw new SQLException("Not implemented");
+    }
+
+    @Override
+    public void setBinaryStream(int parameterIndex, InputStream x, int length) throws SQLException
+    {
+        throw new SQLException("Not implemented");
+    }
+
+    @Override
+    public void setBinaryStream(int parameterIndex, InputStream x, long length) throws SQLException
+    {
+        throw new SQLException("Not implemented");
+    }
+
+    @Override
+    public void setBlob(int parameterIndex, Blob x) throws SQLException
+    {
+        throw new SQLException("Not implemented");
+    }
+
+    @Override
+    public void setBlob(int parameterIndex, InputStream inputStream) throws SQLException
+    {
+        throw new SQLException("Not implemented");
+    }
+
+    @Override
+    public void setBlob(int parameterIndex, InputStream inputStream, long length) throws SQLException
+    {
+        throw new SQLException("Not implemented");
+    }
+
+    @Override
+    public void setBoolean(int parameterIndex, boolean x) throws SQLException
+    {
+        throw new SQLException("Not implemented");
+    }
+
+    @Override
+    public void setByte(int parameterIndex, byte x) throws SQLException
+    {
+        throw new SQLException("Not implemented");
+    }
+
+    @Override
+    public void setCharacterStream(int parameterIndex, Reader reader) throws SQLException
+    {
+        throw new SQLException("Not implemented");
+    }
+
+    @Override
+    public void setCharacterStream(int parameterIndex, Reader reader, int length) throws SQLException
+    {
+        throw new SQLException("Not implemented");
+    }
+
+    @Override
+    public void setCharacterStream(int parameterIndex, Reader reader, long length) throws SQLException
+    {
+        throw new SQLException("Not implemented");
+    }
+
+    @Override
+    public void setClob(int parameterIndex, Clob x) throws SQLException
+    {
+        throw new SQLException("Not implemented");
+    }
+
+    @Override
+    public void setClob(int parameterIndex, Reader reader) throws SQLException
+    {
+        throw new SQLException("Not implemented");
+    }
+
+    @Override
+    public void setClob(int parameterIndex, Reader reader, long length) throws SQLException
+    {
+        throw new SQLException("Not implemented");
+    }
+
+    @Override
+    public void setDate(int parameterIndex, Date x) throws SQLException
+    {
+        throw new SQLException("Not implemented");
+    }
+
+    @Override
+    public void setDate(int parameterIndex, Date x, Calendar cal) throws SQLException
+    {
+        throw new SQLException("Not implemented");
+    }
+
+    @Override
+    public void setNCharacterStream(int parameterIndex, Reader value) throws SQLException
+    {
+        throw new SQLException("Not implemented");
+    }
+
+    @Override
+    public void setNCharacterStream(int parameterIndex, Reader value, long length) throws SQLException
+    {
+        throw new SQLException("Not implemented");
+    }
+
+    @Override
+    public void setNClob(int parameterIndex, NClob value) throws SQLException
+    {
+        throw new SQLException("Not implemented");
+    }
+
+    @Override
+    public void setNClob(int parameterIndex, Reader reader) throws SQLException
+    {
+        throw new SQLException("Not implemented");
+    }
+
+    @Override
+    public void setNClob(int parameterIndex, Reader reader, long length) throws SQLException
+    {
+        throw new SQLException("Not implemented");
+    }
+
+    @Override
+    public void setObject(int parameterIndex, Object x) throws SQLException
+    {
+        throw new SQLException("Not implemented");
+    }
+
+    @Override
+    public void setObject(int parameterIndex, Object x, int targetSqlType) throws SQLException
+    {
+        throw new SQLException("Not implemented");
+    }
+
+    @Override
+    public void setObject(int parameterIndex, Object x, int targetSqlType, int scaleOrLength) throws SQLException
+    {
+        throw new SQLException("Not implemented");
+    }
+
+    @Override
+    public void setRef(int parameterIndex, Ref x) throws SQLException
+    {
+        throw new SQLException("Not implemented");
+    }
+
+    @Override
+    public void setRowId(int parameterIndex, RowId x) throws SQLException
+    {
+        throw new SQLException("Not implemented");
+    }
+
+    @Override
+    public void setSQLXML(int parameterIndex, SQLXML xmlObject) throws SQLException
+    {
+        throw new SQLException("Not implemented");
+    }
+
+    @Override
+    public void setTime(int parameterIndex, Time x) throws SQLException
+    {
+        throw new SQLException("Not implemented");
+    }
+
+    @Override
+    public void setTime(int parameterIndex, Time x, Calendar cal) throws SQLException
+    {
+        throw new SQLException("Not implemented");
+    }
+
+    @Override
+    public void setTimestamp(int parameterIndex, Timestamp x, Calendar cal) throws SQLException
+    {
+        throw new SQLException("Not implemented");
+    }
+
+    @Override
+    public void setURL(int parameterIndex, URL x) throws SQLException
+    {
+        throw new SQLException("Not implemented");
+    }
+
+    @Override
+    public void setUnicodeStream(int parameterIndex, InputStream x, int length) throws SQLException
+    {
+        throw new SQLException("Not implemented");
+    }
+}
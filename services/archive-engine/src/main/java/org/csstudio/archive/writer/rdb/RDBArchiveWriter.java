@@ -18,7 +18,6 @@ import java.sql.SQLException;
 import java.sql.Timestamp;
 import java.sql.Types;
 import java.time.Instant;
-import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -31,7 +30,9 @@ import org.csstudio.archive.writer.WriteChannel;
 import org.epics.util.array.ListNumber;
 import org.epics.vtype.Alarm;
 import org.epics.vtype.AlarmSeverity;
+import org.epics.vtype.AlarmStatus;
 import org.epics.vtype.Display;
+import org.epics.vtype.EnumDisplay;
 import org.epics.vtype.Time;
 import org.epics.vtype.VByteArray;
 import org.epics.vtype.VDouble;
@@ -88,10 +89,6 @@ public class RDBArchiveWriter implements ArchiveWriter
     /** Counter for accumulated samples in 'String' batch */
     private int batched_txt_inserts = 0;
 
-    /** Copy of batched samples, used to display batch errors */
-    private final List<RDBWriteChannel> batched_channel = new ArrayList<>();
-    private final List<VType> batched_samples = new ArrayList<>();
-
 
     private final PreparedStatement insert_double_sample, insert_array_sample, insert_long_sample, insert_txt_sample;
 
@@ -129,8 +126,10 @@ public class RDBArchiveWriter implements ArchiveWriter
     }
 
     /** Create a new prepared statement. For PostgreSQL connections, this method
-     *  create a PGCopyPreparedStatement to improve insert speed using COPY
+     *  create a PGBinaryCopyPreparedStatement to improve insert speed using COPY
      *  instead of INSERT.
+     *  Falls back to the text-based PGCopyPreparedStatement for tables
+     *  with column types that are not supported in binary format.
      *
      *  @param sqlQuery
      *  @return
@@ -143,7 +142,7 @@ public class RDBArchiveWriter implements ArchiveWriter
     {
         final PreparedStatement statement;
         if (dialect == Dialect.PostgreSQL  &&  Preferences.use_postgres_copy)
-            statement = new PGCopyPreparedStatement(connection, sqlQuery);
+            statement = createPostgresCopyStatement(sqlQuery);
         else
             statement = connection.prepareStatement(sqlQuery);
         if (Preferences.timeout_secs > 0)
@@ -151,6 +150,23 @@ public class RDBArchiveWriter implements ArchiveWriter
         return statement;
     }
 
+    /** @param sqlQuery Insert statement
+     *  @return COPY statement, binary if possible
+     *  @throws SQLException on error
+     */
+    private PreparedStatement createPostgresCopyStatement(final String sqlQuery) throws SQLException
+    {
+        try
+        {
+            return new PGBinaryCopyPreparedStatement(connection, sqlQuery, Preferences.postgres_copy_buffer_kb * 1024);
+        }
+        catch (SQLException ex)
+        {
+            logger.log(Level.WARNING, "Cannot use binary COPY, falling back to CSV: " + ex.getMessage());
+            return new PGCopyPreparedStatement(connection, sqlQuery);
+        }
+    }
+
     @Override
     public WriteChannel getChannel(final String name) throws Exception
     {
@@ -183,8 +199,6 @@ public class RDBArchiveWriter implements ArchiveWriter
             final RDBWriteChannel rdb_channel = (RDBWriteChannel) channel;
             writeMetaData(rdb_channel, sample);
             batchSample(rdb_channel, sample);
-            batched_channel.add(rdb_channel);
-            batched_samples.add(sample);
         }
         catch (Exception ex)
         {   // Wrap with channel info
@@ -192,6 +206,78 @@ public class RDBArchiveWriter implements ArchiveWriter
         }
     }
 
+    @Override
+    public void addDoubleSample(final WriteChannel channel, final long seconds, final int nanos,
+                                final AlarmSeverity severity, final AlarmStatus status, final String message,
+                                final Display display, final double value) throws Exception
+    {
+        try
+        {
+            final RDBWriteChannel rdb_channel = (RDBWriteChannel) channel;
+            if (display != null)
+                writeNumericMetaData(rdb_channel, display);
+            final int severity_id = severities.findOrCreate(severity);
+            final Status status_id = stati.findOrCreate(message);
+            checkAutoCommit();
+            batchDoubleSamples(rdb_channel, TimestampHelper.toSQLTimestamp(seconds, nanos),
+                               severity_id, status_id, value, null);
+        }
+        catch (Exception ex)
+        {   // Wrap with channel info
+            throw new Exception("Cannot add sample for " + channel, ex);
+        }
+    }
+
+    @Override
+    public void addLongSample(final WriteChannel channel, final long seconds, final int nanos,
+                              final AlarmSeverity severity, final AlarmStatus status, final String message,
+                              final Display display, final long value) throws Exception
+    {
+        try
+        {
+            final RDBWriteChannel rdb_channel = (RDBWriteChannel) channel;
+            if (display != null)
+                writeNumericMetaData(rdb_channel, display);
+            final int severity_id = severities.findOrCreate(severity);
+            final Status status_id = stati.findOrCreate(message);
+            checkAutoCommit();
+            batchLongSample(rdb_channel, TimestampHelper.toSQLTimestamp(seconds, nanos),
+                            severity_id, status_id, value);
+        }
+        catch (Exception ex)
+        {   // Wrap with channel info
+            throw new Exception("Cannot add sample for " + channel, ex);
+        }
+    }
+
+    @Override
+    public void addEnumSample(final WriteChannel channel, final long seconds, final int nanos,
+                              final AlarmSeverity severity, final AlarmStatus status, final String message,
+                              final EnumDisplay display, final int index) throws Exception
+    {
+        try
+        {
+            final RDBWriteChannel rdb_channel = (RDBWriteChannel) channel;
+            writeEnumMetaData(rdb_channel, display.getChoices());
+            final int severity_id = severities.findOrCreate(severity);
+            final Status status_id = stati.findOrCreate(message);
+            checkAutoCommit();
+            batchLongSample(rdb_channel, TimestampHelper.toSQLTimestamp(seconds, nanos),
+                            severity_id, status_id, index);
+        }
+        catch (Exception ex)
+        {   // Wrap with channel info
+            throw new Exception("Cannot add sample for " + channel, ex);
+        }
+    }
+
+    /** Severity/status cache may enable auto-commit, turn off for batch */
+    private void checkAutoCommit() throws Exception
+    {
+        if (connection.getAutoCommit() == true)
+            connection.setAutoCommit(false);
+    }
+
     /** Write meta data if it was never written or has changed
      *  @param channel Channel for which to write the meta data
      *  @param sample Sample that may have meta data to write
@@ -210,16 +296,7 @@ public class RDBArchiveWriter implements ArchiveWriter
 
         if (sample instanceof VEnum)
         {
-            final List<String> labels = ((VEnum)sample).getDisplay().getChoices();
-            if (MetaDataHelper.equals(labels, channel.getMetadata()))
-                return;
-
-            // Clear numeric meta data, set enumerated in RDB
-            NumericMetaDataHelper.delete(connection, sql, channel);
-            EnumMetaDataHelper.delete(connection, sql, channel);
-            EnumMetaDataHelper.insert(connection, sql, channel, labels);
-            channel.setMetaData(labels);
-
+            writeEnumMetaData(channel, ((VEnum)sample).getDisplay().getChoices());
             return;
         }
 
@@ -227,16 +304,39 @@ public class RDBArchiveWriter implements ArchiveWriter
         // but we already handled those cases
         final Display display = Display.displayOf(sample);
         if (display != null)
-        {
-            if (MetaDataHelper.equals(display, channel.getMetadata()))
-                return;
+            writeNumericMetaData(channel, display);
+    }
 
-            // Clear enumerated meta data, replace numeric
-            EnumMetaDataHelper.delete(connection, sql, channel);
-            NumericMetaDataHelper.delete(connection, sql, channel);
-            NumericMetaDataHelper.insert(connection, sql, channel, display);
-            channel.setMetaData(display);
-        }
+    /** Write enumerated meta data if it was never written or has changed
+     *  @param channel Channel for which to write the meta data
+     *  @param labels Enumeration labels
+     */
+    private void writeEnumMetaData(final RDBWriteChannel channel, final List<String> labels) throws Exception
+    {
+        if (MetaDataHelper.equals(labels, channel.getMetadata()))
+            return;
+
+        // Clear numeric meta data, set enumerated in RDB
+        NumericMetaDataHelper.delete(connection, sql, channel);
+        EnumMetaDataHelper.delete(connection, sql, channel);
+        EnumMetaDataHelper.insert(connection, sql, channel, labels);
+        channel.setMetaData(labels);
+    }
+
+    /** Write numeric meta data if it was never written or has changed
+     *  @param channel Channel for which to write the meta data
+     *  @param display Display info
+     */
+    private void writeNumericMetaData(final RDBWriteChannel channel, final Display display) throws Exception
+    {
+        if (MetaDataHelper.equals(display, channel.getMetadata()))
+            return;
+
+        // Clear enumerated meta data, replace numeric
+        EnumMetaDataHelper.delete(connection, sql, channel);
+        NumericMetaDataHelper.delete(connection, sql, channel);
+        NumericMetaDataHelper.insert(connection, sql, channel, display);
+        channel.setMetaData(display);
     }
 
     private static Instant getTimestamp(final VType value)
@@ -275,9 +375,7 @@ public class RDBArchiveWriter implements ArchiveWriter
         final int severity = severities.findOrCreate(getSeverity(sample));
         final Status status = stati.findOrCreate(getMessage(sample));
 
-        // Severity/status cache may enable auto-commit
-        if (connection.getAutoCommit() == true)
-            connection.setAutoCommit(false);
+        checkAutoCommit();
 
         // Start with most likely cases and highest precision: Double, ...
         // Then going down in precision to integers, finally strings...
@@ -575,18 +673,9 @@ public class RDBArchiveWriter implements ArchiveWriter
         catch (final Exception ex)
         {
             if (ex.getMessage().contains("unique"))
-            {
                 logger.log(Level.WARNING, "Unique constraint error in these samples: " + ex.getMessage());
-                if (batched_samples.size() != batched_channel.size())
-                    logger.log(Level.WARNING, "Inconsistent batch history");
-            }
             throw ex;
         }
-        finally
-        {
-            batched_channel.clear();
-            batched_samples.clear();
-        }
     }
 
     /** Submit and clear the batch, or roll back on error */
@@ -602,6 +691,8 @@ public class RDBArchiveWriter implements ArchiveWriter
         }
         catch (final Exception ex)
         {
+            if (insert instanceof PGBinaryCopyPreparedStatement)
+                logFailedSample((PGBinaryCopyPreparedStatement) insert);
             try
             {
                 // On failure, roll back.
@@ -621,6 +712,24 @@ public class RDBArchiveWriter implements ArchiveWriter
         }
     }
 
+    /** Log channel and time of the sample that failed in a binary COPY
+     *  @param insert Statement that failed
+     */
+    private void logFailedSample(final PGBinaryCopyPreparedStatement insert)
+    {
+        final long id = insert.getFailedChannelID();
+        if (id < 0)
+            return;
+        String name = "ID " + id;
+        for (RDBWriteChannel channel : channels.values())
+            if (channel.getId() == id)
+            {
+                name = channel.getName();
+                break;
+            }
+        logger.log(Level.WARNING, "Failed to write sample for " + name + " at " + TimestampHelper.format(insert.getFailedTime()));
+    }
+
     /** {@inheritDoc} */
     @Override
     public void close()
@@ -0,0 +1,144 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Phoebus contributors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ ******************************************************************************/
+package org.csstudio.archive.engine.model;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.time.Instant;
+
+import org.epics.util.array.ArrayDouble;
+import org.epics.util.stats.Range;
+import org.epics.util.text.NumberFormats;
+import org.epics.vtype.Alarm;
+import org.epics.vtype.AlarmSeverity;
+import org.epics.vtype.AlarmStatus;
+import org.epics.vtype.Display;
+import org.epics.vtype.EnumDisplay;
+import org.epics.vtype.Time;
+import org.epics.vtype.VDouble;
+import org.epics.vtype.VDoubleArray;
+import org.epics.vtype.VEnum;
+import org.epics.vtype.VInt;
+import org.epics.vtype.VNumber;
+import org.epics.vtype.VString;
+import org.epics.vtype.VType;
+import org.junit.jupiter.api.Test;
+
+/** JUnit test of the {@link SampleBuffer}
+ *  @author agent
+ */
+@SuppressWarnings("nls")
+public class SampleBufferTest
+{
+    private static final Instant start = Instant.ofEpochSecond(1700000000, 123456789);
+
+    /** @return Display that's equal to but not the same as other calls */
+    private static Display createDisplay()
+    {
+        return Display.of(Range.of(0, 10), Range.of(1, 9), Range.of(2, 8), Range.of(0, 10), "V", NumberFormats.precisionFormat(2));
+    }
+
+    private static VType createDouble(final int i)
+    {
+        return VDouble.of(i + 0.5, Alarm.of(AlarmSeverity.MINOR, AlarmStatus.RECORD, "HIGH"),
+                          Time.of(start.plusSeconds(i)), createDisplay());
+    }
+
+    @Test
+    public void testScalarsAndObjects() throws Exception
+    {
+        final SampleBuffer buffer = new SampleBuffer("test", null, 100);
+        final EnumDisplay labels = EnumDisplay.of("Off", "On");
+        final VType[] values = new VType[]
+        {
+            createDouble(0),
+            VInt.of(42, Alarm.none(), Time.of(start.plusSeconds(1)), createDisplay()),
+            VEnum.of(1, labels, Alarm.of(AlarmSeverity.MAJOR, AlarmStatus.DEVICE, "STATE"), Time.of(start.plusSeconds(2))),
+            VString.of("Text", Alarm.none(), Time.of(start.plusSeconds(3))),
+            VDoubleArray.of(ArrayDouble.of(1, 2, 3), Alarm.none(), Time.of(start.plusSeconds(4)), createDisplay()),
+            // Invalid time stamp is kept as VType
+            VDouble.of(3.14, Alarm.none(), Time.of(start, 0, false), createDisplay()),
+            createDouble(6),
+        };
+        for (VType value : values)
+            buffer.add(value);
+        assertThat(buffer.getQueueSize(), equalTo(values.length));
+
+        final SampleRing.Sample sample = new SampleRing.Sample();
+        for (VType value : values)
+        {
+            assertThat(buffer.remove(sample), equalTo(true));
+            final VType copy = sample.toVType();
+            if (value instanceof VNumber  &&  ((VNumber)value).getTime().isValid())
+            {
+                assertThat(sample.kind, equalTo(value instanceof VInt ? SampleRing.LONG : SampleRing.DOUBLE));
+                final VNumber number = (VNumber) value, copied = (VNumber) copy;
+                assertThat(copied.getValue().doubleValue(), equalTo(number.getValue().doubleValue()));
+                assertThat(copied.getTime().getTimestamp(), equalTo(number.getTime().getTimestamp()));
+                assertThat(copied.getAlarm(), equalTo(number.getAlarm()));
+                assertThat(copied.getDisplay(), equalTo(number.getDisplay()));
+            }
+            else if (value instanceof VEnum)
+            {
+                assertThat(sample.kind, equalTo(SampleRing.ENUM));
+                assertThat(((VEnum)copy).getIndex(), equalTo(1));
+                assertThat(((VEnum)copy).getDisplay(), sameInstance(labels));
+                assertThat(((VEnum)copy).getAlarm(), equalTo(((VEnum)value).getAlarm()));
+            }
+            else
+            {
+                assertThat(sample.kind, equalTo(SampleRing.OBJECT));
+                assertThat(copy, sameInstance(value));
+            }
+        }
+        assertThat(buffer.remove(sample), equalTo(false));
+        assertThat(buffer.getQueueSize(), equalTo(0));
+    }
+
+    @Test
+    public void testGrowAndOverrun() throws Exception
+    {
+        final int capacity = 50;
+        final SampleRing ring = new SampleRing(capacity);
+        assertThat(ring.getAllocatedSize() < capacity, equalTo(true));
+
+        // Partially fill, remove some to wrap around, then grow while wrapped
+        for (int i=0; i<3; ++i)
+            ring.add(createDouble(i));
+        final SampleRing.Sample sample = new SampleRing.Sample();
+        assertThat(ring.remove(sample), equalTo(true));
+        assertThat(sample.toVType(), instanceOf(VDouble.class));
+        for (int i=3; i<10; ++i)
+            ring.add(createDouble(i));
+        assertThat(ring.size(), equalTo(9));
+
+        // Overrun drops oldest samples
+        for (int i=10; i<capacity+20; ++i)
+            ring.add(createDouble(i));
+        assertThat(ring.isFull(), equalTo(true));
+        assertThat(ring.getAllocatedSize(), equalTo(capacity));
+
+        // Samples are in order, equal displays are shared
+        Object display = null;
+        for (int i=20; i<capacity+20; ++i)
+        {
+            assertThat(ring.remove(sample), equalTo(true));
+            assertThat(((VDouble)sample.toVType()).getValue(), equalTo(i + 0.5));
+            assertThat(sample.seconds, equalTo(start.getEpochSecond() + i));
+            assertThat(sample.nanos, equalTo(start.getNano()));
+            if (display == null)
+                display = sample.object;
+            else
+                assertThat(sample.object, sameInstance(display));
+        }
+        assertThat(ring.remove(sample), equalTo(false));
+    }
+}
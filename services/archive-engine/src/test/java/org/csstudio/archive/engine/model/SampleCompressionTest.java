@@ -0,0 +1,161 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Phoebus contributors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ ******************************************************************************/
+package org.csstudio.archive.engine.model;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.epics.vtype.Alarm;
+import org.epics.vtype.AlarmSeverity;
+import org.epics.vtype.AlarmStatus;
+import org.epics.vtype.Display;
+import org.epics.vtype.Time;
+import org.epics.vtype.VDouble;
+import org.epics.vtype.VString;
+import org.epics.vtype.VType;
+import org.junit.jupiter.api.Test;
+import org.phoebus.core.vtypes.VTypeHelper;
+
+/** JUnit test of the {@link SampleCompression} implementations
+ *  @author agent
+ */
+@SuppressWarnings("nls")
+public class SampleCompressionTest
+{
+    private static final Instant start = Instant.ofEpochSecond(1700000000);
+
+    /** Archived values */
+    private final List<VType> archived = new ArrayList<>();
+
+    private static VType createDouble(final double seconds, final double value)
+    {
+        return VDouble.of(value, Alarm.none(), Time.of(start.plusMillis(Math.round(seconds * 1000))), Display.none());
+    }
+
+    private static double secondsOf(final VType value)
+    {
+        final Instant time = VTypeHelper.getTimestamp(value);
+        return (time.toEpochMilli() - start.toEpochMilli()) / 1000.0;
+    }
+
+    /** @return Linear interpolation of archived values at given time */
+    private double interpolate(final double t)
+    {
+        for (int i=1; i<archived.size(); ++i)
+        {
+            final double t0 = secondsOf(archived.get(i-1)), t1 = secondsOf(archived.get(i));
+            if (t0 <= t  &&  t <= t1)
+            {
+                final double v0 = VTypeHelper.toDouble(archived.get(i-1)), v1 = VTypeHelper.toDouble(archived.get(i));
+                return v0 + (v1 - v0) * (t - t0) / (t1 - t0);
+            }
+        }
+        throw new IllegalStateException("No archived values around " + t);
+    }
+
+    @Test
+    public void testDuplicates() throws Exception
+    {
+        final SampleCompression compression = new DuplicateSuppression(10.0);
+        for (int i=0; i<30; ++i)
+            compression.add(createDouble(i, i < 15 ? 1.0 : 2.0), archived::add);
+        // Value at 0, heartbeat at 10, change at 15, heartbeat at 25
+        assertThat(archived.size(), equalTo(4));
+        assertThat(secondsOf(archived.get(1)), equalTo(10.0));
+        assertThat(secondsOf(archived.get(2)), equalTo(15.0));
+        assertThat(secondsOf(archived.get(3)), equalTo(25.0));
+
+        // Change in alarm is not a duplicate
+        compression.add(VDouble.of(2.0, Alarm.of(AlarmSeverity.MINOR, AlarmStatus.RECORD, "HIGH"),
+                                   Time.of(start.plusSeconds(31)), Display.none()),
+                        archived::add);
+        assertThat(archived.size(), equalTo(5));
+    }
+
+    @Test
+    public void testSwingingDoor() throws Exception
+    {
+        final double deviation = 0.1;
+        final SampleCompression compression = new SwingingDoorCompression(deviation, 0);
+        // Noisy ramp up, then down
+        final List<VType> received = new ArrayList<>();
+        for (int i=0; i<1000; ++i)
+        {
+            final double t = i * 0.1;
+            final double noise = 0.05 * Math.sin(i * 1.7);
+            received.add(createDouble(t, (t < 50 ? t : 100 - t) + noise));
+        }
+        for (VType value : received)
+            compression.add(value, archived::add);
+        compression.flush(archived::add);
+
+        // Compresses by more than an order of magnitude
+        assertThat(archived.size() < received.size() / 10, equalTo(true));
+        assertThat(archived.get(0), sameInstance(received.get(0)));
+        assertThat(archived.get(archived.size()-1), sameInstance(received.get(received.size()-1)));
+
+        // Interpolation between archived values reproduces received values within deviation
+        for (VType value : received)
+        {
+            final double error = Math.abs(interpolate(secondsOf(value)) - VTypeHelper.toDouble(value));
+            assertThat(value + " error " + error, error <= deviation + 1e-9, equalTo(true));
+        }
+    }
+
+    @Test
+    public void testSwingingDoorPassThrough() throws Exception
+    {
+        final SampleCompression compression = new SwingingDoorCompression(1.0, 5.0);
+        compression.add(createDouble(0, 0), archived::add);
+        compression.add(createDouble(1, 0), archived::add);
+        compression.add(createDouble(2, 0), archived::add);
+        assertThat(archived.size(), equalTo(1));
+
+        // Text is archived right away, after the held value
+        final VType text = VString.of("Text", Alarm.none(), Time.of(start.plusSeconds(3)));
+        compression.add(text, archived::add);
+        assertThat(archived.size(), equalTo(3));
+        assertThat(secondsOf(archived.get(1)), equalTo(2.0));
+        assertThat(archived.get(2), sameInstance(text));
+
+        // Flat line is archived at the heartbeat
+        compression.reset(createDouble(10, 0));
+        archived.clear();
+        for (int i=11; i<=19; ++i)
+            compression.add(createDouble(i, 0), archived::add);
+        assertThat(archived.size(), equalTo(2));
+        assertThat(secondsOf(archived.get(0)), equalTo(14.0));
+        assertThat(secondsOf(archived.get(1)), equalTo(15.0));
+    }
+
+    @Test
+    public void testSwingingDoorQuietChannel() throws Exception
+    {
+        final SampleCompression compression = new SwingingDoorCompression(0.1, 10.0);
+        // Ramp, then the channel receives no more values
+        for (int i=0; i<=8; ++i)
+            compression.add(createDouble(i, i), archived::add);
+        assertThat(archived.size(), equalTo(1));
+
+        // End of ramp is held until the heartbeat period has passed
+        compression.flushExpired(start.plusSeconds(9), archived::add);
+        assertThat(archived.size(), equalTo(1));
+        compression.flushExpired(start.plusSeconds(12), archived::add);
+        assertThat(archived.size(), equalTo(2));
+        assertThat(secondsOf(archived.get(1)), equalTo(8.0));
+
+        // Nothing left to archive
+        compression.flushExpired(start.plusSeconds(60), archived::add);
+        assertThat(archived.size(), equalTo(2));
+    }
+}
@@ -0,0 +1,165 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Phoebus contributors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ ******************************************************************************/
+package org.csstudio.archive.engine.model;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+
+import org.epics.util.array.ArrayDouble;
+import org.epics.util.stats.Range;
+import org.epics.util.text.NumberFormats;
+import org.epics.vtype.Alarm;
+import org.epics.vtype.AlarmSeverity;
+import org.epics.vtype.AlarmStatus;
+import org.epics.vtype.Display;
+import org.epics.vtype.EnumDisplay;
+import org.epics.vtype.Time;
+import org.epics.vtype.VDouble;
+import org.epics.vtype.VDoubleArray;
+import org.epics.vtype.VEnum;
+import org.epics.vtype.VInt;
+import org.epics.vtype.VLong;
+import org.epics.vtype.VNumber;
+import org.epics.vtype.VNumberArray;
+import org.epics.vtype.VString;
+import org.epics.vtype.VType;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/** JUnit test of the {@link SampleSpool}
+ *  @author agent
+ */
+@SuppressWarnings("nls")
+public class SampleSpoolTest
+{
+    private static final Instant start = Instant.ofEpochSecond(1700000000, 123456789);
+
+    private static final Display display =
+        Display.of(Range.of(0, 10), Range.of(1, 9), Range.of(2, 8), Range.of(0, 10), "V", NumberFormats.precisionFormat(2));
+
+    @TempDir
+    Path directory;
+
+    private static VType createDouble(final int i)
+    {
+        return VDouble.of(i + 0.5, Alarm.of(AlarmSeverity.MINOR, AlarmStatus.RECORD, "HIGH"),
+                          Time.of(start.plusSeconds(i)), display);
+    }
+
+    /** Add value to spool via a sample buffer, as done by the write thread */
+    private static void add(final SampleSpool spool, final String channel, final VType value) throws Exception
+    {
+        final SampleBuffer buffer = new SampleBuffer(channel, null, 10);
+        buffer.add(value);
+        final SampleRing.Sample sample = new SampleRing.Sample();
+        assertThat(buffer.remove(sample), equalTo(true));
+        spool.add(channel, buffer.getArchiveDataRetention(), sample);
+    }
+
+    @Test
+    public void testValues() throws Exception
+    {
+        final VType[] values = new VType[]
+        {
+            createDouble(0),
+            VInt.of(42, Alarm.none(), Time.of(start.plusSeconds(1)), display),
+            VEnum.of(1, EnumDisplay.of("Off", "On"), Alarm.of(AlarmSeverity.MAJOR, AlarmStatus.DEVICE, "STATE"), Time.of(start.plusSeconds(2))),
+            VString.of("Text", Alarm.none(), Time.of(start.plusSeconds(3))),
+            VDoubleArray.of(ArrayDouble.of(1, 2, 3), Alarm.none(), Time.of(start.plusSeconds(4)), display),
+            VDouble.of(3.14, Alarm.none(), Time.of(start, 0, false), display),
+            VLong.of(1234567890123L, Alarm.none(), Time.of(start, 0, false), display),
+        };
+        final SampleSpool spool = new SampleSpool(directory, "Test", 4096);
+        for (int i=0; i<values.length; ++i)
+            add(spool, "pv" + i, values[i]);
+        assertThat(spool.size(), equalTo((long) values.length));
+
+        final SampleRing.Sample sample = new SampleRing.Sample();
+        for (int i=0; i<values.length; ++i)
+        {
+            final String[] channel = spool.read(sample);
+            assertThat(channel[0], equalTo("pv" + i));
+            assertThat(channel[1], nullValue());
+            final VType value = values[i], copy = sample.toVType();
+            assertThat(Alarm.alarmOf(copy), equalTo(Alarm.alarmOf(value)));
+            assertThat(Time.timeOf(copy).getTimestamp(), equalTo(Time.timeOf(value).getTimestamp()));
+            assertThat(Time.timeOf(copy).isValid(), equalTo(Time.timeOf(value).isValid()));
+            if (value instanceof VNumber)
+            {
+                assertThat(((VNumber) copy).getValue().doubleValue(), equalTo(((VNumber) value).getValue().doubleValue()));
+                // Integer types remain integers, also when spooled as VType because of invalid time stamp
+                assertThat(copy instanceof VDouble, equalTo(value instanceof VDouble));
+                assertThat(((VNumber) copy).getDisplay(), equalTo(display));
+            }
+            else if (value instanceof VEnum)
+            {
+                assertThat(((VEnum) copy).getIndex(), equalTo(1));
+                assertThat(((VEnum) copy).getDisplay().getChoices(), equalTo(List.of("Off", "On")));
+            }
+            else if (value instanceof VString)
+                assertThat(((VString) copy).getValue(), equalTo("Text"));
+            else
+                assertThat(((VNumberArray) copy).getData(), equalTo(((VNumberArray) value).getData()));
+        }
+        assertThat(spool.read(sample), nullValue());
+        spool.commit();
+        assertThat(spool.isEmpty(), equalTo(true));
+        spool.close();
+    }
+
+    @Test
+    public void testSegmentsAndRestart() throws Exception
+    {
+        // Small segments, so samples are spread over several files
+        SampleSpool spool = new SampleSpool(directory, "Write Thread 1", 1024);
+        final int count = 100;
+        for (int i=0; i<count; ++i)
+            add(spool, "pv", createDouble(i));
+        assertThat(Files.list(directory).count() > 1, equalTo(true));
+
+        // Read some, but then rewind as if the write failed
+        final SampleRing.Sample sample = new SampleRing.Sample();
+        for (int i=0; i<30; ++i)
+            spool.read(sample);
+        spool.rewind();
+        spool.read(sample);
+        assertThat(((VDouble) sample.toVType()).getValue(), equalTo(0.5));
+
+        // Read and commit some
+        for (int i=1; i<40; ++i)
+            spool.read(sample);
+        spool.commit();
+        assertThat(spool.size(), equalTo(count - 40L));
+        spool.close();
+
+        // Re-open, continue with remaining samples
+        spool = new SampleSpool(directory, "Write Thread 1", 1024);
+        assertThat(spool.size(), equalTo(count - 40L));
+        for (int i=40; i<count; ++i)
+        {
+            assertThat(spool.read(sample)[0], equalTo("pv"));
+            assertThat(((VDouble) sample.toVType()).getValue(), equalTo(i + 0.5));
+        }
+        assertThat(spool.read(sample), nullValue());
+        spool.commit();
+        assertThat(spool.isEmpty(), equalTo(true));
+
+        // Spool is re-used once empty
+        add(spool, "other", createDouble(count));
+        assertThat(spool.read(sample)[0], equalTo("other"));
+        spool.commit();
+        spool.close();
+        assertThat(Files.list(directory).count(), equalTo(0L));
+    }
+}
@@ -0,0 +1,187 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Phoebus contributors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ ******************************************************************************/
+package org.csstudio.archive.engine.model;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import org.csstudio.archive.writer.ArchiveWriter;
+import org.csstudio.archive.writer.WriteChannel;
+import org.epics.vtype.Alarm;
+import org.epics.vtype.Display;
+import org.epics.vtype.Time;
+import org.epics.vtype.VDouble;
+import org.epics.vtype.VType;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/** JUnit test of the {@link WriteThread}
+ *  @author agent
+ */
+@SuppressWarnings("nls")
+public class WriteThreadTest
+{
+    private static final Instant start = Instant.ofEpochSecond(1700000000);
+
+    @TempDir
+    Path directory;
+
+    private static VType createDouble(final int i)
+    {
+        return VDouble.of(i, Alarm.none(), Time.of(start.plusSeconds(i)), Display.none());
+    }
+
+    /** Writer that collects samples, failing the first flush */
+    private static class TestWriter implements ArchiveWriter
+    {
+        final List<VType> added = new ArrayList<>(), written = new ArrayList<>();
+        int failures = 1;
+
+        @Override
+        public WriteChannel getChannel(final String name)
+        {
+            return () -> name;
+        }
+
+        @Override
+        public void addSample(final WriteChannel channel, final VType sample)
+        {
+            added.add(sample);
+        }
+
+        @Override
+        public void flush() throws Exception
+        {
+            if (failures > 0)
+            {
+                --failures;
+                added.clear();
+                throw new Exception("Flush failed");
+            }
+            written.addAll(added);
+            added.clear();
+        }
+
+        @Override
+        public void close()
+        {
+        }
+    }
+
+    /** Channel without PV */
+    private static class TestChannel extends ArchiveChannel
+    {
+        TestChannel(final String name) throws Exception
+        {
+            super(name, null, Enablement.Passive, 10, null);
+        }
+
+        @Override
+        public String getMechanism()
+        {
+            return "Test";
+        }
+    }
+
+    /** Compression that fails to flush */
+    private static class FailingCompression extends SampleCompression
+    {
+        FailingCompression()
+        {
+            super(0);
+        }
+
+        @Override
+        public void add(final VType value, final Consumer<VType> archive)
+        {
+            archive.accept(value);
+        }
+
+        @Override
+        public void flush(final Consumer<VType> archive)
+        {
+        }
+
+        @Override
+        public void flushExpired(final Instant now, final Consumer<VType> archive)
+        {
+            throw new IllegalStateException("Flush failed");
+        }
+
+        @Override
+        public void reset(final VType value)
+        {
+        }
+    }
+
+    @Test
+    public void testFailingCompressionFlush() throws Exception
+    {
+        final ArchiveChannel channel = new TestChannel("pv");
+        channel.setCompression(new FailingCompression());
+        final WriteThread thread = new WriteThread("Test");
+        thread.addChannel(channel);
+
+        // Error is handled like a write error instead of ending the thread
+        thread.runOnce();
+        assertThat(thread.isInErrorState(), equalTo(true));
+        assertThat(thread.getLastError(), equalTo("Flush failed"));
+        assertThat(channel.getSampleBuffer().isInErrorState(), equalTo(true));
+    }
+
+    @Test
+    public void testFailedFlushIsSpooled() throws Exception
+    {
+        final ArchiveChannel channel = new TestChannel("pv");
+        final TestWriter writer = new TestWriter();
+        final WriteThread thread = new WriteThread("Test", 0, 1, writer);
+        thread.addChannel(channel);
+        thread.openSpool(directory, 4096);
+        for (int i=0; i<5; ++i)
+            channel.getSampleBuffer().add(createDouble(i));
+
+        // Samples of the batch that failed to flush are not lost but spooled
+        thread.runOnce();
+        assertThat(thread.isInErrorState(), equalTo(true));
+        assertThat(writer.written.size(), equalTo(0));
+        assertThat(thread.getQueuedSamples(), equalTo(0L));
+        assertThat(thread.getSpooledSamples(), equalTo(5L));
+    }
+
+    @Test
+    public void testAdoptSpools() throws Exception
+    {
+        // Spools of two write threads
+        final SampleRing.Sample sample = new SampleRing.Sample();
+        for (int shard=0; shard<2; ++shard)
+        {
+            final SampleSpool spool = new SampleSpool(directory, "WriteThread" + shard, 4096);
+            final SampleBuffer buffer = new SampleBuffer("pv" + shard, null, 10);
+            for (int i=0; i<3; ++i)
+            {
+                buffer.add(createDouble(i));
+                buffer.remove(sample);
+                spool.add(buffer.getChannelName(), null, sample);
+            }
+            spool.close();
+        }
+        assertThat(SampleSpool.findSpools(directory).size(), equalTo(2));
+
+        // Fewer write threads: First one adopts the samples of the second
+        final WriteThread thread = new WriteThread("Test", 0, 1);
+        thread.openSpool(directory, 4096);
+        assertThat(thread.getSpooledSamples(), equalTo(6L));
+        assertThat(SampleSpool.findSpools(directory).size(), equalTo(1));
+    }
+}
@@ -0,0 +1,105 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Phoebus contributors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ ******************************************************************************/
+package org.csstudio.archive.engine.scanner;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/** JUnit test of the {@link TimerWheel} and {@link Scanner}
+ *  @author agent
+ */
+@SuppressWarnings("nls")
+public class TimerWheelTest
+{
+    @Test
+    public void testDueTicks() throws Exception
+    {
+        final TimerWheel<Long> wheel = new TimerWheel<>();
+        // Dues on all levels, including some beyond the range
+        final Random random = new Random(42);
+        final int count = 20000;
+        for (int i=0; i<count; ++i)
+        {
+            final long due = 1 + (i % 4 == 0 ? random.nextInt(100) : (long) Math.pow(10, random.nextDouble() * 7.5));
+            wheel.schedule(due, due);
+        }
+        assertThat(wheel.size(), equalTo(count));
+
+        // Each item expires exactly on its due tick
+        final List<Long> expired = new ArrayList<>();
+        int found = 0;
+        while (wheel.size() > 0)
+        {
+            expired.clear();
+            final long tick = wheel.advance(expired);
+            for (long due : expired)
+                assertThat(due, equalTo(tick));
+            found += expired.size();
+        }
+        assertThat(found, equalTo(count));
+    }
+
+    @Test
+    public void testReschedule() throws Exception
+    {
+        final TimerWheel<String> wheel = new TimerWheel<>();
+        wheel.schedule("a", 3);
+        final List<String> expired = new ArrayList<>();
+        int runs = 0;
+        while (wheel.getTick() < 10000)
+        {
+            expired.clear();
+            final long tick = wheel.advance(expired);
+            if (! expired.isEmpty())
+            {
+                assertThat(tick % 7, equalTo(3L));
+                ++runs;
+                wheel.schedule("a", tick + 7);
+            }
+        }
+        assertThat(runs, equalTo(1429));
+    }
+
+    @Test
+    public void testScannerOverruns() throws Exception
+    {
+        final Scanner scanner = new Scanner(100, 2);
+        final int[] fast = new int[1];
+        scanner.add(() -> ++fast[0], 0.1);
+        // Item that takes longer than its period
+        scanner.add(() ->
+        {
+            try
+            {
+                Thread.sleep(250);
+            }
+            catch (InterruptedException ex)
+            {
+                // Ignore
+            }
+        }, 0.2);
+        assertThat(scanner.size(), equalTo(2L));
+
+        final long end = System.currentTimeMillis() + 1500;
+        while (System.currentTimeMillis() < end)
+            scanner.scanOnce();
+
+        // Slow item causes skipped scans
+        final ScanList slow = scanner.getScanLists().get(1);
+        assertThat(slow.getPeriod(), equalTo(0.2));
+        assertThat(slow.getScans() > 0, equalTo(true));
+        assertThat(slow.getOverruns() > 0, equalTo(true));
+        assertThat(fast[0] > 0, equalTo(true));
+    }
+}
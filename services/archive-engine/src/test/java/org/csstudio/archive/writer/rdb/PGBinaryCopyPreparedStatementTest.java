@@ -0,0 +1,176 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Phoebus contributors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ ******************************************************************************/
+package org.csstudio.archive.writer.rdb;
+
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.csstudio.archive.writer.rdb.PGBinaryCopyPreparedStatement.ColumnType;
+import org.junit.jupiter.api.Test;
+
+/** JUnit test of the {@link PGBinaryCopyPreparedStatement} encoding,
+ *  not using an actual database
+ *  @author agent
+ */
+@SuppressWarnings("nls")
+public class PGBinaryCopyPreparedStatementTest
+{
+    private static final String[] COLUMNS = { "channel_id", "smpl_time", "severity_id", "status_id", "float_val", "nanosecs", "datatype", "array_val" };
+    private static final ColumnType[] TYPES = { ColumnType.INT8, ColumnType.TIMESTAMPTZ, ColumnType.INT8, ColumnType.INT8, ColumnType.FLOAT8, ColumnType.INT8, ColumnType.TEXT, ColumnType.BYTEA };
+
+    private static final Instant TIME = Instant.ofEpochSecond(1700000000, 123456000);
+
+    /** Data of each COPY */
+    private final List<byte[]> copies = new ArrayList<>();
+
+    private long copy(final String sql, final byte[] data, final int length) throws SQLException
+    {
+        assertThat(sql, containsString("FROM STDIN WITH (FORMAT binary)"));
+        copies.add(Arrays.copyOf(data, length));
+        // Count rows
+        final ByteBuffer buf = ByteBuffer.wrap(data, 19, length - 19);
+        long rows = 0;
+        short fields;
+        while ((fields = buf.getShort()) >= 0)
+        {
+            for (int i=0; i<fields; ++i)
+            {
+                final int size = buf.getInt();
+                if (size > 0)
+                    buf.position(buf.position() + size);
+            }
+            ++rows;
+        }
+        return rows;
+    }
+
+    private static void addRow(final PGBinaryCopyPreparedStatement insert, final int channel, final double value, final byte[] array) throws Exception
+    {
+        final Timestamp stamp = Timestamp.from(TIME);
+        insert.setInt(1, channel);
+        insert.setTimestamp(2, stamp);
+        insert.setInt(3, 1);
+        insert.setInt(4, 2);
+        insert.setDouble(5, value);
+        insert.setInt(6, stamp.getNanos());
+        insert.setString(7, array == null ? " " : "d");
+        insert.setBytes(8, array);
+        insert.addBatch();
+    }
+
+    @Test
+    public void testEncoding() throws Exception
+    {
+        final PGBinaryCopyPreparedStatement insert = new PGBinaryCopyPreparedStatement("sample", COLUMNS, TYPES, 1024, this::copy);
+        addRow(insert, 42, 3.14, null);
+        addRow(insert, 43, -1.0, new byte[] { 1, 2, 3 });
+        assertThat(copies.size(), equalTo(0));
+        assertThat(insert.executeBatch()[0], equalTo(2));
+        assertThat(copies.size(), equalTo(1));
+
+        final ByteBuffer buf = ByteBuffer.wrap(copies.get(0));
+        final byte[] signature = new byte[11];
+        buf.get(signature);
+        assertThat(new String(signature, 0, 6, StandardCharsets.US_ASCII), equalTo("PGCOPY"));
+        assertThat(buf.getInt(), equalTo(0));
+        assertThat(buf.getInt(), equalTo(0));
+
+        // First row
+        assertThat(buf.getShort(), equalTo((short) COLUMNS.length));
+        assertThat(buf.getInt(), equalTo(8));
+        assertThat(buf.getLong(), equalTo(42L));
+        assertThat(buf.getInt(), equalTo(8));
+        // Microseconds since 2000-01-01 UTC
+        assertThat(buf.getLong(), equalTo((TIME.getEpochSecond() - 946684800L) * 1000000L + TIME.getNano() / 1000));
+        assertThat(buf.getInt(), equalTo(8));
+        assertThat(buf.getLong(), equalTo(1L));
+        assertThat(buf.getInt(), equalTo(8));
+        assertThat(buf.getLong(), equalTo(2L));
+        assertThat(buf.getInt(), equalTo(8));
+        assertThat(buf.getDouble(), equalTo(3.14));
+        assertThat(buf.getInt(), equalTo(8));
+        assertThat(buf.getLong(), equalTo(123456000L));
+        assertThat(buf.getInt(), equalTo(1));
+        assertThat(buf.get(), equalTo((byte) ' '));
+        // NULL array
+        assertThat(buf.getInt(), equalTo(-1));
+
+        // Second row ends in array bytes
+        assertThat(buf.getShort(), equalTo((short) COLUMNS.length));
+        buf.position(buf.position() + 6*(4+8));
+        assertThat(buf.getInt(), equalTo(1));
+        assertThat(buf.get(), equalTo((byte) 'd'));
+        assertThat(buf.getInt(), equalTo(3));
+        buf.position(buf.position() + 3);
+
+        // Trailer
+        assertThat(buf.getShort(), equalTo((short) -1));
+        assertThat(buf.remaining(), equalTo(0));
+    }
+
+    @Test
+    public void testBoundedBuffer() throws Exception
+    {
+        // Buffer with room for about 3 rows
+        final PGBinaryCopyPreparedStatement insert = new PGBinaryCopyPreparedStatement("sample", COLUMNS, TYPES, 300, this::copy);
+        for (int i=0; i<10; ++i)
+            addRow(insert, i, i, null);
+        // Large row is sent by itself
+        addRow(insert, 10, 10, new byte[1000]);
+        final int chunks = copies.size();
+        assertThat(chunks > 3, equalTo(true));
+        assertThat(insert.executeBatch()[0], equalTo(11));
+        for (byte[] copy : copies.subList(0, chunks-1))
+            assertThat(copy.length <= 300, equalTo(true));
+    }
+
+    @Test
+    public void testFailedRow() throws Exception
+    {
+        final PGBinaryCopyPreparedStatement insert = new PGBinaryCopyPreparedStatement("sample", COLUMNS, TYPES, 1024,
+            (sql, data, length) ->
+            {
+                throw new SQLException("ERROR: duplicate key value violates unique constraint\n  Where: COPY sample, line 3");
+            });
+        for (int i=0; i<5; ++i)
+            addRow(insert, 100 + i, i, null);
+        final SQLException error = assertThrows(SQLException.class, () -> insert.executeBatch());
+        assertThat(error.getMessage(), containsString("channel ID 102"));
+        assertThat(insert.getFailedChannelID(), equalTo(102L));
+        assertThat(insert.getFailedTime(), equalTo(TIME));
+    }
+
+    @Test
+    public void testRangeCheck() throws Exception
+    {
+        final PGBinaryCopyPreparedStatement insert = new PGBinaryCopyPreparedStatement("sample",
+                new String[] { "channel_id", "num_val" },
+                new ColumnType[] { ColumnType.INT4, ColumnType.INT4 }, 1024, this::copy);
+        insert.setInt(1, 1);
+        insert.setLong(2, 1L << 40);
+        final SQLException error = assertThrows(SQLException.class, () -> insert.addBatch());
+        assertThat(error.getMessage(), containsString("num_val"));
+
+        // Failed row was not added
+        insert.setInt(1, 1);
+        insert.setLong(2, 42);
+        insert.addBatch();
+        assertThat(insert.executeBatch()[0], equalTo(1));
+    }
+}
@@ -0,0 +1,97 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Phoebus contributors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ ******************************************************************************/
+package org.csstudio.archive.writer.rdb;
+
+import java.time.Instant;
+
+import org.csstudio.archive.Preferences;
+import org.csstudio.archive.writer.WriteChannel;
+import org.epics.util.array.ArrayDouble;
+import org.epics.util.stats.Range;
+import org.epics.util.text.NumberFormats;
+import org.epics.vtype.Alarm;
+import org.epics.vtype.AlarmSeverity;
+import org.epics.vtype.AlarmStatus;
+import org.epics.vtype.Display;
+import org.epics.vtype.Time;
+import org.epics.vtype.VDoubleArray;
+import org.epics.vtype.VString;
+import org.junit.jupiter.api.Test;
+
+/** Throughput of the PostgreSQL write path, INSERT compared to COPY
+ *
+ *  <p>Requires a local PostgreSQL archive configured in the
+ *  preferences, with a channel 'jane'.
+ *  Samples are written with time stamps in the past
+ *  to avoid collisions with other data.
+ *
+ *  @author agent
+ */
+@SuppressWarnings("nls")
+public class PGCopyWriterBenchmarkDemo
+{
+    private static final int SAMPLES = 100000, BATCH = 1000;
+
+    private final Display display = Display.of(Range.of(0, 10), Range.of(1, 9), Range.of(2,  8), Range.of(0, 10), "a.u.", NumberFormats.precisionFormat(2));
+
+    /** @param copy Use COPY?
+     *  @param start Time stamp of first sample
+     *  @return Samples per second
+     */
+    private double write(final boolean copy, final Instant start) throws Exception
+    {
+        Preferences.use_postgres_copy = copy;
+        final RDBArchiveWriter writer = new RDBArchiveWriter(Preferences.url, Preferences.user, Preferences.password, Preferences.schema, Preferences.use_array_blob);
+        try
+        {
+            final WriteChannel channel = writer.getChannel("jane");
+            final long begin = System.nanoTime();
+            for (int i=0; i<SAMPLES; ++i)
+            {
+                final Instant time = start.plusMillis(i);
+                final long seconds = time.getEpochSecond();
+                final int nanos = time.getNano();
+                switch (i % 10)
+                {
+                case 7:
+                    writer.addSample(channel, VString.of("Text " + i, Alarm.none(), Time.of(time)));
+                    break;
+                case 8:
+                    writer.addSample(channel, VDoubleArray.of(ArrayDouble.of(i, 1, 2, 3, 4, 5, 6, 7), Alarm.none(), Time.of(time), display));
+                    break;
+                case 9:
+                    writer.addLongSample(channel, seconds, nanos, AlarmSeverity.NONE, AlarmStatus.NONE, "NO_ALARM", display, i);
+                    break;
+                default:
+                    writer.addDoubleSample(channel, seconds, nanos, AlarmSeverity.MINOR, AlarmStatus.RECORD, "HIGH", display, i * 0.1);
+                }
+                if (i % BATCH == BATCH-1)
+                    writer.flush();
+            }
+            writer.flush();
+            final double secs = (System.nanoTime() - begin) / 1e9;
+            return SAMPLES / secs;
+        }
+        finally
+        {
+            writer.close();
+        }
+    }
+
+    @Test
+    public void benchmark() throws Exception
+    {
+        final Instant start = Instant.parse("2001-01-01T00:00:00Z").plusSeconds(Instant.now().getEpochSecond() % 100000 * 1000);
+        // Warm up, then compare
+        write(true, start);
+        final double insert = write(false, start.plusSeconds(200));
+        final double copy = write(true, start.plusSeconds(400));
+        System.out.format("INSERT: %10.1f samples/sec\n", insert);
+        System.out.format("COPY  : %10.1f samples/sec\n", copy);
+    }
+}